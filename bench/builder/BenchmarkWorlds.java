@@ -0,0 +1,117 @@
+package builder;
+
+import builder.world.WorldLoadException;
+
+import engine.renderer.Dimensions;
+import engine.renderer.TileGrid;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.StringJoiner;
+
+/**
+ * Generated maps and details files for the benchmarks, so that every benchmark can be run at any
+ * world size without a file per size.
+ *
+ * <p>The benchmarks are JMH benchmarks. Build this directory together with {@code src/}, the
+ * engine library and JMH with its annotation processor enabled, then run them from the repository
+ * root (the game's art is loaded from {@code resources/}):
+ *
+ * <pre>java -cp &lt;classpath&gt; org.openjdk.jmh.Main [benchmark regex]</pre>
+ */
+public final class BenchmarkWorlds {
+    /** The width of a tile, in pixels, in every generated world. */
+    public static final int TILE_SIZE = 32;
+
+    private BenchmarkWorlds() {}
+
+    /**
+     * Returns the dimensions of a square world with the given number of tiles per row.
+     *
+     * @param tilesPerRow the width of the world in tiles.
+     * @return the world's dimensions.
+     */
+    public static Dimensions dimensions(int tilesPerRow) {
+        return new TileGrid(tilesPerRow, tilesPerRow * TILE_SIZE);
+    }
+
+    /**
+     * Returns a map with the given number of tiles per row. Every fourth row is dirt, ready for
+     * cabbages, and the other rows are grass scattered with ore and water.
+     *
+     * @param tilesPerRow the width of the world in tiles.
+     * @return the contents of a map file.
+     */
+    public static String map(int tilesPerRow) {
+        final StringJoiner rows = new StringJoiner(System.lineSeparator());
+        for (int row = 0; row < tilesPerRow; row++) {
+            final StringBuilder line = new StringBuilder();
+            for (int col = 0; col < tilesPerRow; col++) {
+                if (row % 4 == 1) {
+                    line.append('d');
+                } else if (row > 0 && (row + col) % 13 == 0) {
+                    line.append('o');
+                } else if (row > 0 && (row * 7 + col) % 29 == 0) {
+                    line.append('w');
+                } else {
+                    line.append('g');
+                }
+            }
+            rows.add(line);
+        }
+        return rows.toString();
+    }
+
+    /**
+     * Returns a details file for {@link #map(int)} with the player in the top row, the given number
+     * of cabbages on the dirt rows and one spawner of each kind per entry of {@code spawners}.
+     *
+     * @param tilesPerRow the width of the world in tiles.
+     * @param cabbages how many cabbages to plant, at most a quarter of the tiles.
+     * @param spawners how many spawners of each kind to place.
+     * @param duration the spawners' interval, in ticks.
+     * @return the contents of a details file.
+     */
+    public static String details(int tilesPerRow, int cabbages, int spawners, int duration) {
+        final StringJoiner details = new StringJoiner("\n");
+        details.add(":chickenFarmer:")
+                .add("|x:" + tilesPerRow / 2 * TILE_SIZE + " y:0 coins:0 food:10")
+                .add("end;")
+                .add(":cabbages:");
+        for (int i = 0; i < cabbages; i++) {
+            final int col = i % tilesPerRow;
+            final int row = 4 * (i / tilesPerRow) + 1;
+            details.add("|x:" + col * TILE_SIZE + " y:" + row * TILE_SIZE);
+        }
+        details.add("end;");
+        for (String section : new String[] {"magpiespawner", "eaglespawner", "pigeonspawner"}) {
+            details.add(":" + section + ":");
+            for (int i = 0; i < spawners; i++) {
+                final int col = (i * 7) % tilesPerRow;
+                details.add("|x:" + col * TILE_SIZE + " y:0 duration:" + duration);
+            }
+            details.add("end;");
+        }
+        return details.toString();
+    }
+
+    /**
+     * Builds a farm from {@link #map(int)} and {@link #details(int, int, int, int)}.
+     *
+     * @param tilesPerRow the width of the world in tiles.
+     * @param cabbages how many cabbages to plant.
+     * @param spawners how many spawners of each kind to place.
+     * @param duration the spawners' interval, in ticks.
+     * @return the farm.
+     * @throws IOException if the generated details cannot be read.
+     * @throws WorldLoadException if the generated map is invalid.
+     */
+    public static JavaBeanFarm farm(int tilesPerRow, int cabbages, int spawners, int duration)
+            throws IOException, WorldLoadException {
+        return new JavaBeanFarm(
+                dimensions(tilesPerRow),
+                new StringReader(map(tilesPerRow)),
+                new StringReader(details(tilesPerRow, cabbages, spawners, duration)),
+                new GameRandom(0));
+    }
+}
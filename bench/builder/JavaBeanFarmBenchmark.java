@@ -0,0 +1,57 @@
+package builder;
+
+import builder.simulation.HeadlessEngineState;
+import builder.simulation.InputSource;
+import builder.world.WorldLoadException;
+
+import engine.renderer.Renderable;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a whole frame of the game, {@link JavaBeanFarm#tick} followed by {@link
+ * JavaBeanFarm#render}, on farms of several sizes with a row of cabbages and one spawner of each
+ * kind. The farm keeps running across invocations, so the measurement covers its steady state.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JavaBeanFarmBenchmark {
+
+    @Param({"16", "32", "64"})
+    public int tilesPerRow;
+
+    private JavaBeanFarm farm;
+    private HeadlessEngineState state;
+    private int tick = 0;
+
+    @Setup
+    public void setUp() throws IOException, WorldLoadException {
+        this.farm = BenchmarkWorlds.farm(this.tilesPerRow, this.tilesPerRow, 1, 200);
+        this.state = new HeadlessEngineState(BenchmarkWorlds.dimensions(this.tilesPerRow));
+    }
+
+    @Benchmark
+    public List<Renderable> tickAndRender() {
+        this.state.advance(this.tick++, InputSource.NO_KEYS, InputSource.NO_MOUSE);
+        this.farm.tick(this.state);
+        return this.farm.render();
+    }
+}
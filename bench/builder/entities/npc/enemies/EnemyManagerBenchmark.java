@@ -0,0 +1,92 @@
+package builder.entities.npc.enemies;
+
+import builder.BenchmarkWorlds;
+import builder.GameEventListener;
+import builder.GameRandom;
+import builder.GameState;
+import builder.JavaBeanFarm;
+import builder.JavaBeanGameState;
+import builder.simulation.HeadlessEngineState;
+import builder.simulation.InputSource;
+import builder.world.WorldLoadException;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link EnemyManager#tick} with a growing number of birds chasing the player.
+ *
+ * <p>Birds expire and leave, so each invocation runs {@link #TICKS} ticks of a freshly populated
+ * manager, well within every bird's lifespan. The player has no coins, so no magpie ever turns
+ * back.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EnemyManagerBenchmark {
+    /** Ticks run per invocation; each is reported as one operation. */
+    public static final int TICKS = 1000;
+
+    private static final int TILES_PER_ROW = 32;
+
+    @Param({"10", "100", "1000"})
+    public int birds;
+
+    private JavaBeanFarm farm;
+    private EnemyManager enemies;
+    private GameState game;
+    private HeadlessEngineState state;
+
+    @Setup(Level.Invocation)
+    public void setUp() throws IOException, WorldLoadException {
+        this.farm = BenchmarkWorlds.farm(TILES_PER_ROW, 0, 0, 100);
+        this.enemies = this.farm.getEnemies();
+        this.enemies.setGlobalCap(this.birds);
+        final int window = TILES_PER_ROW * BenchmarkWorlds.TILE_SIZE;
+        for (int i = 0; i < this.birds; i++) {
+            final int x = (i * 97) % window;
+            final int y = window - 1 - (i * 41) % (window / 2);
+            this.enemies.addEnemy(
+                    i % 2 == 0
+                            ? new Magpie(x, y, this.farm.getPlayer())
+                            : new Eagle(x, y, this.farm.getPlayer()));
+        }
+        this.game =
+                new JavaBeanGameState(
+                        this.farm.getWorld(),
+                        this.farm.getPlayer(),
+                        this.farm.getInventory(),
+                        this.farm.getNpcs(),
+                        this.enemies,
+                        new GameRandom(0),
+                        GameEventListener.NONE);
+        this.state = new HeadlessEngineState(BenchmarkWorlds.dimensions(TILES_PER_ROW));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TICKS)
+    public int tick() {
+        for (int tick = 0; tick < TICKS; tick++) {
+            this.state.advance(tick, InputSource.NO_KEYS, InputSource.NO_MOUSE);
+            this.enemies.tick(this.state, this.game);
+        }
+        return this.enemies.getAllEnemies().size();
+    }
+}
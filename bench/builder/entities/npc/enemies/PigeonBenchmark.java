@@ -0,0 +1,87 @@
+package builder.entities.npc.enemies;
+
+import builder.BenchmarkWorlds;
+import builder.GameEventListener;
+import builder.GameRandom;
+import builder.GameState;
+import builder.JavaBeanFarm;
+import builder.JavaBeanGameState;
+import builder.simulation.HeadlessEngineState;
+import builder.simulation.InputSource;
+import builder.world.WorldLoadException;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a pigeon's tick, dominated by its search for the closest cabbage, with a growing number
+ * of cabbages on the farm.
+ *
+ * <p>The pigeon starts in the far corner from the cabbages and each invocation runs {@link
+ * #TICKS} ticks, too few for it to reach one, so every measured tick searches.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PigeonBenchmark {
+    /** Ticks run per invocation; each is reported as one operation. */
+    public static final int TICKS = 100;
+
+    private static final int TILES_PER_ROW = 64;
+
+    @Param({"10", "100", "1000"})
+    public int cabbages;
+
+    private JavaBeanFarm farm;
+    private Pigeon pigeon;
+    private GameState game;
+    private HeadlessEngineState state;
+
+    @Setup(Level.Trial)
+    public void setUpFarm() throws IOException, WorldLoadException {
+        this.farm = BenchmarkWorlds.farm(TILES_PER_ROW, this.cabbages, 0, 100);
+        this.game =
+                new JavaBeanGameState(
+                        this.farm.getWorld(),
+                        this.farm.getPlayer(),
+                        this.farm.getInventory(),
+                        this.farm.getNpcs(),
+                        this.farm.getEnemies(),
+                        new GameRandom(0),
+                        GameEventListener.NONE);
+        this.state = new HeadlessEngineState(BenchmarkWorlds.dimensions(TILES_PER_ROW));
+    }
+
+    @Setup(Level.Invocation)
+    public void setUpPigeon() {
+        final int corner = (TILES_PER_ROW - 1) * BenchmarkWorlds.TILE_SIZE;
+        this.pigeon = new Pigeon(corner, corner, this.farm.getPlayer());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TICKS)
+    public int tick() {
+        for (int tick = 0; tick < TICKS; tick++) {
+            this.state.advance(tick, InputSource.NO_KEYS, InputSource.NO_MOUSE);
+            this.pigeon.tick(this.state, this.game);
+        }
+        return this.pigeon.getX();
+    }
+}
@@ -0,0 +1,77 @@
+package builder.entities.npc.enemies;
+
+import builder.BenchmarkWorlds;
+import builder.GameRandom;
+import builder.entities.npc.Npc;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link EnemyManager#enemiesWithin}, which scans packed coordinates with {@link
+ * ProximityKernel}, against the loop it replaced, which asked {@link Npc#distanceFrom} about every
+ * enemy in turn.
+ *
+ * <p>Enemies are scattered over a 64 tile world and the probe sits in its middle with a radius of
+ * four tiles, a scarecrow's reach. Enemies do not move between queries, so the manager packs their
+ * coordinates once and every query reuses them, as the scarecrows, hives and bees of one phase do.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProximityKernelBenchmark {
+    private static final int TILES_PER_ROW = 64;
+    private static final int WINDOW = TILES_PER_ROW * BenchmarkWorlds.TILE_SIZE;
+    private static final int RADIUS = 4 * BenchmarkWorlds.TILE_SIZE;
+
+    @Param({"1000", "10000", "100000"})
+    public int enemies;
+
+    private EnemyManager manager;
+    private List<Enemy> list;
+    private Npc probe;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        final GameRandom random = new GameRandom(0);
+        this.manager = new EnemyManager(BenchmarkWorlds.dimensions(TILES_PER_ROW));
+        for (int i = 0; i < this.enemies; i++) {
+            this.manager.addEnemy(new Enemy(random.nextInt(WINDOW), random.nextInt(WINDOW)));
+        }
+        this.list = this.manager.getAllEnemies();
+        this.probe = new Npc(WINDOW / 2, WINDOW / 2);
+    }
+
+    @Benchmark
+    public int kernel() {
+        return this.manager.enemiesWithin(this.probe, RADIUS).size();
+    }
+
+    @Benchmark
+    public int distanceFrom() {
+        final List<Enemy> result = new ArrayList<>();
+        for (Enemy enemy : this.list) {
+            if (this.probe.distanceFrom(enemy) < RADIUS) {
+                result.add(enemy);
+            }
+        }
+        return result.size();
+    }
+}
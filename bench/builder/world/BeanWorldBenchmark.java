@@ -0,0 +1,71 @@
+package builder.world;
+
+import builder.BenchmarkWorlds;
+import builder.entities.tiles.Dirt;
+import builder.entities.tiles.Tile;
+
+import engine.renderer.Dimensions;
+import engine.renderer.Renderable;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the queries the game makes of its world every tick, at several world sizes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BeanWorldBenchmark {
+
+    @Param({"16", "32", "64", "128"})
+    public int tilesPerRow;
+
+    private Dimensions dimensions;
+    private BeanWorld world;
+    private int probe = 0;
+
+    @Setup
+    public void setUp() throws WorldLoadException {
+        this.dimensions = BenchmarkWorlds.dimensions(this.tilesPerRow);
+        this.world =
+                WorldBuilder.fromTiles(
+                        WorldBuilder.fromString(
+                                this.dimensions, BenchmarkWorlds.map(this.tilesPerRow)));
+    }
+
+    /** Looks up the tiles under a point that walks across the world, as the player does. */
+    @Benchmark
+    public List<Tile> tilesAtPosition() {
+        final int window = this.dimensions.windowSize();
+        this.probe = (this.probe + BenchmarkWorlds.TILE_SIZE + 1) % (window * window);
+        return this.world.tilesAtPosition(
+                this.probe % window, this.probe / window, this.dimensions);
+    }
+
+    /** Selects the dirt tiles, as a pigeon looking for cabbages does. */
+    @Benchmark
+    public List<Tile> tileSelector() {
+        return this.world.tileSelector(tile -> tile instanceof Dirt);
+    }
+
+    @Benchmark
+    public List<Renderable> render() {
+        return this.world.render();
+    }
+}
@@ -0,0 +1,51 @@
+package builder.world;
+
+import builder.BenchmarkWorlds;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures parsing every section of a details file, with a growing number of cabbages and
+ * spawners.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OverlayBuilderBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int entries;
+
+    private String details;
+
+    @Setup
+    public void setUp() {
+        this.details = BenchmarkWorlds.details(64, this.entries, this.entries, 100);
+    }
+
+    @Benchmark
+    public void parse(Blackhole blackhole) throws IOException {
+        blackhole.consume(OverlayBuilder.getPlayerDetailsFromFile(this.details));
+        blackhole.consume(OverlayBuilder.getCabbageSpawnDetailsFromString(this.details));
+        blackhole.consume(OverlayBuilder.getMagpieSpawnDetailsFromString(this.details));
+        blackhole.consume(OverlayBuilder.getEagleSpawnDetailsFromString(this.details));
+        blackhole.consume(OverlayBuilder.getPigeonSpawnDetailsFromString(this.details));
+    }
+}
@@ -0,0 +1,50 @@
+package builder.world;
+
+import builder.BenchmarkWorlds;
+import builder.entities.tiles.Tile;
+
+import engine.renderer.Dimensions;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures loading a world from its text encoding at several map sizes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WorldBuilderBenchmark {
+
+    @Param({"16", "32", "64", "128"})
+    public int tilesPerRow;
+
+    private Dimensions dimensions;
+    private String map;
+
+    @Setup
+    public void setUp() {
+        this.dimensions = BenchmarkWorlds.dimensions(this.tilesPerRow);
+        this.map = BenchmarkWorlds.map(this.tilesPerRow);
+    }
+
+    @Benchmark
+    public List<Tile> fromString() throws WorldLoadException {
+        return WorldBuilder.fromString(this.dimensions, this.map);
+    }
+}
@@ -1,13 +1,33 @@
+import builder.GameRandom;
 import builder.JavaBeanFarm;
+import builder.metrics.FootprintReporter;
+import builder.metrics.GameMetrics;
+import builder.metrics.JsonLinesExporter;
+import builder.metrics.MetricsMBean;
+import builder.metrics.MetricsRegistry;
+import builder.metrics.SlowTickRecorder;
+import builder.metrics.Trace;
+import builder.metrics.TraceWriter;
+import builder.simulation.InputRecorder;
+import builder.simulation.InputRecording;
+import builder.spectator.SpectatorPublisher;
+import builder.spectator.SpectatorView;
+import builder.timing.FixedTimestepLoop;
+import builder.timing.TimeScaledGame;
+import builder.ui.PerformanceOverlay;
 import builder.world.WorldLoadException;
 
 import engine.Engine;
-import engine.game.Game;
 import engine.renderer.Dimensions;
 import engine.renderer.TileGrid;
 
 import java.io.FileReader;
 import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import javax.management.JMException;
 
 /**
  * A main class to execute the JavaBean game.
@@ -18,18 +38,66 @@ public class Main {
     private static final int SIZE = 800;
     private static final int TILES_PER_ROW = 25;
 
+    private static final String MAP = "resources/uqLogo.map";
+    private static final String DETAILS = "resources/uqLogo.details";
+
+    private static final long METRICS_PERIOD_MILLIS = 1000;
+    private static final long SLOW_TICK_NANOS = 50_000_000L;
+    private static final String SLOW_TICKS = "slow-ticks";
+    private static final String SLOW_TICKS_PROPERTY = "slow.ticks.dir";
+
     /**
      * Start the game.
      *
-     * @param args Command line arguments, unused in this method.
+     * <p>Passing {@code --record <file>} records the game's input to the file so it can be replayed
+     * later with {@link InputRecording}. Passing {@code --spectate <port>} streams the game to
+     * {@link SpectatorView}s connecting to that port on this machine. Passing {@code --metrics}
+     * publishes the game's {@link GameMetrics} over JMX, and {@code --metrics <file>} also writes
+     * them to the file every second as JSON lines. The JMX operation {@code measureFootprint} then
+     * has a {@link FootprintReporter} estimate the heap each part of the farm retains, which is
+     * published and exported with the other metrics. Passing {@code --trace <file>} writes a
+     * timeline of the game's loading, ticks and rendering to the file, see {@link TraceWriter}.
+     *
+     * <p>Ticks slower than 50 milliseconds are written, with the ticks around them, by a {@link
+     * SlowTickRecorder} to the directory named by the {@value SLOW_TICKS_PROPERTY} system property,
+     * or {@value SLOW_TICKS} in the working directory if it is not set. The directory is only
+     * created when the first slow tick is written.
+     *
+     * <p>While playing, {@value TimeScaledGame#FASTER} and {@value TimeScaledGame#SLOWER} change
+     * the game speed, see {@link TimeScaledGame}, and {@value PerformanceOverlay#TOGGLE} shows the
+     * game's performance, see {@link PerformanceOverlay}.
+     *
+     * @param args Command line arguments, optionally {@code --record <file>}, {@code --spectate
+     *     <port>}, {@code --metrics [file]} or {@code --trace <file>}.
      * @throws IOException If the map file cannot be found or read from.
      * @throws WorldLoadException If the map file is invalid in some way.
      */
     public static void main(String[] args) throws IOException, WorldLoadException {
         Dimensions dimensions = new TileGrid(TILES_PER_ROW, SIZE);
-        Game game =
-                new JavaBeanFarm(dimensions, new FileReader("resources/uqLogo.map"), new FileReader("resources/uqLogo.details"));
-        Engine engine = new Engine(game, dimensions);
+        if (args.length == 2 && args[0].equals("--record")) {
+            record(dimensions, Path.of(args[1]));
+            return;
+        }
+        if (args.length >= 1 && args[0].equals("--metrics")) {
+            measure(dimensions, args.length == 2 ? Path.of(args[1]) : null);
+            return;
+        }
+        if (args.length == 2 && args[0].equals("--trace")) {
+            trace(dimensions, Path.of(args[1]));
+            return;
+        }
+        JavaBeanFarm game =
+                new JavaBeanFarm(dimensions, new FileReader(MAP), new FileReader(DETAILS));
+        game.setMetrics(instrument(new MetricsRegistry()));
+        if (args.length == 2 && args[0].equals("--spectate")) {
+            try (SpectatorPublisher publisher =
+                    new SpectatorPublisher(game, Integer.parseInt(args[1]))) {
+                System.err.println("spectators can connect to port " + publisher.getPort());
+                run(new Engine(publisher, dimensions));
+            }
+            return;
+        }
+        Engine engine = new Engine(new TimeScaledGame(game), dimensions);
 
         // Optionally uncomment this line to turn on debug mode
         // engine.debug().on();
@@ -37,16 +105,116 @@ public class Main {
         run(engine);
     }
 
+    /**
+     * Plays the game while recording its seed and every change of input to the given file.
+     *
+     * @param dimensions The dimensions of the game.
+     * @param file Where to write the recording.
+     * @throws IOException If the map file cannot be read or the recording cannot be written.
+     * @throws WorldLoadException If the map file is invalid in some way.
+     */
+    private static void record(Dimensions dimensions, Path file)
+            throws IOException, WorldLoadException {
+        String map = Files.readString(Path.of(MAP));
+        String details = Files.readString(Path.of(DETAILS));
+        JavaBeanFarm game =
+                new JavaBeanFarm(
+                        dimensions,
+                        new StringReader(map),
+                        new StringReader(details),
+                        GameRandom.fromClock());
+        try (InputRecorder recorder =
+                new InputRecorder(game, dimensions, map, details, Files.newOutputStream(file))) {
+            run(new Engine(recorder, dimensions));
+            System.err.println("recorded " + recorder.getRecordedTicks() + " ticks to " + file);
+        }
+    }
+
+    /**
+     * Plays the game with its metrics published over JMX and, if a file is given, exported to it.
+     *
+     * @param dimensions The dimensions of the game.
+     * @param file Where to export the metrics, or null to only publish them over JMX.
+     * @throws IOException If the map file cannot be read or the metrics file cannot be written.
+     * @throws WorldLoadException If the map file is invalid in some way.
+     */
+    private static void measure(Dimensions dimensions, Path file)
+            throws IOException, WorldLoadException {
+        JavaBeanFarm game =
+                new JavaBeanFarm(dimensions, new FileReader(MAP), new FileReader(DETAILS));
+        MetricsRegistry registry = new MetricsRegistry();
+        GameMetrics metrics = instrument(registry);
+        FootprintReporter footprint = new FootprintReporter(registry);
+        metrics.setFootprint(footprint);
+        game.setMetrics(metrics);
+        try {
+            System.err.println(
+                    "metrics published as " + MetricsMBean.register(registry, footprint));
+        } catch (JMException e) {
+            System.err.println("metrics not published over JMX: " + e.getMessage());
+        }
+        if (file == null) {
+            run(new Engine(new TimeScaledGame(game), dimensions));
+            return;
+        }
+        JsonLinesExporter exporter = new JsonLinesExporter(registry, file, METRICS_PERIOD_MILLIS);
+        try (exporter) {
+            run(new Engine(new TimeScaledGame(game), dimensions));
+        }
+    }
+
+    /**
+     * Plays the game while writing a trace of its loading, ticks and rendering to the given file.
+     *
+     * @param dimensions The dimensions of the game.
+     * @param file Where to write the trace.
+     * @throws IOException If the map file cannot be read or the trace cannot be written.
+     * @throws WorldLoadException If the map file is invalid in some way.
+     */
+    private static void trace(Dimensions dimensions, Path file)
+            throws IOException, WorldLoadException {
+        try (TraceWriter writer = new TraceWriter(file)) {
+            Trace.enable(writer);
+            try {
+                JavaBeanFarm game =
+                        new JavaBeanFarm(dimensions, new FileReader(MAP), new FileReader(DETAILS));
+                game.setMetrics(instrument(new MetricsRegistry()));
+                run(new Engine(new TimeScaledGame(game), dimensions));
+            } finally {
+                Trace.disable();
+            }
+            if (writer.getDropped() > 0) {
+                System.err.println("trace dropped " + writer.getDropped() + " events");
+            }
+        }
+    }
+
+    /**
+     * Builds the game's instrumentation, recording slow ticks.
+     *
+     * @param registry Where the metrics are kept.
+     * @return The instrumentation.
+     */
+    private static GameMetrics instrument(MetricsRegistry registry) {
+        GameMetrics metrics = new GameMetrics(registry);
+        Path slowTicks = Path.of(System.getProperty(SLOW_TICKS_PROPERTY, SLOW_TICKS));
+        metrics.setRecorder(new SlowTickRecorder(SLOW_TICK_NANOS, slowTicks));
+        return metrics;
+    }
+
     /**
      * Helper method to run the game loop.
      *
+     * <p>Ticks are scheduled by a {@link FixedTimestepLoop}, which sleeps between ticks rather than
+     * polling {@link Engine#isTimeForNextTick()}. Late or dropped ticks are reported on exit.
+     *
      * @param engine The engine instance to execute.
      */
     private static void run(Engine engine) {
-        while (engine.isRunning()) {
-            if (engine.isTimeForNextTick()) {
-                engine.tick();
-            }
+        FixedTimestepLoop loop = new FixedTimestepLoop();
+        loop.run(engine::isRunning, engine::tick);
+        if (loop.getLateTicks() > 0 || loop.getDroppedTicks() > 0) {
+            System.err.println(loop);
         }
     }
 }
@@ -0,0 +1,114 @@
+package builder;
+
+import builder.entities.npc.enemies.Enemy;
+import builder.entities.resources.Cabbage;
+import builder.entities.resources.Ore;
+import builder.entities.tiles.Tile;
+
+/**
+ * Receives the events that change a game's lasting state: the farm, the inventory and the
+ * enemies. Movement and timers are not reported.
+ *
+ * <p>The game's listener is found through {@link GameState#getEvents()}. Every method does nothing
+ * by default, so a listener only overrides the events it cares about. Events are reported on the
+ * tick thread, so listeners must be quick.
+ */
+public interface GameEventListener {
+
+    /** A listener that ignores every event. */
+    GameEventListener NONE = new GameEventListener() {};
+
+    /**
+     * Called at the start of every tick, before any other event of that tick.
+     *
+     * @param tick the tick about to run.
+     */
+    default void tickStarted(int tick) {}
+
+    /**
+     * Called when a dirt tile becomes tilled.
+     *
+     * @param tile the tilled tile.
+     */
+    default void tileTilled(Tile tile) {}
+
+    /**
+     * Called when a cabbage is planted.
+     *
+     * @param tile the tile the cabbage was planted on.
+     */
+    default void cabbagePlanted(Tile tile) {}
+
+    /**
+     * Called when a scarecrow is placed.
+     *
+     * @param tile the tile the scarecrow was placed on.
+     */
+    default void scarecrowPlaced(Tile tile) {}
+
+    /**
+     * Called when the player collects a grown cabbage.
+     *
+     * @param cabbage the collected cabbage.
+     */
+    default void cabbageHarvested(Cabbage cabbage) {}
+
+    /**
+     * Called when an enemy takes a cabbage from the farm.
+     *
+     * @param cabbage the stolen cabbage.
+     */
+    default void cabbageStolen(Cabbage cabbage) {}
+
+    /**
+     * Called when an enemy takes coins from the player.
+     *
+     * @param thief the enemy that took the coins.
+     * @param coins the number of coins taken.
+     */
+    default void coinsStolen(Enemy thief, int coins) {}
+
+    /**
+     * Called when an enemy takes food from the player.
+     *
+     * @param thief the enemy that took the food.
+     * @param food the amount of food taken.
+     */
+    default void foodStolen(Enemy thief, int food) {}
+
+    /**
+     * Called when coins are mined from an ore.
+     *
+     * @param ore the mined ore.
+     * @param coinsLeft the coins left in the ore.
+     */
+    default void oreMined(Ore ore, int coinsLeft) {}
+
+    /**
+     * Called when the number of coins in the inventory changes.
+     *
+     * @param coins the new number of coins.
+     */
+    default void coinsChanged(int coins) {}
+
+    /**
+     * Called when the amount of food in the inventory changes.
+     *
+     * @param food the new amount of food.
+     */
+    default void foodChanged(int food) {}
+
+    /**
+     * Called when an enemy is admitted into the game.
+     *
+     * @param enemy the new enemy.
+     */
+    default void enemySpawned(Enemy enemy) {}
+
+    /**
+     * Called when an enemy is removed from the game.
+     *
+     * @param enemy the removed enemy.
+     */
+    default void enemyRemoved(Enemy enemy) {}
+}
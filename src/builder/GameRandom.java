@@ -0,0 +1,90 @@
+package builder;
+
+import builder.snapshot.Savable;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * The single source of randomness for a game.
+ *
+ * <p>Every random choice made by the game should come from the game's {@code GameRandom}, found
+ * through {@link GameState#getRandom()}, rather than from a new {@link java.util.Random}. Two games
+ * started with the same seed and given the same input then make exactly the same choices, which
+ * is what allows a recorded game to be replayed.
+ *
+ * <p>The generator is SplitMix64, whose whole state is a single {@code long}, so it can also be
+ * saved in a snapshot and continue exactly where it left off.
+ */
+public class GameRandom implements Savable {
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private final long seed;
+    private long state;
+
+    /**
+     * Constructs a generator from the given seed.
+     *
+     * @param seed the seed; equal seeds produce equal sequences.
+     */
+    public GameRandom(long seed) {
+        this.seed = seed;
+        this.state = seed;
+    }
+
+    /**
+     * Constructs a generator seeded from the system clock, for games that are not being recorded.
+     *
+     * @return a new generator with an unpredictable seed.
+     */
+    public static GameRandom fromClock() {
+        return new GameRandom(System.nanoTime());
+    }
+
+    /**
+     * Returns the seed this generator was constructed with.
+     *
+     * @return the generator's seed.
+     */
+    public long getSeed() {
+        return this.seed;
+    }
+
+    /**
+     * Returns the next pseudorandom {@code long}.
+     *
+     * @return a uniformly distributed {@code long}.
+     */
+    public long nextLong() {
+        long z = (this.state += GOLDEN_GAMMA);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Returns a pseudorandom value between 0 (inclusive) and the given bound (exclusive).
+     *
+     * @requires bound &gt; 0
+     * @param bound the upper bound, exclusive.
+     * @return a uniformly distributed value in {@code [0, bound)}.
+     */
+    public int nextInt(int bound) {
+        if (bound <= 0) {
+            throw new IllegalArgumentException("bound must be positive: " + bound);
+        }
+        // the high bits are the best mixed; multiply-shift maps them into range
+        return (int) (((this.nextLong() >>> 32) * bound) >>> 32);
+    }
+
+    @Override
+    public void save(DataOutput out) throws IOException {
+        out.writeLong(this.state);
+    }
+
+    @Override
+    public void load(DataInput in) throws IOException {
+        this.state = in.readLong();
+    }
+}
@@ -47,4 +47,19 @@ public interface GameState {
      * @return The inventory of the player.
      */
     Inventory getInventory();
+
+    /**
+     * Returns the game's source of randomness. All random choices should be made through it so
+     * that a game can be replayed exactly from its seed and input.
+     *
+     * @return The game's random number generator.
+     */
+    GameRandom getRandom();
+
+    /**
+     * Returns the listener that state-changing events should be reported to.
+     *
+     * @return The game's event listener, {@link GameEventListener#NONE} if nothing is listening.
+     */
+    GameEventListener getEvents();
 }
@@ -1,10 +1,12 @@
 package builder;
 
+import builder.entities.npc.Npc;
 import builder.entities.npc.NpcManager;
 import builder.entities.npc.enemies.EnemyManager;
 import builder.entities.npc.spawners.EagleSpawner;
 import builder.entities.npc.spawners.MagpieSpawner;
 import builder.entities.npc.spawners.PigeonSpawner;
+import builder.entities.npc.spawners.Spawner;
 import builder.entities.tiles.Dirt;
 import builder.entities.tiles.Tile;
 import builder.inventory.*;
@@ -15,8 +17,15 @@ import builder.inventory.items.Jackhammer;
 import builder.inventory.items.Pole;
 import builder.inventory.ui.InventoryOverlay;
 import builder.inventory.ui.ResourceOverlay;
+import builder.jfr.TickPhaseEvent;
+import builder.metrics.GameMetrics;
+import builder.metrics.GameMetrics.Phase;
+import builder.metrics.Trace;
+import builder.player.Player;
 import builder.player.PlayerManager;
+import builder.timing.Skippable;
 import builder.ui.Overlay;
+import builder.ui.PerformanceOverlay;
 import builder.world.BeanWorld;
 import builder.world.CabbageDetails;
 import builder.world.OverlayBuilder;
@@ -26,6 +35,7 @@ import builder.world.WorldBuilder;
 import builder.world.WorldLoadException;
 
 import engine.EngineState;
+import engine.game.Entity;
 import engine.game.Game;
 import engine.renderer.Dimensions;
 import engine.renderer.Renderable;
@@ -53,6 +63,9 @@ import java.util.StringJoiner;
  * @stage2part This class manages the world instance.
  */
 public class JavaBeanFarm implements Game {
+    private static final int RENDER_WORLD = Trace.name("render.world");
+    private static final int RENDER_ENTITIES = Trace.name("render.entities");
+    private static final int RENDER_OVERLAYS = Trace.name("render.overlays");
 
     private final PlayerManager playerManager;
 
@@ -62,7 +75,13 @@ public class JavaBeanFarm implements Game {
     private final BeanWorld world;
 
     private final Inventory inventory;
+    private final GameRandom random;
+    private GameEventListener events = GameEventListener.NONE;
+    private GameEventListener dispatch = GameEventListener.NONE;
+    private GameMetrics metrics = GameMetrics.DISABLED;
+    private int tick = 0;
     private final List<Overlay> overlays = new ArrayList<>();
+    private final PerformanceOverlay performance;
 
     private String readAllReader(Reader reader) throws IOException {
         BufferedReader br = new BufferedReader(reader);
@@ -85,6 +104,24 @@ public class JavaBeanFarm implements Game {
      */
     public JavaBeanFarm(Dimensions dimensions, Reader mapReader, Reader detailReader)
             throws IOException, WorldLoadException {
+        this(dimensions, mapReader, detailReader, GameRandom.fromClock());
+    }
+
+    /**
+     * Constructs a new JavaBean Farm game whose random choices all come from the given generator.
+     * Games built from the same files and seed, and given the same input, play out identically.
+     *
+     * @param dimensions The dimensions we want for this game.
+     * @param mapReader A reader the contains a description of the world map.
+     * @param detailReader A reader the contains the overlay details for the game.
+     * @param random The game's source of randomness.
+     * @throws IOException If the game is unable to read either reader.
+     * @throws WorldLoadException If the world map cannot be parsed successfully.
+     */
+    public JavaBeanFarm(
+            Dimensions dimensions, Reader mapReader, Reader detailReader, GameRandom random)
+            throws IOException, WorldLoadException {
+        this.random = random;
 
         final String detailsContent = readAllReader(detailReader);
         final PlayerDetails playerDetails = OverlayBuilder.getPlayerDetailsFromFile(detailsContent);
@@ -153,12 +190,150 @@ public class JavaBeanFarm implements Game {
 
         this.overlays.add(new InventoryOverlay(dimensions, inventorySize));
         this.overlays.add(new ResourceOverlay(dimensions));
+        this.performance = new PerformanceOverlay(dimensions);
+        this.overlays.add(this.performance);
+    }
+
+    /**
+     * Constructs a JavaBean Farm game from already built parts, for example when restoring a saved
+     * game.
+     *
+     * @param dimensions The dimensions we want for this game.
+     * @param world The world, with all of its tiles placed.
+     * @param playerManager The manager of the player.
+     * @param inventory The player's inventory.
+     * @param npcs The game's NPCs.
+     * @param enemies The game's enemies and spawners.
+     * @param random The game's source of randomness.
+     */
+    public JavaBeanFarm(
+            Dimensions dimensions,
+            BeanWorld world,
+            PlayerManager playerManager,
+            Inventory inventory,
+            NpcManager npcs,
+            EnemyManager enemies,
+            GameRandom random) {
+        this.world = world;
+        this.random = random;
+        this.playerManager = playerManager;
+        this.inventory = inventory;
+        this.npcs = npcs;
+        this.enemies = enemies;
+
+        this.overlays.add(new InventoryOverlay(dimensions, inventory.getCapacity()));
+        this.overlays.add(new ResourceOverlay(dimensions));
+        this.performance = new PerformanceOverlay(dimensions);
+        this.overlays.add(this.performance);
     }
 
     public JavaBeanFarm(Dimensions dimensions, String mapFile, String detailsFile) throws IOException, WorldLoadException {
         this(dimensions, new FileReader(mapFile), new FileReader(detailsFile));
     }
 
+    /**
+     * Returns the world managed by this game.
+     *
+     * @return the game's world.
+     */
+    public BeanWorld getWorld() {
+        return this.world;
+    }
+
+    /**
+     * Returns the player controlled in this game.
+     *
+     * @return the game's player.
+     */
+    public Player getPlayer() {
+        return this.playerManager.getPlayer();
+    }
+
+    /**
+     * Returns the player's inventory.
+     *
+     * @return the game's inventory.
+     */
+    public Inventory getInventory() {
+        return this.inventory;
+    }
+
+    /**
+     * Returns the manager of this game's NPCs.
+     *
+     * @return the game's NPC manager.
+     */
+    public NpcManager getNpcs() {
+        return this.npcs;
+    }
+
+    /**
+     * Returns the manager of this game's enemies and spawners.
+     *
+     * @return the game's enemy manager.
+     */
+    public EnemyManager getEnemies() {
+        return this.enemies;
+    }
+
+    /**
+     * Returns the overlay showing this game's performance, hidden until toggled with {@value
+     * PerformanceOverlay#TOGGLE}.
+     *
+     * @return the game's performance overlay.
+     */
+    public PerformanceOverlay getPerformanceOverlay() {
+        return this.performance;
+    }
+
+    /**
+     * Returns the source of randomness for this game.
+     *
+     * @return the game's random number generator.
+     */
+    public GameRandom getRandom() {
+        return this.random;
+    }
+
+    /**
+     * Sets the listener told about every state-changing event in the game, such as tilling, mining
+     * or an enemy spawning, replacing any previous listener.
+     *
+     * @param listener the listener, or {@link GameEventListener#NONE} to stop reporting events.
+     */
+    public void setEventListener(GameEventListener listener) {
+        this.events = listener;
+        this.dispatchEvents();
+    }
+
+    /**
+     * Sets the instrumentation that times each stage of a tick and counts what happens in the
+     * farm, replacing any previous instrumentation. The event listener keeps receiving every
+     * event.
+     *
+     * @param metrics the instrumentation, or {@link GameMetrics#DISABLED} to stop measuring.
+     */
+    public void setMetrics(GameMetrics metrics) {
+        this.metrics = metrics;
+        this.performance.setMetrics(metrics);
+        this.dispatchEvents();
+    }
+
+    /**
+     * Returns the instrumentation of this game.
+     *
+     * @return the game's metrics, {@link GameMetrics#DISABLED} unless set.
+     */
+    public GameMetrics getMetrics() {
+        return this.metrics;
+    }
+
+    private void dispatchEvents() {
+        this.dispatch = this.metrics.listening(this.events);
+        this.inventory.setEventListener(this.dispatch);
+        this.enemies.setEventListener(this.dispatch);
+    }
+
     /**
      * Ticks the internal game state forward by one frame. a
      *
@@ -170,24 +345,108 @@ public class JavaBeanFarm implements Game {
      *     GameState)}.
      */
     public void tick(EngineState state) {
+        final long start = this.metrics.startTick(state.currentTick());
         GameState game =
                 new JavaBeanGameState(
-                        world, playerManager.getPlayer(), inventory, this.npcs, this.enemies);
+                        world,
+                        playerManager.getPlayer(),
+                        inventory,
+                        this.npcs,
+                        this.enemies,
+                        this.random,
+                        this.dispatch);
+        this.dispatch.tickStarted(state.currentTick());
+        this.tick = state.currentTick();
+        long lap = this.metrics.start();
+        TickPhaseEvent phase = TickPhaseEvent.begin(Phase.PLAYER, state.currentTick());
         this.playerManager.tick(state, game);
+        lap = this.metrics.lap(Phase.PLAYER, lap);
+        phase = TickPhaseEvent.next(phase);
         this.npcs.tick(state, game);
+        lap = this.metrics.lap(Phase.NPCS, lap);
+        phase = TickPhaseEvent.next(phase);
         this.enemies.tick(state, game);
+        lap = this.metrics.lap(Phase.ENEMIES, lap);
+        phase = TickPhaseEvent.next(phase);
 
         this.world.tick(state, game);
+        lap = this.metrics.lap(Phase.WORLD, lap);
+        phase = TickPhaseEvent.next(phase);
 
         for (Overlay overlay : overlays) {
             overlay.tick(state, game);
         }
+        lap = this.metrics.lap(Phase.OVERLAYS, lap);
+        phase = TickPhaseEvent.next(phase);
 
         this.npcs.interact(state, game);
         this.enemies.interact(state, game);
+        lap = this.metrics.lap(Phase.INTERACT, lap);
+        phase = TickPhaseEvent.next(phase);
 
         this.npcs.cleanup();
         this.enemies.cleanUp();
+        this.metrics.lap(Phase.CLEANUP, lap);
+        TickPhaseEvent.next(phase);
+        this.metrics.tickFinished(start, this.npcs, this.enemies, this.world);
+        this.metrics.sampleFootprint(state.currentTick(), game);
+    }
+
+    /**
+     * Returns how many of the coming ticks would only count timers down, provided no key or mouse
+     * button is held during them and the tick just run had no input either.
+     *
+     * <p>The farm is quiet when the player's tiles are settled, every NPC is asleep, no enemy is
+     * alive or queued, and every tile is settled. It stays quiet until the first tick on which a
+     * spawner fires or a cabbage grows, so every tick before that may be replaced by {@link
+     * #skip(int)}. Working this out costs one pass over the tiles, however long the quiet stretch.
+     *
+     * @return the number of ticks that may be skipped, 0 if the next tick may change something.
+     */
+    public int quietTicks() {
+        if (!this.playerManager.isSettled()
+                || !this.npcs.isAllAsleep()
+                || !this.enemies.getAllEnemies().isEmpty()
+                || this.enemies.getPendingSpawns() > 0) {
+            return 0;
+        }
+        int next = Integer.MAX_VALUE;
+        for (Spawner spawner : this.enemies.getSpawner()) {
+            next = Math.min(next, spawner.ticksUntilChange());
+        }
+        for (Tile tile : this.world.allTiles()) {
+            if (!tile.isSettled()) {
+                return 0;
+            }
+            for (Entity entity : tile.getStackedEntities()) {
+                if (entity instanceof Skippable skippable) {
+                    next = Math.min(next, skippable.ticksUntilChange());
+                } else if (!(entity instanceof Npc npc && this.npcs.isAsleep(npc))) {
+                    return 0;
+                }
+            }
+        }
+        return next - 1;
+    }
+
+    /**
+     * Advances the farm as if the given number of quiet ticks had been run. Sleeping NPCs catch up
+     * on the skipped ticks when they wake, as they would after being asleep for them.
+     *
+     * @requires 0 &le; ticks &le; quietTicks()
+     * @param ticks the number of ticks to skip.
+     */
+    public void skip(int ticks) {
+        for (Spawner spawner : this.enemies.getSpawner()) {
+            spawner.skip(ticks);
+        }
+        for (Tile tile : this.world.allTiles()) {
+            for (Entity entity : tile.getStackedEntities()) {
+                if (entity instanceof Skippable skippable) {
+                    skippable.skip(ticks);
+                }
+            }
+        }
     }
 
     /**
@@ -204,20 +463,27 @@ public class JavaBeanFarm implements Game {
      */
     @Override
     public List<Renderable> render() {
-
+        final long start = this.metrics.start();
+        final TickPhaseEvent phase = TickPhaseEvent.begin(Phase.RENDER, this.tick);
         List<Renderable> renderables = new ArrayList<>();
 
+        long part = Trace.now();
         renderables.addAll(this.world.render());
+        part = Trace.span(RENDER_WORLD, part);
 
         renderables.addAll(this.npcs.render());
         renderables.addAll(this.enemies.render());
 
         renderables.addAll(this.playerManager.render());
+        part = Trace.span(RENDER_ENTITIES, part);
 
         for (Overlay overlay : overlays) {
             renderables.addAll(overlay.render());
         }
+        Trace.span(RENDER_OVERLAYS, part);
 
+        this.metrics.rendered(start, renderables.size());
+        TickPhaseEvent.next(phase);
         return renderables;
     }
 }
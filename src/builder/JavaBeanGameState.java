@@ -18,6 +18,8 @@ public class JavaBeanGameState implements GameState {
     private final Inventory inventory;
     private final NpcManager npcs;
     private final EnemyManager enemies;
+    private final GameRandom random;
+    private final GameEventListener events;
 
     /**
      * Construct a new instance storing the given world, player, and inventory.
@@ -32,11 +34,43 @@ public class JavaBeanGameState implements GameState {
             Inventory inventory,
             NpcManager npcs,
             EnemyManager enemies) {
+        this(
+                world,
+                player,
+                inventory,
+                npcs,
+                enemies,
+                GameRandom.fromClock(),
+                GameEventListener.NONE);
+    }
+
+    /**
+     * Construct a new instance storing the given world, player, inventory, random number generator
+     * and event listener.
+     *
+     * @param world The world of the game.
+     * @param player The player of the game.
+     * @param inventory The inventory of the player.
+     * @param npcs The game's NPCs.
+     * @param enemies The game's enemies.
+     * @param random The game's source of randomness.
+     * @param events The listener for state-changing events.
+     */
+    public JavaBeanGameState(
+            World world,
+            Player player,
+            Inventory inventory,
+            NpcManager npcs,
+            EnemyManager enemies,
+            GameRandom random,
+            GameEventListener events) {
         this.world = world;
         this.player = player;
         this.inventory = inventory;
         this.npcs = npcs;
         this.enemies = enemies;
+        this.random = random;
+        this.events = events;
     }
 
     public NpcManager getNpcs() {
@@ -71,4 +105,14 @@ public class JavaBeanGameState implements GameState {
     public Inventory getInventory() {
         return inventory;
     }
+
+    @Override
+    public GameRandom getRandom() {
+        return this.random;
+    }
+
+    @Override
+    public GameEventListener getEvents() {
+        return this.events;
+    }
 }
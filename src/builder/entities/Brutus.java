@@ -1,16 +1,15 @@
 package builder.entities;
 
+import builder.GameRandom;
+import builder.ui.SharedAnimation;
 import builder.ui.SpriteGallery;
 
 import engine.EngineState;
-import engine.art.sprites.Sprite;
 import engine.art.sprites.SpriteGroup;
 import engine.game.Direction;
 import engine.game.Entity;
 import engine.timing.*;
 
-import java.util.Random;
-
 /**
  * Brutus is a character that runs randomly around the world. He is useful for testing that the game
  * can be run. Brutus is rendered using the {@link builder.ui.SpriteGallery#brutus} sprites.
@@ -19,30 +18,33 @@ import java.util.Random;
  * that direction until the next change of direction.
  */
 public class Brutus extends Entity {
-    private final SpriteGroup art = SpriteGallery.brutus;
-    private final Animation leftWalking =
-            new Animation(
+    private static final SpriteGroup art = SpriteGallery.brutus;
+    private static final SharedAnimation leftWalking =
+            new SharedAnimation(
                     AnimationDuration.FAST,
-                    new Sprite[] {
-                        art.getSprite("left"), art.getSprite("left1"), art.getSprite("left2")
-                    });
-    private final Animation rightWalking =
-            new Animation(
+                    art.getSprite("left"),
+                    art.getSprite("left1"),
+                    art.getSprite("left2"));
+    private static final SharedAnimation rightWalking =
+            new SharedAnimation(
                     AnimationDuration.FAST,
-                    new Sprite[] {
-                        art.getSprite("right"), art.getSprite("right1"), art.getSprite("right2")
-                    });
-    private final Animation upWalking =
-            new Animation(
+                    art.getSprite("right"),
+                    art.getSprite("right1"),
+                    art.getSprite("right2"));
+    private static final SharedAnimation upWalking =
+            new SharedAnimation(
                     AnimationDuration.SLOW,
-                    new Sprite[] {art.getSprite("up"), art.getSprite("up1"), art.getSprite("up2")});
-    private final Animation downWalking =
-            new Animation(
+                    art.getSprite("up"),
+                    art.getSprite("up1"),
+                    art.getSprite("up2"));
+    private static final SharedAnimation downWalking =
+            new SharedAnimation(
                     AnimationDuration.SLOW,
-                    new Sprite[] {
-                        art.getSprite("down"), art.getSprite("down1"), art.getSprite("down2")
-                    });
+                    art.getSprite("down"),
+                    art.getSprite("down1"),
+                    art.getSprite("down2"));
 
+    private final GameRandom random;
     private Direction travelling = Direction.SOUTH;
     private TickTimer timer = new RepeatingTimer(TimerDuration.SHORT);
 
@@ -55,8 +57,23 @@ public class Brutus extends Entity {
      * @param y The y-axis (vertical) coordinate.
      */
     public Brutus(int x, int y) {
+        this(x, y, GameRandom.fromClock());
+    }
+
+    /**
+     * Construct a new Brutus at the given x, y position who picks his directions using the given
+     * random number generator, usually the game's {@link builder.GameState#getRandom()}.
+     *
+     * @requires x >= 0, x is less than the window width
+     * @requires y >= 0, y is less than the window height
+     * @param x The x-axis (horizontal) coordinate.
+     * @param y The y-axis (vertical) coordinate.
+     * @param random The source of Brutus' random directions.
+     */
+    public Brutus(int x, int y, GameRandom random) {
         super(x, y);
         assert x >= 0 && y >= 0;
+        this.random = random;
     }
 
     @Override
@@ -64,22 +81,16 @@ public class Brutus extends Entity {
         timer.tick();
         if (timer.isFinished()) {
             // pick a new direction to travel
-            Random random = new Random();
             travelling = Direction.values()[random.nextInt(4)];
         }
 
-        // always progress animation
-        leftWalking.tick(state);
-        rightWalking.tick(state);
-        downWalking.tick(state);
-        upWalking.tick(state);
-
-        // set the sprites appropriately
+        // set the sprites appropriately, animations follow the game's tick
+        final int tick = state.currentTick();
         switch (travelling) {
-            case EAST -> setSprite(rightWalking);
-            case WEST -> setSprite(leftWalking);
-            case NORTH -> setSprite(upWalking);
-            case SOUTH -> setSprite(downWalking);
+            case EAST -> setSprite(rightWalking.frameAt(tick));
+            case WEST -> setSprite(leftWalking.frameAt(tick));
+            case NORTH -> setSprite(upWalking.frameAt(tick));
+            case SOUTH -> setSprite(downWalking.frameAt(tick));
         }
 
         // move player in direction
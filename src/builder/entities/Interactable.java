@@ -6,9 +6,9 @@ import engine.EngineState;
 
 /**
  * A game component that has an interaction behaviour with the player. The interaction event
- * (calling of {@link #interact}) is triggered when the player occupies the same grid square as this
- * component. The event continues to be fired each tick for as long as the player occupies the
- * space.
+ * (calling of {@link #interact}) is triggered when the player arrives on the same grid square as
+ * this component. While the player stays on the square, the event is fired again only when the
+ * component reports a state change through {@link StateNotifier}.
  *
  * <p>Note that for left-click behaviour, {@link Usable} should be used instead.
  *
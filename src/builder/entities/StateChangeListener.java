@@ -0,0 +1,17 @@
+package builder.entities;
+
+import engine.game.Entity;
+
+/**
+ * Receives notifications from a {@link StateNotifier} whenever its state changes in a way that
+ * may affect how it responds to the player.
+ */
+public interface StateChangeListener {
+
+    /**
+     * Called after the given entity has changed state.
+     *
+     * @param source the entity whose state changed.
+     */
+    void stateChanged(Entity source);
+}
@@ -0,0 +1,20 @@
+package builder.entities;
+
+/**
+ * A stacked entity that reports its own state changes, e.g. a {@link
+ * builder.entities.resources.Cabbage} becoming collectable.
+ *
+ * <p>Tiles only re-run {@link Interactable#interact} for a player who stays on the same grid
+ * square when a stacked entity reports a change, so an {@link Interactable} whose behaviour depends
+ * on state that changes over time should implement this interface.
+ */
+public interface StateNotifier {
+
+    /**
+     * Sets the listener to notify whenever this entity's state changes, replacing any previous
+     * listener.
+     *
+     * @param listener the listener to notify, or null to stop notifications.
+     */
+    void setStateListener(StateChangeListener listener);
+}
@@ -2,13 +2,16 @@ package builder.entities.npc;
 
 import builder.GameState;
 import builder.entities.npc.enemies.Enemy;
+import builder.timing.SavableRepeatingTimer;
 import builder.ui.SpriteGallery;
 
 import engine.EngineState;
 import engine.art.sprites.SpriteGroup;
-import engine.timing.RepeatingTimer;
 
-import java.util.ArrayList;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.List;
 
 /**
  * Represents a stationary hive that periodically deploys defensive bees.
@@ -16,8 +19,11 @@ import java.util.ArrayList;
  * <p>The hive monitors nearby enemies and releases {@link GuardBee} instances
  * when hostile entities approach within its detection range.
  * It consumes resources to operate and recharges over time between deployments.
+ *
+ * <p>A loaded hive with no enemies in range sleeps. Its reload timer is caught up when it wakes,
+ * so sleeping does not change when it next reloads.
  */
-public class BeeHive extends Npc {
+public class BeeHive extends Npc implements Sleepable {
 
     public static final int DETECTION_DISTANCE = 350;
     public static final int TIMER = 240;
@@ -25,7 +31,7 @@ public class BeeHive extends Npc {
     public static final int COIN_COST = 2;
     private static final SpriteGroup art = SpriteGallery.hive;
     private boolean loaded = true;
-    private final RepeatingTimer timer = new RepeatingTimer(TIMER);
+    private final SavableRepeatingTimer timer = new SavableRepeatingTimer(TIMER);
 
     /**
      * Creates a new bee hive positioned at the given coordinates.
@@ -66,8 +72,8 @@ public class BeeHive extends Npc {
     @Override
     public void interact(EngineState state, GameState game) {
         super.interact(state, game);
-        timer.tick();
-        Npc npc = this.checkAndSpawnBee(game.getEnemies().getAllEnemies());
+        Npc npc =
+                this.checkAndSpawnBee(game.getEnemies().enemiesWithin(this, DETECTION_DISTANCE));
         if (npc != null) {
             game.getNpcs().addNpc(npc);
         }
@@ -76,6 +82,31 @@ public class BeeHive extends Npc {
         }
     }
 
+    /**
+     * A hive is idle while it is loaded and no enemy is within its detection range.
+     */
+    @Override
+    public boolean isIdle(EngineState state, GameState game) {
+        return this.loaded
+                && game.getEnemies().enemiesWithin(this, DETECTION_DISTANCE).isEmpty();
+    }
+
+    /**
+     * Returns the detection range, {@link #DETECTION_DISTANCE}.
+     */
+    @Override
+    public int getWakeRadius(EngineState state) {
+        return DETECTION_DISTANCE;
+    }
+
+    /**
+     * Advances the reload timer by the ticks missed while asleep.
+     */
+    @Override
+    public void wake(int ticksAsleep) {
+        this.timer.advance(ticksAsleep);
+    }
+
     /**
      * Determines if a new bee should be deployed and creates one if conditions are met.
      *
@@ -85,7 +116,7 @@ public class BeeHive extends Npc {
      * @param targets a list of active enemies to evaluate
      * @return a new {@link GuardBee} instance if one is deployed, otherwise {@code null}
      */
-    public Npc checkAndSpawnBee(ArrayList<Enemy> targets) {
+    public Npc checkAndSpawnBee(List<Enemy> targets) {
         for (Enemy enemy : targets) {
             if (this.distanceFrom(enemy) < DETECTION_DISTANCE && this.loaded) {
                 this.loaded = false;
@@ -95,4 +126,21 @@ public class BeeHive extends Npc {
         }
         return null;
     }
+
+    /**
+     * Writes the hive's movement state, whether it is loaded and its reload timer.
+     */
+    @Override
+    public void save(DataOutput out) throws IOException {
+        super.save(out);
+        out.writeBoolean(this.loaded);
+        this.timer.save(out);
+    }
+
+    @Override
+    public void load(DataInput in) throws IOException {
+        super.load(in);
+        this.loaded = in.readBoolean();
+        this.timer.load(in);
+    }
 }
@@ -2,6 +2,9 @@ package builder.entities.npc;
 
 import builder.GameState;
 import builder.entities.npc.enemies.Enemy;
+import builder.snapshot.Savable;
+import builder.snapshot.SnapshotException;
+import builder.timing.SavableFixedTimer;
 import builder.ui.SpriteGallery;
 
 import engine.EngineState;
@@ -9,6 +12,11 @@ import engine.art.sprites.SpriteGroup;
 import engine.game.HasPosition;
 import engine.timing.FixedTimer;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.List;
+
 /**
  * A highly trained Guard Bee... don't think about that too much. This is our projectile class,
  * basically a bullet.
@@ -18,8 +26,9 @@ public class GuardBee extends Npc implements Expirable {
     private final int spawnX;
     private final int spawnY;
     private static final double SPEED = 2;
+    private static final int LIFESPAN = 300;
     private static final SpriteGroup art = SpriteGallery.bee;
-    private FixedTimer lifespan = new FixedTimer(300);
+    private FixedTimer lifespan = new SavableFixedTimer(LIFESPAN);
     private final HasPosition trackedTarget;
 
     /**
@@ -116,12 +125,12 @@ public class GuardBee extends Npc implements Expirable {
             return true;
         }
 
-        for (Enemy enemy : game.getEnemies().getAllEnemies()) {
-            if (this.distanceFrom(enemy) < state.getDimensions().tileSize()) {
-                enemy.markForRemoval();
-                this.markForRemoval();
-                return true;
-            }
+        final List<Enemy> hit =
+                game.getEnemies().enemiesWithin(this, state.getDimensions().tileSize());
+        if (!hit.isEmpty()) {
+            hit.getFirst().markForRemoval();
+            this.markForRemoval();
+            return true;
         }
         return false;
     }
@@ -154,4 +163,55 @@ public class GuardBee extends Npc implements Expirable {
         }
         this.move();
     }
+
+    /**
+     * Returns the x-coordinate the bee was released from.
+     *
+     * @return the spawn x-coordinate.
+     */
+    public int getSpawnX() {
+        return this.spawnX;
+    }
+
+    /**
+     * Returns the y-coordinate the bee was released from.
+     *
+     * @return the spawn y-coordinate.
+     */
+    public int getSpawnY() {
+        return this.spawnY;
+    }
+
+    /**
+     * Returns the position the bee is chasing, or null if it is returning to its spawn.
+     *
+     * @return the tracked target.
+     */
+    public HasPosition getTrackedTarget() {
+        return this.trackedTarget;
+    }
+
+    /**
+     * Writes the bee's movement state and remaining lifespan.
+     *
+     * @throws SnapshotException if the lifespan has been replaced by a timer that cannot be saved.
+     */
+    @Override
+    public void save(DataOutput out) throws IOException {
+        super.save(out);
+        this.savableLifespan().save(out);
+    }
+
+    @Override
+    public void load(DataInput in) throws IOException {
+        super.load(in);
+        this.savableLifespan().load(in);
+    }
+
+    private Savable savableLifespan() throws SnapshotException {
+        if (!(this.lifespan instanceof Savable savable)) {
+            throw new SnapshotException("guard bee lifespan cannot be saved");
+        }
+        return savable;
+    }
 }
@@ -3,11 +3,16 @@ package builder.entities.npc;
 import builder.GameState;
 import builder.Tickable;
 import builder.entities.Interactable;
+import builder.snapshot.Savable;
 
 import engine.EngineState;
 import engine.game.Entity;
 import engine.game.HasPosition;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
 /**
  * The {@code Npc} class represents a basic non-player character within the game world.
  * <p>
@@ -15,7 +20,7 @@ import engine.game.HasPosition;
  * environment and move each tick based on their direction and speed.
  * </p>
  */
-public class Npc extends Entity implements Interactable, Tickable, Directable {
+public class Npc extends Entity implements Interactable, Tickable, Directable, Savable {
 
     private int direction = 0;
     private double speed = 1;
@@ -69,9 +74,12 @@ public class Npc extends Entity implements Interactable, Tickable, Directable {
 
     /**
      * Moves this NPC by adjusting its X and Y coordinates according to
-     * its current direction and speed.
+     * its current direction and speed. Stationary NPCs (speed 0) do not move.
      */
     public void move() {
+        if (getSpeed() == 0) {
+            return;
+        }
         final int deltaX = (int) Math.round(Math.cos(Math.toRadians(getDirection())) * getSpeed());
         final int deltaY = (int) Math.round(Math.sin(Math.toRadians(getDirection())) * getSpeed());
         this.setX(this.getX() + deltaX);
@@ -130,4 +138,19 @@ public class Npc extends Entity implements Interactable, Tickable, Directable {
         int deltaY = y - this.getY();
         return (int) Math.sqrt(deltaX * deltaX + deltaY * deltaY);
     }
+
+    /**
+     * Writes this NPC's direction and speed. Subclasses with more state should extend this.
+     */
+    @Override
+    public void save(DataOutput out) throws IOException {
+        out.writeInt(this.direction);
+        out.writeDouble(this.speed);
+    }
+
+    @Override
+    public void load(DataInput in) throws IOException {
+        this.direction = in.readInt();
+        this.speed = in.readDouble();
+    }
 }
@@ -3,13 +3,20 @@ package builder.entities.npc;
 import builder.GameState;
 import builder.Tickable;
 import builder.entities.Interactable;
+import builder.entities.npc.enemies.Enemy;
+import builder.metrics.Trace;
 import builder.ui.RenderableGroup;
 
 import engine.EngineState;
 import engine.renderer.Renderable;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * The {@code NpcManager} class is responsible for managing all active {@link Npc}
@@ -19,9 +26,42 @@ import java.util.List;
  * for removal are cleaned up appropriately. This class also delegates interaction
  * handling to all managed NPCs.
  * </p>
+ * <p>
+ * Idle {@link Sleepable} NPCs are moved off the active list after each interaction pass and are
+ * neither ticked nor interacted with until an enemy comes within their wake radius. Sleepers are
+ * bucketed on a coarse grid so that waking costs a lookup per enemy rather than a scan of every
+ * sleeper; a farm with no enemies costs nothing for its sleeping NPCs.
+ * </p>
  */
 public class NpcManager implements Interactable, Tickable, RenderableGroup {
+    /** Width, in pixels, of a cell in the sleeper grid. */
+    public static final int SLEEP_CELL_SIZE = 128;
+
+    private static final int TICK_SPAN = Trace.name("NpcManager.tick");
+    private static final int INTERACT_SPAN = Trace.name("NpcManager.interact");
+
     private final ArrayList<Npc> npcList = new ArrayList<>();
+    private final ArrayList<Npc> awake = new ArrayList<>();
+    private final Map<Npc, Sleeper> sleepers = new IdentityHashMap<>();
+    private final Map<Long, List<Sleeper>> sleeperCells = new HashMap<>();
+    private long sleeps = 0;
+
+    /** A sleeping NPC, the grid cells its wake radius covers and when it fell asleep. */
+    private static final class Sleeper {
+        private final Npc npc;
+        private final int radius;
+        private final int sleptAt;
+        private final long[] cells;
+        private final long sequence;
+
+        private Sleeper(Npc npc, int radius, int sleptAt, long[] cells, long sequence) {
+            this.npc = npc;
+            this.radius = radius;
+            this.sleptAt = sleptAt;
+            this.cells = cells;
+            this.sequence = sequence;
+        }
+    }
 
     /** Constructs a new, empty {@link NpcManager}.
      * */
@@ -32,10 +72,15 @@ public class NpcManager implements Interactable, Tickable, RenderableGroup {
      */
     public void cleanup() {
         for (int i = this.getNpcs().size() - 1; i >= 0; i -= 1) {
-            if (this.getNpcs().get(i).isMarkedForRemoval()) {
+            final Npc npc = this.getNpcs().get(i);
+            if (npc.isMarkedForRemoval()) {
                 this.getNpcs().remove(i);
+                if (this.sleepers.containsKey(npc)) {
+                    this.unfile(this.sleepers.remove(npc));
+                }
             }
         }
+        this.awake.removeIf(Npc::isMarkedForRemoval);
     }
 
 
@@ -55,14 +100,118 @@ public class NpcManager implements Interactable, Tickable, RenderableGroup {
      */
     public void addNpc(Npc npc) {
         this.getNpcs().add(npc);
+        this.awake.add(npc);
+    }
+
+    /**
+     * Returns whether the given NPC is currently asleep.
+     *
+     * @param npc the NPC to check.
+     * @return true if the NPC is off the active list.
+     */
+    public boolean isAsleep(Npc npc) {
+        return this.sleepers.containsKey(npc);
+    }
+
+    /**
+     * Returns the number of NPCs currently asleep.
+     *
+     * @return the sleeping NPC count.
+     */
+    public int getSleepingCount() {
+        return this.sleepers.size();
+    }
+
+    /**
+     * Returns the awake NPCs, in the order they are ticked.
+     *
+     * @return an unmodifiable view of the active list.
+     */
+    public List<Npc> getAwakeNpcs() {
+        return Collections.unmodifiableList(this.awake);
+    }
+
+    /**
+     * Returns the sleeping NPCs, in the order they fell asleep.
+     *
+     * @return a new list of the sleepers.
+     */
+    public List<Npc> getSleepingNpcs() {
+        final List<Sleeper> sleepers = new ArrayList<>(this.sleepers.values());
+        sleepers.sort(Comparator.comparingLong(sleeper -> sleeper.sequence));
+        final List<Npc> npcs = new ArrayList<>(sleepers.size());
+        for (Sleeper sleeper : sleepers) {
+            npcs.add(sleeper.npc);
+        }
+        return npcs;
+    }
+
+    /**
+     * Returns the tick on which a sleeping NPC fell asleep.
+     *
+     * @param npc a sleeping NPC.
+     * @return the tick it was put to sleep on.
+     * @throws IllegalArgumentException if the NPC is not asleep.
+     */
+    public int getSleptAt(Npc npc) {
+        return this.sleeperOf(npc).sleptAt;
+    }
+
+    /**
+     * Returns the wake radius a sleeping NPC was put to sleep with.
+     *
+     * @param npc a sleeping NPC.
+     * @return the exclusive wake radius in pixels.
+     * @throws IllegalArgumentException if the NPC is not asleep.
+     */
+    public int getSleepRadius(Npc npc) {
+        return this.sleeperOf(npc).radius;
+    }
+
+    /**
+     * Restores the sleep bookkeeping of a saved game, so that the restored game ticks and wakes its
+     * NPCs exactly as the saved one would have. Every NPC given must already be managed, and every
+     * managed NPC must be given once.
+     *
+     * @param awake the awake NPCs, in the order they are ticked.
+     * @param sleeping the sleeping NPCs, in the order they fell asleep.
+     * @param radii the wake radius of each sleeping NPC.
+     * @param sleptAt the tick each sleeping NPC fell asleep on.
+     */
+    public void restoreSleep(List<Npc> awake, List<Npc> sleeping, int[] radii, int[] sleptAt) {
+        this.sleepers.clear();
+        this.sleeperCells.clear();
+        this.awake.clear();
+        this.awake.addAll(awake);
+        for (int i = 0; i < sleeping.size(); i++) {
+            final Npc npc = sleeping.get(i);
+            final long[] cells = cellsCovering(npc, radii[i]);
+            this.file(new Sleeper(npc, radii[i], sleptAt[i], cells, this.sleeps++));
+        }
     }
 
+    private Sleeper sleeperOf(Npc npc) {
+        final Sleeper sleeper = this.sleepers.get(npc);
+        if (sleeper == null) {
+            throw new IllegalArgumentException("NPC is not asleep");
+        }
+        return sleeper;
+    }
+
+    /**
+     * Returns whether every NPC is asleep, so that ticking the manager does nothing.
+     *
+     * @return true if no NPC is awake or waiting to be adopted.
+     */
+    public boolean isAllAsleep() {
+        return this.awake.isEmpty() && this.sleepers.size() == this.npcList.size();
+    }
 
     /**
      * Updates all NPCs once per tick.
      * <p>
      * Calls cleanup, then calls {@link Npc#tick(EngineState, GameState)} for each
-     * active NPC.
+     * awake NPC.
      * </p>
      *
      * @param state the current engine state.
@@ -71,24 +220,141 @@ public class NpcManager implements Interactable, Tickable, RenderableGroup {
     @Override
     public void tick(EngineState state, GameState game) {
         this.cleanup();
-        for (Npc npc : getNpcs()) {
+        this.adoptUntracked();
+        final long start = Trace.now();
+        for (Npc npc : this.awake) {
             npc.tick(state, game);
         }
+        Trace.span(TICK_SPAN, start);
     }
 
     /**
-     * Handles interactions for all managed NPCs.
+     * Handles interactions for all awake NPCs.
+     * <p>
+     * Sleepers with an enemy inside their wake radius are woken first, so they interact on the
+     * same frame the enemy arrives. Afterwards, any awake {@link Sleepable} that reports itself
+     * idle is put to sleep.
+     * </p>
      *
      * @param state the current engine state.
      * @param game  the current game state.
      */
     @Override
     public void interact(EngineState state, GameState game) {
-        for (Npc npc : new ArrayList<>(getNpcs())) {
-            npc.interact(state, game);
+        this.adoptUntracked();
+        this.wakeSleepers(state, game.getEnemies().getAllEnemies());
+        final long start = Trace.now();
+        // NPCs only append to the awake list while interacting, such as a hive releasing a bee;
+        // those start interacting on the next frame
+        final int count = this.awake.size();
+        for (int i = 0; i < count; i++) {
+            this.awake.get(i).interact(state, game);
+        }
+        Trace.span(INTERACT_SPAN, start);
+        this.sleepIdle(state, game);
+    }
+
+    /**
+     * Puts idle sleepable NPCs to sleep.
+     */
+    private void sleepIdle(EngineState state, GameState game) {
+        for (int i = this.awake.size() - 1; i >= 0; i -= 1) {
+            final Npc npc = this.awake.get(i);
+            if (npc instanceof Sleepable sleepable
+                    && !npc.isMarkedForRemoval()
+                    && sleepable.isIdle(state, game)) {
+                this.awake.remove(i);
+                final int radius = sleepable.getWakeRadius(state);
+                this.file(
+                        new Sleeper(
+                                npc,
+                                radius,
+                                state.currentTick(),
+                                cellsCovering(npc, radius),
+                                this.sleeps++));
+            }
+        }
+    }
+
+    private void file(Sleeper sleeper) {
+        this.sleepers.put(sleeper.npc, sleeper);
+        for (long cell : sleeper.cells) {
+            this.sleeperCells.computeIfAbsent(cell, key -> new ArrayList<>()).add(sleeper);
+        }
+    }
+
+    /**
+     * Wakes every sleeper that has an enemy strictly inside its wake radius.
+     */
+    private void wakeSleepers(EngineState state, List<Enemy> enemies) {
+        if (this.sleepers.isEmpty()) {
+            return;
+        }
+        for (Enemy enemy : enemies) {
+            final List<Sleeper> candidates = this.sleeperCells.get(
+                    cellKey(Math.floorDiv(enemy.getX(), SLEEP_CELL_SIZE),
+                            Math.floorDiv(enemy.getY(), SLEEP_CELL_SIZE)));
+            if (candidates == null) {
+                continue;
+            }
+            for (int i = candidates.size() - 1; i >= 0; i -= 1) {
+                final Sleeper sleeper = candidates.get(i);
+                final long dx = enemy.getX() - sleeper.npc.getX();
+                final long dy = enemy.getY() - sleeper.npc.getY();
+                if (dx * dx + dy * dy < (long) sleeper.radius * sleeper.radius) {
+                    this.sleepers.remove(sleeper.npc);
+                    this.unfile(sleeper);
+                    this.awake.add(sleeper.npc);
+                    ((Sleepable) sleeper.npc).wake(state.currentTick() - sleeper.sleptAt);
+                }
+            }
+        }
+    }
+
+    /**
+     * Picks up NPCs added directly to {@link #getNpcs()} rather than through {@link #addNpc}.
+     */
+    private void adoptUntracked() {
+        if (this.awake.size() + this.sleepers.size() == this.npcList.size()) {
+            return;
+        }
+        this.awake.clear();
+        for (Npc npc : this.npcList) {
+            if (!this.sleepers.containsKey(npc)) {
+                this.awake.add(npc);
+            }
+        }
+    }
+
+    private void unfile(Sleeper sleeper) {
+        for (long cell : sleeper.cells) {
+            final List<Sleeper> bucket = this.sleeperCells.get(cell);
+            bucket.remove(sleeper);
+            if (bucket.isEmpty()) {
+                this.sleeperCells.remove(cell);
+            }
         }
     }
 
+    private static long[] cellsCovering(Npc npc, int radius) {
+        final int minX = Math.floorDiv(npc.getX() - radius, SLEEP_CELL_SIZE);
+        final int maxX = Math.floorDiv(npc.getX() + radius, SLEEP_CELL_SIZE);
+        final int minY = Math.floorDiv(npc.getY() - radius, SLEEP_CELL_SIZE);
+        final int maxY = Math.floorDiv(npc.getY() + radius, SLEEP_CELL_SIZE);
+        final long[] cells = new long[(maxX - minX + 1) * (maxY - minY + 1)];
+        int index = 0;
+        for (int x = minX; x <= maxX; x++) {
+            for (int y = minY; y <= maxY; y++) {
+                cells[index++] = cellKey(x, y);
+            }
+        }
+        return cells;
+    }
+
+    private static long cellKey(int cellX, int cellY) {
+        return ((long) cellX << 32) | (cellY & 0xFFFFFFFFL);
+    }
+
     /**
      * Provides all NPCs as {@link Renderable} objects for rendering each frame.
      *
@@ -19,8 +19,11 @@ import java.util.ArrayList;
  * When a magpie or pigeon comes within a 4-tile radius, the scarecrow causes them to
  * retreat to their spawn point by setting their attacking state to false.
  * </p>
+ * <p>
+ * A scarecrow with no enemies in range has nothing to do, so it sleeps until one arrives.
+ * </p>
  */
-public class Scarecrow extends Npc {
+public class Scarecrow extends Npc implements Sleepable {
 
     public static final int COIN_COST = 2;
     private static final SpriteGroup art = SpriteGallery.scarecrow;
@@ -38,16 +41,13 @@ public class Scarecrow extends Npc {
     }
 
     /**
-     * Compares if an enemy is an instance of Magpie or Pigeon and whether the enemy is within scare
-     * radius
+     * Compares if an enemy is an instance of Magpie or Pigeon, the birds a scarecrow can scare.
      *
-     * @param enemy       the enemy to check
-     * @param scareRadius the scare radius in pixels
-     * @return true if within range and correct enemy type, false otherwise
+     * @param enemy the enemy to check
+     * @return true if the enemy is a scarable bird, false otherwise
      */
-    private boolean isBirdWithinRadius(Enemy enemy, int scareRadius) {
-        return (enemy instanceof Magpie || enemy instanceof Pigeon)
-                && this.distanceFrom(enemy) < scareRadius;
+    private boolean isScarableBird(Enemy enemy) {
+        return enemy instanceof Magpie || enemy instanceof Pigeon;
     }
 
     /**
@@ -78,12 +78,31 @@ public class Scarecrow extends Npc {
         super.interact(state, game);
 
         final EnemyManager enemies = game.getEnemies();
-        final int scareRadius = state.getDimensions().tileSize() * 4;
+        final int scareRadius = getWakeRadius(state);
 
-        for (Enemy enemy : enemies.getAllEnemies()) {
-            if (isBirdWithinRadius(enemy, scareRadius)) {
+        for (Enemy enemy : enemies.enemiesWithin(this, scareRadius)) {
+            if (isScarableBird(enemy)) {
                 disableAttack(enemy);
             }
         }
     }
+
+    /**
+     * A scarecrow is idle while no enemy is within its scare radius.
+     */
+    @Override
+    public boolean isIdle(EngineState state, GameState game) {
+        return game.getEnemies().enemiesWithin(this, getWakeRadius(state)).isEmpty();
+    }
+
+    /**
+     * Returns the scare radius, 4 tiles.
+     */
+    @Override
+    public int getWakeRadius(EngineState state) {
+        return state.getDimensions().tileSize() * 4;
+    }
+
+    @Override
+    public void wake(int ticksAsleep) {}
 }
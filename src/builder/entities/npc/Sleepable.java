@@ -0,0 +1,39 @@
+package builder.entities.npc;
+
+import builder.GameState;
+
+import engine.EngineState;
+
+/**
+ * An NPC that can leave the {@link NpcManager}'s active list while it has nothing to do.
+ *
+ * <p>A sleeping NPC is neither ticked nor interacted with. It is woken when an enemy comes within
+ * its {@link #getWakeRadius(EngineState) wake radius}, at which point {@link #wake(int)} lets it
+ * catch up on any timers it would have advanced while asleep.
+ */
+public interface Sleepable {
+
+    /**
+     * Whether this NPC currently has nothing to do and may be put to sleep.
+     *
+     * @param state the current engine state.
+     * @param game the current game state.
+     * @return true if the NPC is idle.
+     */
+    boolean isIdle(EngineState state, GameState game);
+
+    /**
+     * Returns the distance, in pixels, within which an enemy wakes this NPC.
+     *
+     * @param state the current engine state.
+     * @return the exclusive wake radius.
+     */
+    int getWakeRadius(EngineState state);
+
+    /**
+     * Called when the NPC rejoins the active list.
+     *
+     * @param ticksAsleep how many ticks were skipped while the NPC slept.
+     */
+    void wake(int ticksAsleep);
+}
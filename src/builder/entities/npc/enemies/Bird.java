@@ -1,11 +1,18 @@
 package builder.entities.npc.enemies;
 
 import builder.entities.npc.Expirable;
+import builder.snapshot.Savable;
+import builder.snapshot.SnapshotException;
+import builder.timing.SavableFixedTimer;
 import engine.EngineState;
 import engine.art.sprites.SpriteGroup;
 import engine.game.HasPosition;
 import engine.timing.FixedTimer;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
 /**
  * Represents a general bird-type enemy in the game.
  * <p>
@@ -42,7 +49,7 @@ public abstract class Bird extends Enemy implements Expirable {
         this.spawnX = x;
         this.spawnY = y;
         this.trackedTarget = trackedTarget;
-        this.setLifespan(new FixedTimer(lifespanDuration));
+        this.setLifespan(new SavableFixedTimer(lifespanDuration));
         this.art = artGroup;
         this.setSprite(art.getSprite(sprite));
         setAttacking(true);
@@ -200,4 +207,30 @@ public abstract class Bird extends Enemy implements Expirable {
         this.lifespan = timer;
     }
 
+    /**
+     * Writes the bird's movement state, whether it is attacking and its remaining lifespan. The
+     * tracked target is a reference to another object and is recorded by the snapshot itself.
+     *
+     * @throws SnapshotException if the lifespan has been replaced by a timer that cannot be saved.
+     */
+    @Override
+    public void save(DataOutput out) throws IOException {
+        super.save(out);
+        out.writeBoolean(this.attacking);
+        this.savableLifespan().save(out);
+    }
+
+    @Override
+    public void load(DataInput in) throws IOException {
+        super.load(in);
+        this.attacking = in.readBoolean();
+        this.savableLifespan().load(in);
+    }
+
+    private Savable savableLifespan() throws SnapshotException {
+        if (!(this.lifespan instanceof Savable savable)) {
+            throw new SnapshotException("bird lifespan cannot be saved");
+        }
+        return savable;
+    }
 }
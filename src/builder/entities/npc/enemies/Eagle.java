@@ -1,11 +1,16 @@
 package builder.entities.npc.enemies;
 
 import builder.GameState;
+import builder.jfr.TheftEvent;
 import builder.ui.SpriteGallery;
 
 import engine.EngineState;
 import engine.game.HasPosition;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
 /**
  * An Eagle enemy in the game.
  *
@@ -57,6 +62,8 @@ public class Eagle extends Bird {
             if (this.food == 0) {
                 game.getInventory().addFood(-3);
                 this.food = 3;
+                game.getEvents().foodStolen(this, 3);
+                TheftEvent.emit("Eagle", "food", 3, this.getX(), this.getY());
             }
             setAttacking(false);
             this.setSpeed(4);
@@ -93,4 +100,18 @@ public class Eagle extends Bird {
         stealFood(engine, game);
     }
 
+    /**
+     * Writes the bird state and the amount of food the eagle is carrying.
+     */
+    @Override
+    public void save(DataOutput out) throws IOException {
+        super.save(out);
+        out.writeInt(this.food);
+    }
+
+    @Override
+    public void load(DataInput in) throws IOException {
+        super.load(in);
+        this.food = in.readInt();
+    }
 }
@@ -1,9 +1,11 @@
 package builder.entities.npc.enemies;
 
+import builder.GameEventListener;
 import builder.GameState;
 import builder.Tickable;
 import builder.entities.Interactable;
 import builder.entities.npc.spawners.Spawner;
+import builder.metrics.Trace;
 import builder.player.Player;
 import builder.ui.RenderableGroup;
 
@@ -12,22 +14,65 @@ import engine.game.HasPosition;
 import engine.renderer.Dimensions;
 import engine.renderer.Renderable;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
 /**
  * The EnemyManager class is responsible for creating, updating, and maintaining
  * all enemy entities in the game. It coordinates enemy spawning through {@link Spawner}
  * objects, handles cleanup of defeated enemies, and ensures that all active enemies
  * are updated and rendered each tick.
+ *
+ * <p>Spawners hand new enemies to {@link #requestSpawn(Enemy)}, which applies admission
+ * control: a global population cap, optional per-type caps and a per-tick spawn budget. Requests
+ * that cannot be admitted are queued or dropped according to the {@link SpawnPolicy}. Every limit
+ * is unbounded by default, so a game plays exactly as its details file says; callers that need a
+ * bounded worst-case tick cost, such as long unattended sessions, opt in with {@link
+ * #setGlobalCap(int)}, {@link #setTypeCap(Class, int)} and {@link #setSpawnBudget(int)}.
  */
 public class EnemyManager implements Tickable, RenderableGroup, Interactable {
 
+    /** The default maximum number of live enemies across all types: no limit. */
+    public static final int DEFAULT_GLOBAL_CAP = Integer.MAX_VALUE;
+
+    /** The default maximum number of enemies admitted during a single tick: no limit. */
+    public static final int DEFAULT_SPAWN_BUDGET = Integer.MAX_VALUE;
+
+    /** The default maximum number of spawn requests held back by {@link SpawnPolicy#QUEUE}. */
+    public static final int DEFAULT_QUEUE_LIMIT = 32;
+
+    private static final int SPAWNERS_SPAN = Trace.name("EnemyManager.spawners");
+    private static final int ENEMIES_SPAN = Trace.name("EnemyManager.enemies");
+
     private final ArrayList<Spawner> spawnersList = new ArrayList<>();
     private final ArrayList<Enemy> enemiesList = new ArrayList<>();
+    private final Map<Class<? extends Enemy>, Integer> typeCaps = new HashMap<>();
+    private final Map<Class<? extends Enemy>, Integer> typeCounts = new HashMap<>();
+    private final ArrayDeque<Enemy> pendingSpawns = new ArrayDeque<>();
     private int spawnX;
     private int spawnY;
 
+    private SpawnPolicy spawnPolicy = SpawnPolicy.QUEUE;
+    private int globalCap = DEFAULT_GLOBAL_CAP;
+    private int spawnBudget = DEFAULT_SPAWN_BUDGET;
+    private int queueLimit = DEFAULT_QUEUE_LIMIT;
+    private int admittedThisTick = 0;
+
+    private int[] packedX = new int[0];
+    private int[] packedY = new int[0];
+    private int[] inRange = new int[0];
+    private int packedCount = 0;
+    private boolean positionsStale = true;
+    private GameEventListener events = GameEventListener.NONE;
+
+    private long admittedSpawns = 0;
+    private long deferredSpawns = 0;
+    private long rejectedSpawns = 0;
+
     /**
      * Constructs a new EnemyManager instance with the given display dimensions.
      *
@@ -75,7 +120,28 @@ public class EnemyManager implements Tickable, RenderableGroup, Interactable {
      * Removes any enemies that have been marked for removal from the active list.
      */
     public void cleanUp() {
-        this.enemiesList.removeIf(Enemy::isMarkedForRemoval);
+        boolean removed = false;
+        for (Enemy enemy : this.enemiesList) {
+            if (enemy.isMarkedForRemoval()) {
+                this.events.enemyRemoved(enemy);
+                this.typeCounts.computeIfPresent(
+                        enemy.getClass(), (type, count) -> count > 1 ? count - 1 : null);
+                removed = true;
+            }
+        }
+        if (removed) {
+            this.enemiesList.removeIf(Enemy::isMarkedForRemoval);
+            this.positionsStale = true;
+        }
+    }
+
+    /**
+     * Sets the listener told whenever an enemy is admitted or removed.
+     *
+     * @param listener the listener to notify.
+     */
+    public void setEventListener(GameEventListener listener) {
+        this.events = listener;
     }
 
     /**
@@ -99,38 +165,238 @@ public class EnemyManager implements Tickable, RenderableGroup, Interactable {
     /**
      * Adds a newly created enemy to the active enemy list.
      *
+     * <p>This bypasses admission control; spawners should use {@link #requestSpawn(Enemy)}
+     * instead.
+     *
      * @param enemy the enemy to add.
      */
     public void addEnemy(Enemy enemy) {
         this.enemiesList.add(enemy);
+        this.typeCounts.merge(enemy.getClass(), 1, Integer::sum);
+        this.positionsStale = true;
     }
 
     /**
-     * Creates and registers a new {@link Magpie} enemy.
+     * Asks the manager to bring a newly created enemy into the game.
+     *
+     * <p>The enemy is admitted immediately if the per-tick spawn budget, the global cap and the
+     * cap for its type all allow it. Otherwise it is deferred to a later tick or rejected,
+     * depending on the current {@link SpawnPolicy}.
+     *
+     * @param enemy the enemy to spawn.
+     * @return true if the enemy was admitted during this call, false if it was deferred or
+     *     rejected.
+     */
+    public boolean requestSpawn(Enemy enemy) {
+        if (this.canAdmit(enemy)) {
+            this.admit(enemy);
+            return true;
+        }
+        if (this.spawnPolicy == SpawnPolicy.QUEUE && this.pendingSpawns.size() < this.queueLimit) {
+            this.pendingSpawns.addLast(enemy);
+            this.deferredSpawns += 1;
+        } else {
+            this.rejectedSpawns += 1;
+        }
+        return false;
+    }
+
+    /**
+     * Determines whether the given enemy could be admitted right now.
+     *
+     * @param enemy the enemy waiting to be spawned.
+     * @return true if budget and population caps allow the enemy in.
+     */
+    private boolean canAdmit(Enemy enemy) {
+        if (this.admittedThisTick >= this.spawnBudget) {
+            return false;
+        }
+        if (this.enemiesList.size() >= this.globalCap) {
+            return false;
+        }
+        final Integer typeCap = this.typeCaps.get(enemy.getClass());
+        return typeCap == null || this.typeCounts.getOrDefault(enemy.getClass(), 0) < typeCap;
+    }
+
+    /**
+     * Registers an enemy that has passed admission control.
+     *
+     * @param enemy the admitted enemy.
+     */
+    private void admit(Enemy enemy) {
+        this.addEnemy(enemy);
+        this.admittedThisTick += 1;
+        this.admittedSpawns += 1;
+        this.events.enemySpawned(enemy);
+    }
+
+    /**
+     * Admits as many queued spawn requests as the budget and caps allow, oldest first.
+     */
+    private void releasePendingSpawns() {
+        final Iterator<Enemy> pending = this.pendingSpawns.iterator();
+        while (pending.hasNext() && this.admittedThisTick < this.spawnBudget) {
+            final Enemy enemy = pending.next();
+            if (this.canAdmit(enemy)) {
+                pending.remove();
+                this.admit(enemy);
+            }
+        }
+    }
+
+    /**
+     * Sets what happens to spawn requests that cannot be admitted straight away.
+     *
+     * <p>Switching to {@link SpawnPolicy#DROP} rejects anything still waiting in the queue.
+     *
+     * @param policy the new spawn policy.
+     */
+    public void setSpawnPolicy(SpawnPolicy policy) {
+        this.spawnPolicy = policy;
+        if (policy == SpawnPolicy.DROP) {
+            this.rejectedSpawns += this.pendingSpawns.size();
+            this.pendingSpawns.clear();
+        }
+    }
+
+    /**
+     * Returns the policy applied to spawn requests that cannot be admitted straight away.
+     *
+     * @return the current spawn policy.
+     */
+    public SpawnPolicy getSpawnPolicy() {
+        return this.spawnPolicy;
+    }
+
+    /**
+     * Sets the maximum number of live enemies across all types.
+     *
+     * @param cap the global population cap.
+     * @requires cap >= 0
+     */
+    public void setGlobalCap(int cap) {
+        assert cap >= 0;
+        this.globalCap = cap;
+    }
+
+    /**
+     * Sets the maximum number of live enemies of one concrete type, e.g. {@link Magpie}.
+     *
+     * @param type the enemy class to cap.
+     * @param cap the population cap for that type.
+     * @requires cap >= 0
+     */
+    public void setTypeCap(Class<? extends Enemy> type, int cap) {
+        assert cap >= 0;
+        this.typeCaps.put(type, cap);
+    }
+
+    /**
+     * Sets the maximum number of enemies admitted during a single tick.
+     *
+     * @param budget the per-tick spawn budget.
+     * @requires budget >= 0
+     */
+    public void setSpawnBudget(int budget) {
+        assert budget >= 0;
+        this.spawnBudget = budget;
+    }
+
+    /**
+     * Sets how many spawn requests may wait in the queue under {@link SpawnPolicy#QUEUE}.
+     *
+     * @param limit the maximum queue length.
+     * @requires limit >= 0
+     */
+    public void setQueueLimit(int limit) {
+        assert limit >= 0;
+        this.queueLimit = limit;
+    }
+
+    /**
+     * Returns the total number of spawn requests that have been admitted into the game,
+     * including those admitted after waiting in the queue.
+     *
+     * @return the admitted spawn count.
+     */
+    public long getAdmittedSpawns() {
+        return this.admittedSpawns;
+    }
+
+    /**
+     * Returns the total number of spawn requests that were placed in the queue.
+     *
+     * @return the deferred spawn count.
+     */
+    public long getDeferredSpawns() {
+        return this.deferredSpawns;
+    }
+
+    /**
+     * Returns the total number of spawn requests that never entered the game.
+     *
+     * @return the rejected spawn count.
+     */
+    public long getRejectedSpawns() {
+        return this.rejectedSpawns;
+    }
+
+    /**
+     * Returns the number of spawn requests currently waiting in the queue.
+     *
+     * @return the pending spawn count.
+     */
+    public int getPendingSpawns() {
+        return this.pendingSpawns.size();
+    }
+
+    /**
+     * Returns the enemies waiting for admission, in the order they will be released.
+     *
+     * @return a copy of the pending spawn queue.
+     */
+    public List<Enemy> getQueuedSpawns() {
+        return new ArrayList<>(this.pendingSpawns);
+    }
+
+    /**
+     * Appends an enemy to the pending spawn queue without any admission checks. Used when
+     * restoring a saved game whose queue already passed admission.
+     *
+     * @param enemy the enemy to queue.
+     */
+    public void enqueueSpawn(Enemy enemy) {
+        this.pendingSpawns.addLast(enemy);
+    }
+
+    /**
+     * Creates a new {@link Magpie} enemy at the current spawn position.
+     *
+     * <p>The magpie is not registered; pass it to {@link #requestSpawn(Enemy)}.
      *
      * @param player the player used to determine the magpie’s target or behavior.
      * @return the newly created {@link Magpie} instance.
      */
     public Magpie createMagpie(Player player) {
-        final Magpie magpie = new Magpie(this.spawnX, this.spawnY, player);
-        this.enemiesList.add(magpie);
-        return magpie;
+        return new Magpie(this.spawnX, this.spawnY, player);
     }
 
     /**
-     * Creates and registers a new {@link Pigeon} enemy.
+     * Creates a new {@link Pigeon} enemy at the current spawn position.
+     *
+     * <p>The pigeon is not registered; pass it to {@link #requestSpawn(Enemy)}.
      *
      * @param position the position near which the pigeon will be spawned.
      * @return the newly created {@link Pigeon} instance.
      */
     public Pigeon createPigeon(HasPosition position) {
-        final Pigeon pigeon = new Pigeon(this.spawnX, this.spawnY, position);
-        this.enemiesList.add(pigeon);
-        return pigeon;
+        return new Pigeon(this.spawnX, this.spawnY, position);
     }
 
     /**
-     * Creates and registers a new {@link Eagle} enemy.
+     * Creates a new {@link Eagle} enemy at the current spawn position.
+     *
+     * <p>The eagle is not registered; pass it to {@link #requestSpawn(Enemy)}.
      *
      * @param player the player associated with this eagle’s targeting behavior.
      * @return the newly created {@link Eagle} instance.
@@ -142,20 +408,107 @@ public class EnemyManager implements Tickable, RenderableGroup, Interactable {
     /**
      * Updates all spawners and active enemies once per game tick.
      *
+     * <p>The spawn budget is reset at the start of each tick and queued spawn requests are
+     * admitted before any spawner runs, so older requests take priority over new ones. Magpies
+     * and pigeons are ticked twice, see {@link #passesPerFrame(Enemy)}.
+     *
      * @param state the engine state (keyboard, mouse, and other runtime data).
      * @param game  the current game state containing world and player information.
      */
     @Override
     public void tick(EngineState state, GameState game) {
         this.cleanUp();
+        this.admittedThisTick = 0;
+        this.releasePendingSpawns();
 
+        long start = Trace.now();
         for (Spawner spawner : this.getSpawner()) {
             spawner.tick(state, game);
         }
+        Trace.span(SPAWNERS_SPAN, start);
 
+        start = Trace.now();
         for (Enemy enemy : enemiesList) {
-            enemy.tick(state, game);
+            for (int pass = passesPerFrame(enemy); pass > 0; pass--) {
+                enemy.tick(state, game);
+            }
+        }
+        Trace.span(ENEMIES_SPAN, start);
+        this.positionsStale = true;
+    }
+
+    /**
+     * Returns how many times an enemy is ticked and rendered each frame.
+     *
+     * <p>Magpies and pigeons used to be registered twice, once when created and once by their
+     * spawner, and their speeds and lifespans are tuned to being ticked twice a frame. Each is now
+     * registered once, so the second pass is kept here instead.
+     *
+     * @param enemy a live enemy.
+     * @return 2 for magpies and pigeons, 1 for every other enemy.
+     */
+    private static int passesPerFrame(Enemy enemy) {
+        return enemy instanceof Magpie || enemy instanceof Pigeon ? 2 : 1;
+    }
+
+    /**
+     * Returns the live enemies strictly within the given radius of a position, in the same order
+     * as {@link #getAllEnemies()}.
+     *
+     * <p>Enemy coordinates are packed into flat arrays at most once between enemy movements and
+     * scanned with {@link ProximityKernel}, so repeated queries from many scarecrows, hives and
+     * bees in the same phase share that work.
+     *
+     * <p>Most queries find nothing, so an empty result is a shared immutable list and costs no
+     * allocation. Callers must not modify the returned list.
+     *
+     * @param position the probe position.
+     * @param radius the exclusive search radius in pixels.
+     * @return the enemies in range.
+     */
+    public List<Enemy> enemiesWithin(HasPosition position, int radius) {
+        this.packPositions();
+        final int found =
+                ProximityKernel.withinRadius(
+                        this.packedX,
+                        this.packedY,
+                        this.packedCount,
+                        position.getX(),
+                        position.getY(),
+                        radius,
+                        this.inRange);
+        if (found == 0) {
+            return List.of();
+        }
+        final List<Enemy> result = new ArrayList<>(found);
+        for (int i = 0; i < found; i++) {
+            result.add(this.enemiesList.get(this.inRange[i]));
         }
+        return result;
+    }
+
+    /**
+     * Copies enemy coordinates into the packed arrays if they may have changed since the last
+     * pack.
+     */
+    private void packPositions() {
+        final int count = this.enemiesList.size();
+        if (!this.positionsStale && this.packedCount == count) {
+            return;
+        }
+        if (this.packedX.length < count) {
+            final int capacity = Math.max(count, this.packedX.length * 2);
+            this.packedX = new int[capacity];
+            this.packedY = new int[capacity];
+            this.inRange = new int[capacity];
+        }
+        for (int i = 0; i < count; i++) {
+            final Enemy enemy = this.enemiesList.get(i);
+            this.packedX[i] = enemy.getX();
+            this.packedY[i] = enemy.getY();
+        }
+        this.packedCount = count;
+        this.positionsStale = false;
     }
 
     /**
@@ -168,13 +521,20 @@ public class EnemyManager implements Tickable, RenderableGroup, Interactable {
     }
 
     /**
-     * Provides all active enemies as renderable objects for the game’s renderer.
+     * Provides all active enemies as renderable objects for the game’s renderer, each as many
+     * times as it is ticked, see {@link #passesPerFrame(Enemy)}.
      *
      * @return a list of all {@link Renderable} enemies.
      */
     @Override
     public List<Renderable> render() {
-        return new ArrayList<>(this.enemiesList);
+        final List<Renderable> renderables = new ArrayList<>(this.enemiesList.size());
+        for (Enemy enemy : this.enemiesList) {
+            for (int pass = passesPerFrame(enemy); pass > 0; pass--) {
+                renderables.add(enemy);
+            }
+        }
+        return renderables;
     }
 
     @Override
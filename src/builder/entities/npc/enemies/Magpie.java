@@ -2,6 +2,7 @@ package builder.entities.npc.enemies;
 
 import builder.GameState;
 import builder.entities.npc.Expirable;
+import builder.jfr.TheftEvent;
 import builder.player.Player;
 import builder.ui.SpriteGallery;
 
@@ -11,6 +12,10 @@ import engine.game.HasPosition;
 import engine.timing.FixedTimer;
 import engine.timing.RepeatingTimer;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
 /**
  * A Magpie enemy that steals coins from the player.
  * <p>
@@ -65,6 +70,8 @@ public class Magpie extends Bird {
         if (hasHitPlayer && game.getInventory().getCoins() > 0 && isAttacking()) {
             game.getInventory().addCoins(-1);
             this.coins += 1;
+            game.getEvents().coinsStolen(this, 1);
+            TheftEvent.emit("Magpie", "coins", 1, this.getX(), this.getY());
             setAttacking(false);
             this.setSpeed(2);
         }
@@ -99,4 +106,19 @@ public class Magpie extends Bird {
         move();
         stealCoin(engine, game);
     }
+
+    /**
+     * Writes the bird state and the number of coins the magpie is carrying.
+     */
+    @Override
+    public void save(DataOutput out) throws IOException {
+        super.save(out);
+        out.writeInt(this.coins);
+    }
+
+    @Override
+    public void load(DataInput in) throws IOException {
+        super.load(in);
+        this.coins = in.readInt();
+    }
 }
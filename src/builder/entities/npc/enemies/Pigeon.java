@@ -3,6 +3,7 @@ package builder.entities.npc.enemies;
 import builder.GameState;
 import builder.entities.resources.Cabbage;
 import builder.entities.tiles.Tile;
+import builder.jfr.TheftEvent;
 import builder.ui.SpriteGallery;
 import engine.EngineState;
 import engine.game.Entity;
@@ -83,13 +84,18 @@ public class Pigeon extends Bird {
      *
      * @param tile   the tile containing the cabbage to steal.
      * @param engine the current {@link EngineState}, used to determine tile size.
+     * @param game   the current {@link GameState}, told about the theft.
      */
-    private void stealCabbage(Tile tile, EngineState engine) {
+    private void stealCabbage(Tile tile, EngineState engine, GameState game) {
         int tileSize = engine.getDimensions().tileSize();
 
         if (isAttacking() && this.distanceFrom(tile) < tileSize) {
             for (Entity entity : tile.getStackedEntities()) {
                 if (entity instanceof Cabbage cabbage) {
+                    if (!cabbage.isMarkedForRemoval()) {
+                        game.getEvents().cabbageStolen(cabbage);
+                        TheftEvent.emit("Pigeon", "cabbage", 1, tile.getX(), tile.getY());
+                    }
                     cabbage.markForRemoval();
                     setAttacking(false);
                 }
@@ -118,7 +124,7 @@ public class Pigeon extends Bird {
         Tile closestTile = findClosestTile(cabbageTiles);
         setTrackedTarget(closestTile);
 
-        stealCabbage(closestTile, engine);
+        stealCabbage(closestTile, engine, game);
     }
 
     /**
@@ -0,0 +1,49 @@
+package builder.entities.npc.enemies;
+
+/**
+ * Batch proximity queries over packed coordinate arrays.
+ *
+ * <p>Rather than computing a square root per pair as {@link builder.entities.npc.Npc#distanceFrom}
+ * does, the kernel compares squared distances against a squared radius. Because {@code (int)
+ * sqrt(d) < r} holds exactly when {@code d < r * r} for a non-negative integer {@code r}, the
+ * results match the existing per-entity checks.
+ *
+ * <p>Coordinates are expected to stay within the window, so squared distances comfortably fit in
+ * an {@code int}.
+ */
+public final class ProximityKernel {
+
+    private ProximityKernel() {}
+
+    /**
+     * Finds every packed position strictly within the given radius of a probe point.
+     *
+     * <p>Matching indices are written to the front of {@code result} in ascending order, so the
+     * first match is the same one a linear scan over the original list would find first.
+     *
+     * @param xs the x-coordinates of the candidates.
+     * @param ys the y-coordinates of the candidates, index-aligned with {@code xs}.
+     * @param count how many leading entries of {@code xs} and {@code ys} are valid.
+     * @param probeX the x-coordinate of the probe point.
+     * @param probeY the y-coordinate of the probe point.
+     * @param radius the exclusive search radius in pixels.
+     * @param result destination for matching indices, at least {@code count} long.
+     * @return the number of indices written to {@code result}.
+     * @requires radius >= 0
+     */
+    public static int withinRadius(
+            int[] xs, int[] ys, int count, int probeX, int probeY, int radius, int[] result) {
+        assert radius >= 0;
+        assert xs.length >= count && ys.length >= count && result.length >= count;
+        final int radiusSquared = radius * radius;
+        int found = 0;
+        for (int i = 0; i < count; i++) {
+            final int deltaX = xs[i] - probeX;
+            final int deltaY = ys[i] - probeY;
+            // branch-free compaction: always write, only advance on a match
+            result[found] = i;
+            found += (deltaX * deltaX + deltaY * deltaY < radiusSquared) ? 1 : 0;
+        }
+        return found;
+    }
+}
@@ -0,0 +1,17 @@
+package builder.entities.npc.enemies;
+
+/**
+ * Decides what the {@link EnemyManager} does with a spawn request that cannot be admitted
+ * straight away, either because the per-tick spawn budget is spent or because a population cap
+ * has been reached.
+ */
+public enum SpawnPolicy {
+    /**
+     * Hold the enemy in a bounded queue and admit it on a later tick once there is room. Requests
+     * that arrive while the queue is full are rejected.
+     */
+    QUEUE,
+
+    /** Reject the enemy immediately; it never enters the game. */
+    DROP
+}
@@ -1,9 +1,9 @@
 package builder.entities.npc.spawners;
 
 import builder.GameState;
+import builder.timing.SavableRepeatingTimer;
 
 import engine.EngineState;
-import engine.timing.RepeatingTimer;
 
 /**
  * Spawns {@link builder.entities.npc.enemies.Eagle} enemies on a set interval.
@@ -21,7 +21,7 @@ public class EagleSpawner extends Spawner {
      * @param duration the timer duration, in ticks, between spawns
      */
     public EagleSpawner(int x, int y, int duration) {
-        super(x, y, new RepeatingTimer(duration));
+        super(x, y, new SavableRepeatingTimer(duration));
     }
 
     /**
@@ -35,7 +35,7 @@ public class EagleSpawner extends Spawner {
         tickTimer();
         if (isTimerFinished()) {
             setSpawnPosition(game);
-            game.getEnemies().addEnemy(game.getEnemies().createEagle(game.getPlayer()));
+            requestSpawn(game, game.getEnemies().createEagle(game.getPlayer()));
         }
     }
 
@@ -1,9 +1,9 @@
 package builder.entities.npc.spawners;
 
 import builder.GameState;
+import builder.timing.SavableRepeatingTimer;
 
 import engine.EngineState;
-import engine.timing.RepeatingTimer;
 
 /**
  * Spawns {@link builder.entities.npc.enemies.Magpie} enemies on a set interval.
@@ -21,7 +21,7 @@ public class MagpieSpawner extends Spawner {
      * @param duration the timer duration, in ticks, between spawns
      */
     public MagpieSpawner(int x, int y, int duration) {
-        super(x, y, new RepeatingTimer(duration));
+        super(x, y, new SavableRepeatingTimer(duration));
     }
 
     /**
@@ -35,7 +35,7 @@ public class MagpieSpawner extends Spawner {
         tickTimer();
         if (isTimerFinished()) {
             setSpawnPosition(game);
-            game.getEnemies().addEnemy(game.getEnemies().createMagpie(game.getPlayer()));
+            requestSpawn(game, game.getEnemies().createMagpie(game.getPlayer()));
         }
     }
 
@@ -1,12 +1,12 @@
 package builder.entities.npc.spawners;
 
 import builder.GameState;
+import builder.timing.SavableRepeatingTimer;
 import builder.entities.resources.Cabbage;
 import builder.entities.tiles.Tile;
 import engine.EngineState;
 import engine.game.Entity;
 import engine.game.HasPosition;
-import engine.timing.RepeatingTimer;
 
 import java.util.List;
 
@@ -28,7 +28,7 @@ public class PigeonSpawner extends Spawner {
      * @param duration the timer duration, in ticks, between spawns
      */
     public PigeonSpawner(int x, int y, int duration) {
-        super(x, y, new RepeatingTimer(duration));
+        super(x, y, new SavableRepeatingTimer(duration));
     }
 
 
@@ -81,7 +81,7 @@ public class PigeonSpawner extends Spawner {
 
             if (isTimerFinished()) {
                 setSpawnPosition(game);
-                game.getEnemies().addEnemy(game.getEnemies().createPigeon(closest));
+                requestSpawn(game, game.getEnemies().createPigeon(closest));
             }
         }
     }
@@ -2,10 +2,20 @@ package builder.entities.npc.spawners;
 
 import builder.GameState;
 import builder.Tickable;
+import builder.entities.npc.enemies.Enemy;
+import builder.jfr.SpawnEvent;
+import builder.snapshot.Savable;
+import builder.snapshot.SnapshotException;
+import builder.timing.SavableRepeatingTimer;
+import builder.timing.Skippable;
 import engine.EngineState;
 import engine.game.HasPosition;
 import engine.timing.TickTimer;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
 /**
  * The {@code Spawner} class provides a common base for all enemy spawners.
  * <p>
@@ -14,7 +24,7 @@ import engine.timing.TickTimer;
  * when a new enemy should appear in the game.
  * </p>
  */
-public abstract class Spawner implements HasPosition, Tickable {
+public abstract class Spawner implements HasPosition, Tickable, Savable, Skippable {
 
     private int spawnX;
     private int spawnY;
@@ -87,6 +97,25 @@ public abstract class Spawner implements HasPosition, Tickable {
         game.getEnemies().setY(this.getY());
     }
 
+    /**
+     * Asks the game's enemy manager to spawn the given enemy, and records the request as a {@link
+     * SpawnEvent}.
+     *
+     * @param game the current {@link GameState} of the game world.
+     * @param enemy the enemy to spawn.
+     * @return true if the enemy entered the game at once.
+     */
+    protected boolean requestSpawn(GameState game, Enemy enemy) {
+        final boolean admitted = game.getEnemies().requestSpawn(enemy);
+        SpawnEvent.emit(
+                this.getClass().getSimpleName(),
+                enemy.getClass().getSimpleName(),
+                this.getX(),
+                this.getY(),
+                admitted);
+        return admitted;
+    }
+
     /**
      * Updates the timer by one tick.
      * <p>
@@ -115,5 +144,52 @@ public abstract class Spawner implements HasPosition, Tickable {
      */
     public abstract void tick(EngineState state, GameState game);
 
+    /**
+     * A spawner can only spawn on a tick its timer finishes. Spawners whose timer cannot report its
+     * progress are treated as changing every tick.
+     */
+    @Override
+    public int ticksUntilChange() {
+        if (this.timer instanceof SavableRepeatingTimer savable) {
+            return savable.getUntilNextFinish();
+        }
+        return 1;
+    }
+
+    @Override
+    public void skip(int ticks) {
+        if (this.timer instanceof SavableRepeatingTimer savable) {
+            savable.advance(ticks);
+        }
+    }
 
+    /**
+     * Returns the spawn interval of this spawner's timer.
+     *
+     * @return the ticks between spawns.
+     * @throws SnapshotException if the spawner's timer does not expose its interval.
+     */
+    public int getInterval() throws SnapshotException {
+        return this.savableTimer().getInterval();
+    }
+
+    /**
+     * Writes the spawner's timer.
+     */
+    @Override
+    public void save(DataOutput out) throws IOException {
+        this.savableTimer().save(out);
+    }
+
+    @Override
+    public void load(DataInput in) throws IOException {
+        this.savableTimer().load(in);
+    }
+
+    private SavableRepeatingTimer savableTimer() throws SnapshotException {
+        if (!(this.timer instanceof SavableRepeatingTimer savable)) {
+            throw new SnapshotException("spawner timer cannot be saved");
+        }
+        return savable;
+    }
 }
@@ -2,15 +2,23 @@ package builder.entities.resources;
 
 import builder.GameState;
 import builder.entities.Interactable;
+import builder.entities.StateChangeListener;
+import builder.entities.StateNotifier;
+import builder.jfr.HarvestEvent;
+import builder.snapshot.Savable;
+import builder.timing.SavableRepeatingTimer;
+import builder.timing.Skippable;
 import builder.ui.SpriteGallery;
 
 import engine.EngineState;
 import engine.art.sprites.SpriteGroup;
 import engine.game.Entity;
-import engine.timing.RepeatingTimer;
-import engine.timing.TickTimer;
 import engine.timing.TimerDuration;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
 /**
  * An entity planted (stacked on) {@link builder.entities.tiles.Dirt} that grows and can be
  * collected by the player once grown. A cabbage is initially rendered as 'default' within {@link
@@ -18,11 +26,13 @@ import engine.timing.TimerDuration;
  *
  * @stage3
  */
-public class Cabbage extends Entity implements Interactable {
+public class Cabbage extends Entity implements Interactable, StateNotifier, Savable, Skippable {
 
-    private final TickTimer timer = new RepeatingTimer(TimerDuration.SHORT);
+    private final SavableRepeatingTimer timer =
+            new SavableRepeatingTimer(TimerDuration.SHORT.getDuration());
     private static final SpriteGroup art = SpriteGallery.cabbage;
     private int growthState = 0;
+    private StateChangeListener listener = null;
 
     /** The cost of planting a cabbage, 2 coins. */
     public static final int COST = 2;
@@ -57,13 +67,22 @@ public class Cabbage extends Entity implements Interactable {
     public void tick(EngineState state) {
         this.timer.tick();
         if (this.timer.isFinished()) {
-            if (this.growthState < 4) {
+            final boolean grew = this.growthState < 4;
+            if (grew) {
                 this.growthState++;
             }
             this.updateArt();
+            if (grew && this.listener != null) {
+                this.listener.stateChanged(this);
+            }
         }
     }
 
+    @Override
+    public void setStateListener(StateChangeListener listener) {
+        this.listener = listener;
+    }
+
     /** Updates the displayed art of this entity based on the given progress value. */
     private void updateArt() {
         this.setSprite(
@@ -94,6 +113,37 @@ public class Cabbage extends Entity implements Interactable {
             game.getInventory().addFood(COST);
             game.getInventory().addCoins(3);
             this.markForRemoval();
+            game.getEvents().cabbageHarvested(this);
+            HarvestEvent.emit(this.getX(), this.getY(), COST, 3);
         }
     }
+
+    /**
+     * A growing cabbage next changes when it reaches its next stage; a fully grown one never does.
+     */
+    @Override
+    public int ticksUntilChange() {
+        return this.growthState < 4 ? this.timer.getUntilNextFinish() : Integer.MAX_VALUE;
+    }
+
+    @Override
+    public void skip(int ticks) {
+        this.timer.advance(ticks);
+    }
+
+    /**
+     * Writes the cabbage's growth stage and growth timer.
+     */
+    @Override
+    public void save(DataOutput out) throws IOException {
+        out.writeByte(this.growthState);
+        this.timer.save(out);
+    }
+
+    @Override
+    public void load(DataInput in) throws IOException {
+        this.growthState = in.readByte();
+        this.timer.load(in);
+        this.updateArt();
+    }
 }
@@ -4,13 +4,18 @@ import builder.GameState;
 import builder.entities.Usable;
 import builder.inventory.items.Jackhammer;
 import builder.player.Player;
+import builder.snapshot.Savable;
+import builder.timing.SavableRepeatingTimer;
+import builder.timing.Skippable;
 import builder.ui.SpriteGallery;
 
 import engine.EngineState;
 import engine.art.sprites.SpriteGroup;
 import engine.game.Entity;
-import engine.timing.RepeatingTimer;
-import engine.timing.TickTimer;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 
 /**
  * An entity that is stacked on an {@link builder.entities.tiles.OreVein} and yields coins when
@@ -19,13 +24,13 @@ import engine.timing.TickTimer;
  *
  * @stage3
  */
-public class Ore extends Entity implements Usable {
+public class Ore extends Entity implements Usable, Savable, Skippable {
 
     private static final SpriteGroup art = SpriteGallery.rock;
     private static final int COIN_VALUE = 10;
     private int coins = COIN_VALUE;
 
-    private final TickTimer timer = new RepeatingTimer(5);
+    private final SavableRepeatingTimer timer = new SavableRepeatingTimer(5);
     private static final boolean USE_TIMER = false;
 
     /**
@@ -89,7 +94,55 @@ public class Ore extends Entity implements Usable {
             if (collection > 0) {
                 this.coins -= collection;
                 game.getInventory().addCoins(collection);
+                game.getEvents().oreMined(this, this.coins);
             }
         }
     }
+
+    /**
+     * Returns the coins remaining in the ore.
+     *
+     * @return the ore's remaining value.
+     */
+    public int getCoins() {
+        return this.coins;
+    }
+
+    /**
+     * Sets the coins remaining in the ore, for example when recovering a game from its journal.
+     *
+     * @requires 0 &le; coins &le; 10
+     * @param coins the ore's remaining value.
+     */
+    public void setCoins(int coins) {
+        this.coins = coins;
+    }
+
+    /**
+     * Ore only changes when it is used, so ticking it never changes anything.
+     */
+    @Override
+    public int ticksUntilChange() {
+        return Integer.MAX_VALUE;
+    }
+
+    @Override
+    public void skip(int ticks) {
+        this.timer.advance(ticks);
+    }
+
+    /**
+     * Writes the coins remaining in the ore and its use timer.
+     */
+    @Override
+    public void save(DataOutput out) throws IOException {
+        out.writeInt(this.coins);
+        this.timer.save(out);
+    }
+
+    @Override
+    public void load(DataInput in) throws IOException {
+        this.coins = in.readInt();
+        this.timer.load(in);
+    }
 }
@@ -7,18 +7,23 @@ import builder.inventory.Inventory;
 import builder.inventory.items.Bucket;
 import builder.inventory.items.Hoe;
 import builder.inventory.items.Pole;
+import builder.snapshot.Savable;
 import builder.ui.SpriteGallery;
 
 import engine.EngineState;
 import engine.art.sprites.SpriteGroup;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
 /**
  * A dirt tile may be used for farming. A dirt tile has two states: tilled and untilled. The tile
  * should begin untilled and may become tilled by using a hoe on it (in stage 3). When untilled,
  * dirt is rendered as {@link SpriteGallery#field}, when tilled, dirt is rendered as {@link
  * SpriteGallery#tilled}. (Stage 3) A bucket can be used on dirt to plant a cabbage on it.
  */
-public class Dirt extends Tile {
+public class Dirt extends Tile implements Savable {
 
     private static final SpriteGroup dirtArt = SpriteGallery.field;
     private static final SpriteGroup tillArt = SpriteGallery.tilled;
@@ -54,13 +59,17 @@ public class Dirt extends Tile {
     /**
      * Attempt to plant a {@link Cabbage} and adjust the resources accordingly. If the user can not
      * currently place the {@link Cabbage} one should not be placed.
+     *
+     * @return true if a cabbage was planted.
      */
-    public void plant(Inventory inventory) {
+    public boolean plant(Inventory inventory) {
         if (inventory.getCoins() >= Cabbage.COST) {
             inventory.addCoins(-Cabbage.COST);
             Cabbage cabbage = new Cabbage(this.getX(), this.getY());
             this.placeOn(cabbage);
+            return true;
         }
+        return false;
     }
 
     /**
@@ -84,13 +93,15 @@ public class Dirt extends Tile {
     @Override
     public void use(EngineState state, GameState game) {
         Inventory inventory = game.getInventory();
-        if (inventory.getHolding() instanceof Hoe) {
+        if (inventory.getHolding() instanceof Hoe && !this.isTilled()) {
             this.till();
+            game.getEvents().tileTilled(this);
         }
         if (inventory.getHolding() instanceof Bucket
                 && this.getStackedEntities().isEmpty()
-                && this.isTilled()) {
-            this.plant(inventory);
+                && this.isTilled()
+                && this.plant(inventory)) {
+            game.getEvents().cabbagePlanted(this);
         }
         if (inventory.getHolding() instanceof Pole
                 && this.getStackedEntities().isEmpty()
@@ -99,7 +110,23 @@ public class Dirt extends Tile {
             inventory.addCoins(-Scarecrow.COIN_COST);
             Scarecrow scarecrow = new Scarecrow(this.getX(), this.getY());
             this.placeOn(scarecrow);
-            game.getNpcs().getNpcs().add(scarecrow);
+            game.getNpcs().addNpc(scarecrow);
+            game.getEvents().scarecrowPlaced(this);
+        }
+    }
+
+    /**
+     * Writes whether the dirt has been tilled.
+     */
+    @Override
+    public void save(DataOutput out) throws IOException {
+        out.writeBoolean(this.tilled);
+    }
+
+    @Override
+    public void load(DataInput in) throws IOException {
+        if (in.readBoolean()) {
+            this.till();
         }
     }
 }
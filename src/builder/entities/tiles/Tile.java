@@ -2,6 +2,8 @@ package builder.entities.tiles;
 
 import builder.GameState;
 import builder.entities.Interactable;
+import builder.entities.StateChangeListener;
+import builder.entities.StateNotifier;
 import builder.entities.Usable;
 import builder.ui.RenderableGroup;
 
@@ -33,10 +35,18 @@ import java.util.List;
  * @stage2
  */
 public abstract class Tile extends Entity
-        implements Interactable, Usable, RenderableGroup, HasTick {
+        implements Interactable, Usable, RenderableGroup, HasTick, StateChangeListener {
 
     private SpriteGroup art;
     private final List<Entity> stackedEntities = new ArrayList<>();
+    // the interactable and usable subsets of stackedEntities, kept in stacking order
+    private final List<Interactable> interactables = new ArrayList<>();
+    private final List<Usable> usables = new ArrayList<>();
+    // interactables that changed while the player was on this tile and still need interacting
+    private List<Interactable> changed = new ArrayList<>();
+    // the previous contents of changed while stay() interacts with them, swapped back afterwards
+    private List<Interactable> interacting = new ArrayList<>();
+    private boolean occupied = false;
 
     /**
      * Constructs an instance of {@link Tile}.
@@ -102,8 +112,15 @@ public abstract class Tile extends Entity
     /** Removes any stacked entities that are marked for removal. */
     private void cleanup() {
         for (int i = this.stackedEntities.size() - 1; i >= 0; i -= 1) {
-            if (this.stackedEntities.get(i).isMarkedForRemoval()) {
+            final Entity entity = this.stackedEntities.get(i);
+            if (entity.isMarkedForRemoval()) {
                 this.stackedEntities.remove(i);
+                this.interactables.remove(entity);
+                this.usables.remove(entity);
+                this.changed.remove(entity);
+                if (entity instanceof StateNotifier notifier) {
+                    notifier.setStateListener(null);
+                }
             }
         }
     }
@@ -120,6 +137,15 @@ public abstract class Tile extends Entity
         return new ArrayList<>(this.stackedEntities);
     }
 
+    /**
+     * Returns whether anything is stacked upon this tile, without copying the stack.
+     *
+     * @return true if {@link #getStackedEntities()} would not be empty.
+     */
+    public boolean hasStackedEntities() {
+        return !this.stackedEntities.isEmpty();
+    }
+
     /**
      * Place the given tile on top of this tile.
      *
@@ -128,6 +154,94 @@ public abstract class Tile extends Entity
      */
     public void placeOn(Entity tile) {
         this.stackedEntities.add(tile);
+        if (tile instanceof Interactable interactable) {
+            this.interactables.add(interactable);
+            if (this.occupied) {
+                // arriving under the player counts as a change for the new entity
+                this.changed.add(interactable);
+            }
+        }
+        if (tile instanceof Usable usable) {
+            this.usables.add(usable);
+        }
+        if (tile instanceof StateNotifier notifier) {
+            notifier.setStateListener(this);
+        }
+    }
+
+    /**
+     * Records that a stacked entity has changed state. If the player is on this tile, the entity
+     * will be interacted with on the next call to {@link #stay(EngineState, GameState)}.
+     *
+     * @param source the stacked entity whose state changed.
+     */
+    @Override
+    public void stateChanged(Entity source) {
+        if (this.occupied
+                && source instanceof Interactable interactable
+                && !this.changed.contains(interactable)) {
+            this.changed.add(interactable);
+        }
+    }
+
+    /**
+     * Handle the player arriving on this tile. Every interactable stacked entity is interacted with
+     * (see {@link #interact(EngineState, GameState)}) and the tile starts tracking state changes of
+     * its stacked entities until {@link #exit()} is called.
+     *
+     * @param state The state of the engine.
+     * @param game The state of the game.
+     */
+    public void enter(EngineState state, GameState game) {
+        this.occupied = true;
+        this.changed.clear();
+        this.interact(state, game);
+    }
+
+    /**
+     * Handle the player remaining on this tile for another tick. Only stacked entities that have
+     * changed state (or been placed) since the last call are interacted with, so a tile with
+     * nothing new to report costs nothing.
+     *
+     * @param state The state of the engine.
+     * @param game The state of the game.
+     */
+    public void stay(EngineState state, GameState game) {
+        if (this.changed.isEmpty()) {
+            return;
+        }
+        final List<Interactable> pending = this.changed;
+        this.changed = this.interacting;
+        this.interacting = pending;
+        for (int i = 0; i < pending.size(); i++) {
+            pending.get(i).interact(state, game);
+        }
+        pending.clear();
+    }
+
+    /**
+     * Whether this tile has nothing left over from earlier ticks: no stacked entity is waiting to
+     * be interacted with by {@link #stay(EngineState, GameState)} or removed by {@link
+     * #tick(EngineState)}.
+     *
+     * @return true if the tile's next tick only ticks its stacked entities.
+     */
+    public boolean isSettled() {
+        if (!this.changed.isEmpty()) {
+            return false;
+        }
+        for (Entity entity : this.stackedEntities) {
+            if (entity.isMarkedForRemoval()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Handle the player leaving this tile; state changes are no longer tracked. */
+    public void exit() {
+        this.occupied = false;
+        this.changed.clear();
     }
 
     /**
@@ -144,10 +258,8 @@ public abstract class Tile extends Entity
      */
     @Override
     public void interact(EngineState state, GameState game) {
-        for (Entity stackedEntity : this.stackedEntities) {
-            if (stackedEntity instanceof Interactable interactable) {
-                interactable.interact(state, game);
-            }
+        for (int i = 0; i < this.interactables.size(); i++) {
+            this.interactables.get(i).interact(state, game);
         }
     }
 
@@ -163,10 +275,8 @@ public abstract class Tile extends Entity
      */
     @Override
     public void use(EngineState state, GameState game) {
-        for (Entity stackedEntity : this.stackedEntities) {
-            if (stackedEntity instanceof Usable usable) {
-                usable.use(state, game);
-            }
+        for (int i = 0; i < this.usables.size(); i++) {
+            this.usables.get(i).use(state, game);
         }
     }
 
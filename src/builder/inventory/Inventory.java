@@ -1,5 +1,6 @@
 package builder.inventory;
 
+import builder.GameEventListener;
 import builder.inventory.items.Item;
 
 /**
@@ -109,4 +110,12 @@ public interface Inventory {
      * @ensures getActiveSlot() = slot
      */
     void setActiveSlot(int slot);
+
+    /**
+     * Sets the listener told whenever the coins or food in this inventory change. Inventories that
+     * do not report changes may ignore this.
+     *
+     * @param listener The listener to notify.
+     */
+    default void setEventListener(GameEventListener listener) {}
 }
@@ -1,5 +1,6 @@
 package builder.inventory;
 
+import builder.GameEventListener;
 import builder.inventory.items.Item;
 
 /**
@@ -16,6 +17,7 @@ public class TinyInventory implements Inventory {
     private int coins = 0;
     private int food = 0;
     private int active = 0;
+    private GameEventListener listener = GameEventListener.NONE;
 
     /**
      * Construct a new tiny inventory instance.
@@ -81,6 +83,9 @@ public class TinyInventory implements Inventory {
         int oldCoins = coins;
         coins = Math.max(0, coins + amount);
         assert coins == Math.max(0, oldCoins + amount);
+        if (coins != oldCoins) {
+            listener.coinsChanged(coins);
+        }
     }
 
     @Override
@@ -88,6 +93,14 @@ public class TinyInventory implements Inventory {
         int oldFood = food;
         food = Math.max(0, food + amount);
         assert food == Math.max(0, oldFood + amount);
+        if (food != oldFood) {
+            listener.foodChanged(food);
+        }
+    }
+
+    @Override
+    public void setEventListener(GameEventListener listener) {
+        this.listener = listener;
     }
 
     @Override
@@ -1,10 +1,10 @@
 package builder.inventory.items;
 
+import builder.ui.SharedAnimation;
 import builder.ui.SpriteGallery;
 
 import engine.art.sprites.Sprite;
 import engine.art.sprites.SpriteGroup;
-import engine.timing.Animation;
 import engine.timing.AnimationDuration;
 
 import java.util.Optional;
@@ -19,10 +19,9 @@ import java.util.Optional;
 public class Bucket implements Item {
     private static final SpriteGroup toolArt = SpriteGallery.tools;
     private static final SpriteGroup art = SpriteGallery.chickenFarmer;
-    private final Animation water =
-            new Animation(
-                    AnimationDuration.MEDIUM,
-                    new Sprite[] {art.getSprite("plant1"), art.getSprite("plant2")});
+    private static final SharedAnimation water =
+            new SharedAnimation(
+                    AnimationDuration.MEDIUM, art.getSprite("plant1"), art.getSprite("plant2"));
 
     /** Construct a new bucket instance. */
     public Bucket() {}
@@ -33,7 +32,7 @@ public class Bucket implements Item {
     }
 
     @Override
-    public Optional<Animation> useAnimation() {
+    public Optional<SharedAnimation> useAnimation() {
         return Optional.of(water);
     }
 }
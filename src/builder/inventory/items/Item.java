@@ -1,7 +1,8 @@
 package builder.inventory.items;
 
+import builder.ui.SharedAnimation;
+
 import engine.art.sprites.Sprite;
-import engine.timing.Animation;
 
 import java.util.Optional;
 
@@ -27,5 +28,5 @@ public interface Item {
      *
      * @return The animation to play for the player.
      */
-    Optional<Animation> useAnimation();
+    Optional<SharedAnimation> useAnimation();
 }
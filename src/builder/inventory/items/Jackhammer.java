@@ -1,10 +1,10 @@
 package builder.inventory.items;
 
+import builder.ui.SharedAnimation;
 import builder.ui.SpriteGallery;
 
 import engine.art.sprites.Sprite;
 import engine.art.sprites.SpriteGroup;
-import engine.timing.Animation;
 import engine.timing.AnimationDuration;
 
 import java.util.Optional;
@@ -19,10 +19,11 @@ import java.util.Optional;
 public class Jackhammer implements Item {
     private static final SpriteGroup toolArt = SpriteGallery.tools;
     private static final SpriteGroup art = SpriteGallery.chickenFarmer;
-    private final Animation dig =
-            new Animation(
+    private static final SharedAnimation dig =
+            new SharedAnimation(
                     AnimationDuration.MEDIUM,
-                    new Sprite[] {art.getSprite("jackhammer1"), art.getSprite("jackhammer2")});
+                    art.getSprite("jackhammer1"),
+                    art.getSprite("jackhammer2"));
 
     /** Construct a new jackhammer instance. */
     public Jackhammer() {}
@@ -33,7 +34,7 @@ public class Jackhammer implements Item {
     }
 
     @Override
-    public Optional<Animation> useAnimation() {
+    public Optional<SharedAnimation> useAnimation() {
         return Optional.of(dig);
     }
 }
@@ -1,10 +1,10 @@
 package builder.inventory.items;
 
+import builder.ui.SharedAnimation;
 import builder.ui.SpriteGallery;
 
 import engine.art.sprites.Sprite;
 import engine.art.sprites.SpriteGroup;
-import engine.timing.Animation;
 
 import java.util.Optional;
 
@@ -18,7 +18,7 @@ public class Pole implements Item {
     }
 
     @Override
-    public Optional<Animation> useAnimation() {
+    public Optional<SharedAnimation> useAnimation() {
         return Optional.empty();
     }
 }
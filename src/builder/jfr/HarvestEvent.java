@@ -0,0 +1,45 @@
+package builder.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** Records the player harvesting a grown cabbage. */
+@Name("builder.Harvest")
+@Label("Harvest")
+@Category({"JavaBean Farm", "Farm"})
+@Description("The player harvested a cabbage")
+public class HarvestEvent extends Event {
+    @Label("X")
+    int x;
+
+    @Label("Y")
+    int y;
+
+    @Label("Food")
+    int food;
+
+    @Label("Coins")
+    int coins;
+
+    /**
+     * Commits an event for a harvest, if harvest events are being recorded.
+     *
+     * @param x where the cabbage grew.
+     * @param y where the cabbage grew.
+     * @param food the food the harvest gave.
+     * @param coins the coins the harvest gave.
+     */
+    public static void emit(int x, int y, int food, int coins) {
+        final HarvestEvent event = new HarvestEvent();
+        if (event.shouldCommit()) {
+            event.x = x;
+            event.y = y;
+            event.food = food;
+            event.coins = coins;
+            event.commit();
+        }
+    }
+}
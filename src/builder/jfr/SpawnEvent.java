@@ -0,0 +1,51 @@
+package builder.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** Records a spawner asking for an enemy to be spawned, and whether it was let in. */
+@Name("builder.Spawn")
+@Label("Spawn")
+@Category({"JavaBean Farm", "Enemies"})
+@Description("A spawner requested an enemy")
+public class SpawnEvent extends Event {
+    @Label("Spawner")
+    String spawner;
+
+    @Label("Enemy")
+    String enemy;
+
+    @Label("X")
+    int x;
+
+    @Label("Y")
+    int y;
+
+    @Label("Admitted")
+    @Description("False if the enemy was queued or rejected by the spawn policy")
+    boolean admitted;
+
+    /**
+     * Commits an event for a spawn request, if spawn events are being recorded.
+     *
+     * @param spawner the spawner's type.
+     * @param enemy the requested enemy's type.
+     * @param x where the enemy spawns.
+     * @param y where the enemy spawns.
+     * @param admitted whether the enemy entered the game at once.
+     */
+    public static void emit(String spawner, String enemy, int x, int y, boolean admitted) {
+        final SpawnEvent event = new SpawnEvent();
+        if (event.shouldCommit()) {
+            event.spawner = spawner;
+            event.enemy = enemy;
+            event.x = x;
+            event.y = y;
+            event.admitted = admitted;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package builder.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** Records an enemy taking coins, food or a cabbage from the farm. */
+@Name("builder.Theft")
+@Label("Theft")
+@Category({"JavaBean Farm", "Enemies"})
+@Description("An enemy stole from the farm")
+public class TheftEvent extends Event {
+    @Label("Thief")
+    String thief;
+
+    @Label("Resource")
+    @Description("coins, food or cabbage")
+    String resource;
+
+    @Label("Amount")
+    int amount;
+
+    @Label("X")
+    int x;
+
+    @Label("Y")
+    int y;
+
+    /**
+     * Commits an event for a theft, if theft events are being recorded.
+     *
+     * @param thief the thief's type.
+     * @param resource what was stolen: coins, food or cabbage.
+     * @param amount how much was stolen.
+     * @param x where the theft happened.
+     * @param y where the theft happened.
+     */
+    public static void emit(String thief, String resource, int amount, int x, int y) {
+        final TheftEvent event = new TheftEvent();
+        if (event.shouldCommit()) {
+            event.thief = thief;
+            event.resource = resource;
+            event.amount = amount;
+            event.x = x;
+            event.y = y;
+            event.commit();
+        }
+    }
+}
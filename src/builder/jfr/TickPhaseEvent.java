@@ -0,0 +1,66 @@
+package builder.jfr;
+
+import builder.metrics.GameMetrics.Phase;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Records how long one stage of a tick, or the rendering of a frame, took.
+ *
+ * <p>Phase events are begun and committed back to back by {@link #begin(Phase, int)} and {@link
+ * #next(TickPhaseEvent)}, so that in a recording they tile each tick without gaps. When the event
+ * is not enabled in the recording, neither method allocates.
+ */
+@Name("builder.TickPhase")
+@Label("Tick Phase")
+@Category({"JavaBean Farm", "Tick"})
+@Description("A stage of JavaBeanFarm.tick, or JavaBeanFarm.render")
+public class TickPhaseEvent extends Event {
+    private static final EventType TYPE = EventType.getEventType(TickPhaseEvent.class);
+
+    @Label("Phase")
+    String phase;
+
+    @Label("Tick")
+    int tick;
+
+    private transient Phase current;
+
+    /**
+     * Begins an event for the given phase, if phase events are being recorded.
+     *
+     * @param phase the phase starting now.
+     * @param tick the tick it belongs to.
+     * @return the begun event, or null if phase events are not being recorded.
+     */
+    public static TickPhaseEvent begin(Phase phase, int tick) {
+        if (phase == null || !TYPE.isEnabled()) {
+            return null;
+        }
+        final TickPhaseEvent event = new TickPhaseEvent();
+        event.phase = phase.getMetric();
+        event.tick = tick;
+        event.current = phase;
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Commits the given event and begins one for the phase that follows it in the tick.
+     *
+     * @param event the event of the phase that just finished, or null.
+     * @return the event of the next phase, or null if there is none or it is not being recorded.
+     */
+    public static TickPhaseEvent next(TickPhaseEvent event) {
+        if (event == null) {
+            return null;
+        }
+        event.commit();
+        return begin(event.current.next(), event.tick);
+    }
+}
@@ -0,0 +1,68 @@
+package builder.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Records the parsing of a map, or of one section of a details file.
+ *
+ * <p>The parser begins the event before it starts and calls {@link #loaded(int, int, int)} once it
+ * is done; a parse that fails is not recorded.
+ */
+@Name("builder.WorldLoad")
+@Label("World Load")
+@Category({"JavaBean Farm", "Loading"})
+@Description("A map or a details-file section was parsed")
+public class WorldLoadEvent extends Event {
+    @Label("Source")
+    @Description("map, or the name of the details-file section")
+    String source;
+
+    @Label("Columns")
+    int columns;
+
+    @Label("Rows")
+    int rows;
+
+    @Label("Entries")
+    @Description("Tiles in a map, or lines in a details-file section")
+    int entries;
+
+    @Label("Characters")
+    @Description("The length of the parsed text")
+    int characters;
+
+    /**
+     * Begins an event for parsing the given source.
+     *
+     * @param source map, or the name of the details-file section.
+     * @param characters the length of the text being parsed.
+     * @return the begun event.
+     */
+    public static WorldLoadEvent begin(String source, int characters) {
+        final WorldLoadEvent event = new WorldLoadEvent();
+        event.source = source;
+        event.characters = characters;
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Commits this event, if world-load events are being recorded.
+     *
+     * @param columns the width of the parsed map in tiles, or 0 for a details-file section.
+     * @param rows the height of the parsed map in tiles, or 0 for a details-file section.
+     * @param entries the tiles or lines parsed.
+     */
+    public void loaded(int columns, int rows, int entries) {
+        if (this.shouldCommit()) {
+            this.columns = columns;
+            this.rows = rows;
+            this.entries = entries;
+            this.commit();
+        }
+    }
+}
@@ -0,0 +1,512 @@
+package builder.journal;
+
+import builder.GameEventListener;
+import builder.JavaBeanFarm;
+import builder.entities.npc.enemies.Bird;
+import builder.entities.npc.enemies.Eagle;
+import builder.entities.npc.enemies.Enemy;
+import builder.entities.npc.enemies.Magpie;
+import builder.entities.npc.enemies.Pigeon;
+import builder.entities.resources.Cabbage;
+import builder.entities.resources.Ore;
+import builder.entities.tiles.Tile;
+import builder.snapshot.GameSnapshot;
+import builder.snapshot.SnapshotException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.zip.CRC32;
+
+/**
+ * A write-ahead journal of every state-changing event in a game, with periodic checkpoints, so
+ * that a crashed game can be recovered with {@link Recovery}.
+ *
+ * <p>The journal listens to the game's events and encodes each as a small record on the tick
+ * thread. Records of one tick form a batch; finished batches are handed to a background thread,
+ * which writes every batch waiting for it with one {@link FileChannel} write and one {@code force}.
+ * Under load many ticks share a single disk flush, while a quiet game flushes each tick's batch
+ * almost immediately.
+ *
+ * <p>Each batch is framed with its length and a CRC32, so a batch torn by a crash is detected and
+ * ignored. The journal is split into segments, {@code journal-<n>.log}. A {@link #checkpoint}
+ * captures the game and starts a new segment; the checkpoint is written beside the journal with
+ * the number of that segment, forced to disk and renamed into place, and only then are the older
+ * segments deleted. Recovery loads the latest checkpoint and replays only its segment, so the
+ * journal never grows beyond what was recorded since the last checkpoint.
+ *
+ * <p>A directory holds one journal at a time. Starting a journal replaces whatever the directory
+ * held, so recover from an old journal before starting a new one in the same directory.
+ */
+public class Journal implements GameEventListener, AutoCloseable {
+    /** The prefix of the name of each journal segment within the journal directory. */
+    public static final String SEGMENT_PREFIX = "journal-";
+
+    /** The suffix of the name of each journal segment within the journal directory. */
+    public static final String SEGMENT_SUFFIX = ".log";
+
+    /** The name of the checkpoint file within the journal directory. */
+    public static final String CHECKPOINT_FILE = "checkpoint.bin";
+
+    /** Identifies a checkpoint file, "JBFC". */
+    static final int CHECKPOINT_MAGIC = 0x4A424643;
+
+    static final int CHECKPOINT = 1;
+    static final int TICK = 2;
+    static final int TILLED = 3;
+    static final int PLANTED = 4;
+    static final int SCARECROW = 5;
+    static final int HARVESTED = 6;
+    static final int MINED = 7;
+    static final int COINS = 8;
+    static final int FOOD = 9;
+    static final int ENEMY_SPAWNED = 10;
+    static final int ENEMY_REMOVED = 11;
+
+    static final int MAGPIE = 1;
+    static final int EAGLE = 2;
+    static final int PIGEON = 3;
+
+    /** Bytes of framing written before each batch: its length and checksum. */
+    static final int FRAME_HEADER = 8;
+
+    private static final Object STOP = new Object();
+
+    private final Path directory;
+    private FileChannel channel;
+    private final BlockingQueue<Object> pending = new LinkedBlockingQueue<>();
+    private final Thread writer;
+
+    private final ByteArrayOutputStream batchBytes = new ByteArrayOutputStream();
+    private final DataOutputStream batch = new DataOutputStream(this.batchBytes);
+    private int tick = 0;
+    private boolean tickWritten = false;
+    private long segment = 0;
+    private long records = 0;
+
+    private volatile long durableBytes = 0;
+    private volatile long flushes = 0;
+    private volatile IOException failure = null;
+    private boolean closed = false;
+
+    private Journal(Path directory, JavaBeanFarm game, int tick) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.tick = tick;
+        final byte[] snapshot = GameSnapshot.capture(game, tick);
+        this.channel = openSegment(directory, 0);
+        forceDirectory(directory);
+        writeCheckpoint(directory, 0, snapshot);
+        deleteSegmentsExcept(directory, 0);
+        this.record(CHECKPOINT);
+        this.writeInt(tick);
+        this.commit();
+        this.writer = new Thread(this::writeBatches, "journal-writer");
+        this.writer.setDaemon(true);
+    }
+
+    /**
+     * Starts a journal for the given game in the given directory and writes its first checkpoint.
+     *
+     * <p>The journal becomes the game's event listener.
+     *
+     * @param directory the directory to keep the journal and checkpoint in; created if needed.
+     * @param game the game to journal.
+     * @param tick the number of the next tick the game will run.
+     * @return the running journal.
+     * @throws IOException if the directory, journal or first checkpoint cannot be written.
+     */
+    public static Journal open(Path directory, JavaBeanFarm game, int tick) throws IOException {
+        final Journal journal = new Journal(directory, game, tick);
+        journal.writer.start();
+        game.setEventListener(journal);
+        return journal;
+    }
+
+    /**
+     * Captures the game, starts a new journal segment and writes the capture as the new checkpoint,
+     * in the background. Once the checkpoint is on disk the older segments are deleted.
+     *
+     * <p>Call between ticks, on the tick thread.
+     *
+     * @param game the journalled game.
+     * @param tick the number of the next tick the game will run.
+     * @throws SnapshotException if the game holds something that cannot be saved.
+     */
+    public void checkpoint(JavaBeanFarm game, int tick) throws SnapshotException {
+        this.commit();
+        final byte[] snapshot = GameSnapshot.capture(game, tick);
+        this.segment++;
+        this.pending.add(new Checkpoint(this.segment, snapshot));
+        this.tick = tick;
+        this.tickWritten = false;
+        this.record(CHECKPOINT);
+        this.writeInt(tick);
+        this.commit();
+    }
+
+    /**
+     * Returns the journal segment that records are currently being written to.
+     *
+     * @return the segment's path.
+     */
+    public Path getSegmentFile() {
+        return this.directory.resolve(segmentName(this.segment));
+    }
+
+    /**
+     * Returns the name of the given journal segment within the journal directory.
+     *
+     * @param segment the segment's number.
+     * @return the file name.
+     */
+    static String segmentName(long segment) {
+        return String.format(Locale.ROOT, "%s%06d%s", SEGMENT_PREFIX, segment, SEGMENT_SUFFIX);
+    }
+
+    /**
+     * Returns the number of records journalled so far.
+     *
+     * @return the record count.
+     */
+    public long getRecords() {
+        return this.records;
+    }
+
+    /**
+     * Returns the number of journal bytes known to be on disk.
+     *
+     * @return the durable journal length.
+     */
+    public long getDurableBytes() {
+        return this.durableBytes;
+    }
+
+    /**
+     * Returns the number of times the journal has been flushed to disk. Each flush commits every
+     * batch that was waiting, so this is usually much lower than the number of ticks journalled.
+     *
+     * @return the flush count.
+     */
+    public long getFlushes() {
+        return this.flushes;
+    }
+
+    @Override
+    public void tickStarted(int tick) {
+        this.commit();
+        this.tick = tick;
+        this.tickWritten = false;
+    }
+
+    @Override
+    public void tileTilled(Tile tile) {
+        this.record(TILLED);
+        this.writePosition(tile.getX(), tile.getY());
+    }
+
+    @Override
+    public void cabbagePlanted(Tile tile) {
+        this.record(PLANTED);
+        this.writePosition(tile.getX(), tile.getY());
+    }
+
+    @Override
+    public void scarecrowPlaced(Tile tile) {
+        this.record(SCARECROW);
+        this.writePosition(tile.getX(), tile.getY());
+    }
+
+    @Override
+    public void cabbageHarvested(Cabbage cabbage) {
+        this.record(HARVESTED);
+        this.writePosition(cabbage.getX(), cabbage.getY());
+    }
+
+    /**
+     * A stolen cabbage is recorded as harvested; either way it leaves its tile.
+     */
+    @Override
+    public void cabbageStolen(Cabbage cabbage) {
+        this.cabbageHarvested(cabbage);
+    }
+
+    @Override
+    public void oreMined(Ore ore, int coinsLeft) {
+        this.record(MINED);
+        this.writePosition(ore.getX(), ore.getY());
+        this.writeInt(coinsLeft);
+    }
+
+    @Override
+    public void coinsChanged(int coins) {
+        this.record(COINS);
+        this.writeInt(coins);
+    }
+
+    @Override
+    public void foodChanged(int food) {
+        this.record(FOOD);
+        this.writeInt(food);
+    }
+
+    @Override
+    public void enemySpawned(Enemy enemy) {
+        this.writeEnemy(ENEMY_SPAWNED, enemy);
+    }
+
+    @Override
+    public void enemyRemoved(Enemy enemy) {
+        this.writeEnemy(ENEMY_REMOVED, enemy);
+    }
+
+    /**
+     * Commits the last batch, waits for everything to reach the disk and closes the journal.
+     *
+     * @throws IOException if any journal write failed.
+     */
+    @Override
+    public void close() throws IOException {
+        if (this.closed) {
+            return;
+        }
+        this.closed = true;
+        this.commit();
+        this.pending.add(STOP);
+        try {
+            this.writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        this.channel.close();
+        if (this.failure != null) {
+            throw this.failure;
+        }
+    }
+
+    /** Identifies an enemy by its type and where it was spawned, which is all recovery needs. */
+    private void writeEnemy(int type, Enemy enemy) {
+        final int kind = kindOf(enemy);
+        if (kind == 0) {
+            return;
+        }
+        this.record(type);
+        this.writeInt(kind);
+        final Bird bird = (Bird) enemy;
+        this.writePosition(bird.getSpawnX(), bird.getSpawnY());
+    }
+
+    /**
+     * Returns the journal code for the type of the given enemy.
+     *
+     * @param enemy the enemy.
+     * @return its type code, or 0 if enemies of its type are not journalled.
+     */
+    static int kindOf(Enemy enemy) {
+        if (enemy instanceof Magpie) {
+            return MAGPIE;
+        }
+        if (enemy instanceof Eagle) {
+            return EAGLE;
+        }
+        return enemy instanceof Pigeon ? PIGEON : 0;
+    }
+
+    private void record(int type) {
+        if (this.failure != null) {
+            throw new UncheckedIOException("journal write failed", this.failure);
+        }
+        try {
+            if (!this.tickWritten && type != CHECKPOINT) {
+                this.tickWritten = true;
+                this.batch.writeByte(TICK);
+                this.batch.writeInt(this.tick);
+            }
+            this.batch.writeByte(type);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        this.records++;
+    }
+
+    private void writePosition(int x, int y) {
+        this.writeInt(x);
+        this.writeInt(y);
+    }
+
+    private void writeInt(int value) {
+        try {
+            this.batch.writeInt(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Hands the current batch, if it holds anything, to the writer thread. */
+    private void commit() {
+        if (this.batchBytes.size() == 0) {
+            return;
+        }
+        final byte[] bytes = this.batchBytes.toByteArray();
+        this.batchBytes.reset();
+        this.pending.add(bytes);
+    }
+
+    /** The writer thread: writes and forces every waiting batch together, in order. */
+    private void writeBatches() {
+        final List<Object> work = new ArrayList<>();
+        final List<ByteBuffer> buffers = new ArrayList<>();
+        final CRC32 crc = new CRC32();
+        while (true) {
+            try {
+                work.add(this.pending.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            this.pending.drainTo(work);
+            try {
+                for (Object item : work) {
+                    if (item instanceof byte[] bytes) {
+                        crc.reset();
+                        crc.update(bytes);
+                        buffers.add(
+                                ByteBuffer.allocate(FRAME_HEADER)
+                                        .putInt(bytes.length)
+                                        .putInt((int) crc.getValue())
+                                        .flip());
+                        buffers.add(ByteBuffer.wrap(bytes));
+                        continue;
+                    }
+                    this.flush(buffers);
+                    if (item == STOP) {
+                        return;
+                    }
+                    this.rotate((Checkpoint) item);
+                }
+                this.flush(buffers);
+            } catch (IOException e) {
+                this.failure = e;
+                return;
+            } finally {
+                work.clear();
+            }
+        }
+    }
+
+    private void flush(List<ByteBuffer> buffers) throws IOException {
+        if (buffers.isEmpty()) {
+            return;
+        }
+        final ByteBuffer[] array = buffers.toArray(new ByteBuffer[0]);
+        long remaining = 0;
+        for (ByteBuffer buffer : array) {
+            remaining += buffer.remaining();
+        }
+        final long written = remaining;
+        while (remaining > 0) {
+            remaining -= this.channel.write(array);
+        }
+        this.channel.force(false);
+        buffers.clear();
+        this.durableBytes += written;
+        this.flushes++;
+    }
+
+    /**
+     * Moves the journal to the checkpoint's segment, makes the checkpoint durable and deletes the
+     * segments it replaces. Every batch before the checkpoint has already been forced to the old
+     * segment, so a crash at any point leaves a checkpoint and a segment that agree.
+     */
+    private void rotate(Checkpoint checkpoint) throws IOException {
+        final FileChannel next = openSegment(this.directory, checkpoint.segment);
+        forceDirectory(this.directory);
+        writeCheckpoint(this.directory, checkpoint.segment, checkpoint.snapshot);
+        this.channel.close();
+        this.channel = next;
+        deleteSegmentsExcept(this.directory, checkpoint.segment);
+    }
+
+    private static FileChannel openSegment(Path directory, long segment) throws IOException {
+        return FileChannel.open(
+                directory.resolve(segmentName(segment)),
+                StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    /**
+     * Writes the checkpoint to a temporary file, forces it to disk, renames it over the previous
+     * checkpoint and forces the directory, so the rename itself survives a crash.
+     */
+    private static void writeCheckpoint(Path directory, long segment, byte[] snapshot)
+            throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream(snapshot.length + 12);
+        final DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(CHECKPOINT_MAGIC);
+        out.writeLong(segment);
+        out.write(snapshot);
+
+        final Path file = directory.resolve(CHECKPOINT_FILE);
+        final Path temp = directory.resolve(CHECKPOINT_FILE + ".tmp");
+        try (FileChannel channel =
+                FileChannel.open(
+                        temp,
+                        StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE,
+                        StandardOpenOption.TRUNCATE_EXISTING)) {
+            final ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        forceDirectory(directory);
+    }
+
+    /** Forces the entries of a directory to disk, where the platform allows a directory to be. */
+    private static void forceDirectory(Path directory) throws IOException {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (AccessDeniedException e) {
+            // Windows cannot open directories; its renames are made durable by the file system.
+        }
+    }
+
+    /** Deletes every journal segment in the directory other than the given one. */
+    private static void deleteSegmentsExcept(Path directory, long segment) throws IOException {
+        final String keep = segmentName(segment);
+        try (DirectoryStream<Path> segments =
+                Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path file : segments) {
+                if (!file.getFileName().toString().equals(keep)) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+
+    /** A checkpoint waiting to be written by the writer thread, and the segment it starts. */
+    private static final class Checkpoint {
+        private final long segment;
+        private final byte[] snapshot;
+
+        private Checkpoint(long segment, byte[] snapshot) {
+            this.segment = segment;
+            this.snapshot = snapshot;
+        }
+    }
+}
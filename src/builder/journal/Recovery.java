@@ -0,0 +1,263 @@
+package builder.journal;
+
+import builder.JavaBeanFarm;
+import builder.entities.npc.Scarecrow;
+import builder.entities.npc.enemies.Bird;
+import builder.entities.npc.enemies.Eagle;
+import builder.entities.npc.enemies.Enemy;
+import builder.entities.npc.enemies.EnemyManager;
+import builder.entities.npc.enemies.Magpie;
+import builder.entities.npc.enemies.Pigeon;
+import builder.entities.resources.Cabbage;
+import builder.entities.resources.Ore;
+import builder.entities.tiles.Dirt;
+import builder.entities.tiles.Tile;
+import builder.inventory.Inventory;
+import builder.snapshot.GameSnapshot;
+import builder.snapshot.SnapshotException;
+
+import engine.game.Entity;
+import engine.renderer.Dimensions;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Rebuilds a game from the latest checkpoint and journal written by a {@link Journal}.
+ *
+ * <p>The checkpoint is loaded as a snapshot, then every batch of the journal segment it started is
+ * applied in order: tiles are tilled, cabbages and scarecrows placed or collected, ores drained,
+ * the inventory set to its journalled totals and enemies added or removed. Reading stops at the
+ * first incomplete or corrupt batch, which is where the crash happened.
+ *
+ * <p>The journal records what changed, not how things moved, so recovered enemies start again from
+ * where they spawned. Everything the player owns is recovered exactly.
+ */
+public class Recovery {
+    private final JavaBeanFarm game;
+    private final int tick;
+    private final int replayedRecords;
+
+    private Recovery(JavaBeanFarm game, int tick, int replayedRecords) {
+        this.game = game;
+        this.tick = tick;
+        this.replayedRecords = replayedRecords;
+    }
+
+    /**
+     * Recovers the game journalled in the given directory.
+     *
+     * @param dimensions the dimensions to build the game with.
+     * @param directory the directory the journal was kept in.
+     * @return the recovered game.
+     * @throws IOException if the checkpoint cannot be read or is invalid.
+     */
+    public static Recovery recover(Dimensions dimensions, Path directory) throws IOException {
+        final long segment;
+        final GameSnapshot checkpoint;
+        try (DataInputStream in =
+                new DataInputStream(
+                        new BufferedInputStream(
+                                Files.newInputStream(directory.resolve(Journal.CHECKPOINT_FILE))))) {
+            if (in.readInt() != Journal.CHECKPOINT_MAGIC) {
+                throw new SnapshotException("not a journal checkpoint");
+            }
+            segment = in.readLong();
+            checkpoint = GameSnapshot.read(dimensions, in);
+        }
+
+        final Path journal = directory.resolve(Journal.segmentName(segment));
+        if (!Files.exists(journal)) {
+            return new Recovery(checkpoint.getGame(), checkpoint.getTick(), 0);
+        }
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(journal))) {
+            return replay(checkpoint, in);
+        }
+    }
+
+    /**
+     * Returns the recovered game.
+     *
+     * @return the game.
+     */
+    public JavaBeanFarm getGame() {
+        return this.game;
+    }
+
+    /**
+     * Returns the number of the next tick the recovered game should run.
+     *
+     * @return the tick to continue from.
+     */
+    public int getTick() {
+        return this.tick;
+    }
+
+    /**
+     * Returns how many journal records were applied on top of the checkpoint.
+     *
+     * @return the number of replayed records.
+     */
+    public int getReplayedRecords() {
+        return this.replayedRecords;
+    }
+
+    private static Recovery replay(GameSnapshot checkpoint, InputStream stream)
+            throws IOException {
+        final JavaBeanFarm game = checkpoint.getGame();
+        final DataInputStream frames = new DataInputStream(stream);
+        final CRC32 crc = new CRC32();
+        int tick = checkpoint.getTick();
+        int replayed = 0;
+        boolean first = true;
+        while (true) {
+            final byte[] bytes;
+            try {
+                final int length = frames.readInt();
+                final int checksum = frames.readInt();
+                if (length < 0 || length > 1 << 24) {
+                    break;
+                }
+                bytes = frames.readNBytes(length);
+                if (bytes.length != length) {
+                    break;
+                }
+                crc.reset();
+                crc.update(bytes);
+                if ((int) crc.getValue() != checksum) {
+                    break;
+                }
+            } catch (EOFException e) {
+                break;
+            }
+
+            final DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+            while (in.available() > 0) {
+                final int type = in.readUnsignedByte();
+                if (first) {
+                    // the journal must continue from this checkpoint, or it belongs to another
+                    if (type != Journal.CHECKPOINT || in.readInt() != checkpoint.getTick()) {
+                        return new Recovery(game, checkpoint.getTick(), 0);
+                    }
+                    first = false;
+                    continue;
+                }
+                if (type == Journal.TICK) {
+                    tick = in.readInt() + 1;
+                    continue;
+                }
+                apply(type, in, game);
+                replayed++;
+            }
+        }
+        game.getNpcs().cleanup();
+        game.getEnemies().cleanUp();
+        return new Recovery(game, tick, replayed);
+    }
+
+    private static void apply(int type, DataInputStream in, JavaBeanFarm game)
+            throws IOException {
+        final Inventory inventory = game.getInventory();
+        switch (type) {
+            case Journal.CHECKPOINT -> in.readInt();
+            case Journal.TILLED -> {
+                if (tileAt(game, in.readInt(), in.readInt()) instanceof Dirt dirt) {
+                    dirt.till();
+                }
+            }
+            case Journal.PLANTED -> {
+                final Tile tile = tileAt(game, in.readInt(), in.readInt());
+                if (tile != null) {
+                    tile.placeOn(new Cabbage(tile.getX(), tile.getY()));
+                }
+            }
+            case Journal.SCARECROW -> {
+                final Tile tile = tileAt(game, in.readInt(), in.readInt());
+                if (tile != null) {
+                    final Scarecrow scarecrow = new Scarecrow(tile.getX(), tile.getY());
+                    tile.placeOn(scarecrow);
+                    game.getNpcs().addNpc(scarecrow);
+                }
+            }
+            case Journal.HARVESTED -> {
+                final Entity cabbage = stackedAt(game, in.readInt(), in.readInt(), Cabbage.class);
+                if (cabbage != null) {
+                    cabbage.markForRemoval();
+                }
+            }
+            case Journal.MINED -> {
+                final Entity ore = stackedAt(game, in.readInt(), in.readInt(), Ore.class);
+                final int coinsLeft = in.readInt();
+                if (ore != null) {
+                    ((Ore) ore).setCoins(coinsLeft);
+                }
+            }
+            case Journal.COINS -> inventory.addCoins(in.readInt() - inventory.getCoins());
+            case Journal.FOOD -> inventory.addFood(in.readInt() - inventory.getFood());
+            case Journal.ENEMY_SPAWNED -> {
+                final Enemy enemy = newEnemy(game, in.readInt(), in.readInt(), in.readInt());
+                if (enemy != null) {
+                    game.getEnemies().addEnemy(enemy);
+                }
+            }
+            case Journal.ENEMY_REMOVED ->
+                    removeEnemy(game.getEnemies(), in.readInt(), in.readInt(), in.readInt());
+            default -> throw new SnapshotException("unknown journal record " + type);
+        }
+    }
+
+    private static Tile tileAt(JavaBeanFarm game, int x, int y) {
+        final List<Tile> tiles =
+                game.getWorld()
+                        .tileSelector(
+                                tile ->
+                                        tile.getX() == x
+                                                && tile.getY() == y
+                                                && !tile.isMarkedForRemoval());
+        return tiles.isEmpty() ? null : tiles.getLast();
+    }
+
+    private static Entity stackedAt(JavaBeanFarm game, int x, int y, Class<?> type) {
+        for (Tile tile : game.getWorld().allTiles()) {
+            for (Entity entity : tile.getStackedEntities()) {
+                if (type.isInstance(entity)
+                        && entity.getX() == x
+                        && entity.getY() == y
+                        && !entity.isMarkedForRemoval()) {
+                    return entity;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static Enemy newEnemy(JavaBeanFarm game, int kind, int x, int y) {
+        return switch (kind) {
+            case Journal.MAGPIE -> new Magpie(x, y, game.getPlayer());
+            case Journal.EAGLE -> new Eagle(x, y, game.getPlayer());
+            case Journal.PIGEON -> new Pigeon(x, y, game.getPlayer());
+            default -> null;
+        };
+    }
+
+    private static void removeEnemy(EnemyManager enemies, int kind, int x, int y) {
+        for (Enemy enemy : enemies.getAllEnemies()) {
+            if (enemy instanceof Bird bird
+                    && !bird.isMarkedForRemoval()
+                    && Journal.kindOf(bird) == kind
+                    && bird.getSpawnX() == x
+                    && bird.getSpawnY() == y) {
+                bird.markForRemoval();
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package builder.metrics;
+
+/**
+ * A count of events, such as spawns or thefts, that only goes up.
+ *
+ * <p>A counter is written from one thread, the tick thread, and may be read from any other.
+ */
+public class Counter {
+    private long count = 0;
+
+    /** Adds one to the count. */
+    public void increment() {
+        this.count++;
+    }
+
+    /**
+     * Adds the given amount to the count.
+     *
+     * @param amount how much to add, at least 0.
+     */
+    public void add(long amount) {
+        this.count += amount;
+    }
+
+    /**
+     * Returns the count.
+     *
+     * @return everything added so far.
+     */
+    public long get() {
+        return this.count;
+    }
+}
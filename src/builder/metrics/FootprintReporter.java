@@ -0,0 +1,153 @@
+package builder.metrics;
+
+import builder.GameState;
+import builder.entities.npc.NpcManager;
+import builder.entities.npc.enemies.EnemyManager;
+import builder.entities.tiles.Tile;
+
+import engine.game.Entity;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reports how much heap each part of a farm retains, so that maps and enemy caps can be sized
+ * against a heap budget.
+ *
+ * <p>A report splits the farm between these subsystems, each estimated by a {@link HeapFootprint}
+ * and published as a gauge of bytes named {@code footprint.<subsystem>}:
+ *
+ * <ul>
+ *   <li>{@code world.tiles}: the world, its tiles and their stacks, but not what is stacked;
+ *   <li>{@code world.stacked}: the entities stacked on tiles, such as cabbages and hives;
+ *   <li>{@code npcs}: the NPC manager and its NPCs;
+ *   <li>{@code spawners}: the enemy spawners and their timers;
+ *   <li>{@code enemies}: the enemy manager, its live enemies and the spawns it is holding back;
+ *   <li>{@code inventory}: the player's inventory and its items.
+ * </ul>
+ *
+ * <p>The gauges {@code footprint.total}, {@code footprint.objects} and {@code footprint.millis}
+ * hold the sum of the subsystems, the objects counted and how long the report took.
+ *
+ * <p>Reports walk the whole farm, so they are taken on demand rather than every tick: once {@link
+ * #request()} has been called from any thread, and every {@code periodTicks} if that is positive.
+ * They are taken on the tick thread, by the game's {@link GameMetrics} once {@linkplain
+ * GameMetrics#setFootprint(FootprintReporter) attached}, after a tick has been timed.
+ */
+public class FootprintReporter {
+    /** The subsystems reported on, in the order they are measured. */
+    public static final List<String> SUBSYSTEMS =
+            List.of("world.tiles", "world.stacked", "npcs", "spawners", "enemies", "inventory");
+
+    private final Gauge[] gauges = new Gauge[SUBSYSTEMS.size()];
+    private final Gauge total;
+    private final Gauge objects;
+    private final Gauge millis;
+    private final int periodTicks;
+    private volatile boolean requested = false;
+    private int nextTick = 0;
+
+    /**
+     * Constructs a reporter that only reports when requested.
+     *
+     * @param registry where the footprint gauges are kept.
+     */
+    public FootprintReporter(MetricsRegistry registry) {
+        this(registry, 0);
+    }
+
+    /**
+     * Constructs a reporter.
+     *
+     * @param registry where the footprint gauges are kept.
+     * @param periodTicks the ticks between reports, or 0 to only report when requested.
+     */
+    public FootprintReporter(MetricsRegistry registry, int periodTicks) {
+        if (periodTicks < 0) {
+            throw new IllegalArgumentException("period must not be negative");
+        }
+        for (int i = 0; i < this.gauges.length; i++) {
+            this.gauges[i] = registry.gauge("footprint." + SUBSYSTEMS.get(i));
+        }
+        this.total = registry.gauge("footprint.total");
+        this.objects = registry.gauge("footprint.objects");
+        this.millis = registry.gauge("footprint.millis");
+        this.periodTicks = periodTicks;
+    }
+
+    /** Asks for a report after the next tick. May be called from any thread. */
+    public void request() {
+        this.requested = true;
+    }
+
+    /**
+     * Reports on the farm if a report was requested or the period has passed.
+     *
+     * @param tick the tick that just finished.
+     * @param game the farm.
+     */
+    void tickFinished(int tick, GameState game) {
+        final boolean due = this.periodTicks > 0 && tick >= this.nextTick;
+        if (!due && !this.requested) {
+            return;
+        }
+        this.requested = false;
+        if (this.periodTicks > 0) {
+            this.nextTick = tick + this.periodTicks;
+        }
+        this.report(game);
+    }
+
+    /**
+     * Estimates the heap retained by each subsystem of the farm and updates the gauges. Must be
+     * called on the tick thread.
+     *
+     * @param game the farm.
+     * @return the estimated bytes of each of the {@link #SUBSYSTEMS}, in order, then {@code
+     *     total}.
+     */
+    public Map<String, Long> report(GameState game) {
+        final long start = System.nanoTime();
+        final NpcManager npcs = game.getNpcs();
+        final EnemyManager enemies = game.getEnemies();
+        final List<Entity> stacked = new ArrayList<>();
+        for (Tile tile : game.getWorld().allTiles()) {
+            stacked.addAll(tile.getStackedEntities());
+        }
+
+        final HeapFootprint heap = new HeapFootprint();
+        heap.stopAt(game.getPlayer());
+        heap.stopAt(game.getInventory());
+        heap.stopAt(npcs);
+        heap.stopAt(enemies);
+        heap.stopAtAll(stacked);
+        heap.stopAtAll(npcs.getNpcs());
+        heap.stopAtAll(enemies.getSpawner());
+        heap.stopAtAll(enemies.getAllEnemies());
+
+        final long[] bytes = {
+            heap.measure(game.getWorld()),
+            heap.measureAll(stacked),
+            heap.measure(npcs) + heap.measureAll(npcs.getNpcs()),
+            heap.measureAll(enemies.getSpawner()),
+            heap.measure(enemies) + heap.measureAll(enemies.getAllEnemies()),
+            heap.measure(game.getInventory())
+        };
+
+        final Map<String, Long> result = new LinkedHashMap<>();
+        long sum = 0;
+        for (int i = 0; i < bytes.length; i++) {
+            this.gauges[i].set(bytes[i]);
+            result.put(SUBSYSTEMS.get(i), bytes[i]);
+            sum += bytes[i];
+        }
+        result.put("total", sum);
+        this.total.set(sum);
+        this.objects.set(heap.getObjects());
+        this.millis.set((System.nanoTime() - start) / 1_000_000);
+        return Collections.unmodifiableMap(result);
+    }
+}
@@ -0,0 +1,486 @@
+package builder.metrics;
+
+import builder.GameEventListener;
+import builder.GameState;
+import builder.entities.npc.NpcManager;
+import builder.entities.npc.enemies.Eagle;
+import builder.entities.npc.enemies.Enemy;
+import builder.entities.npc.enemies.EnemyManager;
+import builder.entities.npc.enemies.Magpie;
+import builder.entities.npc.enemies.Pigeon;
+import builder.entities.resources.Cabbage;
+import builder.entities.resources.Ore;
+import builder.entities.tiles.Tile;
+import builder.timing.FixedTimestepLoop;
+import builder.world.BeanWorld;
+
+import java.util.List;
+
+/**
+ * The instrumentation of a {@link builder.JavaBeanFarm}: how long each stage of a tick takes,
+ * what is alive in the farm and what has happened to it.
+ *
+ * <p>The metrics are kept in a {@link MetricsRegistry} under these names:
+ *
+ * <ul>
+ *   <li>histograms of nanoseconds: {@code tick} for a whole tick, {@code tick.player}, {@code
+ *       tick.npcs}, {@code tick.enemies}, {@code tick.world}, {@code tick.overlays}, {@code
+ *       tick.interact} and {@code tick.cleanup} for its stages, and {@code render};
+ *   <li>gauges, sampled after every tick: {@code enemies.magpie}, {@code enemies.eagle}, {@code
+ *       enemies.pigeon}, {@code enemies.pending}, {@code npcs}, {@code tiles.occupied} (tiles with
+ *       something on them) and {@code renderables} (per frame);
+ *   <li>counters: {@code spawns}, {@code harvests}, {@code thefts.coins}, {@code thefts.food},
+ *       {@code thefts.cabbages} and {@code frames.overBudget} (frames whose ticks and rendering
+ *       together took longer than the {@linkplain #setFrameBudget(long) frame budget});
+ *   <li>if a {@link FootprintReporter} is attached, gauges of the heap each part of the farm
+ *       retains, named {@code footprint.*}.
+ * </ul>
+ *
+ * <p>Every metric is looked up once, when the instrumentation is constructed, so recording is a
+ * clock read and a few increments and allocates nothing. {@link #DISABLED} records nothing and
+ * does not read the clock at all.
+ *
+ * <p>While a {@link Trace} is enabled, each tick is also traced as a {@code JavaBeanFarm.tick} span
+ * with a span per stage inside it, each frame as a {@code render} span, and the live enemies,
+ * NPCs, occupied tiles and renderables as counters.
+ */
+public class GameMetrics {
+    private static final int TICK_SPAN = Trace.name("JavaBeanFarm.tick");
+    private static final int ENEMIES_COUNTER = Trace.name("enemies");
+    private static final int NPCS_COUNTER = Trace.name("npcs");
+    private static final int TILES_COUNTER = Trace.name("tiles.occupied");
+    private static final int RENDERABLES_COUNTER = Trace.name("renderables");
+
+    /** Instrumentation that records nothing, used by games that are not being measured. */
+    public static final GameMetrics DISABLED = new GameMetrics(null);
+
+    /** The timed stages of a tick, and rendering. */
+    public enum Phase {
+        /** Ticking the player. */
+        PLAYER("tick.player"),
+        /** Ticking the NPCs. */
+        NPCS("tick.npcs"),
+        /** Ticking the enemies and their spawners. */
+        ENEMIES("tick.enemies"),
+        /** Ticking the world's tiles. */
+        WORLD("tick.world"),
+        /** Ticking the overlays. */
+        OVERLAYS("tick.overlays"),
+        /** Letting the NPCs and enemies interact. */
+        INTERACT("tick.interact"),
+        /** Removing NPCs and enemies marked for removal. */
+        CLEANUP("tick.cleanup"),
+        /** Collecting the renderables of a frame. */
+        RENDER("render");
+
+        private static final Phase[] PHASES = values();
+
+        private final String metric;
+        private final int span;
+
+        Phase(String metric) {
+            this.metric = metric;
+            this.span = Trace.name(metric);
+        }
+
+        /**
+         * Returns the name of this phase's histogram.
+         *
+         * @return the metric name.
+         */
+        public String getMetric() {
+            return this.metric;
+        }
+
+        /**
+         * Returns the phase that runs straight after this one in a tick.
+         *
+         * @return the next phase, or null after the last phase of a tick and after rendering.
+         */
+        public Phase next() {
+            if (this == CLEANUP || this == RENDER) {
+                return null;
+            }
+            return PHASES[this.ordinal() + 1];
+        }
+    }
+
+    private final MetricsRegistry registry;
+    private final boolean enabled;
+    private final Histogram[] phases = new Histogram[Phase.values().length];
+    private final Histogram tick;
+
+    private final Gauge magpies;
+    private final Gauge eagles;
+    private final Gauge pigeons;
+    private final Gauge pendingEnemies;
+    private final Gauge npcs;
+    private final Gauge occupiedTiles;
+    private final Gauge renderables;
+
+    private final Counter spawns;
+    private final Counter harvests;
+    private final Counter coinsStolen;
+    private final Counter foodStolen;
+    private final Counter cabbagesStolen;
+    private final Counter overBudget;
+
+    private long frameBudget = FixedTimestepLoop.DEFAULT_PERIOD_NANOS;
+    private long frameNanos = 0;
+    private SlowTickRecorder recorder = null;
+    private FootprintReporter footprint = null;
+
+    /**
+     * Constructs instrumentation recording into the given registry.
+     *
+     * @param registry where the metrics are kept, or null to record nothing.
+     */
+    public GameMetrics(MetricsRegistry registry) {
+        this.enabled = registry != null;
+        this.registry = this.enabled ? registry : new MetricsRegistry();
+        for (Phase phase : Phase.values()) {
+            this.phases[phase.ordinal()] = this.registry.histogram(phase.getMetric());
+        }
+        this.tick = this.registry.histogram("tick");
+
+        this.magpies = this.registry.gauge("enemies.magpie");
+        this.eagles = this.registry.gauge("enemies.eagle");
+        this.pigeons = this.registry.gauge("enemies.pigeon");
+        this.pendingEnemies = this.registry.gauge("enemies.pending");
+        this.npcs = this.registry.gauge("npcs");
+        this.occupiedTiles = this.registry.gauge("tiles.occupied");
+        this.renderables = this.registry.gauge("renderables");
+
+        this.spawns = this.registry.counter("spawns");
+        this.harvests = this.registry.counter("harvests");
+        this.coinsStolen = this.registry.counter("thefts.coins");
+        this.foodStolen = this.registry.counter("thefts.food");
+        this.cabbagesStolen = this.registry.counter("thefts.cabbages");
+        this.overBudget = this.registry.counter("frames.overBudget");
+    }
+
+    /**
+     * Sets how long the ticks and rendering of one frame may take before the frame counts as over
+     * budget. The default is the period of a {@link FixedTimestepLoop}.
+     *
+     * @param nanos the frame budget, in nanoseconds.
+     */
+    public void setFrameBudget(long nanos) {
+        if (nanos <= 0) {
+            throw new IllegalArgumentException("frame budget must be positive");
+        }
+        this.frameBudget = nanos;
+    }
+
+    /**
+     * Attaches a recorder that keeps the phase timings of recent ticks and writes out the ticks
+     * around slow ones.
+     *
+     * @param recorder the recorder, or null to detach it.
+     * @throws IllegalStateException if this instrumentation records nothing.
+     */
+    public void setRecorder(SlowTickRecorder recorder) {
+        if (!this.enabled) {
+            throw new IllegalStateException("disabled metrics cannot feed a recorder");
+        }
+        this.recorder = recorder;
+    }
+
+    /**
+     * Attaches a reporter of how much heap each part of the farm retains, which reports after
+     * ticks when it is due.
+     *
+     * @param footprint the reporter, or null to detach it.
+     * @throws IllegalStateException if this instrumentation records nothing.
+     */
+    public void setFootprint(FootprintReporter footprint) {
+        if (!this.enabled) {
+            throw new IllegalStateException("disabled metrics cannot report footprints");
+        }
+        this.footprint = footprint;
+    }
+
+    /**
+     * Lets the attached {@link FootprintReporter}, if any, report on the farm if it is due. Called
+     * after {@link #tickFinished}, so the report is not timed as part of the tick.
+     *
+     * @param tick the tick that just finished.
+     * @param game the farm.
+     */
+    public void sampleFootprint(int tick, GameState game) {
+        if (this.footprint != null) {
+            this.footprint.tickFinished(tick, game);
+        }
+    }
+
+    /**
+     * Returns the number of frames that took longer than the frame budget.
+     *
+     * @return the over-budget frame count.
+     */
+    public long getOverBudgetFrames() {
+        return this.overBudget.get();
+    }
+
+    /**
+     * Returns the number of enemies alive after the last tick.
+     *
+     * @return the live enemy count.
+     */
+    public long getLiveEnemies() {
+        return this.magpies.get() + this.eagles.get() + this.pigeons.get();
+    }
+
+    /**
+     * Returns the number of NPCs after the last tick.
+     *
+     * @return the NPC count.
+     */
+    public long getLiveNpcs() {
+        return this.npcs.get();
+    }
+
+    /**
+     * Returns the number of renderables in the last frame.
+     *
+     * @return the renderable count.
+     */
+    public long getRenderables() {
+        return this.renderables.get();
+    }
+
+    /**
+     * Returns the registry the metrics are kept in.
+     *
+     * @return the registry, empty apart from unused metrics if this is {@link #DISABLED}.
+     */
+    public MetricsRegistry getRegistry() {
+        return this.registry;
+    }
+
+    /**
+     * Returns whether anything is recorded.
+     *
+     * @return false for {@link #DISABLED}.
+     */
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    /**
+     * Returns the histogram timing the given phase.
+     *
+     * @param phase the phase.
+     * @return the phase's histogram.
+     */
+    public Histogram getHistogram(Phase phase) {
+        return this.phases[phase.ordinal()];
+    }
+
+    /**
+     * Returns the histogram timing whole ticks.
+     *
+     * @return the tick histogram.
+     */
+    public Histogram getTickHistogram() {
+        return this.tick;
+    }
+
+    /**
+     * Returns the time a tick or frame starts, to be passed to {@link #lap(Phase, long)}.
+     *
+     * @return the current {@link System#nanoTime()}, or 0 if nothing is recorded.
+     */
+    public long start() {
+        return this.enabled ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Returns the time the given tick starts, to be passed to {@link #tickFinished}.
+     *
+     * @param tick the tick's number.
+     * @return the current {@link System#nanoTime()}, or 0 if nothing is recorded.
+     */
+    public long startTick(int tick) {
+        final long start = this.start();
+        if (this.recorder != null) {
+            this.recorder.tickStarted(tick, start);
+        }
+        return start;
+    }
+
+    /**
+     * Records that the given phase ran from the given time until now.
+     *
+     * @param phase the phase that just finished.
+     * @param start when it started, from {@link #start()} or the previous lap.
+     * @return the time the next phase starts.
+     */
+    public long lap(Phase phase, long start) {
+        if (!this.enabled) {
+            return 0;
+        }
+        final long now = this.phases[phase.ordinal()].recordSince(start);
+        Trace.span(phase.span, start, now);
+        if (this.recorder != null && phase != Phase.RENDER) {
+            this.recorder.phaseFinished(phase, now - start);
+        }
+        return now;
+    }
+
+    /**
+     * Records that a tick started at the given time has finished, and samples the gauges.
+     *
+     * @param start when the tick started, from {@link #startTick(int)}.
+     * @param npcs the game's NPCs.
+     * @param enemies the game's enemies.
+     * @param world the game's world.
+     */
+    public void tickFinished(long start, NpcManager npcs, EnemyManager enemies, BeanWorld world) {
+        if (!this.enabled) {
+            return;
+        }
+        final long end = this.tick.recordSince(start);
+        final long duration = end - start;
+        this.frameNanos += duration;
+        Trace.span(TICK_SPAN, start, end);
+
+        int magpies = 0;
+        int eagles = 0;
+        int pigeons = 0;
+        final List<Enemy> alive = enemies.getAllEnemies();
+        for (int i = 0; i < alive.size(); i++) {
+            final Enemy enemy = alive.get(i);
+            if (enemy instanceof Magpie) {
+                magpies++;
+            } else if (enemy instanceof Eagle) {
+                eagles++;
+            } else if (enemy instanceof Pigeon) {
+                pigeons++;
+            }
+        }
+        this.magpies.set(magpies);
+        this.eagles.set(eagles);
+        this.pigeons.set(pigeons);
+        this.pendingEnemies.set(enemies.getPendingSpawns());
+        this.npcs.set(npcs.getNpcs().size());
+        this.occupiedTiles.set(world.countTiles(Tile::hasStackedEntities));
+        if (Trace.isEnabled()) {
+            Trace.counter(ENEMIES_COUNTER, alive.size());
+            Trace.counter(NPCS_COUNTER, this.npcs.get());
+            Trace.counter(TILES_COUNTER, this.occupiedTiles.get());
+        }
+        if (this.recorder != null) {
+            this.recorder.tickFinished(duration, alive.size(), npcs.getNpcs().size());
+        }
+    }
+
+    /**
+     * Records that a frame started at the given time has been collected.
+     *
+     * @param start when rendering started, from {@link #start()}.
+     * @param renderables the number of renderables in the frame.
+     */
+    public void rendered(long start, int renderables) {
+        if (!this.enabled) {
+            return;
+        }
+        this.frameNanos += this.lap(Phase.RENDER, start) - start;
+        if (this.frameNanos > this.frameBudget) {
+            this.overBudget.increment();
+        }
+        this.frameNanos = 0;
+        this.renderables.set(renderables);
+        Trace.counter(RENDERABLES_COUNTER, renderables);
+    }
+
+    /**
+     * Returns a listener that counts spawns, harvests and thefts before passing every event on to
+     * the given listener.
+     *
+     * @param delegate the listener events are passed on to.
+     * @return the counting listener, or the delegate itself if nothing is recorded.
+     */
+    public GameEventListener listening(GameEventListener delegate) {
+        return this.enabled ? new Counting(delegate) : delegate;
+    }
+
+    /** Counts the events behind the counters, and passes every event on. */
+    private final class Counting implements GameEventListener {
+        private final GameEventListener delegate;
+
+        private Counting(GameEventListener delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void tickStarted(int tick) {
+            this.delegate.tickStarted(tick);
+        }
+
+        @Override
+        public void tileTilled(Tile tile) {
+            this.delegate.tileTilled(tile);
+        }
+
+        @Override
+        public void cabbagePlanted(Tile tile) {
+            this.delegate.cabbagePlanted(tile);
+        }
+
+        @Override
+        public void scarecrowPlaced(Tile tile) {
+            this.delegate.scarecrowPlaced(tile);
+        }
+
+        @Override
+        public void cabbageHarvested(Cabbage cabbage) {
+            harvests.increment();
+            this.delegate.cabbageHarvested(cabbage);
+        }
+
+        @Override
+        public void cabbageStolen(Cabbage cabbage) {
+            cabbagesStolen.increment();
+            this.delegate.cabbageStolen(cabbage);
+        }
+
+        @Override
+        public void coinsStolen(Enemy thief, int coins) {
+            coinsStolen.add(coins);
+            this.delegate.coinsStolen(thief, coins);
+        }
+
+        @Override
+        public void foodStolen(Enemy thief, int food) {
+            foodStolen.add(food);
+            this.delegate.foodStolen(thief, food);
+        }
+
+        @Override
+        public void oreMined(Ore ore, int coinsLeft) {
+            this.delegate.oreMined(ore, coinsLeft);
+        }
+
+        @Override
+        public void coinsChanged(int coins) {
+            this.delegate.coinsChanged(coins);
+        }
+
+        @Override
+        public void foodChanged(int food) {
+            this.delegate.foodChanged(food);
+        }
+
+        @Override
+        public void enemySpawned(Enemy enemy) {
+            spawns.increment();
+            this.delegate.enemySpawned(enemy);
+        }
+
+        @Override
+        public void enemyRemoved(Enemy enemy) {
+            this.delegate.enemyRemoved(enemy);
+        }
+    }
+}
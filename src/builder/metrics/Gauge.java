@@ -0,0 +1,28 @@
+package builder.metrics;
+
+/**
+ * The latest value of something that goes up and down, such as the number of live enemies.
+ *
+ * <p>A gauge is written from one thread, the tick thread, and may be read from any other.
+ */
+public class Gauge {
+    private long value = 0;
+
+    /**
+     * Sets the gauge's value.
+     *
+     * @param value the new value.
+     */
+    public void set(long value) {
+        this.value = value;
+    }
+
+    /**
+     * Returns the gauge's value.
+     *
+     * @return the value last set, or 0.
+     */
+    public long get() {
+        return this.value;
+    }
+}
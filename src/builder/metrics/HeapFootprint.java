@@ -0,0 +1,367 @@
+package builder.metrics;
+
+import builder.GameEventListener;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+
+/**
+ * Estimates the heap retained by graphs of objects, from the layout HotSpot gives their fields.
+ *
+ * <p>An object's size is its header, then its fields packed by size into the gaps the header and
+ * superclass fields leave, rounded up to 8 bytes. The header and reference sizes follow the
+ * running JVM's compressed pointer flags. Arrays are a header with a length, then their elements.
+ *
+ * <p>{@link #measure(Object)} walks every instance field of the objects reachable from a root and
+ * sums their sizes. Every object is counted once per estimator, by the first root that reaches
+ * it, so measuring subsystems one after another splits the heap between them. The walk does not
+ * enter:
+ *
+ * <ul>
+ *   <li>objects {@linkplain #stopAt(Object) marked as a boundary}, unless measured as a root;
+ *   <li>objects held in static fields of a class whose instances are walked, such as shared
+ *       animations, since they belong to the class rather than to any instance;
+ *   <li>art, the engine's core, enum constants, classes and threads, which are shared;
+ *   <li>fields declared as a {@link GameEventListener}, which belong to whoever is listening.
+ * </ul>
+ *
+ * <p>The fields of JDK classes cannot be read, so collections and maps are counted as their
+ * elements plus the smallest backing array that holds them, and strings as one byte per
+ * character. The estimate is therefore a lower bound on collections that have grown and shrunk.
+ *
+ * <p>The walk reads the objects without locking them, so it must run on the thread that changes
+ * them, the tick thread.
+ */
+public class HeapFootprint {
+    private static final boolean COMPRESSED_OOPS = vmFlag("UseCompressedOops");
+    private static final boolean COMPRESSED_CLASSES = vmFlag("UseCompressedClassPointers");
+
+    /** The size of a reference field or array element. */
+    static final int REFERENCE = COMPRESSED_OOPS ? 4 : 8;
+
+    /** The size of an object header. */
+    static final int HEADER = COMPRESSED_CLASSES ? 12 : 16;
+
+    /** The offset of the first element of an array. */
+    static final int ARRAY_BASE = COMPRESSED_CLASSES ? 16 : 24;
+
+    private static final List<String> SHARED_PACKAGES =
+            List.of("engine.art", "engine.core", "processing.", "java.lang.reflect", "jdk.");
+
+    private static final ClassValue<Layout> LAYOUTS =
+            new ClassValue<>() {
+                @Override
+                protected Layout computeValue(Class<?> type) {
+                    return new Layout(type);
+                }
+            };
+
+    private static final long HASH_NODE = nodeSize("java.util.HashMap$Node");
+    private static final long TREE_NODE = nodeSize("java.util.TreeMap$Entry");
+
+    private final Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final Set<Object> boundaries = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final Set<Class<?>> scanned = new HashSet<>();
+    private final ArrayDeque<Object> pending = new ArrayDeque<>();
+    private long objects = 0;
+
+    /**
+     * Marks an object that walks from other roots should not enter, usually because it is
+     * measured as a root of its own.
+     *
+     * @param boundary the object, ignored if null.
+     */
+    public void stopAt(Object boundary) {
+        if (boundary != null) {
+            this.boundaries.add(boundary);
+        }
+    }
+
+    /**
+     * Marks every object in the given collection as a boundary, see {@link #stopAt(Object)}.
+     *
+     * @param boundaries the objects.
+     */
+    public void stopAtAll(Collection<?> boundaries) {
+        for (Object boundary : boundaries) {
+            this.stopAt(boundary);
+        }
+    }
+
+    /**
+     * Returns the number of objects counted so far.
+     *
+     * @return the object count.
+     */
+    public long getObjects() {
+        return this.objects;
+    }
+
+    /**
+     * Estimates the bytes retained by the given root and whatever it reaches that no earlier root
+     * reached.
+     *
+     * @param root the object to measure, which may be a boundary.
+     * @return the estimated size in bytes, or 0 if the root is null or already counted.
+     */
+    public long measure(Object root) {
+        if (root == null || !this.visited.add(root)) {
+            return 0;
+        }
+        long total = 0;
+        this.pending.push(root);
+        while (!this.pending.isEmpty()) {
+            total += this.visit(this.pending.pop());
+        }
+        return total;
+    }
+
+    /**
+     * Estimates the bytes retained by each of the given roots, see {@link #measure(Object)}.
+     *
+     * @param roots the objects to measure.
+     * @return the sum of their estimated sizes.
+     */
+    public long measureAll(Collection<?> roots) {
+        long total = 0;
+        for (Object root : roots) {
+            total += this.measure(root);
+        }
+        return total;
+    }
+
+    private long visit(Object object) {
+        this.objects++;
+        final Class<?> type = object.getClass();
+        if (type.isArray()) {
+            return this.visitArray(object, type.getComponentType());
+        }
+        this.scanStatics(type);
+        final Layout layout = LAYOUTS.get(type);
+        long size = layout.size;
+        for (Field field : layout.references) {
+            try {
+                this.follow(field.get(object));
+            } catch (IllegalAccessException e) {
+                // Counted as a bare reference.
+            }
+        }
+        if (object instanceof String text) {
+            size += array(text.length(), 1);
+        } else if (layout.opaque && object instanceof Map<?, ?> map) {
+            size += storage(map);
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                this.follow(entry.getKey());
+                this.follow(entry.getValue());
+            }
+        } else if (layout.opaque && object instanceof Collection<?> collection) {
+            size += storage(collection);
+            for (Object element : collection) {
+                this.follow(element);
+            }
+        }
+        return size;
+    }
+
+    private long visitArray(Object array, Class<?> component) {
+        if (!component.isPrimitive()) {
+            final Object[] elements = (Object[]) array;
+            for (Object element : elements) {
+                this.follow(element);
+            }
+            return array(elements.length, REFERENCE);
+        }
+        return array(Array.getLength(array), primitiveSize(component));
+    }
+
+    private void follow(Object object) {
+        if (object == null
+                || this.boundaries.contains(object)
+                || isShared(object.getClass())
+                || !this.visited.add(object)) {
+            return;
+        }
+        this.pending.push(object);
+    }
+
+    /** Marks whatever a class holds in static fields as visited, so no instance claims it. */
+    private void scanStatics(Class<?> type) {
+        for (Class<?> level = type; level != null; level = level.getSuperclass()) {
+            if (!this.scanned.add(level) || isShared(level)) {
+                continue;
+            }
+            for (Field field : level.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers())
+                        && !field.getType().isPrimitive()
+                        && field.trySetAccessible()) {
+                    try {
+                        final Object value = field.get(null);
+                        if (value != null) {
+                            this.visited.add(value);
+                        }
+                    } catch (IllegalAccessException e) {
+                        // Left to be counted by whichever instance reaches it.
+                    }
+                }
+            }
+        }
+    }
+
+    private static boolean isShared(Class<?> type) {
+        if (type.isEnum()
+                || type.getSuperclass() != null && type.getSuperclass().isEnum()
+                || type == Class.class
+                || Thread.class.isAssignableFrom(type)
+                || ClassLoader.class.isAssignableFrom(type)) {
+            return true;
+        }
+        final String name = type.getName();
+        for (String prefix : SHARED_PACKAGES) {
+            if (name.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Estimates the backing storage of a JDK collection whose fields cannot be read. */
+    private static long storage(Collection<?> collection) {
+        if (collection instanceof HashSet<?>) {
+            return LAYOUTS.get(HashMap.class).size + hashStorage(collection.size());
+        }
+        return array(collection.size(), REFERENCE);
+    }
+
+    private static long storage(Map<?, ?> map) {
+        if (map instanceof IdentityHashMap<?, ?>) {
+            return array(2 * tableLength(map.size()), REFERENCE);
+        }
+        if (map instanceof SortedMap<?, ?>) {
+            return (long) map.size() * TREE_NODE;
+        }
+        return hashStorage(map.size());
+    }
+
+    private static long hashStorage(int size) {
+        return size == 0 ? 0 : array(tableLength(size), REFERENCE) + size * HASH_NODE;
+    }
+
+    private static int tableLength(int size) {
+        final int needed = (int) Math.ceil(size / 0.75);
+        return Math.max(16, Integer.highestOneBit(Math.max(1, needed - 1)) << 1);
+    }
+
+    /**
+     * Returns the size of an array.
+     *
+     * @param length the number of elements.
+     * @param elementSize the size of each element.
+     * @return the array's size in bytes.
+     */
+    static long array(int length, int elementSize) {
+        return align(ARRAY_BASE + (long) length * elementSize);
+    }
+
+    /**
+     * Returns the size of an instance of the given class, not counting what it refers to.
+     *
+     * @param type a class that is not an array.
+     * @return the instance's size in bytes.
+     */
+    static long shallowSize(Class<?> type) {
+        return LAYOUTS.get(type).size;
+    }
+
+    private static long align(long size) {
+        return (size + 7) & ~7L;
+    }
+
+    private static int primitiveSize(Class<?> type) {
+        if (type == long.class || type == double.class) {
+            return 8;
+        }
+        if (type == int.class || type == float.class) {
+            return 4;
+        }
+        if (type == short.class || type == char.class) {
+            return 2;
+        }
+        return 1;
+    }
+
+    private static long nodeSize(String name) {
+        try {
+            return LAYOUTS.get(Class.forName(name)).size;
+        } catch (ClassNotFoundException e) {
+            return align(HEADER + 3L * REFERENCE + 4);
+        }
+    }
+
+    private static boolean vmFlag(String name) {
+        try {
+            return Boolean.parseBoolean(
+                    ManagementFactory.getPlatformMXBean(
+                                    com.sun.management.HotSpotDiagnosticMXBean.class)
+                            .getVMOption(name)
+                            .getValue());
+        } catch (RuntimeException e) {
+            return true;
+        }
+    }
+
+    /** The size of a class's instances and the reference fields the walk follows. */
+    private static final class Layout {
+        private final long size;
+        private final Field[] references;
+        private final boolean opaque;
+
+        private Layout(Class<?> type) {
+            long small = 0;
+            long large = 0;
+            boolean opaque = false;
+            final List<Field> references = new ArrayList<>();
+            for (Class<?> level = type; level != null; level = level.getSuperclass()) {
+                for (Field field : level.getDeclaredFields()) {
+                    if (Modifier.isStatic(field.getModifiers())) {
+                        continue;
+                    }
+                    final Class<?> fieldType = field.getType();
+                    final int size = fieldType.isPrimitive() ? primitiveSize(fieldType) : REFERENCE;
+                    if (size == 8) {
+                        large += size;
+                    } else {
+                        small += size;
+                    }
+                    if (fieldType.isPrimitive() || GameEventListener.class == fieldType) {
+                        continue;
+                    }
+                    if (field.trySetAccessible()) {
+                        references.add(field);
+                    } else {
+                        opaque = true;
+                    }
+                }
+            }
+            // Fields smaller than 8 bytes fill the gap between the header and the first 8-byte
+            // aligned offset; if there are too few, that gap is padding.
+            final long gap = align(HEADER) - HEADER;
+            final long padding = large > 0 && small < gap ? gap - small : 0;
+            this.size = align(HEADER + small + large + padding);
+            this.references = references.toArray(new Field[0]);
+            this.opaque = opaque;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package builder.metrics;
+
+import java.util.Arrays;
+
+/**
+ * Counts recorded values, such as durations in nanoseconds, in logarithmic buckets.
+ *
+ * <p>Each power of two is split into {@value #SUB_BUCKETS} buckets, so a bucket's upper bound is
+ * at most 25% above its lower bound, whatever the size of the values. The buckets are allocated
+ * once, when the histogram is constructed, and {@link #record(long)} only increments counts.
+ *
+ * <p>A histogram is written from one thread, the tick thread. Other threads may read it at any
+ * time, for example to export it, and see counts that are at worst a few records behind.
+ */
+public class Histogram {
+    /** The number of buckets each power of two is split into. */
+    public static final int SUB_BUCKETS = 4;
+
+    private static final int SUB_BITS = 2;
+    private static final int BUCKETS = (Long.SIZE - SUB_BITS) * SUB_BUCKETS;
+
+    private final long[] counts = new long[BUCKETS];
+    private long count = 0;
+    private long sum = 0;
+    private long max = 0;
+
+    /**
+     * Records a value. Negative values are recorded as 0.
+     *
+     * @param value the value to record.
+     */
+    public void record(long value) {
+        if (value < 0) {
+            value = 0;
+        }
+        this.counts[bucket(value)]++;
+        this.count++;
+        this.sum += value;
+        if (value > this.max) {
+            this.max = value;
+        }
+    }
+
+    /**
+     * Records the time passed since the given {@link System#nanoTime()}, and returns the current
+     * time so that consecutive stages can be timed with one clock read each.
+     *
+     * @param start when the timed stage started, from {@link System#nanoTime()}.
+     * @return the current {@link System#nanoTime()}.
+     */
+    public long recordSince(long start) {
+        final long now = System.nanoTime();
+        this.record(now - start);
+        return now;
+    }
+
+    /**
+     * Returns the number of values recorded.
+     *
+     * @return the count.
+     */
+    public long getCount() {
+        return this.count;
+    }
+
+    /**
+     * Returns the largest value recorded.
+     *
+     * @return the maximum, or 0 if nothing has been recorded.
+     */
+    public long getMax() {
+        return this.max;
+    }
+
+    /**
+     * Returns the total of the values recorded, so that the mean of the values recorded between two
+     * readings can be worked out from the change in the total and the count.
+     *
+     * @return the sum.
+     */
+    public long getSum() {
+        return this.sum;
+    }
+
+    /**
+     * Returns the mean of the values recorded.
+     *
+     * @return the mean, or 0 if nothing has been recorded.
+     */
+    public double getMean() {
+        final long count = this.count;
+        return count == 0 ? 0 : (double) this.sum / count;
+    }
+
+    /**
+     * Returns an upper estimate of the given percentile of the values recorded: the upper bound of
+     * the bucket it falls in, but never more than the maximum.
+     *
+     * @param percentile the percentile, from 0 to 100.
+     * @return the estimate, or 0 if nothing has been recorded.
+     */
+    public long getPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("percentile must be between 0 and 100");
+        }
+        long total = 0;
+        for (long bucketCount : this.counts) {
+            total += bucketCount;
+        }
+        if (total == 0) {
+            return 0;
+        }
+        final long rank = Math.max(1, (long) Math.ceil(total * percentile / 100));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += this.counts[i];
+            if (seen >= rank) {
+                return Math.min(upperBound(i), this.max);
+            }
+        }
+        return this.max;
+    }
+
+    /** Forgets every value recorded. */
+    public void reset() {
+        Arrays.fill(this.counts, 0);
+        this.count = 0;
+        this.sum = 0;
+        this.max = 0;
+    }
+
+    /**
+     * Returns the bucket the given value is counted in. Values below {@link #SUB_BUCKETS} have a
+     * bucket each; above that, the bucket is chosen by the value's highest bit and the {@value
+     * #SUB_BITS} bits below it.
+     */
+    static int bucket(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        final int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        final int sub = (int) (value >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    /** Returns the largest value counted in the given bucket. */
+    static long upperBound(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        final int shift = bucket / SUB_BUCKETS - 1;
+        final long lower = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+        return lower + (1L << shift) - 1;
+    }
+}
@@ -0,0 +1,135 @@
+package builder.metrics;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically writes a {@link MetricsRegistry} to a file, one JSON object per line.
+ *
+ * <p>Each line holds the wall-clock time in milliseconds and every metric, for example:
+ *
+ * <pre>
+ * {"time":1700000000000,"counters":{"spawns":3},"gauges":{"npcs":2},
+ *  "histograms":{"tick.player":{"count":60,"mean":812.5,"p50":767,"p90":1023,"p99":2047,"max":2210}}}
+ * </pre>
+ *
+ * <p>(shown over two lines here). Lines are written from a background thread, so exporting never
+ * slows the game; a final line is written when the exporter is closed. Write failures stop the
+ * export and are reported by {@link #close()}.
+ */
+public class JsonLinesExporter implements AutoCloseable {
+    private final MetricsRegistry registry;
+    private final BufferedWriter writer;
+    private final ScheduledExecutorService scheduler;
+    private IOException failure = null;
+
+    /**
+     * Starts exporting the given registry to the given file, replacing its contents.
+     *
+     * @param registry the metrics to export.
+     * @param file where to write them.
+     * @param periodMillis the time between lines, in milliseconds.
+     * @throws IOException if the file cannot be opened.
+     */
+    public JsonLinesExporter(MetricsRegistry registry, Path file, long periodMillis)
+            throws IOException {
+        if (periodMillis <= 0) {
+            throw new IllegalArgumentException("period must be positive");
+        }
+        this.registry = registry;
+        this.writer = Files.newBufferedWriter(file);
+        this.scheduler =
+                Executors.newSingleThreadScheduledExecutor(
+                        runnable -> {
+                            final Thread thread = new Thread(runnable, "metrics-exporter");
+                            thread.setDaemon(true);
+                            return thread;
+                        });
+        this.scheduler.scheduleAtFixedRate(
+                this::export, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private synchronized void export() {
+        if (this.failure != null) {
+            return;
+        }
+        try {
+            write(this.registry, System.currentTimeMillis(), this.writer);
+            this.writer.newLine();
+            this.writer.flush();
+        } catch (IOException e) {
+            this.failure = e;
+        }
+    }
+
+    /**
+     * Writes the given registry as one JSON object, without a line break.
+     *
+     * @param registry the metrics to write.
+     * @param time the time to record, in milliseconds.
+     * @param out where to write.
+     * @throws IOException if writing fails.
+     */
+    public static void write(MetricsRegistry registry, long time, Writer out) throws IOException {
+        out.write("{\"time\":" + time + ",\"counters\":{");
+        String separator = "";
+        for (Map.Entry<String, Counter> counter : registry.getCounters().entrySet()) {
+            out.write(separator + quote(counter.getKey()) + ":" + counter.getValue().get());
+            separator = ",";
+        }
+        out.write("},\"gauges\":{");
+        separator = "";
+        for (Map.Entry<String, Gauge> gauge : registry.getGauges().entrySet()) {
+            out.write(separator + quote(gauge.getKey()) + ":" + gauge.getValue().get());
+            separator = ",";
+        }
+        out.write("},\"histograms\":{");
+        separator = "";
+        for (Map.Entry<String, Histogram> entry : registry.getHistograms().entrySet()) {
+            final Histogram histogram = entry.getValue();
+            out.write(separator + quote(entry.getKey()) + ":{"
+                    + "\"count\":" + histogram.getCount()
+                    + ",\"mean\":" + String.format(Locale.ROOT, "%.1f", histogram.getMean())
+                    + ",\"p50\":" + histogram.getPercentile(50)
+                    + ",\"p90\":" + histogram.getPercentile(90)
+                    + ",\"p99\":" + histogram.getPercentile(99)
+                    + ",\"max\":" + histogram.getMax() + "}");
+            separator = ",";
+        }
+        out.write("}}");
+    }
+
+    private static String quote(String name) {
+        return "\"" + name.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+
+    /**
+     * Stops exporting, writes a final line and closes the file.
+     *
+     * @throws IOException if any line could not be written.
+     */
+    @Override
+    public void close() throws IOException {
+        this.scheduler.shutdownNow();
+        try {
+            this.scheduler.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (this) {
+            this.export();
+            this.writer.close();
+            if (this.failure != null) {
+                throw this.failure;
+            }
+        }
+    }
+}
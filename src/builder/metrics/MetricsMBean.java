@@ -0,0 +1,212 @@
+package builder.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.JMException;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.MBeanOperationInfo;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Publishes a {@link MetricsRegistry} to JMX, so a running game can be watched with a tool such as
+ * JConsole or VisualVM.
+ *
+ * <p>Every counter and gauge is a read-only attribute of the same name. Every histogram {@code h}
+ * is published as the attributes {@code h.count}, {@code h.mean}, {@code h.p50}, {@code h.p90},
+ * {@code h.p99} and {@code h.max}. Metrics added to the registry later appear the next time the
+ * attributes are listed. The operation {@code resetHistograms} starts every histogram afresh; a
+ * value recorded by the tick thread at the same moment may be lost. If the bean is given a {@link
+ * FootprintReporter}, the operation {@code measureFootprint} asks it for a report after the next
+ * tick, which then appears in the {@code footprint.*} attributes.
+ */
+public class MetricsMBean implements DynamicMBean {
+    /** The name the game's metrics are registered under by {@link #register(MetricsRegistry)}. */
+    public static final String OBJECT_NAME = "builder:type=GameMetrics";
+
+    private static final String[] STATISTICS = {"count", "mean", "p50", "p90", "p99", "max"};
+    private static final String RESET = "resetHistograms";
+    private static final String MEASURE = "measureFootprint";
+
+    private final MetricsRegistry registry;
+    private final FootprintReporter footprint;
+
+    /**
+     * Constructs a bean publishing the given registry.
+     *
+     * @param registry the metrics to publish.
+     */
+    public MetricsMBean(MetricsRegistry registry) {
+        this(registry, null);
+    }
+
+    /**
+     * Constructs a bean publishing the given registry that can request footprint reports.
+     *
+     * @param registry the metrics to publish.
+     * @param footprint the reporter asked by {@code measureFootprint}, or null for none.
+     */
+    public MetricsMBean(MetricsRegistry registry, FootprintReporter footprint) {
+        this.registry = registry;
+        this.footprint = footprint;
+    }
+
+    /**
+     * Registers a bean for the given registry with the platform MBean server under {@link
+     * #OBJECT_NAME}, replacing any registered before.
+     *
+     * @param registry the metrics to publish.
+     * @return the name the bean was registered under.
+     * @throws JMException if the bean cannot be registered.
+     */
+    public static ObjectName register(MetricsRegistry registry) throws JMException {
+        return register(registry, null);
+    }
+
+    /**
+     * Registers a bean for the given registry and footprint reporter with the platform MBean server
+     * under {@link #OBJECT_NAME}, replacing any registered before.
+     *
+     * @param registry the metrics to publish.
+     * @param footprint the reporter asked by {@code measureFootprint}, or null for none.
+     * @return the name the bean was registered under.
+     * @throws JMException if the bean cannot be registered.
+     */
+    public static ObjectName register(MetricsRegistry registry, FootprintReporter footprint)
+            throws JMException {
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        final ObjectName name = new ObjectName(OBJECT_NAME);
+        if (server.isRegistered(name)) {
+            server.unregisterMBean(name);
+        }
+        server.registerMBean(new MetricsMBean(registry, footprint), name);
+        return name;
+    }
+
+    @Override
+    public Object getAttribute(String attribute) throws AttributeNotFoundException {
+        final Counter counter = this.registry.getCounters().get(attribute);
+        if (counter != null) {
+            return counter.get();
+        }
+        final Gauge gauge = this.registry.getGauges().get(attribute);
+        if (gauge != null) {
+            return gauge.get();
+        }
+        final int dot = attribute.lastIndexOf('.');
+        final Histogram histogram =
+                dot < 0 ? null : this.registry.getHistograms().get(attribute.substring(0, dot));
+        if (histogram != null) {
+            switch (attribute.substring(dot + 1)) {
+                case "count":
+                    return histogram.getCount();
+                case "mean":
+                    return histogram.getMean();
+                case "p50":
+                    return histogram.getPercentile(50);
+                case "p90":
+                    return histogram.getPercentile(90);
+                case "p99":
+                    return histogram.getPercentile(99);
+                case "max":
+                    return histogram.getMax();
+                default:
+                    break;
+            }
+        }
+        throw new AttributeNotFoundException("no metric " + attribute);
+    }
+
+    @Override
+    public AttributeList getAttributes(String[] attributes) {
+        final AttributeList result = new AttributeList();
+        for (String attribute : attributes) {
+            try {
+                result.add(new Attribute(attribute, this.getAttribute(attribute)));
+            } catch (AttributeNotFoundException e) {
+                // unknown attributes are left out, as the interface allows
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void setAttribute(Attribute attribute) throws AttributeNotFoundException {
+        throw new AttributeNotFoundException(attribute.getName() + " is read-only");
+    }
+
+    @Override
+    public AttributeList setAttributes(AttributeList attributes) {
+        return new AttributeList();
+    }
+
+    @Override
+    public Object invoke(String action, Object[] params, String[] signature) {
+        if (action.equals(MEASURE) && this.footprint != null) {
+            this.footprint.request();
+            return null;
+        }
+        if (!action.equals(RESET)) {
+            throw new UnsupportedOperationException("no operation " + action);
+        }
+        for (Histogram histogram : this.registry.getHistograms().values()) {
+            histogram.reset();
+        }
+        return null;
+    }
+
+    @Override
+    public MBeanInfo getMBeanInfo() {
+        final List<MBeanAttributeInfo> attributes = new ArrayList<>();
+        for (String name : this.registry.getCounters().keySet()) {
+            attributes.add(attribute(name, "long", "counter"));
+        }
+        for (String name : this.registry.getGauges().keySet()) {
+            attributes.add(attribute(name, "long", "gauge"));
+        }
+        for (Map.Entry<String, Histogram> entry : this.registry.getHistograms().entrySet()) {
+            for (String statistic : STATISTICS) {
+                attributes.add(
+                        attribute(
+                                entry.getKey() + "." + statistic,
+                                statistic.equals("mean") ? "double" : "long",
+                                statistic + " of histogram " + entry.getKey()));
+            }
+        }
+        final MBeanOperationInfo reset =
+                new MBeanOperationInfo(
+                        RESET,
+                        "forgets every value recorded by the histograms",
+                        null,
+                        "void",
+                        MBeanOperationInfo.ACTION);
+        final MBeanOperationInfo measure =
+                new MBeanOperationInfo(
+                        MEASURE,
+                        "estimates the heap each part of the farm retains after the next tick",
+                        null,
+                        "void",
+                        MBeanOperationInfo.ACTION);
+        return new MBeanInfo(
+                this.getClass().getName(),
+                "metrics of a JavaBean farm",
+                attributes.toArray(new MBeanAttributeInfo[0]),
+                null,
+                this.footprint == null
+                        ? new MBeanOperationInfo[] {reset}
+                        : new MBeanOperationInfo[] {reset, measure},
+                null);
+    }
+
+    private static MBeanAttributeInfo attribute(String name, String type, String description) {
+        return new MBeanAttributeInfo(name, type, description, true, false, false);
+    }
+}
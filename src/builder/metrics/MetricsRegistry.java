@@ -0,0 +1,75 @@
+package builder.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * The named histograms, counters and gauges of a game.
+ *
+ * <p>Metrics are looked up once, when whatever records them is set up, and kept in fields from
+ * then on, so recording never touches the registry. The registry is read by exporters such as
+ * {@link MetricsMBean} and {@link JsonLinesExporter}, which list its metrics in name order.
+ */
+public class MetricsRegistry {
+    private final Map<String, Histogram> histograms = new ConcurrentSkipListMap<>();
+    private final Map<String, Counter> counters = new ConcurrentSkipListMap<>();
+    private final Map<String, Gauge> gauges = new ConcurrentSkipListMap<>();
+
+    /**
+     * Returns the histogram with the given name, creating it if there is none.
+     *
+     * @param name the histogram's name.
+     * @return the histogram.
+     */
+    public Histogram histogram(String name) {
+        return this.histograms.computeIfAbsent(name, key -> new Histogram());
+    }
+
+    /**
+     * Returns the counter with the given name, creating it if there is none.
+     *
+     * @param name the counter's name.
+     * @return the counter.
+     */
+    public Counter counter(String name) {
+        return this.counters.computeIfAbsent(name, key -> new Counter());
+    }
+
+    /**
+     * Returns the gauge with the given name, creating it if there is none.
+     *
+     * @param name the gauge's name.
+     * @return the gauge.
+     */
+    public Gauge gauge(String name) {
+        return this.gauges.computeIfAbsent(name, key -> new Gauge());
+    }
+
+    /**
+     * Returns every histogram by name.
+     *
+     * @return an unmodifiable view of the histograms, in name order.
+     */
+    public Map<String, Histogram> getHistograms() {
+        return Collections.unmodifiableMap(this.histograms);
+    }
+
+    /**
+     * Returns every counter by name.
+     *
+     * @return an unmodifiable view of the counters, in name order.
+     */
+    public Map<String, Counter> getCounters() {
+        return Collections.unmodifiableMap(this.counters);
+    }
+
+    /**
+     * Returns every gauge by name.
+     *
+     * @return an unmodifiable view of the gauges, in name order.
+     */
+    public Map<String, Gauge> getGauges() {
+        return Collections.unmodifiableMap(this.gauges);
+    }
+}
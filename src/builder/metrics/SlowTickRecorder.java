@@ -0,0 +1,329 @@
+package builder.metrics;
+
+import builder.metrics.GameMetrics.Phase;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the phase timings and entity counts of the last few thousand ticks, and writes the ticks
+ * around any slow tick to a file.
+ *
+ * <p>The recorder is fed by {@link GameMetrics} once it is {@linkplain
+ * GameMetrics#setRecorder(SlowTickRecorder) attached}. Every tick is written into a ring buffer
+ * allocated up front, so recording allocates nothing. When a tick takes longer than the threshold,
+ * the recorder waits for {@link #getTicksAfter()} more ticks, copies the window of ticks around
+ * the slow one into a second buffer and hands it to a background thread, which writes it to
+ * {@code slow-tick-<tick>.txt} in the dump directory. Slow ticks during a window that is still
+ * being written are recorded in the ring but not dumped.
+ *
+ * <p>The same background thread watches the running tick. Once a tick has run for longer than the
+ * threshold, it takes a sample of the tick thread's stack and notes the phase that was running,
+ * and the sample is written with the dump. The watch is best effort: the sample is taken shortly
+ * after the threshold passes, so a phase that overruns by less than the polling interval may be
+ * missed.
+ */
+public class SlowTickRecorder implements AutoCloseable {
+    /** The number of ticks kept in the ring buffer. */
+    public static final int DEFAULT_CAPACITY = 4096;
+
+    /** The number of ticks before a slow tick that are written with it. */
+    public static final int DEFAULT_TICKS_BEFORE = 240;
+
+    /** The number of ticks after a slow tick that are written with it. */
+    public static final int DEFAULT_TICKS_AFTER = 60;
+
+    private static final int PHASES = Phase.CLEANUP.ordinal() + 1;
+    private static final int STRIDE = PHASES + 1;
+
+    private final long thresholdNanos;
+    private final Path directory;
+    private final int capacity;
+    private final int ticksBefore;
+    private final int ticksAfter;
+
+    private final long[] nanos;
+    private final int[] ticks;
+    private final int[] enemies;
+    private final int[] npcs;
+    private long recorded = 0;
+    private long dumpAt = -1;
+    private long slowIndex;
+
+    private final long[] windowNanos;
+    private final int[] windowTicks;
+    private final int[] windowEnemies;
+    private final int[] windowNpcs;
+    private int windowSize;
+    private int windowSlow;
+    private long windowSequence;
+    private volatile boolean windowReady = false;
+
+    private volatile Thread tickThread;
+    private volatile long tickStartedAt = 0;
+    private volatile long sequence = 0;
+    private volatile int phase = 0;
+
+    private final Thread watchdog;
+    private volatile boolean running = true;
+    private StackTraceElement[] sample;
+    private long sampleSequence = -1;
+    private int samplePhase;
+    private long sampleAfterNanos;
+    private volatile int dumps = 0;
+    private volatile Path lastDump;
+    private volatile IOException failure;
+
+    /**
+     * Constructs a recorder with the default ring capacity and window.
+     *
+     * @param thresholdNanos how long a tick may take before it is slow, in nanoseconds.
+     * @param directory where slow ticks are written; created when the first one is.
+     */
+    public SlowTickRecorder(long thresholdNanos, Path directory) {
+        this(thresholdNanos, directory, DEFAULT_CAPACITY, DEFAULT_TICKS_BEFORE,
+                DEFAULT_TICKS_AFTER);
+    }
+
+    /**
+     * Constructs a recorder.
+     *
+     * @param thresholdNanos how long a tick may take before it is slow, in nanoseconds.
+     * @param directory where slow ticks are written; created when the first one is.
+     * @param capacity the number of ticks kept in the ring buffer.
+     * @param ticksBefore the ticks before a slow tick written with it.
+     * @param ticksAfter the ticks after a slow tick written with it.
+     * @throws IllegalArgumentException if the threshold is not positive, or the window does not fit
+     *     in the ring buffer.
+     */
+    public SlowTickRecorder(
+            long thresholdNanos, Path directory, int capacity, int ticksBefore, int ticksAfter) {
+        if (thresholdNanos <= 0) {
+            throw new IllegalArgumentException("threshold must be positive");
+        }
+        if (ticksBefore < 0 || ticksAfter < 0 || ticksBefore + 1 + ticksAfter > capacity) {
+            throw new IllegalArgumentException("window must fit in the ring buffer");
+        }
+        this.thresholdNanos = thresholdNanos;
+        this.directory = directory;
+        this.capacity = capacity;
+        this.ticksBefore = ticksBefore;
+        this.ticksAfter = ticksAfter;
+
+        this.nanos = new long[capacity * STRIDE];
+        this.ticks = new int[capacity];
+        this.enemies = new int[capacity];
+        this.npcs = new int[capacity];
+
+        final int window = ticksBefore + 1 + ticksAfter;
+        this.windowNanos = new long[window * STRIDE];
+        this.windowTicks = new int[window];
+        this.windowEnemies = new int[window];
+        this.windowNpcs = new int[window];
+
+        this.watchdog = new Thread(this::watch, "slow-tick-recorder");
+        this.watchdog.setDaemon(true);
+        this.watchdog.start();
+    }
+
+    /**
+     * Returns the number of ticks written after each slow tick.
+     *
+     * @return the ticks after.
+     */
+    public int getTicksAfter() {
+        return this.ticksAfter;
+    }
+
+    /**
+     * Returns the number of slow-tick windows written so far.
+     *
+     * @return the dump count.
+     */
+    public int getDumps() {
+        return this.dumps;
+    }
+
+    /**
+     * Returns the file the last slow-tick window was written to.
+     *
+     * @return the last dump, or null if none has been written.
+     */
+    public Path getLastDump() {
+        return this.lastDump;
+    }
+
+    /**
+     * Records that a tick has started on the calling thread.
+     *
+     * @param tick the tick's number.
+     * @param now the current {@link System#nanoTime()}.
+     */
+    void tickStarted(int tick, long now) {
+        if (this.tickThread == null) {
+            this.tickThread = Thread.currentThread();
+        }
+        final int row = (int) (this.recorded % this.capacity);
+        this.ticks[row] = tick;
+        this.phase = 0;
+        this.sequence = this.recorded;
+        this.tickStartedAt = now;
+    }
+
+    /**
+     * Records the duration of a phase of the running tick.
+     *
+     * @param phase the phase that finished, not {@link Phase#RENDER}.
+     * @param duration how long it took, in nanoseconds.
+     */
+    void phaseFinished(Phase phase, long duration) {
+        final int row = (int) (this.recorded % this.capacity);
+        this.nanos[row * STRIDE + phase.ordinal()] = duration;
+        this.phase = phase.ordinal() + 1;
+    }
+
+    /**
+     * Records that the running tick has finished, and dumps a window if one is complete.
+     *
+     * @param duration how long the whole tick took, in nanoseconds.
+     * @param enemies the live enemies after the tick.
+     * @param npcs the NPCs after the tick.
+     */
+    void tickFinished(long duration, int enemies, int npcs) {
+        this.tickStartedAt = 0;
+        final long index = this.recorded;
+        final int row = (int) (index % this.capacity);
+        this.nanos[row * STRIDE + PHASES] = duration;
+        this.enemies[row] = enemies;
+        this.npcs[row] = npcs;
+        this.recorded++;
+
+        if (duration > this.thresholdNanos && this.dumpAt < 0 && !this.windowReady) {
+            this.slowIndex = index;
+            this.dumpAt = index + this.ticksAfter;
+        }
+        if (index == this.dumpAt) {
+            this.copyWindow();
+            this.dumpAt = -1;
+        }
+    }
+
+    private void copyWindow() {
+        final long first = Math.max(0, this.slowIndex - this.ticksBefore);
+        final int size = (int) (this.recorded - first);
+        for (int i = 0; i < size; i++) {
+            final int row = (int) ((first + i) % this.capacity);
+            System.arraycopy(this.nanos, row * STRIDE, this.windowNanos, i * STRIDE, STRIDE);
+            this.windowTicks[i] = this.ticks[row];
+            this.windowEnemies[i] = this.enemies[row];
+            this.windowNpcs[i] = this.npcs[row];
+        }
+        this.windowSize = size;
+        this.windowSlow = (int) (this.slowIndex - first);
+        this.windowSequence = this.slowIndex;
+        this.windowReady = true;
+    }
+
+    private void watch() {
+        final long poll = Math.max(1, TimeUnit.NANOSECONDS.toMillis(this.thresholdNanos) / 4);
+        while (this.running) {
+            this.sampleSlowTick();
+            if (this.windowReady) {
+                try {
+                    this.write();
+                } catch (IOException e) {
+                    this.failure = e;
+                }
+                this.windowReady = false;
+            }
+            try {
+                Thread.sleep(poll);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    private void sampleSlowTick() {
+        final long startedAt = this.tickStartedAt;
+        final long sequence = this.sequence;
+        final Thread thread = this.tickThread;
+        if (startedAt == 0 || thread == null || sequence == this.sampleSequence) {
+            return;
+        }
+        final long running = System.nanoTime() - startedAt;
+        if (running > this.thresholdNanos) {
+            this.samplePhase = this.phase;
+            this.sample = thread.getStackTrace();
+            this.sampleSequence = sequence;
+            this.sampleAfterNanos = running;
+        }
+    }
+
+    private void write() throws IOException {
+        Files.createDirectories(this.directory);
+        final int slowTick = this.windowTicks[this.windowSlow];
+        final Path file = this.directory.resolve("slow-tick-" + slowTick + ".txt");
+        try (BufferedWriter out = Files.newBufferedWriter(file)) {
+            out.write(String.format(Locale.ROOT, "slow tick %d took %.3f ms (threshold %.3f ms)%n",
+                    slowTick,
+                    this.windowNanos[this.windowSlow * STRIDE + PHASES] / 1e6,
+                    this.thresholdNanos / 1e6));
+            if (this.sampleSequence == this.windowSequence) {
+                out.write(String.format(Locale.ROOT, "stack sampled during %s after %.3f ms:%n",
+                        this.samplePhase < PHASES
+                                ? Phase.values()[this.samplePhase].getMetric()
+                                : "the end of the tick",
+                        this.sampleAfterNanos / 1e6));
+                for (StackTraceElement frame : this.sample) {
+                    out.write("    at " + frame + System.lineSeparator());
+                }
+            } else {
+                out.write("no stack sample: the tick finished before it was watched"
+                        + System.lineSeparator());
+            }
+            out.newLine();
+
+            final StringBuilder header = new StringBuilder("tick");
+            for (int phase = 0; phase < PHASES; phase++) {
+                header.append(',').append(Phase.values()[phase].getMetric()).append("_us");
+            }
+            header.append(",tick_us,enemies,npcs,note").append(System.lineSeparator());
+            out.write(header.toString());
+            for (int i = 0; i < this.windowSize; i++) {
+                final StringBuilder row = new StringBuilder().append(this.windowTicks[i]);
+                for (int column = 0; column < STRIDE; column++) {
+                    row.append(',').append(this.windowNanos[i * STRIDE + column] / 1000);
+                }
+                row.append(',').append(this.windowEnemies[i]);
+                row.append(',').append(this.windowNpcs[i]);
+                row.append(i == this.windowSlow ? ",slow" : ",");
+                out.write(row.append(System.lineSeparator()).toString());
+            }
+        }
+        this.lastDump = file;
+        this.dumps++;
+    }
+
+    /**
+     * Stops watching ticks. A window being written is finished first.
+     *
+     * @throws IOException if any window could not be written.
+     */
+    @Override
+    public void close() throws IOException {
+        this.running = false;
+        try {
+            this.watchdog.join(TimeUnit.SECONDS.toMillis(1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (this.failure != null) {
+            throw this.failure;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package builder.metrics;
+
+import java.util.Arrays;
+
+/**
+ * Marks spans of work and counter values on a timeline, written out by a {@link TraceWriter} in the
+ * Chrome trace-event format.
+ *
+ * <p>Code to be traced names its spans once, in a static field, and brackets the work with {@link
+ * #now()} and {@link #span(int, long)}:
+ *
+ * <pre>
+ * private static final int LOOP = Trace.name("NpcManager.tick");
+ * ...
+ * final long start = Trace.now();
+ * for (...) { ... }
+ * Trace.span(LOOP, start);
+ * </pre>
+ *
+ * <p>Spans that finish inside another span on the same thread are shown nested within it. While
+ * no writer is {@linkplain #enable(TraceWriter) enabled}, {@link #now()} returns 0 without reading
+ * the clock and every other call returns at once.
+ *
+ * <p>The stages of {@code JavaBeanFarm.tick} and {@code render}, and the entity-count counters, are
+ * traced by the game's {@link GameMetrics}, so they only appear when the game has metrics.
+ */
+public final class Trace {
+    private static final Object NAMES = new Object();
+    private static volatile String[] names = new String[0];
+    private static volatile TraceWriter writer = null;
+
+    private Trace() {}
+
+    /**
+     * Returns the identifier of a span or counter with the given name, registering it if needed.
+     *
+     * @param name the name shown in the trace.
+     * @return the name's identifier.
+     */
+    public static int name(String name) {
+        synchronized (NAMES) {
+            final String[] current = names;
+            for (int i = 0; i < current.length; i++) {
+                if (current[i].equals(name)) {
+                    return i;
+                }
+            }
+            final String[] grown = Arrays.copyOf(current, current.length + 1);
+            grown[current.length] = name;
+            names = grown;
+            return current.length;
+        }
+    }
+
+    /**
+     * Returns the name with the given identifier.
+     *
+     * @param id an identifier from {@link #name(String)}.
+     * @return the name.
+     */
+    static String nameOf(int id) {
+        return names[id];
+    }
+
+    /**
+     * Starts sending spans and counters to the given writer, in place of any enabled before.
+     *
+     * @param traceWriter the writer.
+     */
+    public static void enable(TraceWriter traceWriter) {
+        writer = traceWriter;
+    }
+
+    /** Stops tracing. The writer is not closed. */
+    public static void disable() {
+        writer = null;
+    }
+
+    /**
+     * Returns whether a writer is enabled.
+     *
+     * @return true while tracing.
+     */
+    public static boolean isEnabled() {
+        return writer != null;
+    }
+
+    /**
+     * Returns the time a span starts.
+     *
+     * @return the current {@link System#nanoTime()}, or 0 if nothing is being traced.
+     */
+    public static long now() {
+        return writer == null ? 0 : System.nanoTime();
+    }
+
+    /**
+     * Records a span that started at the given time and finishes now.
+     *
+     * @param id the span's name, from {@link #name(String)}.
+     * @param start when it started, from {@link #now()}.
+     * @return the time the span finished, so that a following span can start from it, or 0 if
+     *     nothing is being traced.
+     */
+    public static long span(int id, long start) {
+        final TraceWriter current = writer;
+        if (current == null || start == 0) {
+            return 0;
+        }
+        final long end = System.nanoTime();
+        current.span(id, start, end);
+        return end;
+    }
+
+    /**
+     * Records a span between the given times.
+     *
+     * @param id the span's name, from {@link #name(String)}.
+     * @param start when it started, from {@link System#nanoTime()}.
+     * @param end when it finished, from {@link System#nanoTime()}.
+     */
+    public static void span(int id, long start, long end) {
+        final TraceWriter current = writer;
+        if (current != null && start != 0) {
+            current.span(id, start, end);
+        }
+    }
+
+    /**
+     * Records the value of a counter now.
+     *
+     * @param id the counter's name, from {@link #name(String)}.
+     * @param value its value.
+     */
+    public static void counter(int id, long value) {
+        final TraceWriter current = writer;
+        if (current != null) {
+            current.counter(id, System.nanoTime(), value);
+        }
+    }
+}
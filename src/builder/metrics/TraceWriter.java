@@ -0,0 +1,214 @@
+package builder.metrics;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes the spans and counters of a {@link Trace} to a file in the Chrome trace-event JSON
+ * format, which can be opened in Perfetto or {@code chrome://tracing}.
+ *
+ * <p>Traced threads only copy each event's numbers into a buffer allocated up front. A background
+ * thread swaps the buffer for a spare one every {@code flushMillis} and formats the full one, so
+ * the cost of writing JSON never lands on the game's thread. Events that arrive while the buffer is
+ * full are dropped and counted rather than waited for.
+ *
+ * <p>Spans are written as complete ({@code "X"}) events and counters as counter ({@code "C"})
+ * events, all under one process, with each thread as its own track.
+ */
+public class TraceWriter implements AutoCloseable {
+    /** The number of events each buffer holds. */
+    public static final int DEFAULT_CAPACITY = 1 << 16;
+
+    /** The time between buffer swaps, in milliseconds. */
+    public static final long DEFAULT_FLUSH_MILLIS = 100;
+
+    private static final byte SPAN = 0;
+    private static final byte COUNTER = 1;
+
+    private final Writer out;
+    private final long origin = System.nanoTime();
+    private final long flushMillis;
+    private final Thread flusher;
+    private final StringBuilder line = new StringBuilder();
+    private volatile boolean running = true;
+    private Buffer current;
+    private Buffer spare;
+    private boolean first = true;
+    private long dropped = 0;
+    private IOException failure = null;
+
+    /**
+     * Opens a trace file with the default buffer capacity and flush interval.
+     *
+     * @param file where to write the trace.
+     * @throws IOException if the file cannot be opened.
+     */
+    public TraceWriter(Path file) throws IOException {
+        this(Files.newBufferedWriter(file), DEFAULT_CAPACITY, DEFAULT_FLUSH_MILLIS);
+    }
+
+    /**
+     * Constructs a writer of trace events to the given writer.
+     *
+     * @param out where to write the trace; closed when this writer is.
+     * @param capacity the number of events each buffer holds.
+     * @param flushMillis the time between buffer swaps, in milliseconds.
+     * @throws IOException if the start of the trace cannot be written.
+     */
+    public TraceWriter(Writer out, int capacity, long flushMillis) throws IOException {
+        if (capacity <= 0 || flushMillis <= 0) {
+            throw new IllegalArgumentException("capacity and flush interval must be positive");
+        }
+        this.out = out instanceof BufferedWriter ? out : new BufferedWriter(out);
+        this.flushMillis = flushMillis;
+        this.current = new Buffer(capacity);
+        this.spare = new Buffer(capacity);
+        this.out.write("[");
+        this.flusher = new Thread(this::flushPeriodically, "trace-writer");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    /**
+     * Returns the number of events dropped because the buffer was full.
+     *
+     * @return the dropped event count.
+     */
+    public synchronized long getDropped() {
+        return this.dropped;
+    }
+
+    synchronized void span(int name, long start, long end) {
+        this.add(SPAN, name, start, end - start);
+    }
+
+    synchronized void counter(int name, long time, long value) {
+        this.add(COUNTER, name, time, value);
+    }
+
+    private void add(byte kind, int name, long time, long value) {
+        final Buffer buffer = this.current;
+        if (buffer.size == buffer.kinds.length) {
+            this.dropped++;
+            return;
+        }
+        final int i = buffer.size++;
+        buffer.kinds[i] = kind;
+        buffer.names[i] = name;
+        buffer.threads[i] = Thread.currentThread().threadId();
+        buffer.times[i] = time;
+        buffer.values[i] = value;
+    }
+
+    private void flushPeriodically() {
+        while (this.running) {
+            try {
+                Thread.sleep(this.flushMillis);
+            } catch (InterruptedException e) {
+                return;
+            }
+            this.flush();
+        }
+    }
+
+    private void flush() {
+        final Buffer full;
+        synchronized (this) {
+            full = this.current;
+            this.current = this.spare;
+            this.spare = full;
+        }
+        synchronized (this.line) {
+            if (this.failure == null) {
+                try {
+                    this.write(full);
+                    this.out.flush();
+                } catch (IOException e) {
+                    this.failure = e;
+                }
+            }
+            full.size = 0;
+        }
+    }
+
+    private void write(Buffer buffer) throws IOException {
+        for (int i = 0; i < buffer.size; i++) {
+            final StringBuilder event = this.line;
+            event.setLength(0);
+            event.append(this.first ? "\n" : ",\n");
+            this.first = false;
+            event.append("{\"name\":\"").append(Trace.nameOf(buffer.names[i]));
+            event.append("\",\"ph\":\"");
+            event.append(buffer.kinds[i] == SPAN ? 'X' : 'C').append("\",\"ts\":");
+            micros(event, buffer.times[i] - this.origin);
+            event.append(",\"pid\":1,\"tid\":").append(buffer.threads[i]);
+            if (buffer.kinds[i] == SPAN) {
+                event.append(",\"dur\":");
+                micros(event, buffer.values[i]);
+            } else {
+                event.append(",\"args\":{\"value\":").append(buffer.values[i]).append('}');
+            }
+            event.append('}');
+            this.out.append(event);
+        }
+    }
+
+    private static void micros(StringBuilder out, long nanos) {
+        out.append(nanos / 1000).append('.');
+        final long fraction = Math.abs(nanos % 1000);
+        if (fraction < 100) {
+            out.append('0');
+        }
+        if (fraction < 10) {
+            out.append('0');
+        }
+        out.append(fraction);
+    }
+
+    /**
+     * Writes any buffered events, ends the trace and closes the file. Tracing to this writer
+     * should be {@linkplain Trace#disable() disabled} first; later events are ignored.
+     *
+     * @throws IOException if any event could not be written.
+     */
+    @Override
+    public void close() throws IOException {
+        this.running = false;
+        this.flusher.interrupt();
+        try {
+            this.flusher.join(TimeUnit.SECONDS.toMillis(1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        this.flush();
+        synchronized (this.line) {
+            this.out.write("\n]\n");
+            this.out.close();
+            if (this.failure != null) {
+                throw this.failure;
+            }
+        }
+    }
+
+    /** Events waiting to be written, as parallel arrays. */
+    private static final class Buffer {
+        private final byte[] kinds;
+        private final int[] names;
+        private final long[] threads;
+        private final long[] times;
+        private final long[] values;
+        private int size = 0;
+
+        private Buffer(int capacity) {
+            this.kinds = new byte[capacity];
+            this.names = new int[capacity];
+            this.threads = new long[capacity];
+            this.times = new long[capacity];
+            this.values = new long[capacity];
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package builder.player;
 
 import builder.inventory.items.Item;
+import builder.ui.SharedAnimation;
 import builder.ui.SpriteGallery;
 
 import engine.EngineState;
@@ -8,7 +9,6 @@ import engine.art.sprites.Sprite;
 import engine.art.sprites.SpriteGroup;
 import engine.game.Direction;
 import engine.game.Entity;
-import engine.timing.Animation;
 import engine.timing.AnimationDuration;
 
 import java.util.Optional;
@@ -21,32 +21,36 @@ import java.util.Optional;
  * <p>Note: All references to sprites are sprites within {@link SpriteGallery#chickenFarmer}.
  *
  * @hint Use the provided {@link builder.entities.Brutus} class as a rough guide.
- * @hint The player must maintain three animations (see {@link Animation}): the left walking
+ * @hint The player must maintain three animations (see {@link engine.timing.Animation}): the left walking
  *     animation ('left', 'left1', 'left2' on {@link AnimationDuration#SLOW}), the right walking
  *     animation ('right', 'right1', 'right2' on {@link AnimationDuration#SLOW}), and the use
  *     animation (in stage 3) set by the {@link #use(Item)} method. The player instance should store
  *     each animation as a member variable and progress it during the tick method. When the player
  *     needs to run the animation, it should call {@link #setSprite(Sprite)} and pass the stored
  *     animation.
+ *
+ * <p>The walking animations are {@link SharedAnimation}s shared by every chicken farmer. They are
+ * not ticked; the frame is chosen from the tick this farmer last saw in {@link #tick(EngineState)}.
  */
 public class ChickenFarmer extends Entity implements Player {
 
     private static final int DAMAGE = 2;
 
     private static final SpriteGroup art = SpriteGallery.chickenFarmer;
-    private Animation useAnimation = null;
-    private final Animation walkLeft =
-            new Animation(
+    private static final SharedAnimation walkLeft =
+            new SharedAnimation(
                     AnimationDuration.SLOW,
-                    new Sprite[] {
-                        art.getSprite("left"), art.getSprite("left1"), art.getSprite("left2")
-                    });
-    private final Animation walkRight =
-            new Animation(
+                    art.getSprite("left"),
+                    art.getSprite("left1"),
+                    art.getSprite("left2"));
+    private static final SharedAnimation walkRight =
+            new SharedAnimation(
                     AnimationDuration.SLOW,
-                    new Sprite[] {
-                        art.getSprite("right"), art.getSprite("right1"), art.getSprite("right2")
-                    });
+                    art.getSprite("right"),
+                    art.getSprite("right1"),
+                    art.getSprite("right2"));
+    private SharedAnimation useAnimation = null;
+    private int tick = 0;
 
     /**
      * Constructs a chicken farmer instance at the given coordinates.
@@ -109,11 +113,11 @@ public class ChickenFarmer extends Entity implements Player {
             }
             case EAST -> {
                 setX(getX() + amount);
-                this.setSprite(this.walkRight);
+                this.setSprite(walkRight.frameAt(this.tick));
             }
             case WEST -> {
                 setX(getX() - amount);
-                this.setSprite(this.walkLeft);
+                this.setSprite(walkLeft.frameAt(this.tick));
             }
             default -> {
                 this.setSprite(art.getSprite("down"));
@@ -122,20 +126,14 @@ public class ChickenFarmer extends Entity implements Player {
     }
 
     /**
-     * Progress the state of the player. The player is progressed by first setting the displayed
-     * sprite to 'down' (to undo any moving animations). Then any animations stored by the player
-     * should be progressed (by calling {@link Animation#tick(EngineState)}).
+     * Progress the state of the player. The player is progressed by setting the displayed sprite
+     * to 'down' (to undo any moving animations). The game's tick is kept so that later moves and uses
+     * this tick show the right animation frame.
      */
     @Override
     public void tick(EngineState state) {
+        this.tick = state.currentTick();
         this.setSprite(art.getSprite("down"));
-
-        // progress animations forward
-        this.walkLeft.tick(state);
-        this.walkRight.tick(state);
-        if (useAnimation != null) {
-            useAnimation.tick(state);
-        }
     }
 
     /**
@@ -145,15 +143,15 @@ public class ChickenFarmer extends Entity implements Player {
      *
      * <p>If the item's {@link Item#useAnimation()} is not empty (i.e. {@link Optional#isPresent()}
      * is true) then the player should store that animation and set its sprite to show the
-     * animation.
+     * animation. The animation starts from its first frame at the current tick.
      *
      * @param item The item that the player is currently holding.
      * @stage3
      */
     public void use(Item item) {
         if (item != null && item.useAnimation().isPresent()) {
-            this.useAnimation = item.useAnimation().get();
-            this.setSprite(this.useAnimation);
+            this.useAnimation = item.useAnimation().get().startingAt(this.tick);
+            this.setSprite(this.useAnimation.frameAt(this.tick));
         }
     }
 }
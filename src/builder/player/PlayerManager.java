@@ -14,6 +14,7 @@ import engine.input.MouseState;
 import engine.renderer.Dimensions;
 import engine.renderer.Renderable;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -27,6 +28,12 @@ public class PlayerManager implements Tickable, RenderableGroup {
 
     private final ChickenFarmer player;
 
+    // tiles the player currently occupies and the grid square they were looked up for
+    private List<Tile> occupied = new ArrayList<>();
+    private int occupiedGridX = -1;
+    private int occupiedGridY = -1;
+    private boolean occupiedStale = true;
+
     /**
      * Construct a new player manager and a new player instance at the given x, y position.
      *
@@ -68,9 +75,11 @@ public class PlayerManager implements Tickable, RenderableGroup {
      *     World#tilesAtPosition(int, int, Dimensions)}) cannot be walked through (according to
      *     {@link Tile#canWalkThrough()}) then the player must not move there.
      * @stage3part Any tile at the (potentially new) position of the player should be interacted
-     *     with via {@link Tile#interact(EngineState, GameState)}. If the player is left-clicking
-     *     (according to {@link MouseState#isLeftPressed()}), those tiles should be used via {@link
-     *     Tile#use(EngineState, GameState)}.
+     *     with. Tiles the player has just arrived on are entered via {@link Tile#enter(EngineState,
+     *     GameState)}, tiles the player is still on receive {@link Tile#stay(EngineState,
+     *     GameState)} and tiles the player has left receive {@link Tile#exit()}. If the player is
+     *     left-clicking (according to {@link MouseState#isLeftPressed()}), the occupied tiles
+     *     should be used via {@link Tile#use(EngineState, GameState)}.
      */
     @Override
     public void tick(EngineState state, GameState game) {
@@ -87,6 +96,16 @@ public class PlayerManager implements Tickable, RenderableGroup {
         return player;
     }
 
+    /**
+     * Whether the tiles under the player are up to date, so that a tick without input only calls
+     * {@link Tile#stay(EngineState, GameState)} on them.
+     *
+     * @return true if the occupied tiles need not be looked up again.
+     */
+    public boolean isSettled() {
+        return !this.occupiedStale;
+    }
+
     private void useControls(EngineState state, GameState game) {
         World world = game.getWorld();
         Direction direction = null;
@@ -103,14 +122,54 @@ public class PlayerManager implements Tickable, RenderableGroup {
             tryMove(direction, world, state.getDimensions());
         }
 
-        List<Tile> underPlayer =
-                world.tilesAtPosition(player.getX(), player.getY(), state.getDimensions());
-        interact(state, game, underPlayer);
+        List<Tile> underPlayer = this.updateOccupied(state, game, world);
         if (state.getMouse().isLeftPressed()) {
             use(state, game, underPlayer);
+            // using a tile may replace it in the world, e.g. grass becoming dirt
+            this.occupiedStale = true;
         }
     }
 
+    /**
+     * Fires the enter, stay and exit triggers for the tiles under the player.
+     *
+     * <p>The tiles are only looked up again when the player moves to a different grid square or the
+     * world may have changed, so a player standing still costs a {@link Tile#stay} call per
+     * occupied tile.
+     *
+     * @return the tiles the player currently occupies.
+     */
+    private List<Tile> updateOccupied(EngineState state, GameState game, World world) {
+        Dimensions dimensions = state.getDimensions();
+        int gridX = dimensions.pixelToTile(player.getX());
+        int gridY = dimensions.pixelToTile(player.getY());
+        if (!this.occupiedStale && gridX == this.occupiedGridX && gridY == this.occupiedGridY) {
+            for (Tile tile : this.occupied) {
+                tile.stay(state, game);
+            }
+            return this.occupied;
+        }
+
+        List<Tile> underPlayer = world.tilesAtPosition(player.getX(), player.getY(), dimensions);
+        for (Tile tile : this.occupied) {
+            if (!underPlayer.contains(tile)) {
+                tile.exit();
+            }
+        }
+        for (Tile tile : underPlayer) {
+            if (this.occupied.contains(tile)) {
+                tile.stay(state, game);
+            } else {
+                tile.enter(state, game);
+            }
+        }
+        this.occupied = underPlayer;
+        this.occupiedGridX = gridX;
+        this.occupiedGridY = gridY;
+        this.occupiedStale = false;
+        return underPlayer;
+    }
+
     private void tryMove(Direction direction, World world, Dimensions dimensions) {
         Position nextPosition = new Position(player.getX(), player.getY()).shift(direction, 1);
 
@@ -127,12 +186,6 @@ public class PlayerManager implements Tickable, RenderableGroup {
         }
     }
 
-    private void interact(EngineState state, GameState game, List<Tile> underPlayer) {
-        for (Tile tile : underPlayer) {
-            tile.interact(state, game);
-        }
-    }
-
     private void use(EngineState state, GameState game, List<Tile> underPlayer) {
         this.player.use(game.getInventory().getHolding());
 
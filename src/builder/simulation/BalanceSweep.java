@@ -0,0 +1,365 @@
+package builder.simulation;
+
+import builder.GameRandom;
+import builder.JavaBeanFarm;
+import builder.world.WorldLoadException;
+
+import engine.renderer.Dimensions;
+import engine.renderer.TileGrid;
+
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Plays many headless games across a {@link ParameterGrid} and summarises how each point of the
+ * grid played, for tuning details files.
+ *
+ * <p>Every point is played a number of times by a {@link FarmBot}, each replicate with its own
+ * seed. Replicate {@code r} uses the same seed at every point, so differences between points come
+ * from the settings rather than from the bot. Games run in parallel on a {@link ForkJoinPool} and
+ * skip quiet ticks (see {@link HeadlessRunner#setFastForward(boolean)}). The results are written
+ * as a CSV with one row per point:
+ *
+ * <pre>java builder.simulation.BalanceSweep grid-file csv-file [map file] [ticks] [replicates]</pre>
+ */
+public class BalanceSweep {
+    /** Ticks played per game when none is given, about five minutes of play. */
+    public static final int DEFAULT_TICKS = 20_000;
+
+    /** Games played per grid point when none is given. */
+    public static final int DEFAULT_REPLICATES = 16;
+
+    /** How many times the coins and food are sampled over a game. */
+    public static final int DEFAULT_SAMPLES = 10;
+
+    private final Dimensions dimensions;
+    private final String map;
+    private final int playerX;
+    private final int playerY;
+    private int ticks = DEFAULT_TICKS;
+    private int replicates = DEFAULT_REPLICATES;
+    private int samples = DEFAULT_SAMPLES;
+    private long seed = 0;
+
+    /**
+     * Constructs a sweep over games on the given map, with the player starting at the given
+     * position.
+     *
+     * @param dimensions the dimensions of the simulated screen.
+     * @param map the contents of the map file.
+     * @param playerX the player's starting x-coordinate.
+     * @param playerY the player's starting y-coordinate.
+     */
+    public BalanceSweep(Dimensions dimensions, String map, int playerX, int playerY) {
+        this.dimensions = dimensions;
+        this.map = map;
+        this.playerX = playerX;
+        this.playerY = playerY;
+    }
+
+    /**
+     * Sets the number of ticks played per game.
+     *
+     * @param ticks the game length, at least the number of samples.
+     * @return this sweep.
+     */
+    public BalanceSweep setTicks(int ticks) {
+        this.ticks = ticks;
+        return this;
+    }
+
+    /**
+     * Sets the number of games played per grid point.
+     *
+     * @param replicates the games per point, at least 1.
+     * @return this sweep.
+     */
+    public BalanceSweep setReplicates(int replicates) {
+        this.replicates = replicates;
+        return this;
+    }
+
+    /**
+     * Sets the number of times the coins and food are sampled over each game.
+     *
+     * @param samples the samples per game, at least 1.
+     * @return this sweep.
+     */
+    public BalanceSweep setSamples(int samples) {
+        this.samples = samples;
+        return this;
+    }
+
+    /**
+     * Sets the seed the replicates' seeds are derived from.
+     *
+     * @param seed the base seed.
+     * @return this sweep.
+     */
+    public BalanceSweep setSeed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    /**
+     * Plays every game of the sweep, using every available processor.
+     *
+     * @param points the grid points to play.
+     * @return the metrics of each game, replicates of a point next to each other.
+     * @throws IOException if a point's details cannot be read.
+     * @throws WorldLoadException if the map is invalid.
+     */
+    public RunMetrics[] run(List<ParameterGrid.Point> points)
+            throws IOException, WorldLoadException {
+        // fail here, with the proper exception, rather than inside every task
+        this.newGame(points.getFirst());
+
+        final RunMetrics[] results = new RunMetrics[points.size() * this.replicates];
+        final ForkJoinPool pool = new ForkJoinPool();
+        try {
+            pool.invoke(new Games(points, results, 0, results.length));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            pool.shutdown();
+        }
+        return results;
+    }
+
+    /**
+     * Plays every game of the sweep and writes one CSV row per point.
+     *
+     * @param grid the settings to sweep.
+     * @param out where the CSV is written.
+     * @throws IOException if a point's details cannot be read or the CSV cannot be written.
+     * @throws WorldLoadException if the map is invalid.
+     */
+    public void writeCsv(ParameterGrid grid, Writer out) throws IOException, WorldLoadException {
+        final List<ParameterGrid.Point> points = grid.points();
+        final RunMetrics[] results = this.run(points);
+
+        final StringBuilder header = new StringBuilder("point");
+        for (String setting : ParameterGrid.SETTINGS) {
+            header.append(',').append(setting);
+        }
+        header.append(",runs,survival_rate,mean_starved_tick")
+                .append(",final_coins_mean,final_coins_p10,final_coins_p90")
+                .append(",final_food_mean,final_food_p10,final_food_p90")
+                .append(",coins_stolen_mean,food_stolen_mean,cabbages_stolen_mean,harvested_mean");
+        for (int sample = 0; sample < this.samples; sample++) {
+            header.append(",coins_t").append(this.sampleTick(sample));
+        }
+        for (int sample = 0; sample < this.samples; sample++) {
+            header.append(",food_t").append(this.sampleTick(sample));
+        }
+        out.write(header.append('\n').toString());
+
+        final int last = this.samples - 1;
+        for (ParameterGrid.Point point : points) {
+            final RunMetrics[] runs =
+                    Arrays.copyOfRange(
+                            results,
+                            point.getIndex() * this.replicates,
+                            (point.getIndex() + 1) * this.replicates);
+            final StringBuilder row = new StringBuilder().append(point.getIndex());
+            for (String setting : ParameterGrid.SETTINGS) {
+                row.append(',').append(csv(point.get(setting)));
+            }
+            int survived = 0;
+            long starvedTicks = 0;
+            for (RunMetrics run : runs) {
+                if (run.survived()) {
+                    survived++;
+                } else {
+                    starvedTicks += run.getStarvedAt();
+                }
+            }
+            final int starved = runs.length - survived;
+            row.append(',').append(runs.length)
+                    .append(',').append(format((double) survived / runs.length))
+                    .append(',').append(starved == 0 ? "" : format((double) starvedTicks / starved));
+            appendSpread(row, runs, run -> run.getCoins(last));
+            appendSpread(row, runs, run -> run.getFood(last));
+            row.append(',').append(format(mean(runs, RunMetrics::getCoinsStolen)))
+                    .append(',').append(format(mean(runs, RunMetrics::getFoodStolen)))
+                    .append(',').append(format(mean(runs, RunMetrics::getCabbagesStolen)))
+                    .append(',').append(format(mean(runs, RunMetrics::getHarvested)));
+            for (int sample = 0; sample < this.samples; sample++) {
+                final int index = sample;
+                row.append(',').append(format(mean(runs, run -> run.getCoins(index))));
+            }
+            for (int sample = 0; sample < this.samples; sample++) {
+                final int index = sample;
+                row.append(',').append(format(mean(runs, run -> run.getFood(index))));
+            }
+            out.write(row.append('\n').toString());
+        }
+        out.flush();
+    }
+
+    /**
+     * Plays one game of the given point with the given replicate's seed.
+     *
+     * @param point the settings to play with.
+     * @param replicate which replicate this is, choosing the bot's seed.
+     * @return what happened during the game.
+     * @throws IOException if the point's details cannot be read.
+     * @throws WorldLoadException if the map is invalid.
+     */
+    public RunMetrics play(ParameterGrid.Point point, int replicate)
+            throws IOException, WorldLoadException {
+        final JavaBeanFarm game = this.newGame(point);
+        final RunMetrics metrics = new RunMetrics(this.samples);
+        game.setEventListener(metrics);
+
+        final ScriptedInput bot = FarmBot.script(new GameRandom(this.seed + replicate), this.ticks);
+        final HeadlessRunner runner = new HeadlessRunner(game, this.dimensions, bot);
+        runner.setFastForward(true);
+        for (int sample = 0; sample < this.samples; sample++) {
+            runner.run(this.sampleTick(sample) - runner.getTick());
+            metrics.sample(sample, game.getInventory(), runner.getTick());
+        }
+        return metrics;
+    }
+
+    private JavaBeanFarm newGame(ParameterGrid.Point point)
+            throws IOException, WorldLoadException {
+        return new JavaBeanFarm(
+                this.dimensions,
+                new StringReader(this.map),
+                new StringReader(point.toDetails(this.playerX, this.playerY)),
+                new GameRandom(this.seed));
+    }
+
+    /** Returns the tick after which the given sample is taken; the last is the end of the game. */
+    private int sampleTick(int sample) {
+        return (int) ((long) this.ticks * (sample + 1) / this.samples);
+    }
+
+    /**
+     * Plays a range of the sweep's games, splitting it in half until one game is left. Tasks only
+     * live for one sweep and are never serialised.
+     */
+    private class Games extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final transient List<ParameterGrid.Point> points;
+        private final transient RunMetrics[] results;
+        private final int from;
+        private final int to;
+
+        private Games(List<ParameterGrid.Point> points, RunMetrics[] results, int from, int to) {
+            this.points = points;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.to - this.from > 1) {
+                final int middle = (this.from + this.to) >>> 1;
+                invokeAll(
+                        new Games(this.points, this.results, this.from, middle),
+                        new Games(this.points, this.results, middle, this.to));
+                return;
+            }
+            final ParameterGrid.Point point = this.points.get(this.from / replicates);
+            try {
+                this.results[this.from] = play(point, this.from % replicates);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } catch (WorldLoadException e) {
+                throw new IllegalStateException("map became invalid", e);
+            }
+        }
+    }
+
+    private interface Metric {
+        double of(RunMetrics run);
+    }
+
+    private static double mean(RunMetrics[] runs, Metric metric) {
+        double total = 0;
+        for (RunMetrics run : runs) {
+            total += metric.of(run);
+        }
+        return total / runs.length;
+    }
+
+    /** Appends the mean, 10th and 90th percentile of a metric over the given runs. */
+    private static void appendSpread(StringBuilder row, RunMetrics[] runs, Metric metric) {
+        final double[] values = new double[runs.length];
+        for (int i = 0; i < runs.length; i++) {
+            values[i] = metric.of(runs[i]);
+        }
+        Arrays.sort(values);
+        row.append(',').append(format(mean(runs, metric)))
+                .append(',').append(format(values[(values.length - 1) / 10]))
+                .append(',').append(format(values[(values.length - 1) * 9 / 10]));
+    }
+
+    private static String format(double value) {
+        return value == Math.rint(value) ? Long.toString((long) value) : String.format("%.3f", value);
+    }
+
+    private static String csv(String value) {
+        if (value.contains(",") || value.contains("\"")) {
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+        return value;
+    }
+
+    /**
+     * Runs a sweep from the command line and writes its CSV.
+     *
+     * @param args the grid file, the CSV file and optionally the map file (default
+     *     resources/uqLogo.map), ticks per game and games per point.
+     * @throws IOException if a file cannot be read or written.
+     * @throws WorldLoadException if the map is invalid.
+     */
+    public static void main(String[] args) throws IOException, WorldLoadException {
+        if (args.length < 2) {
+            System.err.println(
+                    "usage: BalanceSweep grid-file csv-file [map file] [ticks] [replicates]");
+            System.exit(2);
+        }
+        final String map = args.length > 2 ? args[2] : "resources/uqLogo.map";
+        final int ticks = args.length > 3 ? Integer.parseInt(args[3]) : DEFAULT_TICKS;
+        final int replicates = args.length > 4 ? Integer.parseInt(args[4]) : DEFAULT_REPLICATES;
+
+        final ParameterGrid grid;
+        try (Reader reader = new FileReader(args[0])) {
+            grid = ParameterGrid.read(reader);
+        }
+        final Dimensions dimensions =
+                new TileGrid(HeadlessRunner.DEFAULT_TILES_PER_ROW, HeadlessRunner.DEFAULT_SIZE);
+        final BalanceSweep sweep =
+                new BalanceSweep(
+                                dimensions,
+                                Files.readString(Path.of(map)),
+                                HeadlessRunner.DEFAULT_SIZE / 2,
+                                HeadlessRunner.DEFAULT_SIZE / 2)
+                        .setTicks(ticks)
+                        .setReplicates(replicates);
+
+        final long start = System.nanoTime();
+        try (Writer out = new FileWriter(args[1])) {
+            sweep.writeCsv(grid, out);
+        }
+        System.out.printf(
+                "%d games of %d ticks in %.1fs%n",
+                grid.points().size() * replicates, ticks, (System.nanoTime() - start) / 1e9);
+    }
+}
@@ -0,0 +1,110 @@
+package builder.simulation;
+
+import builder.GameRandom;
+
+import engine.input.MouseState;
+
+/**
+ * Writes scripts for a simple automated player, used to play many games unattended.
+ *
+ * <p>The bot patrols a rectangle around its starting point. At each corner it mines with the
+ * jackhammer, tills with the hoe and plants with the bucket, then rests. Walking the rectangle
+ * brings it back over the cabbages it planted, harvesting any that have grown. The size of each
+ * rectangle and the length of each rest are drawn from the given generator, so scripts differ
+ * between seeds but are the same for the same seed.
+ */
+public final class FarmBot {
+    /** The shortest side of a patrol rectangle, in ticks of walking. */
+    public static final int MIN_LEG = 20;
+
+    /** The longest side of a patrol rectangle, in ticks of walking. */
+    public static final int MAX_LEG = 120;
+
+    /** The longest rest at a corner, in ticks. */
+    public static final int MAX_REST = 200;
+
+    /** How long the bot holds the jackhammer down at each corner. */
+    public static final int MINING_TICKS = 30;
+
+    private static final char[] PATROL = {'d', 's', 'a', 'w'};
+    private static final char HOE = '2';
+    private static final char JACKHAMMER = '3';
+    private static final char BUCKET = '1';
+
+    private static final MouseState LEFT_HELD =
+            new MouseState() {
+                @Override
+                public int getMouseX() {
+                    return 0;
+                }
+
+                @Override
+                public int getMouseY() {
+                    return 0;
+                }
+
+                @Override
+                public boolean isLeftPressed() {
+                    return true;
+                }
+
+                @Override
+                public boolean isRightPressed() {
+                    return false;
+                }
+
+                @Override
+                public boolean isMiddlePressed() {
+                    return false;
+                }
+            };
+
+    private FarmBot() {}
+
+    /**
+     * Writes a script for the given number of ticks.
+     *
+     * @param random where the patrol sizes and rests are drawn from.
+     * @param ticks the length of the game the script is for.
+     * @return the bot's input.
+     */
+    public static ScriptedInput script(GameRandom random, int ticks) {
+        final ScriptedInput input = new ScriptedInput();
+        int tick = 0;
+        while (tick < ticks) {
+            final int width = MIN_LEG + random.nextInt(MAX_LEG - MIN_LEG + 1);
+            final int height = MIN_LEG + random.nextInt(MAX_LEG - MIN_LEG + 1);
+            for (int leg = 0; leg < PATROL.length; leg++) {
+                final int length = leg % 2 == 0 ? width : height;
+                input.keys(tick, PATROL[leg]);
+                tick += length;
+                tick = work(input, tick);
+                tick += random.nextInt(MAX_REST + 1);
+            }
+        }
+        return input;
+    }
+
+    /**
+     * Mines, tills and plants on the spot from the given tick.
+     *
+     * @return the tick after the work is done.
+     */
+    private static int work(ScriptedInput input, int tick) {
+        input.keys(tick, JACKHAMMER);
+        input.keys(tick + 1);
+        input.mouse(tick + 1, LEFT_HELD);
+        input.mouse(tick + 1 + MINING_TICKS, InputSource.NO_MOUSE);
+        tick += 1 + MINING_TICKS;
+
+        input.keys(tick, HOE);
+        input.keys(tick + 1);
+        input.leftClick(tick + 1, 0, 0);
+        tick += 2;
+
+        input.keys(tick, BUCKET);
+        input.keys(tick + 1);
+        input.leftClick(tick + 1, 0, 0);
+        return tick + 2;
+    }
+}
@@ -0,0 +1,61 @@
+package builder.simulation;
+
+import engine.EngineState;
+import engine.input.KeyState;
+import engine.input.MouseState;
+import engine.renderer.Dimensions;
+
+/**
+ * A mutable {@link EngineState} for simulations without a window.
+ *
+ * <p>One instance is reused for every tick; {@link #advance(int, KeyState, MouseState)} moves it on
+ * to the next tick's input.
+ */
+public class HeadlessEngineState implements EngineState {
+    private final Dimensions dimensions;
+    private KeyState keys = InputSource.NO_KEYS;
+    private MouseState mouse = InputSource.NO_MOUSE;
+    private int tick = 0;
+
+    /**
+     * Constructs a headless state at tick 0 with no input.
+     *
+     * @param dimensions the dimensions of the simulated screen.
+     */
+    public HeadlessEngineState(Dimensions dimensions) {
+        this.dimensions = dimensions;
+    }
+
+    /**
+     * Moves the state to the given tick and input.
+     *
+     * @param tick the tick about to be simulated.
+     * @param keys the keys held during the tick.
+     * @param mouse the mouse state during the tick.
+     */
+    public void advance(int tick, KeyState keys, MouseState mouse) {
+        this.tick = tick;
+        this.keys = keys;
+        this.mouse = mouse;
+    }
+
+    @Override
+    public Dimensions getDimensions() {
+        return this.dimensions;
+    }
+
+    @Override
+    public MouseState getMouse() {
+        return this.mouse;
+    }
+
+    @Override
+    public KeyState getKeys() {
+        return this.keys;
+    }
+
+    @Override
+    public int currentTick() {
+        return this.tick;
+    }
+}
@@ -0,0 +1,207 @@
+package builder.simulation;
+
+import builder.JavaBeanFarm;
+import builder.world.WorldLoadException;
+
+import engine.input.KeyState;
+import engine.input.MouseState;
+import engine.renderer.Dimensions;
+import engine.renderer.TileGrid;
+
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Runs a {@link JavaBeanFarm} without a window, as fast as the simulation allows.
+ *
+ * <p>The runner drives {@link JavaBeanFarm#tick} directly from an {@link InputSource} and never
+ * calls {@link JavaBeanFarm#render()}, so no frame pacing or drawing takes place. It can be used
+ * from code or from the command line:
+ *
+ * <pre>java builder.simulation.HeadlessRunner [ticks] [map file] [details file]</pre>
+ *
+ * <p>With {@link #setFastForward(boolean) fast-forward} on, {@link #run(int)} jumps over stretches
+ * in which nothing but timers would change, straight to the next tick on which a spawner fires, a
+ * cabbage grows or the input changes. The farm ends up exactly as if every tick had been run.
+ */
+public class HeadlessRunner {
+    /** Screen size used when none is given, matching the windowed game. */
+    public static final int DEFAULT_SIZE = 800;
+
+    /** Tiles per row used when none is given, matching the windowed game. */
+    public static final int DEFAULT_TILES_PER_ROW = 25;
+
+    private final JavaBeanFarm game;
+    private final InputSource input;
+    private final HeadlessEngineState state;
+    private int tick = 0;
+    private boolean fastForward = false;
+    private long skippedTicks = 0;
+
+    /**
+     * Constructs a runner for an existing game.
+     *
+     * @param game the game to simulate.
+     * @param dimensions the dimensions the game was built with.
+     * @param input where each tick's input comes from.
+     */
+    public HeadlessRunner(JavaBeanFarm game, Dimensions dimensions, InputSource input) {
+        this(game, dimensions, input, 0);
+    }
+
+    /**
+     * Constructs a runner for an existing game that continues from the given tick, for example a
+     * game restored from a snapshot.
+     *
+     * @param game the game to simulate.
+     * @param dimensions the dimensions the game was built with.
+     * @param input where each tick's input comes from.
+     * @param startTick the number of the first tick to run.
+     */
+    public HeadlessRunner(JavaBeanFarm game, Dimensions dimensions, InputSource input, int startTick) {
+        this.game = game;
+        this.input = input;
+        this.state = new HeadlessEngineState(dimensions);
+        this.tick = startTick;
+    }
+
+    /**
+     * Loads a game from a map and details file and constructs a runner for it.
+     *
+     * @param dimensions the dimensions of the simulated screen.
+     * @param mapReader the world map.
+     * @param detailsReader the player, spawner and cabbage details.
+     * @param input where each tick's input comes from.
+     * @return a runner for the loaded game.
+     * @throws IOException if either file cannot be read.
+     * @throws WorldLoadException if the map is invalid.
+     */
+    public static HeadlessRunner load(
+            Dimensions dimensions, Reader mapReader, Reader detailsReader, InputSource input)
+            throws IOException, WorldLoadException {
+        return new HeadlessRunner(
+                new JavaBeanFarm(dimensions, mapReader, detailsReader), dimensions, input);
+    }
+
+    /**
+     * Returns the simulated game.
+     *
+     * @return the game being run.
+     */
+    public JavaBeanFarm getGame() {
+        return this.game;
+    }
+
+    /**
+     * Returns the engine state passed to the game on the most recent tick.
+     *
+     * @return the headless engine state.
+     */
+    public HeadlessEngineState getState() {
+        return this.state;
+    }
+
+    /**
+     * Returns the number of ticks run so far, which is also the number of the next tick.
+     *
+     * @return the current tick.
+     */
+    public int getTick() {
+        return this.tick;
+    }
+
+    /**
+     * Sets whether {@link #run(int)} skips ticks on which nothing but timers would change.
+     *
+     * @param fastForward true to skip quiet ticks.
+     */
+    public void setFastForward(boolean fastForward) {
+        this.fastForward = fastForward;
+    }
+
+    /**
+     * Returns the number of ticks skipped rather than run since the runner was constructed.
+     *
+     * @return the total skipped ticks.
+     */
+    public long getSkippedTicks() {
+        return this.skippedTicks;
+    }
+
+    /** Runs a single tick. */
+    public void tick() {
+        this.state.advance(this.tick, this.input.keysAt(this.tick), this.input.mouseAt(this.tick));
+        this.game.tick(this.state);
+        this.tick++;
+    }
+
+    /**
+     * Runs the given number of ticks back to back.
+     *
+     * @param ticks how many ticks to run.
+     * @return a report of the run's speed and the farm's final state.
+     */
+    public SimulationReport run(int ticks) {
+        final long start = System.nanoTime();
+        int run = 0;
+        while (run < ticks) {
+            this.tick();
+            run++;
+            if (this.fastForward && run < ticks) {
+                run += this.skipQuiet(ticks - run);
+            }
+        }
+        return new SimulationReport(this.game, ticks, System.nanoTime() - start);
+    }
+
+    /**
+     * Skips up to the given number of ticks if the tick just run had no input and the farm is
+     * quiet, stopping short of the next tick on which the input changes.
+     *
+     * @return the number of ticks skipped.
+     */
+    private int skipQuiet(int limit) {
+        final int last = this.tick - 1;
+        if (!isIdle(this.input.keysAt(last), this.input.mouseAt(last))) {
+            return 0;
+        }
+        final long untilInput = (long) this.input.nextChange(last) - this.tick;
+        final int skip = (int) Math.min(Math.min(limit, untilInput), this.game.quietTicks());
+        if (skip <= 0) {
+            return 0;
+        }
+        this.game.skip(skip);
+        this.tick += skip;
+        this.skippedTicks += skip;
+        return skip;
+    }
+
+    private static boolean isIdle(KeyState keys, MouseState mouse) {
+        return keys.getDown().isEmpty()
+                && !mouse.isLeftPressed()
+                && !mouse.isRightPressed()
+                && !mouse.isMiddlePressed();
+    }
+
+    /**
+     * Runs a headless simulation with no input and prints its report.
+     *
+     * @param args optionally the tick count (default 100000), map file and details file.
+     * @throws IOException if the map or details file cannot be read.
+     * @throws WorldLoadException if the map is invalid.
+     */
+    public static void main(String[] args) throws IOException, WorldLoadException {
+        final int ticks = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        final String map = args.length > 1 ? args[1] : "resources/uqLogo.map";
+        final String details = args.length > 2 ? args[2] : "resources/uqLogo.details";
+
+        final Dimensions dimensions = new TileGrid(DEFAULT_TILES_PER_ROW, DEFAULT_SIZE);
+        final HeadlessRunner runner;
+        try (Reader mapReader = new FileReader(map);
+                Reader detailsReader = new FileReader(details)) {
+            runner = load(dimensions, mapReader, detailsReader, InputSource.idle());
+        }
+        System.out.println(runner.run(ticks));
+    }
+}
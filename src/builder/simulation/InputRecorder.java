@@ -0,0 +1,170 @@
+package builder.simulation;
+
+import builder.JavaBeanFarm;
+import builder.snapshot.GameSnapshot;
+import builder.snapshot.SnapshotException;
+
+import engine.EngineState;
+import engine.game.Game;
+import engine.input.KeyState;
+import engine.input.MouseState;
+import engine.renderer.Dimensions;
+import engine.renderer.Renderable;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Records every tick's input to a {@link JavaBeanFarm} so the game can be replayed later with
+ * {@link InputRecording}.
+ *
+ * <p>The recorder wraps the game and is given to the engine in its place. Only changes are written:
+ * a tick where the player holds the same keys and the mouse has not moved costs nothing, so an hour
+ * of play is usually a few kilobytes. The recording also holds the seed of the game's {@link
+ * builder.GameRandom} and the map and details it was built from, which together with the input are
+ * everything needed to play the game out again.
+ *
+ * <p>When closed, the recorder writes a checksum of the game's final snapshot, which the replay
+ * compares against its own final state.
+ */
+public class InputRecorder implements Game, Closeable {
+    private final JavaBeanFarm game;
+    private final DataOutputStream out;
+    private List<Character> lastKeys = List.of();
+    private MouseState lastMouse = InputSource.NO_MOUSE;
+    private int firstTick = -1;
+    private int lastEventTick;
+    private int nextTick;
+    private boolean closed = false;
+
+    /**
+     * Constructs a recorder for a game built from the given files and seed.
+     *
+     * @param game the game to record; it must have been built from {@code map}, {@code details}
+     *     and {@code dimensions}, with a random generator seeded from its reported seed.
+     * @param dimensions the dimensions the game was built with.
+     * @param map the text of the world map.
+     * @param details the text of the details file.
+     * @param stream where to write the recording; closed with the recorder.
+     * @throws IOException if the header cannot be written.
+     */
+    public InputRecorder(
+            JavaBeanFarm game, Dimensions dimensions, String map, String details, OutputStream stream)
+            throws IOException {
+        this.game = game;
+        this.out = new DataOutputStream(new BufferedOutputStream(stream));
+        this.out.writeInt(InputRecording.MAGIC);
+        this.out.writeShort(InputRecording.VERSION);
+        this.out.writeLong(game.getRandom().getSeed());
+        this.out.writeShort(dimensions.windowSize() / dimensions.tileSize());
+        this.out.writeShort(dimensions.windowSize());
+        InputRecording.writeText(map, this.out);
+        InputRecording.writeText(details, this.out);
+    }
+
+    @Override
+    public void tick(EngineState state) {
+        try {
+            this.record(state);
+        } catch (IOException e) {
+            throw new UncheckedIOException("unable to record input", e);
+        }
+        this.game.tick(state);
+    }
+
+    @Override
+    public List<Renderable> render() {
+        return this.game.render();
+    }
+
+    /**
+     * Returns the number of ticks recorded so far.
+     *
+     * @return the recorded tick count.
+     */
+    public int getRecordedTicks() {
+        return this.firstTick < 0 ? 0 : this.nextTick - this.firstTick;
+    }
+
+    private void record(EngineState state) throws IOException {
+        final int tick = state.currentTick();
+        if (this.firstTick < 0) {
+            this.firstTick = tick;
+            this.lastEventTick = tick;
+            this.out.writeInt(tick);
+        } else if (tick != this.nextTick) {
+            throw new IllegalStateException("expected tick " + this.nextTick + " but was " + tick);
+        }
+        this.nextTick = tick + 1;
+
+        final KeyState keys = state.getKeys();
+        final MouseState mouse = state.getMouse();
+        int changes = 0;
+        if (!keys.getDown().equals(this.lastKeys)) {
+            changes |= InputRecording.KEYS_CHANGED;
+        }
+        if (!InputRecording.sameMouse(mouse, this.lastMouse)) {
+            changes |= InputRecording.MOUSE_CHANGED;
+        }
+        if (changes == 0) {
+            return;
+        }
+
+        InputRecording.writeVarInt(tick - this.lastEventTick, this.out);
+        this.out.writeByte(changes);
+        if ((changes & InputRecording.KEYS_CHANGED) != 0) {
+            this.lastKeys = List.copyOf(keys.getDown());
+            this.out.writeByte(this.lastKeys.size());
+            for (char key : this.lastKeys) {
+                this.out.writeChar(key);
+            }
+        }
+        if ((changes & InputRecording.MOUSE_CHANGED) != 0) {
+            this.lastMouse = InputRecording.copyOf(mouse);
+            InputRecording.writeMouse(this.lastMouse, this.out);
+        }
+        this.lastEventTick = tick;
+    }
+
+    /**
+     * Ends the recording, writing the final tick and a checksum of the game's state.
+     *
+     * @throws IOException if the recording cannot be finished.
+     */
+    @Override
+    public void close() throws IOException {
+        if (this.closed) {
+            return;
+        }
+        this.closed = true;
+        try {
+            if (this.firstTick < 0) {
+                this.firstTick = 0;
+                this.lastEventTick = 0;
+                this.nextTick = 0;
+                this.out.writeInt(0);
+            }
+            InputRecording.writeVarInt(this.nextTick - this.lastEventTick, this.out);
+            this.out.writeByte(InputRecording.END);
+            this.out.writeLong(this.checksum());
+        } finally {
+            this.out.close();
+        }
+    }
+
+    private long checksum() {
+        try {
+            final CRC32 crc = new CRC32();
+            crc.update(GameSnapshot.capture(this.game, this.nextTick));
+            return crc.getValue();
+        } catch (SnapshotException e) {
+            return InputRecording.NO_CHECKSUM;
+        }
+    }
+}
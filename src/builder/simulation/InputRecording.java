@@ -0,0 +1,342 @@
+package builder.simulation;
+
+import builder.GameRandom;
+import builder.JavaBeanFarm;
+import builder.snapshot.GameSnapshot;
+import builder.snapshot.SnapshotException;
+import builder.world.WorldLoadException;
+
+import engine.input.MouseState;
+import engine.renderer.Dimensions;
+import engine.renderer.TileGrid;
+
+import java.io.BufferedInputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.CRC32;
+
+/**
+ * A game recorded by an {@link InputRecorder}, ready to be replayed headlessly.
+ *
+ * <p>A recording rebuilds the game from its saved map, details and random seed, then feeds the
+ * recorded input back through a {@link HeadlessRunner}. Nothing is drawn and no tick waits for the
+ * clock, so an hour of play replays in seconds. From the command line:
+ *
+ * <pre>java builder.simulation.InputRecording recording-file</pre>
+ */
+public class InputRecording {
+    /** Identifies a recording stream, "JBFR". */
+    public static final int MAGIC = 0x4A424652;
+
+    /** The format version written by {@link InputRecorder}. */
+    public static final int VERSION = 1;
+
+    /** Written in place of a checksum when the final state could not be captured. */
+    public static final long NO_CHECKSUM = -1;
+
+    static final int END = 0;
+    static final int KEYS_CHANGED = 1;
+    static final int MOUSE_CHANGED = 2;
+
+    private static final int LEFT = 1;
+    private static final int RIGHT = 2;
+    private static final int MIDDLE = 4;
+
+    private final long seed;
+    private final Dimensions dimensions;
+    private final String map;
+    private final String details;
+    private final int startTick;
+    private final int ticks;
+    private final long checksum;
+    private final ScriptedInput input;
+
+    private InputRecording(
+            long seed,
+            Dimensions dimensions,
+            String map,
+            String details,
+            int startTick,
+            int ticks,
+            long checksum,
+            ScriptedInput input) {
+        this.seed = seed;
+        this.dimensions = dimensions;
+        this.map = map;
+        this.details = details;
+        this.startTick = startTick;
+        this.ticks = ticks;
+        this.checksum = checksum;
+        this.input = input;
+    }
+
+    /**
+     * Reads a recording from a file.
+     *
+     * @param path the recording file.
+     * @return the recording.
+     * @throws IOException if the file cannot be read or is not a valid recording.
+     */
+    public static InputRecording read(Path path) throws IOException {
+        try (InputStream stream = new BufferedInputStream(Files.newInputStream(path))) {
+            return read(stream);
+        }
+    }
+
+    /**
+     * Reads a recording from a stream.
+     *
+     * @param stream the recording.
+     * @return the recording.
+     * @throws IOException if the stream cannot be read or is not a valid recording.
+     */
+    public static InputRecording read(InputStream stream) throws IOException {
+        final DataInput in = new DataInputStream(stream);
+        if (in.readInt() != MAGIC) {
+            throw new SnapshotException("not an input recording");
+        }
+        final int version = in.readShort();
+        if (version != VERSION) {
+            throw new SnapshotException("unsupported recording version " + version);
+        }
+        final long seed = in.readLong();
+        final int tilesPerRow = in.readShort();
+        final int size = in.readShort();
+        final String map = readText(in);
+        final String details = readText(in);
+        final int startTick = in.readInt();
+
+        final ScriptedInput input = new ScriptedInput();
+        int tick = startTick;
+        while (true) {
+            tick += readVarInt(in);
+            final int changes = in.readUnsignedByte();
+            if (changes == END) {
+                break;
+            }
+            if ((changes & KEYS_CHANGED) != 0) {
+                final Character[] keys = new Character[in.readUnsignedByte()];
+                for (int i = 0; i < keys.length; i++) {
+                    keys[i] = in.readChar();
+                }
+                input.keys(tick, keys);
+            }
+            if ((changes & MOUSE_CHANGED) != 0) {
+                input.mouse(tick, readMouse(in));
+            }
+        }
+        final long checksum = in.readLong();
+        return new InputRecording(
+                seed,
+                new TileGrid(tilesPerRow, size),
+                map,
+                details,
+                startTick,
+                tick - startTick,
+                checksum,
+                input);
+    }
+
+    /**
+     * Returns the seed of the recorded game's random number generator.
+     *
+     * @return the game's seed.
+     */
+    public long getSeed() {
+        return this.seed;
+    }
+
+    /**
+     * Returns the number of the first recorded tick.
+     *
+     * @return the first tick.
+     */
+    public int getStartTick() {
+        return this.startTick;
+    }
+
+    /**
+     * Returns the number of ticks recorded.
+     *
+     * @return the recording's length in ticks.
+     */
+    public int getTicks() {
+        return this.ticks;
+    }
+
+    /**
+     * Returns the recorded input.
+     *
+     * @return the input for every recorded tick.
+     */
+    public InputSource getInput() {
+        return this.input;
+    }
+
+    /**
+     * Rebuilds the recorded game in its starting state and returns a runner that will feed it the
+     * recorded input from the first recorded tick.
+     *
+     * @return a runner for a fresh copy of the recorded game.
+     * @throws IOException if the saved map or details cannot be read.
+     * @throws WorldLoadException if the saved map is invalid.
+     */
+    public HeadlessRunner newRunner() throws IOException, WorldLoadException {
+        final JavaBeanFarm game =
+                new JavaBeanFarm(
+                        this.dimensions,
+                        new StringReader(this.map),
+                        new StringReader(this.details),
+                        new GameRandom(this.seed));
+        return new HeadlessRunner(game, this.dimensions, this.input, this.startTick);
+    }
+
+    /**
+     * Returns whether the given game is in exactly the state the recorded game finished in.
+     *
+     * @param game the replayed game.
+     * @param tick the number of the next tick the replayed game would run.
+     * @return true if the states match, false if they differ or the recording has no checksum.
+     * @throws SnapshotException if the game's state cannot be captured.
+     */
+    public boolean matches(JavaBeanFarm game, int tick) throws SnapshotException {
+        if (this.checksum == NO_CHECKSUM) {
+            return false;
+        }
+        final CRC32 crc = new CRC32();
+        crc.update(GameSnapshot.capture(game, tick));
+        return crc.getValue() == this.checksum;
+    }
+
+    /**
+     * Replays a recording at full speed and reports whether it ended in the recorded state.
+     *
+     * @param args the recording file.
+     * @throws IOException if the recording cannot be read.
+     * @throws WorldLoadException if the recorded map is invalid.
+     */
+    public static void main(String[] args) throws IOException, WorldLoadException {
+        if (args.length != 1) {
+            System.err.println("usage: java builder.simulation.InputRecording recording-file");
+            System.exit(2);
+        }
+        final InputRecording recording = read(Path.of(args[0]));
+        final HeadlessRunner runner = recording.newRunner();
+        System.out.println(runner.run(recording.getTicks()));
+        if (recording.matches(runner.getGame(), runner.getTick())) {
+            System.out.println("final state matches the recording");
+        } else {
+            System.out.println("final state differs from the recording");
+            System.exit(1);
+        }
+    }
+
+    static void writeText(String text, DataOutput out) throws IOException {
+        final byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readText(DataInput in) throws IOException {
+        final int length = in.readInt();
+        if (length < 0) {
+            throw new SnapshotException("negative text length " + length);
+        }
+        final byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /** Writes a non-negative value in as few bytes as it needs, seven bits per byte. */
+    static void writeVarInt(int value, DataOutput out) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarInt(DataInput in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            final int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new SnapshotException("malformed tick gap");
+    }
+
+    static boolean sameMouse(MouseState a, MouseState b) {
+        return a.getMouseX() == b.getMouseX()
+                && a.getMouseY() == b.getMouseY()
+                && a.isLeftPressed() == b.isLeftPressed()
+                && a.isRightPressed() == b.isRightPressed()
+                && a.isMiddlePressed() == b.isMiddlePressed();
+    }
+
+    static MouseState copyOf(MouseState mouse) {
+        return new RecordedMouse(
+                mouse.getMouseX(),
+                mouse.getMouseY(),
+                (mouse.isLeftPressed() ? LEFT : 0)
+                        | (mouse.isRightPressed() ? RIGHT : 0)
+                        | (mouse.isMiddlePressed() ? MIDDLE : 0));
+    }
+
+    static void writeMouse(MouseState mouse, DataOutput out) throws IOException {
+        out.writeShort(mouse.getMouseX());
+        out.writeShort(mouse.getMouseY());
+        out.writeByte(((RecordedMouse) copyOf(mouse)).buttons);
+    }
+
+    private static MouseState readMouse(DataInput in) throws IOException {
+        return new RecordedMouse(in.readShort(), in.readShort(), in.readUnsignedByte());
+    }
+
+    /** An immutable mouse state as stored in a recording. */
+    private static final class RecordedMouse implements MouseState {
+        private final int x;
+        private final int y;
+        private final int buttons;
+
+        private RecordedMouse(int x, int y, int buttons) {
+            this.x = x;
+            this.y = y;
+            this.buttons = buttons;
+        }
+
+        @Override
+        public int getMouseX() {
+            return this.x;
+        }
+
+        @Override
+        public int getMouseY() {
+            return this.y;
+        }
+
+        @Override
+        public boolean isLeftPressed() {
+            return (this.buttons & LEFT) != 0;
+        }
+
+        @Override
+        public boolean isRightPressed() {
+            return (this.buttons & RIGHT) != 0;
+        }
+
+        @Override
+        public boolean isMiddlePressed() {
+            return (this.buttons & MIDDLE) != 0;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package builder.simulation;
+
+import engine.input.KeyState;
+import engine.input.MouseState;
+
+import java.util.List;
+
+/**
+ * Supplies the keyboard and mouse state for each tick of a headless simulation.
+ */
+public interface InputSource {
+
+    /** A keyboard with no keys held down. */
+    KeyState NO_KEYS =
+            new KeyState() {
+                @Override
+                public List<Character> getDown() {
+                    return List.of();
+                }
+
+                @Override
+                public boolean isDown(char character) {
+                    return false;
+                }
+            };
+
+    /** A mouse resting at the origin with no buttons pressed. */
+    MouseState NO_MOUSE =
+            new MouseState() {
+                @Override
+                public int getMouseX() {
+                    return 0;
+                }
+
+                @Override
+                public int getMouseY() {
+                    return 0;
+                }
+
+                @Override
+                public boolean isLeftPressed() {
+                    return false;
+                }
+
+                @Override
+                public boolean isRightPressed() {
+                    return false;
+                }
+
+                @Override
+                public boolean isMiddlePressed() {
+                    return false;
+                }
+            };
+
+    /**
+     * Returns the keyboard state for the given tick.
+     *
+     * @param tick the tick about to be simulated.
+     * @return the keys held during that tick.
+     */
+    KeyState keysAt(int tick);
+
+    /**
+     * Returns the mouse state for the given tick.
+     *
+     * @param tick the tick about to be simulated.
+     * @return the mouse state during that tick.
+     */
+    MouseState mouseAt(int tick);
+
+    /**
+     * Returns the first tick after the given one whose input may differ from the given tick's.
+     * Every tick in between has the same keys and mouse state.
+     *
+     * <p>Sources that cannot look ahead return the next tick, which is always safe.
+     *
+     * @param tick a tick of the simulation.
+     * @return the next tick the input may change, {@link Integer#MAX_VALUE} if it never does.
+     */
+    default int nextChange(int tick) {
+        return tick + 1;
+    }
+
+    /**
+     * Returns an input source that never presses anything.
+     *
+     * @return an idle input source.
+     */
+    static InputSource idle() {
+        return new InputSource() {
+            @Override
+            public KeyState keysAt(int tick) {
+                return NO_KEYS;
+            }
+
+            @Override
+            public MouseState mouseAt(int tick) {
+                return NO_MOUSE;
+            }
+
+            @Override
+            public int nextChange(int tick) {
+                return Integer.MAX_VALUE;
+            }
+        };
+    }
+}
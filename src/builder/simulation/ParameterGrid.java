@@ -0,0 +1,223 @@
+package builder.simulation;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * The values to try for each setting of a details file, swept by a {@link BalanceSweep}.
+ *
+ * <p>A grid is read from lines of the form {@code setting = alternative; alternative; ...}. The
+ * settings are {@code coins} and {@code food}, whose alternatives are numbers, and {@code
+ * magpiespawner}, {@code eaglespawner}, {@code pigeonspawner} and {@code cabbages}, whose
+ * alternatives are comma-separated lists of details-file entries ({@code none} for an empty list).
+ * Blank lines and lines starting with {@code #} are ignored. For example:
+ *
+ * <pre>
+ * coins = 4; 20
+ * food = 5
+ * magpiespawner = x:100 y:100 duration:300; x:100 y:100 duration:900
+ * cabbages = none; x:200 y:200, x:240 y:200
+ * </pre>
+ *
+ * <p>Every combination of alternatives is a {@link Point} of the grid, so the example has eight.
+ * Settings left out keep a single default: 10 coins, 5 food and no spawners or cabbages.
+ */
+public class ParameterGrid {
+    /** The settings a grid may vary, in the order they appear in a details file. */
+    public static final List<String> SETTINGS =
+            List.of("coins", "food", "magpiespawner", "eaglespawner", "pigeonspawner", "cabbages");
+
+    private static final String NONE = "none";
+
+    private final Map<String, List<String>> axes = new LinkedHashMap<>();
+
+    /** Constructs a grid with one default point. */
+    public ParameterGrid() {
+        this.axes.put("coins", List.of("10"));
+        this.axes.put("food", List.of("5"));
+        for (String setting : SETTINGS.subList(2, SETTINGS.size())) {
+            this.axes.put(setting, List.of(NONE));
+        }
+    }
+
+    /**
+     * Reads a grid from the given reader.
+     *
+     * @param reader the grid description.
+     * @return the grid.
+     * @throws IOException if the reader fails or a line is not a valid setting.
+     */
+    public static ParameterGrid read(Reader reader) throws IOException {
+        final ParameterGrid grid = new ParameterGrid();
+        final BufferedReader lines = new BufferedReader(reader);
+        String line;
+        int number = 0;
+        while ((line = lines.readLine()) != null) {
+            number++;
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            final int equals = line.indexOf('=');
+            if (equals < 0) {
+                throw new IOException("line " + number + " is not of the form setting = values");
+            }
+            final List<String> values = new ArrayList<>();
+            for (String value : line.substring(equals + 1).split(";")) {
+                values.add(value.trim().isEmpty() ? NONE : value.trim());
+            }
+            try {
+                grid.vary(line.substring(0, equals).trim(), values.toArray(new String[0]));
+            } catch (IllegalArgumentException e) {
+                throw new IOException("line " + number + ": " + e.getMessage(), e);
+            }
+        }
+        return grid;
+    }
+
+    /**
+     * Sets the alternatives to try for a setting, replacing any set before.
+     *
+     * @param setting one of {@link #SETTINGS}.
+     * @param values the alternatives, at least one.
+     * @return this grid.
+     * @throws IllegalArgumentException if the setting is unknown, no values are given or a value
+     *     is malformed.
+     */
+    public ParameterGrid vary(String setting, String... values) {
+        if (!SETTINGS.contains(setting)) {
+            throw new IllegalArgumentException("unknown setting " + setting);
+        }
+        if (values.length == 0) {
+            throw new IllegalArgumentException("no values for " + setting);
+        }
+        for (String value : values) {
+            check(setting, value);
+        }
+        this.axes.put(setting, List.of(values));
+        return this;
+    }
+
+    /**
+     * Returns every combination of the grid's alternatives, varying the last setting fastest.
+     *
+     * @return the grid's points, numbered from 0.
+     */
+    public List<Point> points() {
+        final List<Point> points = new ArrayList<>();
+        final int[] choice = new int[SETTINGS.size()];
+        while (true) {
+            final List<String> values = new ArrayList<>();
+            for (int i = 0; i < choice.length; i++) {
+                values.add(this.axes.get(SETTINGS.get(i)).get(choice[i]));
+            }
+            points.add(new Point(points.size(), values));
+
+            int axis = choice.length - 1;
+            while (axis >= 0 && ++choice[axis] == this.axes.get(SETTINGS.get(axis)).size()) {
+                choice[axis] = 0;
+                axis--;
+            }
+            if (axis < 0) {
+                return points;
+            }
+        }
+    }
+
+    private static void check(String setting, String value) {
+        if (setting.equals("coins") || setting.equals("food")) {
+            try {
+                Integer.parseInt(value);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException(setting + " must be a number, not " + value);
+            }
+            return;
+        }
+        final int fields = setting.equals("cabbages") ? 2 : 3;
+        for (String entry : entries(value)) {
+            final String[] parts = entry.split(" +");
+            if (parts.length != fields) {
+                throw new IllegalArgumentException("malformed " + setting + " entry " + entry);
+            }
+            for (String part : parts) {
+                final int colon = part.indexOf(':');
+                try {
+                    Integer.parseInt(part.substring(colon + 1));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("malformed " + setting + " entry " + entry);
+                }
+            }
+        }
+    }
+
+    private static List<String> entries(String value) {
+        final List<String> entries = new ArrayList<>();
+        if (!value.equals(NONE)) {
+            for (String entry : value.split(",")) {
+                entries.add(entry.trim());
+            }
+        }
+        return entries;
+    }
+
+    /** One combination of settings, which can be written out as a details file. */
+    public static class Point {
+        private final int index;
+        private final List<String> values;
+
+        private Point(int index, List<String> values) {
+            this.index = index;
+            this.values = values;
+        }
+
+        /**
+         * Returns this point's position in {@link ParameterGrid#points()}.
+         *
+         * @return the point's index.
+         */
+        public int getIndex() {
+            return this.index;
+        }
+
+        /**
+         * Returns this point's value for the given setting, as it was written in the grid.
+         *
+         * @param setting one of {@link ParameterGrid#SETTINGS}.
+         * @return the setting's value.
+         */
+        public String get(String setting) {
+            return this.values.get(SETTINGS.indexOf(setting));
+        }
+
+        /**
+         * Returns the details file for a farmer at the given position with this point's settings.
+         *
+         * @param x the farmer's x-coordinate.
+         * @param y the farmer's y-coordinate.
+         * @return the contents of a details file.
+         */
+        public String toDetails(int x, int y) {
+            final StringJoiner details = new StringJoiner("\n");
+            details.add(":chickenFarmer:")
+                    .add("|x:" + x + " y:" + y
+                            + " coins:" + this.get("coins") + " food:" + this.get("food"))
+                    .add("end;")
+                    .add("");
+            for (String section : List.of("cabbages", "magpiespawner", "eaglespawner",
+                    "pigeonspawner")) {
+                details.add(":" + section + ":");
+                for (String entry : entries(this.get(section))) {
+                    details.add("|" + entry);
+                }
+                details.add("end;").add("");
+            }
+            return details.toString();
+        }
+    }
+}
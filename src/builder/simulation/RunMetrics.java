@@ -0,0 +1,155 @@
+package builder.simulation;
+
+import builder.GameEventListener;
+import builder.entities.npc.enemies.Enemy;
+import builder.entities.resources.Cabbage;
+import builder.inventory.Inventory;
+
+/**
+ * What happened to the farm during one game of a {@link BalanceSweep}: its coins and food at
+ * regular samples, what enemies stole and whether the player ran out of food.
+ *
+ * <p>The metrics listen to the game's events, so they are gathered as the game runs rather than
+ * by scanning the farm afterwards.
+ */
+public class RunMetrics implements GameEventListener {
+    private final int[] coins;
+    private final int[] food;
+    private int tick = 0;
+    private int coinsStolen = 0;
+    private int foodStolen = 0;
+    private int cabbagesStolen = 0;
+    private int harvested = 0;
+    private int starvedAt = -1;
+
+    /**
+     * Constructs empty metrics with room for the given number of samples.
+     *
+     * @param samples how many times the coins and food will be sampled.
+     */
+    public RunMetrics(int samples) {
+        this.coins = new int[samples];
+        this.food = new int[samples];
+    }
+
+    @Override
+    public void tickStarted(int tick) {
+        this.tick = tick;
+    }
+
+    @Override
+    public void cabbageHarvested(Cabbage cabbage) {
+        this.harvested++;
+    }
+
+    @Override
+    public void cabbageStolen(Cabbage cabbage) {
+        this.cabbagesStolen++;
+    }
+
+    @Override
+    public void coinsStolen(Enemy thief, int coins) {
+        this.coinsStolen += coins;
+    }
+
+    @Override
+    public void foodStolen(Enemy thief, int food) {
+        this.foodStolen += food;
+    }
+
+    @Override
+    public void foodChanged(int food) {
+        if (food <= 0 && this.starvedAt < 0) {
+            this.starvedAt = this.tick;
+        }
+    }
+
+    /**
+     * Records the inventory's coins and food as the given sample.
+     *
+     * @param sample the sample number, from 0.
+     * @param inventory the game's inventory.
+     * @param tick the tick the sample is taken after.
+     */
+    public void sample(int sample, Inventory inventory, int tick) {
+        this.coins[sample] = inventory.getCoins();
+        this.food[sample] = inventory.getFood();
+        if (this.food[sample] <= 0 && this.starvedAt < 0) {
+            this.starvedAt = tick;
+        }
+    }
+
+    /**
+     * Returns the coins held at the given sample.
+     *
+     * @param sample the sample number, from 0.
+     * @return the coins held.
+     */
+    public int getCoins(int sample) {
+        return this.coins[sample];
+    }
+
+    /**
+     * Returns the food held at the given sample.
+     *
+     * @param sample the sample number, from 0.
+     * @return the food held.
+     */
+    public int getFood(int sample) {
+        return this.food[sample];
+    }
+
+    /**
+     * Returns the number of coins magpies took from the player.
+     *
+     * @return the coins stolen.
+     */
+    public int getCoinsStolen() {
+        return this.coinsStolen;
+    }
+
+    /**
+     * Returns the amount of food eagles took from the player.
+     *
+     * @return the food stolen.
+     */
+    public int getFoodStolen() {
+        return this.foodStolen;
+    }
+
+    /**
+     * Returns the number of cabbages pigeons took from the farm.
+     *
+     * @return the cabbages stolen.
+     */
+    public int getCabbagesStolen() {
+        return this.cabbagesStolen;
+    }
+
+    /**
+     * Returns the number of cabbages the player harvested.
+     *
+     * @return the cabbages harvested.
+     */
+    public int getHarvested() {
+        return this.harvested;
+    }
+
+    /**
+     * Returns whether the player never ran out of food.
+     *
+     * @return true if the food stayed above zero.
+     */
+    public boolean survived() {
+        return this.starvedAt < 0;
+    }
+
+    /**
+     * Returns the tick on which the player first ran out of food.
+     *
+     * @return the tick, or -1 if the player {@link #survived()}.
+     */
+    public int getStarvedAt() {
+        return this.starvedAt;
+    }
+}
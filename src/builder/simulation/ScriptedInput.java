@@ -0,0 +1,124 @@
+package builder.simulation;
+
+import engine.input.KeyState;
+import engine.input.MouseState;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * An {@link InputSource} driven by a script of input changes.
+ *
+ * <p>Each change takes effect from its tick onwards and holds until the next change, so a key held
+ * for a thousand ticks costs one entry rather than a thousand.
+ */
+public class ScriptedInput implements InputSource {
+    private final TreeMap<Integer, KeyState> keys = new TreeMap<>();
+    private final TreeMap<Integer, MouseState> mice = new TreeMap<>();
+
+    /** Constructs an empty script, equivalent to {@link InputSource#idle()}. */
+    public ScriptedInput() {
+        this.keys.put(0, NO_KEYS);
+        this.mice.put(0, NO_MOUSE);
+    }
+
+    /**
+     * Holds the given keys down from the given tick until the next key change.
+     *
+     * @param tick the first tick the keys are held.
+     * @param down the keys held down, none to release every key.
+     * @return this script.
+     */
+    public ScriptedInput keys(int tick, Character... down) {
+        final List<Character> held = List.of(down);
+        this.keys.put(
+                tick,
+                new KeyState() {
+                    @Override
+                    public List<Character> getDown() {
+                        return held;
+                    }
+
+                    @Override
+                    public boolean isDown(char character) {
+                        return held.contains(character);
+                    }
+                });
+        return this;
+    }
+
+    /**
+     * Sets the mouse state from the given tick until the next mouse change.
+     *
+     * @param tick the first tick of the new mouse state.
+     * @param mouse the mouse state.
+     * @return this script.
+     */
+    public ScriptedInput mouse(int tick, MouseState mouse) {
+        this.mice.put(tick, mouse);
+        return this;
+    }
+
+    /**
+     * Presses the left mouse button at the given position for exactly one tick.
+     *
+     * @param tick the tick of the click.
+     * @param x the x-coordinate of the click.
+     * @param y the y-coordinate of the click.
+     * @return this script.
+     */
+    public ScriptedInput leftClick(int tick, int x, int y) {
+        final MouseState after = this.mouseAt(tick + 1);
+        this.mice.put(
+                tick,
+                new MouseState() {
+                    @Override
+                    public int getMouseX() {
+                        return x;
+                    }
+
+                    @Override
+                    public int getMouseY() {
+                        return y;
+                    }
+
+                    @Override
+                    public boolean isLeftPressed() {
+                        return true;
+                    }
+
+                    @Override
+                    public boolean isRightPressed() {
+                        return false;
+                    }
+
+                    @Override
+                    public boolean isMiddlePressed() {
+                        return false;
+                    }
+                });
+        this.mice.putIfAbsent(tick + 1, after);
+        return this;
+    }
+
+    @Override
+    public KeyState keysAt(int tick) {
+        final Map.Entry<Integer, KeyState> entry = this.keys.floorEntry(tick);
+        return entry == null ? NO_KEYS : entry.getValue();
+    }
+
+    @Override
+    public MouseState mouseAt(int tick) {
+        final Map.Entry<Integer, MouseState> entry = this.mice.floorEntry(tick);
+        return entry == null ? NO_MOUSE : entry.getValue();
+    }
+
+    @Override
+    public int nextChange(int tick) {
+        final Integer key = this.keys.higherKey(tick);
+        final Integer mouse = this.mice.higherKey(tick);
+        return Math.min(
+                key == null ? Integer.MAX_VALUE : key, mouse == null ? Integer.MAX_VALUE : mouse);
+    }
+}
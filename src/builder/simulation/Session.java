@@ -0,0 +1,100 @@
+package builder.simulation;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * A single farm running inside a {@link SessionHost}.
+ *
+ * <p>Progress counters are updated by the session's own thread and may be read from any thread.
+ */
+public class Session {
+    private final String name;
+    private final int targetTicks;
+    private volatile int ticksRun = 0;
+    private volatile long startNanos = 0;
+    private volatile long endNanos = 0;
+    private Future<SimulationReport> result;
+
+    Session(String name, int targetTicks) {
+        this.name = name;
+        this.targetTicks = targetTicks;
+    }
+
+    void setResult(Future<SimulationReport> result) {
+        this.result = result;
+    }
+
+    void started() {
+        this.startNanos = System.nanoTime();
+    }
+
+    void ticked(int ticks) {
+        this.ticksRun = ticks;
+    }
+
+    void finished() {
+        this.endNanos = System.nanoTime();
+    }
+
+    /**
+     * Returns the name the session was submitted with.
+     *
+     * @return the session name.
+     */
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * Returns the number of ticks the session was asked to run.
+     *
+     * @return the target tick count.
+     */
+    public int getTargetTicks() {
+        return this.targetTicks;
+    }
+
+    /**
+     * Returns the number of ticks run so far.
+     *
+     * @return ticks completed.
+     */
+    public int getTicksRun() {
+        return this.ticksRun;
+    }
+
+    /**
+     * Returns the session's average tick rate since it started, or 0 if it has not started.
+     *
+     * @return ticks per wall-clock second.
+     */
+    public double getTicksPerSecond() {
+        final long start = this.startNanos;
+        if (start == 0) {
+            return 0;
+        }
+        final long end = this.endNanos == 0 ? System.nanoTime() : this.endNanos;
+        return end == start ? 0 : this.ticksRun * 1e9 / (end - start);
+    }
+
+    /**
+     * Returns whether the session has finished, successfully or not.
+     *
+     * @return true once the session is no longer running.
+     */
+    public boolean isDone() {
+        return this.result.isDone();
+    }
+
+    /**
+     * Waits for the session to finish and returns its report.
+     *
+     * @return the report of the completed run.
+     * @throws ExecutionException if the session failed to load or crashed.
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    public SimulationReport awaitReport() throws ExecutionException, InterruptedException {
+        return this.result.get();
+    }
+}
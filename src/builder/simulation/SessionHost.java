@@ -0,0 +1,186 @@
+package builder.simulation;
+
+import engine.renderer.Dimensions;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Runs many independent headless farms in one JVM, each on its own virtual thread.
+ *
+ * <p>The only asset the host itself shares is the text of each map and details file, which it
+ * reads once and hands every session its own reader over. Parsed maps are not shared: tiles and
+ * entities are mutable, so each session parses the text and builds its own world. Sprite groups
+ * are loaded once per JVM by the static {@link builder.ui.SpriteGallery} whether or not a host is
+ * used, so running sessions in one host saves the repeated loads and JIT warm-up of separate JVMs
+ * but no more.
+ *
+ * <p>At most {@code maxSessions} sessions may run at once; further submissions are rejected until
+ * a running session finishes. Simulation is CPU-bound and virtual threads are not preempted, so
+ * each session yields every {@link #YIELD_INTERVAL} ticks to let others share the carrier threads.
+ */
+public class SessionHost implements AutoCloseable {
+    /** Number of ticks a session runs before yielding its carrier thread. */
+    public static final int YIELD_INTERVAL = 256;
+
+    private final Semaphore admission;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<Path, String> assets = new ConcurrentHashMap<>();
+    private final List<Session> sessions = new ArrayList<>();
+
+    /**
+     * Constructs a host that runs at most the given number of sessions at once.
+     *
+     * @param maxSessions the admission limit.
+     * @throws IllegalArgumentException if {@code maxSessions < 1}.
+     */
+    public SessionHost(int maxSessions) {
+        if (maxSessions < 1) {
+            throw new IllegalArgumentException("a host must admit at least one session");
+        }
+        this.admission = new Semaphore(maxSessions);
+    }
+
+    /**
+     * Starts a new session if the host has room for it.
+     *
+     * @param name a name to identify the session.
+     * @param dimensions the dimensions of the session's simulated screen.
+     * @param mapFile the world map file.
+     * @param detailsFile the player, spawner and cabbage details file.
+     * @param input where the session's input comes from.
+     * @param ticks how many ticks to run.
+     * @return the started session.
+     * @throws RejectedExecutionException if the admission limit has been reached.
+     * @throws IOException if either file cannot be read.
+     */
+    public Session submit(
+            String name,
+            Dimensions dimensions,
+            String mapFile,
+            String detailsFile,
+            InputSource input,
+            int ticks)
+            throws IOException {
+        final String map = this.asset(mapFile);
+        final String details = this.asset(detailsFile);
+        if (!this.admission.tryAcquire()) {
+            throw new RejectedExecutionException("session limit reached, " + name + " rejected");
+        }
+
+        final Session session = new Session(name, ticks);
+        try {
+            session.setResult(
+                    this.executor.submit(
+                            () -> {
+                                try {
+                                    return run(session, dimensions, map, details, input);
+                                } finally {
+                                    this.admission.release();
+                                }
+                            }));
+        } catch (RejectedExecutionException e) {
+            this.admission.release();
+            throw e;
+        }
+        synchronized (this.sessions) {
+            this.sessions.add(session);
+        }
+        return session;
+    }
+
+    private static SimulationReport run(
+            Session session, Dimensions dimensions, String map, String details, InputSource input)
+            throws Exception {
+        final HeadlessRunner runner =
+                HeadlessRunner.load(
+                        dimensions, new StringReader(map), new StringReader(details), input);
+        session.started();
+        final long start = System.nanoTime();
+        for (int i = 1; i <= session.getTargetTicks(); i++) {
+            runner.tick();
+            if (i % YIELD_INTERVAL == 0) {
+                session.ticked(i);
+                Thread.yield();
+            }
+        }
+        session.ticked(session.getTargetTicks());
+        session.finished();
+        return new SimulationReport(
+                runner.getGame(), session.getTargetTicks(), System.nanoTime() - start);
+    }
+
+    private String asset(String file) throws IOException {
+        try {
+            return this.assets.computeIfAbsent(
+                    Path.of(file).toAbsolutePath().normalize(),
+                    path -> {
+                        try {
+                            return Files.readString(path);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Returns the number of sessions currently admitted and not yet finished.
+     *
+     * @return the running session count.
+     */
+    public int getRunningSessions() {
+        synchronized (this.sessions) {
+            int running = 0;
+            for (Session session : this.sessions) {
+                if (!session.isDone()) {
+                    running++;
+                }
+            }
+            return running;
+        }
+    }
+
+    /**
+     * Returns every session submitted to this host, finished or not.
+     *
+     * @return a copy of the session list.
+     */
+    public List<Session> getSessions() {
+        synchronized (this.sessions) {
+            return new ArrayList<>(this.sessions);
+        }
+    }
+
+    /**
+     * Returns the total ticks run across all sessions.
+     *
+     * @return the combined tick count.
+     */
+    public long getTotalTicks() {
+        long total = 0;
+        for (Session session : this.getSessions()) {
+            total += session.getTicksRun();
+        }
+        return total;
+    }
+
+    /** Waits for all running sessions to finish, then shuts the host down. */
+    @Override
+    public void close() {
+        this.executor.close();
+    }
+}
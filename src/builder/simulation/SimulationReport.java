@@ -0,0 +1,120 @@
+package builder.simulation;
+
+import builder.JavaBeanFarm;
+
+/**
+ * A summary of a headless simulation run: how fast it went and where the farm ended up.
+ */
+public class SimulationReport {
+    private final int ticks;
+    private final long elapsedNanos;
+    private final int coins;
+    private final int food;
+    private final int tiles;
+    private final int npcs;
+    private final int enemies;
+
+    /**
+     * Captures the state of the given game at the end of a run.
+     *
+     * @param game the simulated game.
+     * @param ticks how many ticks were run.
+     * @param elapsedNanos how long the run took, in nanoseconds.
+     */
+    public SimulationReport(JavaBeanFarm game, int ticks, long elapsedNanos) {
+        this.ticks = ticks;
+        this.elapsedNanos = elapsedNanos;
+        this.coins = game.getInventory().getCoins();
+        this.food = game.getInventory().getFood();
+        this.tiles = game.getWorld().allTiles().size();
+        this.npcs = game.getNpcs().getNpcs().size();
+        this.enemies = game.getEnemies().getAllEnemies().size();
+    }
+
+    /**
+     * Returns the number of ticks run.
+     *
+     * @return the tick count.
+     */
+    public int getTicks() {
+        return this.ticks;
+    }
+
+    /**
+     * Returns the wall-clock duration of the run.
+     *
+     * @return the elapsed time in nanoseconds.
+     */
+    public long getElapsedNanos() {
+        return this.elapsedNanos;
+    }
+
+    /**
+     * Returns the average simulation rate.
+     *
+     * @return ticks simulated per wall-clock second.
+     */
+    public double getTicksPerSecond() {
+        return this.elapsedNanos == 0 ? 0 : this.ticks * 1e9 / this.elapsedNanos;
+    }
+
+    /**
+     * Returns the coins held at the end of the run.
+     *
+     * @return the final coin count.
+     */
+    public int getCoins() {
+        return this.coins;
+    }
+
+    /**
+     * Returns the food held at the end of the run.
+     *
+     * @return the final food count.
+     */
+    public int getFood() {
+        return this.food;
+    }
+
+    /**
+     * Returns the number of tiles in the world at the end of the run.
+     *
+     * @return the final tile count.
+     */
+    public int getTiles() {
+        return this.tiles;
+    }
+
+    /**
+     * Returns the number of NPCs alive at the end of the run.
+     *
+     * @return the final NPC count.
+     */
+    public int getNpcs() {
+        return this.npcs;
+    }
+
+    /**
+     * Returns the number of enemies alive at the end of the run.
+     *
+     * @return the final enemy count.
+     */
+    public int getEnemies() {
+        return this.enemies;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "ticks=%d elapsed=%.3fs rate=%.0f ticks/s coins=%d food=%d tiles=%d npcs=%d"
+                        + " enemies=%d",
+                this.ticks,
+                this.elapsedNanos / 1e9,
+                this.getTicksPerSecond(),
+                this.coins,
+                this.food,
+                this.tiles,
+                this.npcs,
+                this.enemies);
+    }
+}
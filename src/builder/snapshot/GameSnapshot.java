@@ -0,0 +1,725 @@
+package builder.snapshot;
+
+import builder.GameRandom;
+import builder.JavaBeanFarm;
+import builder.entities.npc.BeeHive;
+import builder.entities.npc.GuardBee;
+import builder.entities.npc.Npc;
+import builder.entities.npc.NpcManager;
+import builder.entities.npc.Scarecrow;
+import builder.entities.npc.enemies.Bird;
+import builder.entities.npc.enemies.Eagle;
+import builder.entities.npc.enemies.Enemy;
+import builder.entities.npc.enemies.EnemyManager;
+import builder.entities.npc.enemies.Magpie;
+import builder.entities.npc.enemies.Pigeon;
+import builder.entities.npc.spawners.EagleSpawner;
+import builder.entities.npc.spawners.MagpieSpawner;
+import builder.entities.npc.spawners.PigeonSpawner;
+import builder.entities.npc.spawners.Spawner;
+import builder.entities.resources.Cabbage;
+import builder.entities.resources.Ore;
+import builder.entities.tiles.Dirt;
+import builder.entities.tiles.Grass;
+import builder.entities.tiles.OreVein;
+import builder.entities.tiles.Tile;
+import builder.entities.tiles.Water;
+import builder.inventory.Inventory;
+import builder.inventory.TinyInventory;
+import builder.inventory.items.Bucket;
+import builder.inventory.items.HiveHammer;
+import builder.inventory.items.Hoe;
+import builder.inventory.items.Item;
+import builder.inventory.items.Jackhammer;
+import builder.inventory.items.Pole;
+import builder.player.Player;
+import builder.player.PlayerManager;
+import builder.world.BeanWorld;
+import builder.world.WorldBuilder;
+
+import engine.game.Entity;
+import engine.game.HasPosition;
+import engine.renderer.Dimensions;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads and writes the complete state of a {@link JavaBeanFarm} in a compact, versioned binary
+ * format.
+ *
+ * <p>A snapshot records the tick it was taken on, the random number generator, the player's
+ * position, the inventory, every tile and what is stacked on it, every NPC, every enemy (including
+ * those waiting for admission) and every spawner's timer. References between objects, such as a
+ * bird's target or a scarecrow that is both stacked on a tile and managed as an NPC, are written
+ * as indices so they are restored as the same object.
+ *
+ * <p>Capturing a game does not change it. Sleeping NPCs are saved as they are, timers not yet
+ * caught up, together with the order NPCs are ticked in and when each sleeper fell asleep, so the
+ * restored game wakes and catches them up on the same ticks as the saved one. Other transient
+ * caches, like the tiles under the player, are not saved and are rebuilt on the first tick after
+ * restoring.
+ */
+public final class GameSnapshot {
+    /** Identifies a snapshot stream, "JBFS". */
+    public static final int MAGIC = 0x4A424653;
+
+    /** The format version written by this class. */
+    public static final int VERSION = 3;
+
+    private static final int TILE_DIRT = 1;
+    private static final int TILE_GRASS = 2;
+    private static final int TILE_WATER = 3;
+    private static final int TILE_ORE_VEIN = 4;
+
+    private static final int STACKED_CABBAGE = 1;
+    private static final int STACKED_ORE = 2;
+    private static final int STACKED_NPC = 3;
+
+    private static final int NPC_SCARECROW = 1;
+    private static final int NPC_BEE_HIVE = 2;
+    private static final int NPC_GUARD_BEE = 3;
+
+    private static final int ENEMY_MAGPIE = 1;
+    private static final int ENEMY_PIGEON = 2;
+    private static final int ENEMY_EAGLE = 3;
+
+    private static final int SPAWNER_MAGPIE = 1;
+    private static final int SPAWNER_EAGLE = 2;
+    private static final int SPAWNER_PIGEON = 3;
+
+    private static final int TARGET_NONE = 0;
+    private static final int TARGET_PLAYER = 1;
+    private static final int TARGET_TILE = 2;
+    private static final int TARGET_ENEMY = 3;
+    private static final int TARGET_POINT = 4;
+
+    private static final List<Class<? extends Item>> ITEMS =
+            List.of(Bucket.class, Hoe.class, Jackhammer.class, HiveHammer.class, Pole.class);
+
+    private final JavaBeanFarm game;
+    private final int tick;
+
+    private GameSnapshot(JavaBeanFarm game, int tick) {
+        this.game = game;
+        this.tick = tick;
+    }
+
+    /**
+     * Returns the restored game.
+     *
+     * @return the game read from the snapshot.
+     */
+    public JavaBeanFarm getGame() {
+        return this.game;
+    }
+
+    /**
+     * Returns the tick the snapshot was taken on; the restored game continues from this tick.
+     *
+     * @return the snapshot's tick.
+     */
+    public int getTick() {
+        return this.tick;
+    }
+
+    /**
+     * Encodes the game into an in-memory snapshot. This is the only part of saving that must run
+     * on the tick thread; the returned bytes can be written out from any thread.
+     *
+     * @param game the game to capture.
+     * @param tick the number of the next tick the game will run.
+     * @return the encoded snapshot.
+     * @throws SnapshotException if the game holds something that cannot be saved.
+     */
+    public static byte[] capture(JavaBeanFarm game, int tick) throws SnapshotException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try {
+            write(game, tick, new DataOutputStream(bytes));
+        } catch (SnapshotException e) {
+            throw e;
+        } catch (IOException e) {
+            throw new IllegalStateException("in-memory snapshot failed", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Writes a snapshot of the game.
+     *
+     * @param game the game to save.
+     * @param tick the number of the next tick the game will run.
+     * @param out where to write the snapshot.
+     * @throws IOException if writing fails or the game holds something that cannot be saved.
+     */
+    public static void write(JavaBeanFarm game, int tick, DataOutput out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        out.writeInt(tick);
+        out.writeLong(game.getRandom().getSeed());
+        game.getRandom().save(out);
+
+        final Player player = game.getPlayer();
+        out.writeInt(player.getX());
+        out.writeInt(player.getY());
+        writeInventory(game.getInventory(), out);
+
+        final List<Tile> tiles = game.getWorld().allTiles();
+        final Map<Object, Integer> tileIds = indexOf(tiles);
+        out.writeInt(tiles.size());
+        for (Tile tile : tiles) {
+            writeTile(tile, out);
+        }
+
+        final EnemyManager enemyManager = game.getEnemies();
+        final List<Enemy> enemies = enemyManager.getAllEnemies();
+        final List<Enemy> queued = enemyManager.getQueuedSpawns();
+        final List<Enemy> allEnemies = new ArrayList<>(enemies);
+        allEnemies.addAll(queued);
+        final Map<Object, Integer> enemyIds = indexOf(allEnemies);
+        final References refs = new References(player, tileIds, enemyIds);
+        out.writeInt(enemies.size());
+        out.writeInt(queued.size());
+        for (Enemy enemy : allEnemies) {
+            writeEnemy(enemy, refs, out);
+        }
+
+        final List<Npc> npcs = game.getNpcs().getNpcs();
+        final Map<Object, Integer> npcIds = indexOf(npcs);
+        out.writeInt(npcs.size());
+        for (Npc npc : npcs) {
+            writeNpc(npc, refs, out);
+        }
+        writeSleep(game.getNpcs(), npcIds, out);
+
+        for (Tile tile : tiles) {
+            writeStack(tile, npcIds, out);
+        }
+
+        final List<Spawner> spawners = enemyManager.getSpawner();
+        out.writeInt(spawners.size());
+        for (Spawner spawner : spawners) {
+            writeSpawner(spawner, out);
+        }
+        out.writeInt(enemyManager.getX());
+        out.writeInt(enemyManager.getY());
+    }
+
+    /**
+     * Reads a snapshot and rebuilds the game it describes.
+     *
+     * @param dimensions the dimensions to build the game with.
+     * @param stream the snapshot to read.
+     * @return the restored game and its tick.
+     * @throws IOException if reading fails or the snapshot is malformed or of an unknown version.
+     */
+    public static GameSnapshot read(Dimensions dimensions, InputStream stream) throws IOException {
+        final DataInput in = new DataInputStream(stream);
+        if (in.readInt() != MAGIC) {
+            throw new SnapshotException("not a game snapshot");
+        }
+        final int version = in.readShort();
+        if (version != VERSION) {
+            throw new SnapshotException("unsupported snapshot version " + version);
+        }
+        final int tick = in.readInt();
+        final GameRandom random = new GameRandom(in.readLong());
+        random.load(in);
+
+        final PlayerManager playerManager = new PlayerManager(in.readInt(), in.readInt());
+        final Inventory inventory = readInventory(in);
+
+        final int tileCount = in.readInt();
+        final List<Tile> tiles = new ArrayList<>(tileCount);
+        for (int i = 0; i < tileCount; i++) {
+            tiles.add(readTile(in));
+        }
+
+        final EnemyManager enemyManager = new EnemyManager(dimensions);
+        final int activeCount = in.readInt();
+        final int queuedCount = in.readInt();
+        final List<Enemy> allEnemies = new ArrayList<>(activeCount + queuedCount);
+        final Resolver resolver = new Resolver(playerManager.getPlayer(), tiles, allEnemies);
+        for (int i = 0; i < activeCount + queuedCount; i++) {
+            final Enemy enemy = readEnemy(resolver, in);
+            allEnemies.add(enemy);
+            if (i < activeCount) {
+                enemyManager.addEnemy(enemy);
+            } else {
+                enemyManager.enqueueSpawn(enemy);
+            }
+        }
+
+        final NpcManager npcManager = new NpcManager();
+        final int npcCount = in.readInt();
+        final List<Npc> npcs = new ArrayList<>(npcCount);
+        for (int i = 0; i < npcCount; i++) {
+            final Npc npc = readNpc(resolver, in);
+            npcs.add(npc);
+            npcManager.addNpc(npc);
+        }
+        readSleep(npcManager, npcs, in);
+
+        for (Tile tile : tiles) {
+            readStack(tile, npcs, in);
+        }
+
+        final int spawnerCount = in.readInt();
+        for (int i = 0; i < spawnerCount; i++) {
+            enemyManager.addSpawner(readSpawner(in));
+        }
+        enemyManager.setX(in.readInt());
+        enemyManager.setY(in.readInt());
+
+        // placed in the saved order, as fromTiles would reverse it
+        final BeanWorld world = WorldBuilder.empty();
+        for (Tile tile : tiles) {
+            world.place(tile);
+        }
+        return new GameSnapshot(
+                new JavaBeanFarm(
+                        dimensions,
+                        world,
+                        playerManager,
+                        inventory,
+                        npcManager,
+                        enemyManager,
+                        random),
+                tick);
+    }
+
+    private static void writeInventory(Inventory inventory, DataOutput out) throws IOException {
+        out.writeByte(inventory.getCapacity());
+        out.writeInt(inventory.getCoins());
+        out.writeInt(inventory.getFood());
+        out.writeByte(inventory.getActiveSlot());
+        for (int slot = 0; slot < inventory.getCapacity(); slot++) {
+            final Item item = inventory.getItem(slot);
+            if (item == null) {
+                out.writeByte(0);
+                continue;
+            }
+            final int id = ITEMS.indexOf(item.getClass());
+            if (id < 0) {
+                throw new SnapshotException("cannot save item " + item.getClass().getName());
+            }
+            out.writeByte(id + 1);
+        }
+    }
+
+    private static Inventory readInventory(DataInput in) throws IOException {
+        final int capacity = in.readByte();
+        final TinyInventory inventory = new TinyInventory(capacity, in.readInt(), in.readInt());
+        final int active = in.readByte();
+        for (int slot = 0; slot < capacity; slot++) {
+            final int id = in.readByte();
+            if (id < 0 || id > ITEMS.size()) {
+                throw new SnapshotException("unknown item id " + id);
+            }
+            if (id > 0) {
+                try {
+                    inventory.setItem(slot, ITEMS.get(id - 1).getConstructor().newInstance());
+                } catch (ReflectiveOperationException e) {
+                    throw new SnapshotException("cannot create item " + ITEMS.get(id - 1));
+                }
+            }
+        }
+        inventory.setActiveSlot(active);
+        return inventory;
+    }
+
+    private static void writeTile(Tile tile, DataOutput out) throws IOException {
+        final int kind;
+        if (tile instanceof Dirt) {
+            kind = TILE_DIRT;
+        } else if (tile instanceof Grass) {
+            kind = TILE_GRASS;
+        } else if (tile instanceof Water) {
+            kind = TILE_WATER;
+        } else if (tile instanceof OreVein) {
+            kind = TILE_ORE_VEIN;
+        } else {
+            throw new SnapshotException("cannot save tile " + tile.getClass().getName());
+        }
+        out.writeByte(kind);
+        writeEntity(tile, out);
+        if (tile instanceof Dirt dirt) {
+            dirt.save(out);
+        }
+    }
+
+    private static Tile readTile(DataInput in) throws IOException {
+        final int kind = in.readByte();
+        final int x = in.readInt();
+        final int y = in.readInt();
+        final boolean removed = in.readBoolean();
+        final Tile tile =
+                switch (kind) {
+                    case TILE_DIRT -> new Dirt(x, y);
+                    case TILE_GRASS -> new Grass(x, y);
+                    case TILE_WATER -> new Water(x, y);
+                    case TILE_ORE_VEIN -> new OreVein(x, y);
+                    default -> throw new SnapshotException("unknown tile kind " + kind);
+                };
+        if (removed) {
+            tile.markForRemoval();
+        }
+        if (tile instanceof Dirt dirt) {
+            dirt.load(in);
+        }
+        return tile;
+    }
+
+    private static void writeStack(Tile tile, Map<Object, Integer> npcIds, DataOutput out)
+            throws IOException {
+        final List<Entity> stacked = tile.getStackedEntities();
+        out.writeShort(stacked.size());
+        for (Entity entity : stacked) {
+            final Integer npc = npcIds.get(entity);
+            if (npc != null) {
+                out.writeByte(STACKED_NPC);
+                out.writeInt(npc);
+            } else if (entity instanceof Cabbage cabbage) {
+                out.writeByte(STACKED_CABBAGE);
+                writeEntity(cabbage, out);
+                cabbage.save(out);
+            } else if (entity instanceof Ore ore) {
+                out.writeByte(STACKED_ORE);
+                writeEntity(ore, out);
+                ore.save(out);
+            } else {
+                throw new SnapshotException("cannot save " + entity.getClass().getName());
+            }
+        }
+    }
+
+    private static void readStack(Tile tile, List<Npc> npcs, DataInput in) throws IOException {
+        final int count = in.readShort();
+        // an ore vein places its own ore when constructed, which stands in for the first saved ore
+        Ore builtIn = tile instanceof OreVein vein ? vein.getOre() : null;
+        for (int i = 0; i < count; i++) {
+            final int kind = in.readByte();
+            if (kind == STACKED_NPC) {
+                tile.placeOn(npcs.get(checkIndex(in.readInt(), npcs.size())));
+                continue;
+            }
+            final int x = in.readInt();
+            final int y = in.readInt();
+            final boolean removed = in.readBoolean();
+            final Entity entity;
+            switch (kind) {
+                case STACKED_CABBAGE -> {
+                    final Cabbage cabbage = new Cabbage(x, y);
+                    cabbage.load(in);
+                    tile.placeOn(cabbage);
+                    entity = cabbage;
+                }
+                case STACKED_ORE -> {
+                    final Ore ore = builtIn != null ? builtIn : new Ore(x, y);
+                    ore.load(in);
+                    if (builtIn == null) {
+                        tile.placeOn(ore);
+                    }
+                    builtIn = null;
+                    entity = ore;
+                }
+                default -> throw new SnapshotException("unknown stacked kind " + kind);
+            }
+            if (removed) {
+                entity.markForRemoval();
+            }
+        }
+    }
+
+    private static void writeNpc(Npc npc, References refs, DataOutput out) throws IOException {
+        if (npc instanceof Scarecrow) {
+            out.writeByte(NPC_SCARECROW);
+            writeEntity(npc, out);
+        } else if (npc instanceof BeeHive) {
+            out.writeByte(NPC_BEE_HIVE);
+            writeEntity(npc, out);
+        } else if (npc instanceof GuardBee bee) {
+            out.writeByte(NPC_GUARD_BEE);
+            writeEntity(npc, out);
+            out.writeInt(bee.getSpawnX());
+            out.writeInt(bee.getSpawnY());
+            refs.write(bee.getTrackedTarget(), out);
+        } else {
+            throw new SnapshotException("cannot save NPC " + npc.getClass().getName());
+        }
+        npc.save(out);
+    }
+
+    /**
+     * Writes which NPCs are awake, in the order they are ticked, and which are asleep, in the order
+     * they fell asleep, with when they fell asleep and what wakes them.
+     */
+    private static void writeSleep(NpcManager npcs, Map<Object, Integer> npcIds, DataOutput out)
+            throws IOException {
+        final List<Npc> awake = npcs.getAwakeNpcs();
+        out.writeInt(awake.size());
+        for (Npc npc : awake) {
+            out.writeInt(npcId(npc, npcIds));
+        }
+        final List<Npc> sleeping = npcs.getSleepingNpcs();
+        out.writeInt(sleeping.size());
+        for (Npc npc : sleeping) {
+            out.writeInt(npcId(npc, npcIds));
+            out.writeInt(npcs.getSleepRadius(npc));
+            out.writeInt(npcs.getSleptAt(npc));
+        }
+    }
+
+    private static int npcId(Npc npc, Map<Object, Integer> npcIds) throws SnapshotException {
+        final Integer id = npcIds.get(npc);
+        if (id == null) {
+            throw new SnapshotException("NPC " + npc + " is active but not managed");
+        }
+        return id;
+    }
+
+    private static void readSleep(NpcManager manager, List<Npc> npcs, DataInput in)
+            throws IOException {
+        final int awakeCount = checkIndex(in.readInt(), npcs.size() + 1);
+        final List<Npc> awake = new ArrayList<>(awakeCount);
+        for (int i = 0; i < awakeCount; i++) {
+            awake.add(npcs.get(checkIndex(in.readInt(), npcs.size())));
+        }
+        final int sleepingCount = checkIndex(in.readInt(), npcs.size() + 1);
+        final List<Npc> sleeping = new ArrayList<>(sleepingCount);
+        final int[] radii = new int[sleepingCount];
+        final int[] sleptAt = new int[sleepingCount];
+        for (int i = 0; i < sleepingCount; i++) {
+            sleeping.add(npcs.get(checkIndex(in.readInt(), npcs.size())));
+            radii[i] = in.readInt();
+            sleptAt[i] = in.readInt();
+        }
+        manager.restoreSleep(awake, sleeping, radii, sleptAt);
+    }
+
+    private static Npc readNpc(Resolver resolver, DataInput in) throws IOException {
+        final int kind = in.readByte();
+        final int x = in.readInt();
+        final int y = in.readInt();
+        final boolean removed = in.readBoolean();
+        final Npc npc =
+                switch (kind) {
+                    case NPC_SCARECROW -> new Scarecrow(x, y);
+                    case NPC_BEE_HIVE -> new BeeHive(x, y);
+                    case NPC_GUARD_BEE -> {
+                        final int spawnX = in.readInt();
+                        final int spawnY = in.readInt();
+                        yield new GuardBee(spawnX, spawnY, resolver.read(in));
+                    }
+                    default -> throw new SnapshotException("unknown NPC kind " + kind);
+                };
+        place(npc, x, y, removed);
+        npc.load(in);
+        return npc;
+    }
+
+    private static void writeEnemy(Enemy enemy, References refs, DataOutput out)
+            throws IOException {
+        final int kind;
+        if (enemy instanceof Magpie) {
+            kind = ENEMY_MAGPIE;
+        } else if (enemy instanceof Pigeon) {
+            kind = ENEMY_PIGEON;
+        } else if (enemy instanceof Eagle) {
+            kind = ENEMY_EAGLE;
+        } else {
+            throw new SnapshotException("cannot save enemy " + enemy.getClass().getName());
+        }
+        final Bird bird = (Bird) enemy;
+        out.writeByte(kind);
+        writeEntity(bird, out);
+        out.writeInt(bird.getSpawnX());
+        out.writeInt(bird.getSpawnY());
+        refs.write(bird.getTrackedTarget(), out);
+        bird.save(out);
+    }
+
+    private static Enemy readEnemy(Resolver resolver, DataInput in) throws IOException {
+        final int kind = in.readByte();
+        final int x = in.readInt();
+        final int y = in.readInt();
+        final boolean removed = in.readBoolean();
+        final int spawnX = in.readInt();
+        final int spawnY = in.readInt();
+        final HasPosition target = resolver.read(in);
+        final Bird bird =
+                switch (kind) {
+                    case ENEMY_MAGPIE -> new Magpie(spawnX, spawnY, target);
+                    case ENEMY_PIGEON -> new Pigeon(spawnX, spawnY, target);
+                    case ENEMY_EAGLE -> new Eagle(spawnX, spawnY, target);
+                    default -> throw new SnapshotException("unknown enemy kind " + kind);
+                };
+        place(bird, x, y, removed);
+        bird.load(in);
+        return bird;
+    }
+
+    private static void writeSpawner(Spawner spawner, DataOutput out) throws IOException {
+        final int kind;
+        if (spawner instanceof MagpieSpawner) {
+            kind = SPAWNER_MAGPIE;
+        } else if (spawner instanceof EagleSpawner) {
+            kind = SPAWNER_EAGLE;
+        } else if (spawner instanceof PigeonSpawner) {
+            kind = SPAWNER_PIGEON;
+        } else {
+            throw new SnapshotException("cannot save spawner " + spawner.getClass().getName());
+        }
+        out.writeByte(kind);
+        out.writeInt(spawner.getX());
+        out.writeInt(spawner.getY());
+        out.writeInt(spawner.getInterval());
+        spawner.save(out);
+    }
+
+    private static Spawner readSpawner(DataInput in) throws IOException {
+        final int kind = in.readByte();
+        final int x = in.readInt();
+        final int y = in.readInt();
+        final int interval = in.readInt();
+        if (interval <= 0) {
+            throw new SnapshotException("invalid spawner interval " + interval);
+        }
+        final Spawner spawner =
+                switch (kind) {
+                    case SPAWNER_MAGPIE -> new MagpieSpawner(x, y, interval);
+                    case SPAWNER_EAGLE -> new EagleSpawner(x, y, interval);
+                    case SPAWNER_PIGEON -> new PigeonSpawner(x, y, interval);
+                    default -> throw new SnapshotException("unknown spawner kind " + kind);
+                };
+        spawner.load(in);
+        return spawner;
+    }
+
+    private static void writeEntity(Entity entity, DataOutput out) throws IOException {
+        out.writeInt(entity.getX());
+        out.writeInt(entity.getY());
+        out.writeBoolean(entity.isMarkedForRemoval());
+    }
+
+    private static void place(Entity entity, int x, int y, boolean removed) {
+        entity.setX(x);
+        entity.setY(y);
+        if (removed) {
+            entity.markForRemoval();
+        }
+    }
+
+    private static Map<Object, Integer> indexOf(List<?> objects) {
+        final Map<Object, Integer> ids = new IdentityHashMap<>();
+        for (int i = 0; i < objects.size(); i++) {
+            ids.put(objects.get(i), i);
+        }
+        return ids;
+    }
+
+    private static int checkIndex(int index, int size) throws SnapshotException {
+        if (index < 0 || index >= size) {
+            throw new SnapshotException("reference " + index + " out of range");
+        }
+        return index;
+    }
+
+    /** Writes references to the player, tiles and enemies as indices. */
+    private static final class References {
+        private final Player player;
+        private final Map<Object, Integer> tiles;
+        private final Map<Object, Integer> enemies;
+
+        private References(Player player, Map<Object, Integer> tiles, Map<Object, Integer> enemies) {
+            this.player = player;
+            this.tiles = tiles;
+            this.enemies = enemies;
+        }
+
+        private void write(HasPosition target, DataOutput out) throws IOException {
+            if (target == null) {
+                out.writeByte(TARGET_NONE);
+            } else if (target == this.player) {
+                out.writeByte(TARGET_PLAYER);
+            } else if (this.tiles.containsKey(target)) {
+                out.writeByte(TARGET_TILE);
+                out.writeInt(this.tiles.get(target));
+            } else if (this.enemies.containsKey(target)) {
+                out.writeByte(TARGET_ENEMY);
+                out.writeInt(this.enemies.get(target));
+            } else {
+                // no longer part of the game, e.g. a dead enemy, so its position is frozen
+                out.writeByte(TARGET_POINT);
+                out.writeInt(target.getX());
+                out.writeInt(target.getY());
+            }
+        }
+    }
+
+    /** Resolves references written by {@link References}. */
+    private static final class Resolver {
+        private final Player player;
+        private final List<Tile> tiles;
+        private final List<Enemy> enemies;
+
+        private Resolver(Player player, List<Tile> tiles, List<Enemy> enemies) {
+            this.player = player;
+            this.tiles = tiles;
+            this.enemies = enemies;
+        }
+
+        private HasPosition read(DataInput in) throws IOException {
+            final int kind = in.readByte();
+            return switch (kind) {
+                case TARGET_NONE -> null;
+                case TARGET_PLAYER -> this.player;
+                case TARGET_TILE -> this.tiles.get(checkIndex(in.readInt(), this.tiles.size()));
+                case TARGET_ENEMY ->
+                        this.enemies.get(checkIndex(in.readInt(), this.enemies.size()));
+                case TARGET_POINT -> new Point(in.readInt(), in.readInt());
+                default -> throw new SnapshotException("unknown target kind " + kind);
+            };
+        }
+    }
+
+    /** A position standing in for a target that has left the game. */
+    private static final class Point implements HasPosition {
+        private int x;
+        private int y;
+
+        private Point(int x, int y) {
+            this.x = x;
+            this.y = y;
+        }
+
+        @Override
+        public int getX() {
+            return this.x;
+        }
+
+        @Override
+        public int getY() {
+            return this.y;
+        }
+
+        @Override
+        public void setX(int x) {
+            this.x = x;
+        }
+
+        @Override
+        public void setY(int y) {
+            this.y = y;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package builder.snapshot;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * An object whose mutable state can be written to and read back from a game snapshot.
+ *
+ * <p>Only the state that changes during play is saved. Whatever is needed to construct the object,
+ * such as its type and starting position, is recorded separately by {@link GameSnapshot}.
+ */
+public interface Savable {
+
+    /**
+     * Writes this object's mutable state.
+     *
+     * @param out the snapshot being written.
+     * @throws IOException if the state cannot be written.
+     */
+    void save(DataOutput out) throws IOException;
+
+    /**
+     * Replaces this object's mutable state with state previously written by {@link #save}.
+     *
+     * @param in the snapshot being read.
+     * @throws IOException if the state cannot be read or is invalid.
+     */
+    void load(DataInput in) throws IOException;
+}
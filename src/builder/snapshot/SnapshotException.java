@@ -0,0 +1,19 @@
+package builder.snapshot;
+
+import java.io.IOException;
+
+/**
+ * Thrown when a game cannot be saved to, or restored from, a snapshot.
+ */
+public class SnapshotException extends IOException {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Constructs a snapshot exception with the given message.
+     *
+     * @param message a description of the problem.
+     */
+    public SnapshotException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,80 @@
+package builder.snapshot;
+
+import builder.JavaBeanFarm;
+
+import engine.renderer.Dimensions;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Saves game snapshots to disk without holding up the tick thread.
+ *
+ * <p>{@link #save} encodes the game into memory on the calling thread, which is the only point at
+ * which the game must not change. Writing the bytes to disk happens on a background thread. Each
+ * file is written to a temporary sibling first and moved into place, so a crash mid-write never
+ * leaves a truncated snapshot behind.
+ */
+public class SnapshotWriter implements AutoCloseable {
+    private final ExecutorService executor =
+            Executors.newSingleThreadExecutor(
+                    task -> {
+                        final Thread thread = new Thread(task, "snapshot-writer");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+
+    /** Constructs a snapshot writer with its own background thread. */
+    public SnapshotWriter() {}
+
+    /**
+     * Captures the game and writes it to the given file in the background.
+     *
+     * @param game the game to save; must not be ticked during this call.
+     * @param tick the number of the next tick the game will run.
+     * @param file where to write the snapshot.
+     * @return a future completing with the file once it has been written.
+     * @throws SnapshotException if the game holds something that cannot be saved.
+     */
+    public Future<Path> save(JavaBeanFarm game, int tick, Path file) throws SnapshotException {
+        final byte[] snapshot = GameSnapshot.capture(game, tick);
+        return this.executor.submit(
+                () -> {
+                    final Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+                    Files.write(temp, snapshot);
+                    Files.move(
+                            temp,
+                            file,
+                            StandardCopyOption.REPLACE_EXISTING,
+                            StandardCopyOption.ATOMIC_MOVE);
+                    return file;
+                });
+    }
+
+    /**
+     * Restores a game from a snapshot file.
+     *
+     * @param dimensions the dimensions to build the game with.
+     * @param file the snapshot file.
+     * @return the restored game and its tick.
+     * @throws IOException if the file cannot be read or is not a valid snapshot.
+     */
+    public static GameSnapshot load(Dimensions dimensions, Path file) throws IOException {
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file))) {
+            return GameSnapshot.read(dimensions, in);
+        }
+    }
+
+    /** Finishes any pending writes and stops the background thread. */
+    @Override
+    public void close() {
+        this.executor.close();
+    }
+}
@@ -0,0 +1,230 @@
+package builder.spectator;
+
+import engine.art.sprites.Sprite;
+import engine.renderer.Renderable;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Turns each tick's renderables into the frames of the spectator protocol.
+ *
+ * <p>Every renderable is given a small integer handle the first time its ID is seen, and every
+ * distinct sprite (by group and label) a small integer id. A delta frame then only lists what
+ * changed since the previous tick: renderables that spawned, despawned, moved or changed sprite. A
+ * keyframe lists everything, so a spectator can start or resynchronise from it.
+ *
+ * <p>Every frame is a 4-byte big-endian length followed by the frame body:
+ *
+ * <pre>
+ * delta:    DELTA, tick, new sprites, then records up to END
+ *           SPAWN handle x y sprite | DESPAWN handle | MOVE handle dx dy | SPRITE handle sprite
+ * keyframe: KEYFRAME, tick, all sprites, count, then handle x y sprite for each renderable
+ * sprites:  count, then id group label for each
+ * </pre>
+ *
+ * <p>Integers are unsigned varints, coordinates and offsets are zigzag varints and strings are
+ * length-prefixed UTF-8. Keyframes list renderables in the order they first appeared.
+ */
+public class DeltaEncoder {
+    static final int DELTA = 1;
+    static final int KEYFRAME = 2;
+
+    static final int END = 0;
+    static final int SPAWN = 1;
+    static final int DESPAWN = 2;
+    static final int MOVE = 3;
+    static final int SPRITE = 4;
+
+    private final Map<String, Tracked> tracked = new LinkedHashMap<>();
+    private final Map<String, Map<String, Integer>> spriteIds = new HashMap<>();
+    private final List<String[]> sprites = new ArrayList<>();
+    private final Frame frame = new Frame();
+    private final Frame records = new Frame();
+    private int newSpritesFrom = 0;
+    private int nextHandle = 0;
+    private int generation = 0;
+
+    /** Constructs an encoder that has seen nothing yet. */
+    public DeltaEncoder() {}
+
+    /**
+     * Updates the encoder to the given tick's renderables and encodes what changed.
+     *
+     * @param tick the tick the renderables were drawn on.
+     * @param renderables everything drawn on that tick.
+     * @return the encoded delta frame, including its length prefix.
+     */
+    public byte[] delta(int tick, List<Renderable> renderables) {
+        this.generation++;
+        final Frame records = this.records;
+        records.reset();
+        for (Renderable renderable : renderables) {
+            final int sprite = this.spriteId(renderable.getSprite());
+            Tracked entry = this.tracked.get(renderable.getID());
+            if (entry == null) {
+                entry = new Tracked(this.nextHandle++, renderable.getX(), renderable.getY(), sprite);
+                this.tracked.put(renderable.getID(), entry);
+                records.writeByte(SPAWN);
+                records.writeVarInt(entry.handle);
+                records.writeSigned(entry.x);
+                records.writeSigned(entry.y);
+                records.writeVarInt(sprite);
+            } else {
+                if (entry.x != renderable.getX() || entry.y != renderable.getY()) {
+                    records.writeByte(MOVE);
+                    records.writeVarInt(entry.handle);
+                    records.writeSigned(renderable.getX() - entry.x);
+                    records.writeSigned(renderable.getY() - entry.y);
+                    entry.x = renderable.getX();
+                    entry.y = renderable.getY();
+                }
+                if (entry.sprite != sprite) {
+                    records.writeByte(SPRITE);
+                    records.writeVarInt(entry.handle);
+                    records.writeVarInt(sprite);
+                    entry.sprite = sprite;
+                }
+            }
+            entry.seen = this.generation;
+        }
+        final Iterator<Tracked> entries = this.tracked.values().iterator();
+        while (entries.hasNext()) {
+            final Tracked entry = entries.next();
+            if (entry.seen != this.generation) {
+                records.writeByte(DESPAWN);
+                records.writeVarInt(entry.handle);
+                entries.remove();
+            }
+        }
+        records.writeByte(END);
+
+        this.frame.begin(DELTA, tick);
+        this.writeSprites(this.newSpritesFrom);
+        this.newSpritesFrom = this.sprites.size();
+        this.frame.write(records);
+        return this.frame.finish();
+    }
+
+    /**
+     * Encodes everything currently tracked, as of the most recent {@link #delta}.
+     *
+     * @param tick the tick of the most recent delta.
+     * @return the encoded keyframe, including its length prefix.
+     */
+    public byte[] keyframe(int tick) {
+        this.frame.begin(KEYFRAME, tick);
+        this.writeSprites(0);
+        this.frame.writeVarInt(this.tracked.size());
+        for (Tracked entry : this.tracked.values()) {
+            this.frame.writeVarInt(entry.handle);
+            this.frame.writeSigned(entry.x);
+            this.frame.writeSigned(entry.y);
+            this.frame.writeVarInt(entry.sprite);
+        }
+        return this.frame.finish();
+    }
+
+    /**
+     * Returns the number of renderables currently tracked.
+     *
+     * @return the tracked count.
+     */
+    public int getTrackedCount() {
+        return this.tracked.size();
+    }
+
+    private void writeSprites(int from) {
+        this.frame.writeVarInt(this.sprites.size() - from);
+        for (int id = from; id < this.sprites.size(); id++) {
+            this.frame.writeVarInt(id);
+            this.frame.writeString(this.sprites.get(id)[0]);
+            this.frame.writeString(this.sprites.get(id)[1]);
+        }
+    }
+
+    private int spriteId(Sprite sprite) {
+        final String group = sprite == null ? "" : String.valueOf(sprite.getGroup());
+        final String label = sprite == null ? "" : String.valueOf(sprite.getLabel());
+        final Map<String, Integer> labels =
+                this.spriteIds.computeIfAbsent(group, key -> new HashMap<>());
+        Integer id = labels.get(label);
+        if (id == null) {
+            id = this.sprites.size();
+            labels.put(label, id);
+            this.sprites.add(new String[] {group, label});
+        }
+        return id;
+    }
+
+    /** The last known state of one renderable. */
+    private static final class Tracked {
+        private final int handle;
+        private int x;
+        private int y;
+        private int sprite;
+        private int seen;
+
+        private Tracked(int handle, int x, int y, int sprite) {
+            this.handle = handle;
+            this.x = x;
+            this.y = y;
+            this.sprite = sprite;
+        }
+    }
+
+    /** A reusable buffer for one frame, with the protocol's integer and string encodings. */
+    private static final class Frame extends ByteArrayOutputStream {
+
+        private void begin(int type, int tick) {
+            this.reset();
+            this.write(0);
+            this.write(0);
+            this.write(0);
+            this.write(0);
+            this.writeByte(type);
+            this.writeVarInt(tick);
+        }
+
+        private byte[] finish() {
+            final int length = this.count - 4;
+            this.buf[0] = (byte) (length >>> 24);
+            this.buf[1] = (byte) (length >>> 16);
+            this.buf[2] = (byte) (length >>> 8);
+            this.buf[3] = (byte) length;
+            return this.toByteArray();
+        }
+
+        private void write(Frame other) {
+            this.write(other.buf, 0, other.count);
+        }
+
+        private void writeByte(int value) {
+            this.write(value);
+        }
+
+        private void writeVarInt(int value) {
+            while ((value & ~0x7F) != 0) {
+                this.write((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            this.write(value);
+        }
+
+        private void writeSigned(int value) {
+            this.writeVarInt((value << 1) ^ (value >> 31));
+        }
+
+        private void writeString(String value) {
+            final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            this.writeVarInt(bytes.length);
+            this.write(bytes, 0, bytes.length);
+        }
+    }
+}
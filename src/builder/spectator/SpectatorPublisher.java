@@ -0,0 +1,243 @@
+package builder.spectator;
+
+import engine.EngineState;
+import engine.game.Game;
+import engine.renderer.Renderable;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Streams a game's render state to spectators connected over a loopback TCP socket.
+ *
+ * <p>The publisher wraps the game and is given to the engine in its place. Each time the game is
+ * rendered, the renderables are encoded by a {@link DeltaEncoder} and the frame is queued for every
+ * spectator. New spectators start with a keyframe. All socket work is non-blocking and happens on
+ * the calling thread: connections are accepted and queued frames written as far as each socket
+ * allows, and whatever does not fit waits for the next tick.
+ *
+ * <p>A spectator whose backlog grows beyond the limit has its unsent frames dropped, apart from a
+ * frame already partly written, and receives nothing until the next keyframe. A slow spectator
+ * therefore skips ahead rather than slowing the game. When nobody is watching, frames are not
+ * encoded at all.
+ *
+ * <p>Spectators can be run with {@link SpectatorView}.
+ */
+public class SpectatorPublisher implements Game, AutoCloseable {
+    /** Ticks between keyframes offered to spectators that fell behind. */
+    public static final int DEFAULT_KEYFRAME_INTERVAL = 120;
+
+    /** Bytes a spectator may have waiting before it is dropped to the next keyframe. */
+    public static final int DEFAULT_MAX_BACKLOG = 256 * 1024;
+
+    private final Game game;
+    private final ServerSocketChannel server;
+    private final int keyframeInterval;
+    private final int maxBacklog;
+    private final List<Subscriber> subscribers = new ArrayList<>();
+    private final DeltaEncoder encoder = new DeltaEncoder();
+    private int tick = 0;
+    private long droppedFrames = 0;
+
+    /**
+     * Constructs a publisher for the given game on the given loopback port, with the default
+     * keyframe interval and backlog limit.
+     *
+     * @param game the game to publish.
+     * @param port the port to listen on, or 0 to choose a free one.
+     * @throws IOException if the port cannot be opened.
+     */
+    public SpectatorPublisher(Game game, int port) throws IOException {
+        this(game, port, DEFAULT_KEYFRAME_INTERVAL, DEFAULT_MAX_BACKLOG);
+    }
+
+    /**
+     * Constructs a publisher for the given game on the given loopback port.
+     *
+     * @param game the game to publish.
+     * @param port the port to listen on, or 0 to choose a free one.
+     * @param keyframeInterval ticks between keyframes for spectators that fell behind.
+     * @param maxBacklog bytes a spectator may have waiting before dropping to the next keyframe.
+     * @throws IOException if the port cannot be opened.
+     */
+    public SpectatorPublisher(Game game, int port, int keyframeInterval, int maxBacklog)
+            throws IOException {
+        if (keyframeInterval <= 0 || maxBacklog <= 0) {
+            throw new IllegalArgumentException("keyframe interval and backlog must be positive");
+        }
+        this.game = game;
+        this.keyframeInterval = keyframeInterval;
+        this.maxBacklog = maxBacklog;
+        this.server = ServerSocketChannel.open();
+        this.server.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+        this.server.configureBlocking(false);
+    }
+
+    /**
+     * Returns the port spectators should connect to.
+     *
+     * @return the listening port.
+     * @throws IOException if the port cannot be determined.
+     */
+    public int getPort() throws IOException {
+        return ((InetSocketAddress) this.server.getLocalAddress()).getPort();
+    }
+
+    /**
+     * Returns the number of connected spectators.
+     *
+     * @return the spectator count.
+     */
+    public int getSubscriberCount() {
+        return this.subscribers.size();
+    }
+
+    /**
+     * Returns the number of frames dropped for slow spectators.
+     *
+     * @return the dropped frame count.
+     */
+    public long getDroppedFrames() {
+        return this.droppedFrames;
+    }
+
+    @Override
+    public void tick(EngineState state) {
+        this.tick = state.currentTick();
+        this.game.tick(state);
+    }
+
+    @Override
+    public List<Renderable> render() {
+        final List<Renderable> renderables = this.game.render();
+        this.publish(this.tick, renderables);
+        return renderables;
+    }
+
+    /**
+     * Sends the given tick's renderables to every spectator, without blocking.
+     *
+     * @param tick the tick the renderables were drawn on.
+     * @param renderables everything drawn on that tick.
+     */
+    public void publish(int tick, List<Renderable> renderables) {
+        this.acceptSubscribers();
+        if (this.subscribers.isEmpty()) {
+            // the next spectator starts from a keyframe, so there is nothing to keep in sync
+            return;
+        }
+        final ByteBuffer delta = ByteBuffer.wrap(this.encoder.delta(tick, renderables));
+        ByteBuffer keyframe = null;
+        final boolean keyframeTick = tick % this.keyframeInterval == 0;
+
+        final Iterator<Subscriber> iterator = this.subscribers.iterator();
+        while (iterator.hasNext()) {
+            final Subscriber subscriber = iterator.next();
+            if (subscriber.waitingForKeyframe && (subscriber.isNew || keyframeTick)) {
+                if (keyframe == null) {
+                    keyframe = ByteBuffer.wrap(this.encoder.keyframe(tick));
+                }
+                subscriber.queue(keyframe.duplicate());
+                subscriber.waitingForKeyframe = false;
+                subscriber.isNew = false;
+            } else if (!subscriber.waitingForKeyframe) {
+                subscriber.queue(delta.duplicate());
+            }
+            try {
+                subscriber.flush();
+            } catch (IOException e) {
+                subscriber.close();
+                iterator.remove();
+                continue;
+            }
+            if (subscriber.backlog > this.maxBacklog) {
+                this.droppedFrames += subscriber.dropBacklog();
+            }
+        }
+    }
+
+    private void acceptSubscribers() {
+        try {
+            SocketChannel channel;
+            while ((channel = this.server.accept()) != null) {
+                channel.configureBlocking(false);
+                channel.socket().setTcpNoDelay(true);
+                this.subscribers.add(new Subscriber(channel));
+            }
+        } catch (IOException e) {
+            // a failed accept only affects that spectator
+        }
+    }
+
+    /** Disconnects every spectator and stops listening. */
+    @Override
+    public void close() {
+        for (Subscriber subscriber : this.subscribers) {
+            subscriber.close();
+        }
+        this.subscribers.clear();
+        try {
+            this.server.close();
+        } catch (IOException e) {
+            // closing anyway
+        }
+    }
+
+    /** A connected spectator and the frames waiting to be written to it. */
+    private static final class Subscriber {
+        private final SocketChannel channel;
+        private final ArrayDeque<ByteBuffer> pending = new ArrayDeque<>();
+        private int backlog = 0;
+        private boolean waitingForKeyframe = true;
+        private boolean isNew = true;
+
+        private Subscriber(SocketChannel channel) {
+            this.channel = channel;
+        }
+
+        private void queue(ByteBuffer frame) {
+            this.pending.addLast(frame);
+            this.backlog += frame.remaining();
+        }
+
+        private void flush() throws IOException {
+            while (!this.pending.isEmpty()) {
+                final ByteBuffer head = this.pending.peekFirst();
+                this.backlog -= this.channel.write(head);
+                if (head.hasRemaining()) {
+                    return;
+                }
+                this.pending.removeFirst();
+            }
+        }
+
+        /** Drops every unsent frame except one already partly written. */
+        private int dropBacklog() {
+            final ByteBuffer head = this.pending.peekFirst();
+            final boolean started = head != null && head.position() > 0;
+            int dropped = 0;
+            while (this.pending.size() > (started ? 1 : 0)) {
+                this.backlog -= this.pending.removeLast().remaining();
+                dropped++;
+            }
+            this.waitingForKeyframe = true;
+            return dropped;
+        }
+
+        private void close() {
+            try {
+                this.channel.close();
+            } catch (IOException e) {
+                // already gone
+            }
+        }
+    }
+}
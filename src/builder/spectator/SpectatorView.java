@@ -0,0 +1,272 @@
+package builder.spectator;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The spectator side of a {@link SpectatorPublisher}: applies the stream of keyframes and deltas to
+ * a copy of the game's render state.
+ *
+ * <p>Deltas received before the first keyframe are ignored. From the command line, the view
+ * connects to a publisher on this machine and prints a summary once a second:
+ *
+ * <pre>java builder.spectator.SpectatorView port</pre>
+ */
+public class SpectatorView {
+    private final Map<Integer, String[]> sprites = new HashMap<>();
+    private final Map<Integer, Shown> shown = new LinkedHashMap<>();
+    private boolean synced = false;
+    private int tick = -1;
+    private long frames = 0;
+    private long keyframes = 0;
+
+    /** Constructs a view that has not received anything yet. */
+    public SpectatorView() {}
+
+    /**
+     * Reads one frame from the stream and applies it.
+     *
+     * @param in the stream from the publisher.
+     * @return false if the stream has ended.
+     * @throws IOException if the stream cannot be read or is malformed.
+     */
+    public boolean readFrame(DataInputStream in) throws IOException {
+        final int length;
+        try {
+            length = in.readInt();
+        } catch (EOFException e) {
+            return false;
+        }
+        final byte[] body = new byte[length];
+        in.readFully(body);
+        this.apply(body);
+        return true;
+    }
+
+    /**
+     * Applies one frame body, without its length prefix.
+     *
+     * @param body the frame body.
+     * @throws IOException if the frame is malformed.
+     */
+    public void apply(byte[] body) throws IOException {
+        final Reader in = new Reader(body);
+        final int type = in.readVarInt();
+        final int frameTick = in.readVarInt();
+        if (type == DeltaEncoder.KEYFRAME) {
+            this.sprites.clear();
+            this.shown.clear();
+            this.readSprites(in);
+            final int count = in.readVarInt();
+            for (int i = 0; i < count; i++) {
+                final int handle = in.readVarInt();
+                this.shown.put(
+                        handle, new Shown(in.readSigned(), in.readSigned(), in.readVarInt()));
+            }
+            this.synced = true;
+            this.keyframes++;
+        } else if (type == DeltaEncoder.DELTA) {
+            if (!this.synced) {
+                return;
+            }
+            this.readSprites(in);
+            this.applyRecords(in);
+        } else {
+            throw new IOException("unknown frame type " + type);
+        }
+        this.tick = frameTick;
+        this.frames++;
+    }
+
+    private void readSprites(Reader in) throws IOException {
+        final int count = in.readVarInt();
+        for (int i = 0; i < count; i++) {
+            final int id = in.readVarInt();
+            this.sprites.put(id, new String[] {in.readString(), in.readString()});
+        }
+    }
+
+    private void applyRecords(Reader in) throws IOException {
+        while (true) {
+            final int kind = in.readVarInt();
+            if (kind == DeltaEncoder.END) {
+                return;
+            }
+            final int handle = in.readVarInt();
+            switch (kind) {
+                case DeltaEncoder.SPAWN ->
+                        this.shown.put(
+                                handle,
+                                new Shown(in.readSigned(), in.readSigned(), in.readVarInt()));
+                case DeltaEncoder.DESPAWN -> this.shown.remove(handle);
+                case DeltaEncoder.MOVE -> {
+                    final Shown entity = this.find(handle);
+                    entity.x += in.readSigned();
+                    entity.y += in.readSigned();
+                }
+                case DeltaEncoder.SPRITE -> this.find(handle).sprite = in.readVarInt();
+                default -> throw new IOException("unknown delta record " + kind);
+            }
+        }
+    }
+
+    private Shown find(int handle) throws IOException {
+        final Shown entity = this.shown.get(handle);
+        if (entity == null) {
+            throw new IOException("delta for unknown renderable " + handle);
+        }
+        return entity;
+    }
+
+    /**
+     * Returns whether a keyframe has been received.
+     *
+     * @return true once the view is showing the game.
+     */
+    public boolean isSynced() {
+        return this.synced;
+    }
+
+    /**
+     * Returns the tick of the most recently applied frame.
+     *
+     * @return the view's tick, or -1 before any frame.
+     */
+    public int getTick() {
+        return this.tick;
+    }
+
+    /**
+     * Returns the number of renderables currently shown.
+     *
+     * @return the shown count.
+     */
+    public int getShownCount() {
+        return this.shown.size();
+    }
+
+    /**
+     * Returns the number of frames applied, including keyframes.
+     *
+     * @return the applied frame count.
+     */
+    public long getFrames() {
+        return this.frames;
+    }
+
+    /**
+     * Returns the number of keyframes applied.
+     *
+     * @return the keyframe count.
+     */
+    public long getKeyframes() {
+        return this.keyframes;
+    }
+
+    /**
+     * Returns a description of every shown renderable as {@code group/label@x,y}, in the order they
+     * appeared, for inspection and testing.
+     *
+     * @return one entry per shown renderable.
+     */
+    public String[] describe() {
+        final String[] result = new String[this.shown.size()];
+        int i = 0;
+        for (Shown entity : this.shown.values()) {
+            final String[] sprite = this.sprites.getOrDefault(entity.sprite, new String[] {"", ""});
+            result[i++] = sprite[0] + "/" + sprite[1] + "@" + entity.x + "," + entity.y;
+        }
+        return result;
+    }
+
+    /**
+     * Connects to a publisher on this machine and prints what it shows once a second.
+     *
+     * @param args the publisher's port.
+     * @throws IOException if the connection fails or the stream is malformed.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("usage: java builder.spectator.SpectatorView port");
+            System.exit(2);
+        }
+        final SpectatorView view = new SpectatorView();
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), Integer.parseInt(args[0]));
+                InputStream stream = new BufferedInputStream(socket.getInputStream())) {
+            final DataInputStream in = new DataInputStream(stream);
+            long nextReport = System.nanoTime();
+            while (view.readFrame(in)) {
+                if (System.nanoTime() >= nextReport) {
+                    System.out.println(
+                            "tick " + view.getTick() + ": " + view.getShownCount() + " shown, "
+                                    + view.getFrames() + " frames, " + view.getKeyframes()
+                                    + " keyframes");
+                    nextReport += 1_000_000_000L;
+                }
+            }
+        }
+    }
+
+    /** The last known position and sprite of a renderable. */
+    private static final class Shown {
+        private int x;
+        private int y;
+        private int sprite;
+
+        private Shown(int x, int y, int sprite) {
+            this.x = x;
+            this.y = y;
+            this.sprite = sprite;
+        }
+    }
+
+    /** Reads the protocol's integer and string encodings from a frame body. */
+    private static final class Reader {
+        private final byte[] bytes;
+        private int position = 0;
+
+        private Reader(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        private int readVarInt() throws IOException {
+            int value = 0;
+            for (int shift = 0; shift < 35; shift += 7) {
+                if (this.position >= this.bytes.length) {
+                    throw new IOException("truncated frame");
+                }
+                final int b = this.bytes[this.position++] & 0xFF;
+                value |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IOException("malformed varint");
+        }
+
+        private int readSigned() throws IOException {
+            final int value = this.readVarInt();
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        private String readString() throws IOException {
+            final int length = this.readVarInt();
+            if (length < 0 || this.position + length > this.bytes.length) {
+                throw new IOException("truncated frame");
+            }
+            final String value =
+                    new String(this.bytes, this.position, length, StandardCharsets.UTF_8);
+            this.position += length;
+            return value;
+        }
+    }
+}
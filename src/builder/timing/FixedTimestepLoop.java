@@ -0,0 +1,117 @@
+package builder.timing;
+
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Runs a tick at a fixed rate, parking the thread between deadlines instead of spinning.
+ *
+ * <p>Each tick has a deadline one period after the previous one. If the loop falls behind, for
+ * example after a long garbage collection, it runs up to {@code maxCatchUp} ticks back to back to
+ * recover. Any further overdue ticks are dropped and the schedule restarts from the current time,
+ * so a stall never turns into a long burst of ticks.
+ */
+public class FixedTimestepLoop {
+    /** The engine's tick period, 15 milliseconds. */
+    public static final long DEFAULT_PERIOD_NANOS = 15_000_000L;
+
+    /** Most ticks run back to back to recover from a stall. */
+    public static final int DEFAULT_MAX_CATCH_UP = 4;
+
+    private final long periodNanos;
+    private final int maxCatchUp;
+
+    private long ticks = 0;
+    private long lateTicks = 0;
+    private long droppedTicks = 0;
+
+    /** Constructs a loop with the engine's tick period and the default catch-up limit. */
+    public FixedTimestepLoop() {
+        this(DEFAULT_PERIOD_NANOS, DEFAULT_MAX_CATCH_UP);
+    }
+
+    /**
+     * Constructs a loop with the given period and catch-up limit.
+     *
+     * @param periodNanos the time between tick deadlines, in nanoseconds.
+     * @param maxCatchUp the most ticks to run in one burst after a stall, at least 1.
+     * @throws IllegalArgumentException if the period or catch-up limit is not positive.
+     */
+    public FixedTimestepLoop(long periodNanos, int maxCatchUp) {
+        if (periodNanos <= 0 || maxCatchUp < 1) {
+            throw new IllegalArgumentException("period and catch-up limit must be positive");
+        }
+        this.periodNanos = periodNanos;
+        this.maxCatchUp = maxCatchUp;
+    }
+
+    /**
+     * Runs ticks until {@code running} returns false.
+     *
+     * @param running checked before every wait and tick.
+     * @param tick the work to run each tick.
+     */
+    public void run(BooleanSupplier running, Runnable tick) {
+        long deadline = System.nanoTime();
+        while (running.getAsBoolean()) {
+            final long now = System.nanoTime();
+            final long wait = deadline - now;
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+                continue;
+            }
+
+            final long due = 1 + (now - deadline) / this.periodNanos;
+            final long run = Math.min(due, this.maxCatchUp);
+            for (long i = 0; i < run && running.getAsBoolean(); i++) {
+                tick.run();
+                this.ticks++;
+            }
+            this.lateTicks += run - 1;
+            if (due > run) {
+                this.droppedTicks += due - run;
+                deadline = System.nanoTime() + this.periodNanos;
+            } else {
+                deadline += due * this.periodNanos;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of ticks run.
+     *
+     * @return ticks run so far.
+     */
+    public long getTicks() {
+        return this.ticks;
+    }
+
+    /**
+     * Returns the number of ticks run behind schedule while catching up after a stall.
+     *
+     * @return late ticks so far.
+     */
+    public long getLateTicks() {
+        return this.lateTicks;
+    }
+
+    /**
+     * Returns the number of ticks skipped because a stall exceeded the catch-up limit.
+     *
+     * @return dropped ticks so far.
+     */
+    public long getDroppedTicks() {
+        return this.droppedTicks;
+    }
+
+    @Override
+    public String toString() {
+        return "FixedTimestepLoop{ticks="
+                + this.ticks
+                + ", late="
+                + this.lateTicks
+                + ", dropped="
+                + this.droppedTicks
+                + "}";
+    }
+}
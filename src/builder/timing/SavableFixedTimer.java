@@ -0,0 +1,97 @@
+package builder.timing;
+
+import builder.snapshot.Savable;
+import builder.snapshot.SnapshotException;
+
+import engine.timing.FixedTimer;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * A {@link FixedTimer} whose progress can be read, saved and advanced in one step.
+ *
+ * <p>It counts exactly like the engine's fixed timer: it is finished on the tick its duration is
+ * reached, and on the following tick it stops for good and (for durations above 1) no longer
+ * reports finished.
+ */
+public class SavableFixedTimer extends FixedTimer implements Savable {
+    private final int duration;
+    private int current = 0;
+    private boolean finished = false;
+
+    /**
+     * Constructs a fixed timer that finishes after {@code duration} ticks.
+     *
+     * @param duration the number of ticks until the timer finishes, greater than 0.
+     */
+    public SavableFixedTimer(int duration) {
+        super(duration);
+        this.duration = duration;
+    }
+
+    @Override
+    public void tick() {
+        if (this.finished) {
+            return;
+        }
+        if (this.current == this.duration) {
+            this.finished = true;
+            this.current = 0;
+        }
+        this.current++;
+    }
+
+    @Override
+    public boolean isFinished() {
+        return this.current == this.duration;
+    }
+
+    /**
+     * Advances the timer as if {@link #tick()} had been called the given number of times.
+     *
+     * @param ticks the number of ticks to advance by, at least 0.
+     */
+    public void advance(int ticks) {
+        if (this.finished || ticks <= 0) {
+            return;
+        }
+        final long reached = this.current + (long) ticks;
+        if (reached <= this.duration) {
+            this.current = (int) reached;
+        } else {
+            this.finished = true;
+            this.current = 1;
+        }
+    }
+
+    /**
+     * Returns the number of ticks until the timer finishes; 0 if it is finished now, or {@link
+     * Integer#MAX_VALUE} if it has already stopped and will never finish again.
+     *
+     * @return ticks remaining.
+     */
+    public int getRemaining() {
+        if (this.isFinished()) {
+            return 0;
+        }
+        return this.finished ? Integer.MAX_VALUE : this.duration - this.current;
+    }
+
+    @Override
+    public void save(DataOutput out) throws IOException {
+        out.writeInt(this.current);
+        out.writeBoolean(this.finished);
+    }
+
+    @Override
+    public void load(DataInput in) throws IOException {
+        final int value = in.readInt();
+        if (value < 0 || value > this.duration) {
+            throw new SnapshotException("timer position " + value + " outside its duration");
+        }
+        this.current = value;
+        this.finished = in.readBoolean();
+    }
+}
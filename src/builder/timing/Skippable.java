@@ -0,0 +1,27 @@
+package builder.timing;
+
+/**
+ * Something whose ticks, for stretches at a time, do nothing but count a timer down.
+ *
+ * <p>Such ticks can be skipped in bulk: instead of ticking the object {@code n} times, {@link
+ * #skip(int)} advances it by {@code n} at once, as long as {@code n} stays below {@link
+ * #ticksUntilChange()}.
+ */
+public interface Skippable {
+
+    /**
+     * Returns how many ticks away the next tick is on which this does more than count down, for
+     * example the tick a timer finishes. Every earlier tick may be skipped.
+     *
+     * @return at least 1, or {@link Integer#MAX_VALUE} if nothing will ever change.
+     */
+    int ticksUntilChange();
+
+    /**
+     * Advances this as if it had been ticked the given number of times.
+     *
+     * @requires 0 &le; ticks &lt; ticksUntilChange()
+     * @param ticks the number of ticks to skip.
+     */
+    void skip(int ticks);
+}
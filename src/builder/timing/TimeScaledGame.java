@@ -0,0 +1,183 @@
+package builder.timing;
+
+import builder.simulation.InputSource;
+
+import engine.EngineState;
+import engine.game.Game;
+import engine.input.KeyState;
+import engine.input.MouseState;
+import engine.renderer.Dimensions;
+import engine.renderer.Renderable;
+
+import java.util.List;
+
+/**
+ * Runs a game faster than the engine's frame rate.
+ *
+ * <p>The wrapper is given to the engine in place of the game. At a speed of {@code xN}, every
+ * engine frame runs the game's tick {@code N} times and renders once, so at x32 a cabbage that
+ * takes 400 ticks to grow is collectable in under a fifth of a second.
+ *
+ * <p>Only the first tick of a frame sees the frame's keys and mouse buttons. The rest see no keys
+ * held and no buttons pressed, with the mouse where it is, so a click or a key press acts once per
+ * frame at any speed rather than once per tick.
+ *
+ * <p>The game sees its own tick count, which advances once per game tick whatever the speed. The
+ * player changes speed with {@value #FASTER} and {@value #SLOWER}; speeds step through {@link
+ * #SPEEDS}.
+ */
+public class TimeScaledGame implements Game {
+    /** The key that doubles the speed, or goes to the next speed up. */
+    public static final char FASTER = ']';
+
+    /** The key that goes to the next speed down. */
+    public static final char SLOWER = '[';
+
+    /** The available speeds, as ticks per frame. */
+    public static final int[] SPEEDS = {1, 2, 8, 32};
+
+    private static final int NORMAL = 0;
+
+    private final Game game;
+    private final ScaledState scaled = new ScaledState();
+    private int speed = NORMAL;
+    private int gameTick = -1;
+    private boolean fasterHeld = false;
+    private boolean slowerHeld = false;
+
+    /**
+     * Constructs a wrapper running the given game at x1.
+     *
+     * @param game the game to run.
+     */
+    public TimeScaledGame(Game game) {
+        this.game = game;
+    }
+
+    /**
+     * Returns the current speed as ticks per frame.
+     *
+     * @return the current entry of {@link #SPEEDS}.
+     */
+    public int getSpeed() {
+        return SPEEDS[this.speed];
+    }
+
+    /**
+     * Sets the speed.
+     *
+     * @param ticksPerFrame one of {@link #SPEEDS}.
+     * @throws IllegalArgumentException if the speed is not one of {@link #SPEEDS}.
+     */
+    public void setSpeed(int ticksPerFrame) {
+        for (int i = 0; i < SPEEDS.length; i++) {
+            if (SPEEDS[i] == ticksPerFrame) {
+                this.speed = i;
+                return;
+            }
+        }
+        throw new IllegalArgumentException("unsupported speed " + ticksPerFrame);
+    }
+
+    /**
+     * Returns the number of game ticks run so far.
+     *
+     * @return the game's tick count.
+     */
+    public int getGameTicks() {
+        return this.gameTick + 1;
+    }
+
+    @Override
+    public void tick(EngineState state) {
+        if (this.gameTick < 0) {
+            this.gameTick = state.currentTick() - 1;
+        }
+        this.readSpeedKeys(state.getKeys());
+        final int ticksPerFrame = SPEEDS[this.speed];
+        for (int i = 0; i < ticksPerFrame; i++) {
+            this.gameTick++;
+            this.scaled.wrap(state, this.gameTick, i == 0);
+            this.game.tick(this.scaled);
+        }
+    }
+
+    private void readSpeedKeys(KeyState keys) {
+        final boolean faster = keys.isDown(FASTER);
+        final boolean slower = keys.isDown(SLOWER);
+        if (faster && !this.fasterHeld && this.speed < SPEEDS.length - 1) {
+            this.speed++;
+        }
+        if (slower && !this.slowerHeld && this.speed > 0) {
+            this.speed--;
+        }
+        this.fasterHeld = faster;
+        this.slowerHeld = slower;
+    }
+
+    @Override
+    public List<Renderable> render() {
+        return this.game.render();
+    }
+
+    /**
+     * The engine's state with the game's own tick count in place of the engine's, and with the
+     * input held back from every tick of a frame but the first.
+     */
+    private static final class ScaledState implements EngineState, MouseState {
+        private EngineState state;
+        private int tick;
+        private boolean input;
+
+        private void wrap(EngineState state, int tick, boolean input) {
+            this.state = state;
+            this.tick = tick;
+            this.input = input;
+        }
+
+        @Override
+        public Dimensions getDimensions() {
+            return this.state.getDimensions();
+        }
+
+        @Override
+        public MouseState getMouse() {
+            return this.input ? this.state.getMouse() : this;
+        }
+
+        @Override
+        public KeyState getKeys() {
+            return this.input ? this.state.getKeys() : InputSource.NO_KEYS;
+        }
+
+        @Override
+        public int currentTick() {
+            return this.tick;
+        }
+
+        @Override
+        public int getMouseX() {
+            return this.state.getMouse().getMouseX();
+        }
+
+        @Override
+        public int getMouseY() {
+            return this.state.getMouse().getMouseY();
+        }
+
+        @Override
+        public boolean isLeftPressed() {
+            return false;
+        }
+
+        @Override
+        public boolean isRightPressed() {
+            return false;
+        }
+
+        @Override
+        public boolean isMiddlePressed() {
+            return false;
+        }
+    }
+}
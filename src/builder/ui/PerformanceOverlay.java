@@ -0,0 +1,187 @@
+package builder.ui;
+
+import builder.GameState;
+import builder.metrics.GameMetrics;
+import builder.metrics.Histogram;
+
+import engine.EngineState;
+import engine.renderer.Dimensions;
+import engine.renderer.Renderable;
+import engine.ui.Text;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Displays the game's performance, so that a screenshot of a lag report carries real numbers.
+ *
+ * <p>Pressing {@value #TOGGLE} shows or hides the display. It shows, averaged over the last
+ * {@value #REFRESH_TICKS} ticks: the time a tick and a render take, how many of those frames were
+ * over budget, and how fast the tick thread allocates. It also shows the live enemies and NPCs and
+ * the renderables in the last frame. Everything but the allocation rate is read from the game's
+ * {@link GameMetrics}; a game without metrics shows that they are off.
+ *
+ * <p>While hidden, the overlay only watches for the toggle key and renders nothing.
+ */
+public class PerformanceOverlay implements Overlay {
+    /** The key that shows and hides the overlay. */
+    public static final char TOGGLE = 'p';
+
+    /** How many ticks the display's figures are averaged over, and so how often it changes. */
+    public static final int REFRESH_TICKS = 30;
+
+    private static final int HORIZONTAL_INSET = 40;
+    private static final int VERTICAL_INSET = 120;
+    private static final int LINES = 6;
+
+    private final Text[] lines = new Text[LINES];
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private GameMetrics metrics = GameMetrics.DISABLED;
+    private boolean visible = false;
+    private boolean toggleHeld = false;
+    private int nextRefresh = 0;
+
+    private long tickCount;
+    private long tickSum;
+    private long renderCount;
+    private long renderSum;
+    private long overBudget;
+    private long allocated;
+    private long refreshedAt;
+
+    /**
+     * Constructs a hidden performance overlay for the given dimensions.
+     *
+     * @param dimensions The dimensions used to render the overlay.
+     */
+    public PerformanceOverlay(Dimensions dimensions) {
+        final int letterWidth = dimensions.tileSize() / 2;
+        for (int i = 0; i < LINES; i++) {
+            this.lines[i] =
+                    new Text(HORIZONTAL_INSET, VERTICAL_INSET + i * letterWidth * 2, letterWidth);
+        }
+    }
+
+    /**
+     * Sets the metrics the overlay displays.
+     *
+     * @param metrics the game's metrics.
+     */
+    public void setMetrics(GameMetrics metrics) {
+        this.metrics = metrics;
+        this.nextRefresh = 0;
+    }
+
+    /**
+     * Returns whether the overlay is being displayed.
+     *
+     * @return true if the overlay is shown.
+     */
+    public boolean isVisible() {
+        return this.visible;
+    }
+
+    /**
+     * Shows or hides the overlay.
+     *
+     * @param visible whether to show the overlay.
+     */
+    public void setVisible(boolean visible) {
+        if (visible && !this.visible) {
+            this.nextRefresh = 0;
+        }
+        this.visible = visible;
+    }
+
+    /**
+     * Toggles the overlay when {@value #TOGGLE} is pressed and, while it is shown, refreshes its
+     * figures every {@value #REFRESH_TICKS} ticks.
+     */
+    @Override
+    public void tick(EngineState state, GameState game) {
+        final boolean toggle = state.getKeys().isDown(TOGGLE);
+        if (toggle && !this.toggleHeld) {
+            this.setVisible(!this.visible);
+        }
+        this.toggleHeld = toggle;
+        if (!this.visible || state.currentTick() < this.nextRefresh) {
+            return;
+        }
+        final boolean first = this.nextRefresh == 0;
+        this.nextRefresh = state.currentTick() + REFRESH_TICKS;
+        if (!this.metrics.isEnabled()) {
+            this.show("METRICS OFF");
+            return;
+        }
+
+        final Histogram ticks = this.metrics.getTickHistogram();
+        final Histogram renders = this.metrics.getHistogram(GameMetrics.Phase.RENDER);
+        final long now = System.nanoTime();
+        final long allocated = this.allocatedBytes();
+        if (first) {
+            this.show("MEASURING");
+        } else {
+            final long frames = renders.getCount() - this.renderCount;
+            final long tickTime =
+                    micros(ticks.getSum() - this.tickSum, ticks.getCount() - this.tickCount);
+            final double seconds = Math.max(1, now - this.refreshedAt) / 1e9;
+            this.show(
+                    "TICK " + tickTime + " US",
+                    "RENDER " + micros(renders.getSum() - this.renderSum, frames) + " US",
+                    "OVER BUDGET " + (this.metrics.getOverBudgetFrames() - this.overBudget)
+                            + " OF " + frames,
+                    "ENEMIES " + this.metrics.getLiveEnemies()
+                            + " NPCS " + this.metrics.getLiveNpcs(),
+                    "RENDERABLES " + this.metrics.getRenderables(),
+                    allocated < 0
+                            ? "ALLOC NA"
+                            : "ALLOC "
+                                    + (long) ((allocated - this.allocated) / seconds / 1024)
+                                    + " KB PER S");
+        }
+        this.tickCount = ticks.getCount();
+        this.tickSum = ticks.getSum();
+        this.renderCount = renders.getCount();
+        this.renderSum = renders.getSum();
+        this.overBudget = this.metrics.getOverBudgetFrames();
+        this.allocated = allocated;
+        this.refreshedAt = now;
+    }
+
+    private static long micros(long nanos, long count) {
+        return count == 0 ? 0 : nanos / count / 1000;
+    }
+
+    private long allocatedBytes() {
+        if (this.threads instanceof com.sun.management.ThreadMXBean allocation
+                && allocation.isThreadAllocatedMemoryEnabled()) {
+            return allocation.getCurrentThreadAllocatedBytes();
+        }
+        return -1;
+    }
+
+    private void show(String... text) {
+        for (int i = 0; i < LINES; i++) {
+            this.lines[i].update(i < text.length ? text[i] : "");
+        }
+    }
+
+    /**
+     * A collection of items to render, the lines of figures while the overlay is shown.
+     *
+     * @return The list of renderables required to draw the overlay, empty while it is hidden.
+     */
+    @Override
+    public List<Renderable> render() {
+        if (!this.visible) {
+            return List.of();
+        }
+        final List<Renderable> result = new ArrayList<>();
+        for (Text line : this.lines) {
+            result.addAll(line.render());
+        }
+        return result;
+    }
+}
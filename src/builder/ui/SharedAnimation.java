@@ -0,0 +1,68 @@
+package builder.ui;
+
+import engine.art.sprites.Sprite;
+import engine.timing.AnimationDuration;
+
+/**
+ * An immutable animation that can be shared by any number of entities.
+ *
+ * <p>Unlike {@link engine.timing.Animation}, a shared animation holds no timer. An entity asks for
+ * the frame at its own game's tick with {@link #frameAt(int)}: each frame is held for the
+ * animation's duration in ticks, counted from the animation's start tick. Entities that want to
+ * start an animation from its first frame should use {@link #startingAt(int)} rather than the
+ * shared definition itself. Since the tick is always passed in, games running side by side in one
+ * JVM never see each other's frames.
+ */
+public final class SharedAnimation {
+    private final int duration;
+    private final Sprite[] frames;
+    private final int start;
+
+    /**
+     * Constructs a shared animation definition starting at tick 0.
+     *
+     * @param duration how long each frame is held.
+     * @param frames the frames of the animation, in order.
+     * @throws IllegalArgumentException if no frames are given or any frame is null.
+     */
+    public SharedAnimation(AnimationDuration duration, Sprite... frames) {
+        this(duration.getDuration(), frames.clone(), 0);
+        if (frames.length < 1) {
+            throw new IllegalArgumentException("animation must be given at least one piece of art!");
+        }
+        for (Sprite frame : frames) {
+            if (frame == null) {
+                throw new IllegalArgumentException("no art given can be null!");
+            }
+        }
+    }
+
+    private SharedAnimation(int duration, Sprite[] frames, int start) {
+        this.duration = duration;
+        this.frames = frames;
+        this.start = start;
+    }
+
+    /**
+     * Returns a view of this animation whose first frame is shown at the given tick. The frames are
+     * shared with this animation.
+     *
+     * @param tick the tick at which the first frame should be shown.
+     * @return this animation offset to start at the given tick.
+     */
+    public SharedAnimation startingAt(int tick) {
+        return new SharedAnimation(this.duration, this.frames, tick);
+    }
+
+    /**
+     * Returns the frame shown at the given tick.
+     *
+     * @param tick the game's current tick, see {@link engine.EngineState#currentTick()}.
+     * @return the frame to display.
+     */
+    public Sprite frameAt(int tick) {
+        final int elapsed = tick - this.start;
+        return this.frames[Math.floorMod(Math.floorDiv(elapsed, this.duration), this.frames.length)];
+    }
+}
+
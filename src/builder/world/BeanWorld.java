@@ -83,6 +83,22 @@ public class BeanWorld implements RenderableGroup, Tickable, World {
         return result;
     }
 
+    /**
+     * Counts the tiles that meet a condition, without building a list of them.
+     *
+     * @param filter predicate the counted tiles meet.
+     * @return the number of matching tiles.
+     */
+    public int countTiles(Predicate<Tile> filter) {
+        int count = 0;
+        for (int i = 0; i < this.tiles.size(); i++) {
+            if (filter.test(this.tiles.get(i))) {
+                count++;
+            }
+        }
+        return count;
+    }
+
     /**
      * Progress the state of the world. The world is progressed by calling the {@link
      * Tile#tick(EngineState)} method on every world tile.
@@ -1,5 +1,8 @@
 package builder.world;
 
+import builder.jfr.WorldLoadEvent;
+import builder.metrics.Trace;
+
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -11,6 +14,7 @@ import java.util.List;
  * resources, placement of the player, cabbages, spawner locations and times etc
  */
 public class OverlayBuilder {
+    private static final int SECTION_SPAN = Trace.name("OverlayBuilder.getSection");
 
     /**
      * @param filepath - location of the text file we wish to load
@@ -34,11 +38,15 @@ public class OverlayBuilder {
      * @throws IOException if the section is not found
      */
     public static List<String> getSection(String label, String contents) throws IOException {
+        final WorldLoadEvent event = WorldLoadEvent.begin(label, contents.length());
+        final long start = Trace.now();
         final String[] lines = contents.split("\n");
         boolean collectingLines = false;
         final List<String> section = new ArrayList<>();
         for (int i = 0; i < contents.length(); i++) {
             if (collectingLines && lines[i].toLowerCase().trim().equals("end;")) {
+                event.loaded(0, 0, section.size());
+                Trace.span(SECTION_SPAN, start);
                 return section;
             }
             if (collectingLines) {
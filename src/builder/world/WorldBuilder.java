@@ -2,6 +2,8 @@ package builder.world;
 
 import builder.entities.tiles.Tile;
 import builder.entities.tiles.TileFactory;
+import builder.jfr.WorldLoadEvent;
+import builder.metrics.Trace;
 
 import engine.renderer.Dimensions;
 
@@ -21,6 +23,7 @@ import java.util.List;
  * @stage2
  */
 public class WorldBuilder {
+    private static final int LOAD_SPAN = Trace.name("WorldBuilder.fromString");
 
     /**
      * Construct a new world builder.
@@ -57,6 +60,8 @@ public class WorldBuilder {
      */
     public static List<Tile> fromString(Dimensions dimensions, String text)
             throws WorldLoadException {
+        final WorldLoadEvent event = WorldLoadEvent.begin("map", text.length());
+        final long start = Trace.now();
         int numberOfTiles = dimensions.windowSize() / dimensions.tileSize();
         String[] lines = text.split(System.lineSeparator());
         final boolean lineDesync = lines.length != numberOfTiles;
@@ -94,6 +99,8 @@ public class WorldBuilder {
                 tiles.add(tile);
             }
         }
+        event.loaded(numberOfTiles, numberOfTiles, tiles.size());
+        Trace.span(LOAD_SPAN, start);
         return tiles;
     }
 
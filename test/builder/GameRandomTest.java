@@ -0,0 +1,63 @@
+package builder;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests that {@link GameRandom} is reproducible from its seed and from a saved state.
+ */
+public class GameRandomTest {
+
+    @Test
+    public void sameSeed_sameSequence() {
+        GameRandom first = new GameRandom(42);
+        GameRandom second = new GameRandom(42);
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(first.nextLong(), second.nextLong());
+        }
+        assertNotEquals(new GameRandom(1).nextLong(), new GameRandom(2).nextLong());
+    }
+
+    @Test
+    public void nextInt_staysInBoundsAndCoversIt() {
+        GameRandom random = new GameRandom(7);
+        boolean[] seen = new boolean[4];
+        for (int i = 0; i < 1000; i++) {
+            int value = random.nextInt(4);
+            assertTrue(value >= 0 && value < 4);
+            seen[value] = true;
+        }
+        for (boolean each : seen) {
+            assertTrue(each);
+        }
+        try {
+            random.nextInt(0);
+            fail("a bound of 0 should be rejected");
+        } catch (IllegalArgumentException expected) {
+            // expected
+        }
+    }
+
+    @Test
+    public void loadedState_continuesTheSequence() throws IOException {
+        GameRandom original = new GameRandom(99);
+        for (int i = 0; i < 10; i++) {
+            original.nextLong();
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        original.save(new DataOutputStream(bytes));
+
+        GameRandom restored = new GameRandom(0);
+        restored.load(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+        for (int i = 0; i < 100; i++) {
+            assertEquals(original.nextInt(1000), restored.nextInt(1000));
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package builder.entities.npc;
+
+import builder.GameEventListener;
+import builder.GameRandom;
+import builder.GameState;
+import builder.entities.npc.enemies.Enemy;
+import builder.entities.npc.enemies.EnemyManager;
+import builder.inventory.Inventory;
+import builder.player.Player;
+import builder.world.World;
+import engine.EngineState;
+import engine.renderer.Dimensions;
+import engine.renderer.TileGrid;
+import org.junit.Before;
+import org.junit.Test;
+import scenarios.mocks.MockEngineState;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for sleeping and waking {@link Sleepable} NPCs in {@link NpcManager}.
+ */
+public class NpcManagerTest {
+
+    private static final Dimensions DIMENSIONS = new TileGrid(10, 800);
+
+    /** A stationary NPC that is idle whenever no enemy is within 100 pixels. */
+    private static class Sentry extends Npc implements Sleepable {
+        private int ticks = 0;
+        private int interactions = 0;
+        private int lastWake = -1;
+
+        Sentry(int x, int y) {
+            super(x, y);
+            setSpeed(0);
+        }
+
+        @Override
+        public void tick(EngineState state, GameState game) {
+            ticks++;
+        }
+
+        @Override
+        public void interact(EngineState state, GameState game) {
+            interactions++;
+        }
+
+        @Override
+        public boolean isIdle(EngineState state, GameState game) {
+            return game.getEnemies().enemiesWithin(this, 100).isEmpty();
+        }
+
+        @Override
+        public int getWakeRadius(EngineState state) {
+            return 100;
+        }
+
+        @Override
+        public void wake(int ticksAsleep) {
+            lastWake = ticksAsleep;
+        }
+    }
+
+    private NpcManager npcs;
+    private EnemyManager enemies;
+    private GameState game;
+
+    @Before
+    public void setUp() {
+        npcs = new NpcManager();
+        enemies = new EnemyManager(DIMENSIONS);
+        game = new GameState() {
+            @Override
+            public World getWorld() {
+                return null;
+            }
+
+            @Override
+            public NpcManager getNpcs() {
+                return npcs;
+            }
+
+            @Override
+            public EnemyManager getEnemies() {
+                return enemies;
+            }
+
+            @Override
+            public Player getPlayer() {
+                return null;
+            }
+
+            @Override
+            public Inventory getInventory() {
+                return null;
+            }
+
+            @Override
+            public GameRandom getRandom() {
+                return null;
+            }
+
+            @Override
+            public GameEventListener getEvents() {
+                return GameEventListener.NONE;
+            }
+        };
+    }
+
+    private void frame(int tick) {
+        MockEngineState state = new MockEngineState(DIMENSIONS, tick);
+        npcs.tick(state, game);
+        npcs.interact(state, game);
+    }
+
+    @Test
+    public void idleNpc_fallsAsleepAndIsSkipped() {
+        Sentry sentry = new Sentry(0, 0);
+        npcs.addNpc(sentry);
+        frame(0);
+        assertTrue(npcs.isAsleep(sentry));
+        for (int i = 1; i <= 10; i++) {
+            frame(i);
+        }
+        assertEquals(1, sentry.ticks);
+        assertEquals(1, sentry.interactions);
+        assertEquals(1, npcs.getNpcs().size());
+    }
+
+    @Test
+    public void enemyInRange_wakesSleeperOnSameFrame() {
+        Sentry sentry = new Sentry(0, 0);
+        npcs.addNpc(sentry);
+        frame(0);
+        enemies.addEnemy(new Enemy(500, 0) {});
+        frame(5);
+        assertTrue(npcs.isAsleep(sentry));
+
+        enemies.getAllEnemies().getFirst().setX(99);
+        frame(7);
+        assertFalse(npcs.isAsleep(sentry));
+        assertEquals(7, sentry.lastWake);
+        assertEquals(2, sentry.interactions);
+    }
+
+    @Test
+    public void nonSleepableNpc_staysAwake() {
+        Npc npc = new Npc(0, 0);
+        npcs.getNpcs().add(npc);
+        frame(0);
+        frame(1);
+        assertFalse(npcs.isAsleep(npc));
+        assertEquals(0, npcs.getSleepingCount());
+    }
+}
@@ -0,0 +1,134 @@
+package builder.entities.npc.enemies;
+
+import engine.renderer.Dimensions;
+import engine.renderer.TileGrid;
+import org.junit.Before;
+import org.junit.Test;
+import scenarios.mocks.MockEngineState;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the admission control applied by {@link EnemyManager#requestSpawn(Enemy)}.
+ */
+public class EnemyManagerTest {
+
+    private static final Dimensions DIMENSIONS = new TileGrid(10, 800);
+
+    /** Minimal enemy type used to exercise per-type caps. */
+    private static class Crow extends Enemy {
+        Crow() {
+            super(0, 0);
+        }
+    }
+
+    /** A second enemy type, unaffected by caps on {@link Crow}. */
+    private static class Raven extends Enemy {
+        Raven() {
+            super(0, 0);
+        }
+    }
+
+    private EnemyManager enemies;
+
+    @Before
+    public void setUp() {
+        enemies = new EnemyManager(DIMENSIONS);
+    }
+
+    private void tick() {
+        enemies.tick(new MockEngineState(DIMENSIONS), null);
+    }
+
+    @Test
+    public void requestSpawn_admitsWithinBudget() {
+        enemies.setSpawnBudget(2);
+        assertTrue(enemies.requestSpawn(new Crow()));
+        assertTrue(enemies.requestSpawn(new Crow()));
+        assertEquals(2, enemies.getAllEnemies().size());
+        assertEquals(2, enemies.getAdmittedSpawns());
+    }
+
+    @Test
+    public void requestSpawn_queuesOverBudgetAndReleasesNextTick() {
+        enemies.setSpawnBudget(1);
+        assertTrue(enemies.requestSpawn(new Crow()));
+        assertFalse(enemies.requestSpawn(new Crow()));
+        assertEquals(1, enemies.getAllEnemies().size());
+        assertEquals(1, enemies.getDeferredSpawns());
+        assertEquals(1, enemies.getPendingSpawns());
+
+        tick();
+        assertEquals(2, enemies.getAllEnemies().size());
+        assertEquals(0, enemies.getPendingSpawns());
+        assertEquals(2, enemies.getAdmittedSpawns());
+    }
+
+    @Test
+    public void requestSpawn_dropPolicyRejects() {
+        enemies.setSpawnPolicy(SpawnPolicy.DROP);
+        enemies.setSpawnBudget(1);
+        enemies.requestSpawn(new Crow());
+        assertFalse(enemies.requestSpawn(new Crow()));
+        assertEquals(1, enemies.getRejectedSpawns());
+        tick();
+        assertEquals(1, enemies.getAllEnemies().size());
+    }
+
+    @Test
+    public void requestSpawn_rejectsWhenQueueFull() {
+        enemies.setSpawnBudget(0);
+        enemies.setQueueLimit(1);
+        enemies.requestSpawn(new Crow());
+        enemies.requestSpawn(new Crow());
+        assertEquals(1, enemies.getDeferredSpawns());
+        assertEquals(1, enemies.getRejectedSpawns());
+    }
+
+    @Test
+    public void requestSpawn_respectsGlobalCap() {
+        enemies.setGlobalCap(1);
+        enemies.requestSpawn(new Crow());
+        assertFalse(enemies.requestSpawn(new Raven()));
+        tick();
+        assertEquals(1, enemies.getAllEnemies().size());
+    }
+
+    @Test
+    public void requestSpawn_typeCapOnlyLimitsThatType() {
+        enemies.setTypeCap(Crow.class, 1);
+        assertTrue(enemies.requestSpawn(new Crow()));
+        assertFalse(enemies.requestSpawn(new Crow()));
+        assertTrue(enemies.requestSpawn(new Raven()));
+        assertEquals(2, enemies.getAllEnemies().size());
+    }
+
+    @Test
+    public void requestSpawn_unboundedByDefault() {
+        for (int i = 0; i < 500; i++) {
+            assertTrue(enemies.requestSpawn(new Crow()));
+        }
+        assertEquals(500, enemies.getAllEnemies().size());
+        assertEquals(0, enemies.getDeferredSpawns());
+    }
+
+    @Test
+    public void requestSpawn_typeCapFreesSlotOnRemoval() {
+        enemies.setTypeCap(Crow.class, 1);
+        Crow crow = new Crow();
+        assertTrue(enemies.requestSpawn(crow));
+        assertFalse(enemies.requestSpawn(new Crow()));
+        crow.markForRemoval();
+        tick();
+        assertEquals(1, enemies.getAllEnemies().size());
+        assertEquals(0, enemies.getPendingSpawns());
+        assertEquals(2, enemies.getAdmittedSpawns());
+    }
+
+    @Test
+    public void createMethods_doNotRegister() {
+        enemies.createMagpie(null);
+        enemies.createPigeon(null);
+        assertTrue(enemies.getAllEnemies().isEmpty());
+    }
+}
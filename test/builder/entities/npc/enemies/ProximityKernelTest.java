@@ -0,0 +1,63 @@
+package builder.entities.npc.enemies;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class ProximityKernelTest {
+
+    @Test
+    public void withinRadius_returnsAscendingIndicesInRange() {
+        int[] xs = {0, 10, 50, 3, 100};
+        int[] ys = {0, 0, 0, 4, 100};
+        int[] result = new int[xs.length];
+        int found = ProximityKernel.withinRadius(xs, ys, xs.length, 0, 0, 11, result);
+        assertEquals(3, found);
+        assertArrayEquals(new int[] {0, 1, 3}, java.util.Arrays.copyOf(result, found));
+    }
+
+    @Test
+    public void withinRadius_radiusIsExclusive() {
+        int[] xs = {3};
+        int[] ys = {4};
+        int[] result = new int[1];
+        assertEquals(0, ProximityKernel.withinRadius(xs, ys, 1, 0, 0, 5, result));
+        assertEquals(1, ProximityKernel.withinRadius(xs, ys, 1, 0, 0, 6, result));
+    }
+
+    @Test
+    public void withinRadius_ignoresEntriesPastCount() {
+        int[] xs = {0, 0};
+        int[] ys = {0, 0};
+        int[] result = new int[2];
+        assertEquals(1, ProximityKernel.withinRadius(xs, ys, 1, 0, 0, 1, result));
+    }
+
+    @Test
+    public void withinRadius_matchesIntegerSqrtDistance() {
+        Random random = new Random(7);
+        int count = 1000;
+        int[] xs = new int[count];
+        int[] ys = new int[count];
+        for (int i = 0; i < count; i++) {
+            xs[i] = random.nextInt(2000);
+            ys[i] = random.nextInt(2000);
+        }
+        int[] result = new int[count];
+        for (int radius : new int[] {0, 1, 25, 100, 350}) {
+            int found = ProximityKernel.withinRadius(xs, ys, count, 1000, 1000, radius, result);
+            int expected = 0;
+            for (int i = 0; i < count; i++) {
+                int deltaX = xs[i] - 1000;
+                int deltaY = ys[i] - 1000;
+                if ((int) Math.sqrt(deltaX * deltaX + deltaY * deltaY) < radius) {
+                    assertEquals(i, result[expected]);
+                    expected++;
+                }
+            }
+            assertEquals(expected, found);
+        }
+    }
+}
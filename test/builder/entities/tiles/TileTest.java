@@ -0,0 +1,174 @@
+package builder.entities.tiles;
+
+import builder.GameState;
+import builder.entities.Interactable;
+import builder.entities.StateChangeListener;
+import builder.entities.StateNotifier;
+import engine.EngineState;
+import engine.art.sprites.Colour;
+import engine.art.sprites.Sprite;
+import engine.art.sprites.SpriteGroup;
+import engine.game.Entity;
+import org.junit.Before;
+import org.junit.Test;
+import scenarios.mocks.MockEngineState;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the enter/stay/exit interaction triggers on {@link Tile}.
+ */
+public class TileTest {
+
+    /** A sprite group that hands out the same placeholder sprite for every name. */
+    private static final SpriteGroup ART =
+            new SpriteGroup() {
+                private final Sprite sprite =
+                        new Sprite() {
+                            @Override
+                            public int getWidth() {
+                                return 1;
+                            }
+
+                            @Override
+                            public int getHeight() {
+                                return 1;
+                            }
+
+                            @Override
+                            public Colour colourAt(int x, int y) {
+                                return null;
+                            }
+
+                            @Override
+                            public String toUtfBlockString() {
+                                return "";
+                            }
+
+                            @Override
+                            public String getLabel() {
+                                return "default";
+                            }
+
+                            @Override
+                            public String getGroup() {
+                                return "test";
+                            }
+                        };
+
+                @Override
+                public Sprite getSprite(String name) {
+                    return sprite;
+                }
+
+                @Override
+                public List<Sprite> getSprites() {
+                    return List.of(sprite);
+                }
+
+                @Override
+                public String getLabel() {
+                    return "test";
+                }
+            };
+
+    private static class TestTile extends Tile {
+        TestTile() {
+            super(0, 0, ART);
+        }
+    }
+
+    /** Counts interactions and can announce state changes to its tile. */
+    private static class Counter extends Entity implements Interactable, StateNotifier {
+        private int interactions = 0;
+        private StateChangeListener listener;
+
+        Counter() {
+            super(0, 0);
+        }
+
+        @Override
+        public void tick(EngineState state) {}
+
+        @Override
+        public void interact(EngineState state, GameState game) {
+            interactions++;
+        }
+
+        @Override
+        public void setStateListener(StateChangeListener listener) {
+            this.listener = listener;
+        }
+
+        void change() {
+            if (listener != null) {
+                listener.stateChanged(this);
+            }
+        }
+    }
+
+    private final EngineState state = new MockEngineState();
+    private TestTile tile;
+    private Counter counter;
+
+    @Before
+    public void setUp() {
+        tile = new TestTile();
+        counter = new Counter();
+        tile.placeOn(counter);
+    }
+
+    @Test
+    public void enter_interactsWithStackedEntities() {
+        tile.enter(state, null);
+        assertEquals(1, counter.interactions);
+    }
+
+    @Test
+    public void stay_doesNothingWithoutChanges() {
+        tile.enter(state, null);
+        for (int i = 0; i < 10; i++) {
+            tile.stay(state, null);
+        }
+        assertEquals(1, counter.interactions);
+    }
+
+    @Test
+    public void stay_interactsOnceAfterStateChange() {
+        tile.enter(state, null);
+        counter.change();
+        counter.change();
+        tile.stay(state, null);
+        tile.stay(state, null);
+        assertEquals(2, counter.interactions);
+    }
+
+    @Test
+    public void stay_interactsWithEntityPlacedWhileOccupied() {
+        tile.enter(state, null);
+        Counter placed = new Counter();
+        tile.placeOn(placed);
+        tile.stay(state, null);
+        assertEquals(1, placed.interactions);
+    }
+
+    @Test
+    public void exit_stopsTrackingChanges() {
+        tile.enter(state, null);
+        tile.exit();
+        counter.change();
+        tile.stay(state, null);
+        assertEquals(1, counter.interactions);
+    }
+
+    @Test
+    public void removedEntities_areNoLongerInteracted() {
+        counter.markForRemoval();
+        tile.tick(state);
+        tile.enter(state, null);
+        assertEquals(0, counter.interactions);
+        assertTrue(tile.getStackedEntities().isEmpty());
+    }
+}
@@ -0,0 +1,46 @@
+package builder.jfr;
+
+import builder.world.OverlayBuilder;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link WorldLoadEvent}.
+ */
+public class WorldLoadEventTest {
+
+    @Test
+    public void detailsSections_areRecorded() throws IOException {
+        String details = ":cabbages:\n|x:1 y:1\n|x:2 y:2\nend;\n";
+        Path file = Files.createTempFile("world-load", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(WorldLoadEvent.class).withThreshold(Duration.ZERO);
+            recording.start();
+            OverlayBuilder.getSection("cabbages", details);
+            recording.stop();
+            recording.dump(file);
+
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+            assertEquals(1, events.size());
+            RecordedEvent event = events.getFirst();
+            assertEquals("builder.WorldLoad", event.getEventType().getName());
+            assertEquals("cabbages", event.getString("source"));
+            assertEquals(2, event.getInt("entries"));
+            assertEquals(details.length(), event.getInt("characters"));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
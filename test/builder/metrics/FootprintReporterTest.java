@@ -0,0 +1,52 @@
+package builder.metrics;
+
+import builder.JavaBeanGameState;
+import builder.entities.npc.NpcManager;
+import builder.entities.npc.enemies.EnemyManager;
+import builder.inventory.TinyInventory;
+import builder.world.WorldBuilder;
+
+import engine.renderer.TileGrid;
+
+import org.junit.Test;
+
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link FootprintReporter}.
+ */
+public class FootprintReporterTest {
+
+    @Test
+    public void report_publishesEverySubsystemAndTheirTotal() {
+        MetricsRegistry registry = new MetricsRegistry();
+        FootprintReporter reporter = new FootprintReporter(registry);
+        JavaBeanGameState game =
+                new JavaBeanGameState(
+                        WorldBuilder.empty(),
+                        null,
+                        new TinyInventory(5),
+                        new NpcManager(),
+                        new EnemyManager(new TileGrid(25, 800)));
+
+        reporter.tickFinished(1, game);
+        assertEquals(0, registry.gauge("footprint.total").get());
+        reporter.request();
+        reporter.tickFinished(2, game);
+        long total = registry.gauge("footprint.total").get();
+        assertTrue(registry.gauge("footprint.inventory").get() > 0);
+        assertTrue(registry.gauge("footprint.enemies").get() > 0);
+
+        Map<String, Long> report = reporter.report(game);
+        long sum = 0;
+        for (String subsystem : FootprintReporter.SUBSYSTEMS) {
+            assertEquals((long) report.get(subsystem),
+                    registry.gauge("footprint." + subsystem).get());
+            sum += report.get(subsystem);
+        }
+        assertEquals(sum, (long) report.get("total"));
+        assertEquals(total, sum);
+    }
+}
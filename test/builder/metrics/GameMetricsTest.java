@@ -0,0 +1,54 @@
+package builder.metrics;
+
+import builder.entities.npc.NpcManager;
+import builder.entities.npc.enemies.EnemyManager;
+import builder.world.BeanWorld;
+import builder.world.WorldBuilder;
+
+import engine.renderer.TileGrid;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link GameMetrics}.
+ */
+public class GameMetricsTest {
+    private final NpcManager npcs = new NpcManager();
+    private final EnemyManager enemies = new EnemyManager(new TileGrid(25, 800));
+    private final BeanWorld world = WorldBuilder.empty();
+
+    @Test
+    public void frames_overBudgetAreCounted() throws InterruptedException {
+        GameMetrics metrics = new GameMetrics(new MetricsRegistry());
+        metrics.setFrameBudget(Long.MAX_VALUE);
+        this.frame(metrics);
+        assertEquals(0, metrics.getOverBudgetFrames());
+
+        metrics.setFrameBudget(1);
+        this.frame(metrics);
+        assertEquals(1, metrics.getOverBudgetFrames());
+        assertEquals(2, metrics.getTickHistogram().getCount());
+        assertEquals(2, metrics.getHistogram(GameMetrics.Phase.RENDER).getCount());
+        assertEquals(7, metrics.getRenderables());
+    }
+
+    @Test
+    public void disabled_recordsNothing() throws InterruptedException {
+        GameMetrics metrics = GameMetrics.DISABLED;
+        assertEquals(0, metrics.start());
+        this.frame(metrics);
+        assertEquals(0, metrics.getTickHistogram().getCount());
+        assertEquals(0, metrics.getOverBudgetFrames());
+    }
+
+    private void frame(GameMetrics metrics) throws InterruptedException {
+        long start = metrics.start();
+        Thread.sleep(1);
+        long lap = metrics.lap(GameMetrics.Phase.PLAYER, start);
+        metrics.lap(GameMetrics.Phase.NPCS, lap);
+        metrics.tickFinished(start, this.npcs, this.enemies, this.world);
+        metrics.rendered(metrics.start(), 7);
+    }
+}
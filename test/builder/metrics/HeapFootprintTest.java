@@ -0,0 +1,63 @@
+package builder.metrics;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link HeapFootprint}.
+ */
+public class HeapFootprintTest {
+
+    private static class OneInt {
+        private int value;
+    }
+
+    private static class OneLong {
+        private long value;
+    }
+
+    private static class Node {
+        private final List<Object> children = new ArrayList<>();
+        private final long[] payload = new long[10];
+    }
+
+    @Test
+    public void shallowSize_packsFieldsAfterTheHeader() {
+        assertEquals(align(HeapFootprint.HEADER + 4), HeapFootprint.shallowSize(OneInt.class));
+        assertEquals(align(align(HeapFootprint.HEADER) + 8),
+                HeapFootprint.shallowSize(OneLong.class));
+        assertEquals(0, HeapFootprint.shallowSize(Node.class) % 8);
+        assertEquals(align(HeapFootprint.ARRAY_BASE + 80), HeapFootprint.array(10, 8));
+    }
+
+    @Test
+    public void measure_countsEachObjectOnceAndStopsAtBoundaries() {
+        Node root = new Node();
+        Node child = new Node();
+        Node shared = new Node();
+        root.children.add(child);
+        root.children.add(shared);
+        child.children.add(shared);
+
+        long everything = new HeapFootprint().measure(root);
+        long childAndShared = new HeapFootprint().measure(child);
+        assertTrue(childAndShared > 2 * HeapFootprint.array(10, 8));
+
+        HeapFootprint heap = new HeapFootprint();
+        heap.stopAt(child);
+        long rootAndShared = heap.measure(root);
+        long childOnly = heap.measure(child);
+        assertEquals(everything, rootAndShared + childOnly);
+        assertTrue(childOnly < childAndShared);
+        assertEquals(0, heap.measure(root));
+        assertEquals(0, heap.measure(shared));
+    }
+
+    private static long align(long size) {
+        return (size + 7) & ~7L;
+    }
+}
@@ -0,0 +1,59 @@
+package builder.metrics;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link Histogram}.
+ */
+public class HistogramTest {
+
+    @Test
+    public void buckets_boundEveryValueWithinAQuarter() {
+        for (long value = 0; value < 1_000_000; value += 7) {
+            long upper = Histogram.upperBound(Histogram.bucket(value));
+            assertTrue(value + " above its bucket", value <= upper);
+            assertTrue(value + " bucket too wide", upper <= value + value / 4 + 1);
+        }
+        assertTrue(Histogram.bucket(Long.MAX_VALUE) >= 0);
+        assertEquals(Long.MAX_VALUE, Histogram.upperBound(Histogram.bucket(Long.MAX_VALUE)));
+    }
+
+    @Test
+    public void percentiles_areUpperEstimatesCappedByTheMax() {
+        Histogram histogram = new Histogram();
+        assertEquals(0, histogram.getPercentile(99));
+        for (int value = 1; value <= 100; value++) {
+            histogram.record(value * 1000);
+        }
+        assertEquals(100, histogram.getCount());
+        assertEquals(50_500, histogram.getMean(), 0.001);
+        assertEquals(100_000, histogram.getMax());
+        long median = histogram.getPercentile(50);
+        assertTrue(median >= 50_000 && median <= 50_000 * 5 / 4);
+        assertEquals(100_000, histogram.getPercentile(100));
+
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getPercentile(50));
+    }
+
+    @Test
+    public void metricsRegistry_exportsAsOneJsonLine() throws IOException {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.counter("spawns").add(3);
+        registry.gauge("npcs").set(2);
+        registry.histogram("tick").record(5);
+        StringWriter out = new StringWriter();
+        JsonLinesExporter.write(registry, 7, out);
+        assertEquals(
+                "{\"time\":7,\"counters\":{\"spawns\":3},\"gauges\":{\"npcs\":2},"
+                        + "\"histograms\":{\"tick\":{\"count\":1,\"mean\":5.0,"
+                        + "\"p50\":5,\"p90\":5,\"p99\":5,\"max\":5}}}",
+                out.toString());
+    }
+}
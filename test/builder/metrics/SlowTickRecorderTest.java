@@ -0,0 +1,62 @@
+package builder.metrics;
+
+import builder.entities.npc.NpcManager;
+import builder.entities.npc.enemies.EnemyManager;
+import builder.world.WorldBuilder;
+
+import engine.renderer.TileGrid;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link SlowTickRecorder}.
+ */
+public class SlowTickRecorderTest {
+
+    @Test
+    public void slowTick_isWrittenWithItsWindowAndAStackSample()
+            throws IOException, InterruptedException {
+        Path directory = Files.createTempDirectory("slow-ticks");
+        GameMetrics metrics = new GameMetrics(new MetricsRegistry());
+        try (SlowTickRecorder recorder = new SlowTickRecorder(20_000_000L, directory, 64, 4, 2)) {
+            metrics.setRecorder(recorder);
+            NpcManager npcs = new NpcManager();
+            EnemyManager enemies = new EnemyManager(new TileGrid(25, 800));
+            for (int tick = 1; tick <= 10; tick++) {
+                long start = metrics.startTick(tick);
+                long lap = metrics.lap(GameMetrics.Phase.PLAYER, start);
+                if (tick == 6) {
+                    Thread.sleep(100);
+                }
+                metrics.lap(GameMetrics.Phase.NPCS, lap);
+                metrics.tickFinished(start, npcs, enemies, WorldBuilder.empty());
+            }
+            for (int wait = 0; wait < 100 && recorder.getDumps() == 0; wait++) {
+                Thread.sleep(10);
+            }
+            assertEquals(1, recorder.getDumps());
+            assertEquals(directory.resolve("slow-tick-6.txt"), recorder.getLastDump());
+
+            List<String> lines = Files.readAllLines(recorder.getLastDump());
+            assertTrue(lines.get(0), lines.get(0).startsWith("slow tick 6 took"));
+            assertTrue(lines.get(1), lines.get(1).startsWith("stack sampled during tick.npcs"));
+            assertTrue(lines.stream().anyMatch(line -> line.contains("Thread.sleep")));
+            List<String> rows = lines.subList(lines.indexOf("") + 2, lines.size());
+            assertEquals(7, rows.size());
+            assertTrue(rows.get(0).startsWith("2,"));
+            assertTrue(rows.get(4), rows.get(4).startsWith("6,") && rows.get(4).endsWith(",slow"));
+        } finally {
+            for (Path file : Files.list(directory).toList()) {
+                Files.delete(file);
+            }
+            Files.delete(directory);
+        }
+    }
+}
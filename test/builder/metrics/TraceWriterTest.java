@@ -0,0 +1,56 @@
+package builder.metrics;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link TraceWriter}.
+ */
+public class TraceWriterTest {
+
+    @Test
+    public void close_writesSpansAndCountersAsTraceEvents() throws IOException {
+        StringWriter out = new StringWriter();
+        int span = Trace.name("test.span");
+        int counter = Trace.name("test.counter");
+        TraceWriter writer = new TraceWriter(out, 16, 10_000);
+        Trace.enable(writer);
+        try {
+            long start = Trace.now();
+            assertTrue(start != 0);
+            assertTrue(Trace.span(span, start) >= start);
+            Trace.counter(counter, 42);
+        } finally {
+            Trace.disable();
+        }
+        Trace.counter(counter, 7);
+        writer.close();
+
+        String json = out.toString();
+        assertTrue(json, json.startsWith("[\n{"));
+        assertTrue(json, json.endsWith("}\n]\n"));
+        assertTrue(json, json.contains("{\"name\":\"test.span\",\"ph\":\"X\",\"ts\":"));
+        assertTrue(json, json.contains(",\"dur\":"));
+        assertTrue(json, json.contains("\"name\":\"test.counter\",\"ph\":\"C\""));
+        assertTrue(json, json.contains(",\"args\":{\"value\":42}}"));
+        assertFalse(json, json.contains("\"value\":7"));
+        assertEquals(0, writer.getDropped());
+    }
+
+    @Test
+    public void span_dropsEventsBeyondTheBufferCapacity() throws IOException {
+        StringWriter out = new StringWriter();
+        int span = Trace.name("test.span");
+        TraceWriter writer = new TraceWriter(out, 2, 10_000);
+        for (int i = 0; i < 5; i++) {
+            writer.span(span, i + 1, i + 2);
+        }
+        assertEquals(3, writer.getDropped());
+        writer.close();
+        assertEquals(2, out.toString().split("\"ph\":\"X\"").length - 1);
+    }
+}
@@ -0,0 +1,70 @@
+package builder.simulation;
+
+import builder.world.OverlayBuilder;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link ParameterGrid}.
+ */
+public class ParameterGridTest {
+
+    @Test
+    public void points_coverEveryCombination() throws IOException {
+        ParameterGrid grid =
+                ParameterGrid.read(
+                        new StringReader(
+                                "# a comment\n"
+                                        + "coins = 4; 20\n"
+                                        + "\n"
+                                        + "magpiespawner = x:1 y:1 duration:300; none; "
+                                        + "x:1 y:1 duration:900, x:5 y:5 duration:900\n"));
+        List<ParameterGrid.Point> points = grid.points();
+        assertEquals(6, points.size());
+        assertEquals("4", points.get(0).get("coins"));
+        assertEquals("none", points.get(1).get("magpiespawner"));
+        assertEquals("20", points.get(5).get("coins"));
+        assertEquals("5", points.get(5).get("food"));
+        assertEquals(5, points.get(5).getIndex());
+    }
+
+    @Test
+    public void toDetails_isReadableByTheGame() throws IOException {
+        ParameterGrid.Point point =
+                new ParameterGrid()
+                        .vary("food", "7")
+                        .vary("eaglespawner", "x:1 y:2 duration:300, x:3 y:4 duration:600")
+                        .vary("cabbages", "x:200 y:240")
+                        .points()
+                        .getFirst();
+        String details = point.toDetails(100, 120);
+        assertEquals(7, OverlayBuilder.getPlayerDetailsFromFile(details).getStartingFood());
+        assertEquals(120, OverlayBuilder.getPlayerDetailsFromFile(details).getY());
+        assertEquals(2, OverlayBuilder.getEagleSpawnDetailsFromString(details).size());
+        assertEquals(600, OverlayBuilder.getEagleSpawnDetailsFromString(details).get(1).getDuration());
+        assertTrue(OverlayBuilder.getMagpieSpawnDetailsFromString(details).isEmpty());
+        assertEquals(1, OverlayBuilder.getCabbageSpawnDetailsFromString(details).size());
+    }
+
+    @Test
+    public void read_rejectsMalformedEntries() {
+        try {
+            ParameterGrid.read(new StringReader("pigeonspawner = x:1 y:1\n"));
+            fail("a spawner needs a duration");
+        } catch (IOException expected) {
+            assertTrue(expected.getMessage().startsWith("line 1"));
+        }
+        try {
+            ParameterGrid.read(new StringReader("gold = 4\n"));
+            fail("gold is not a setting");
+        } catch (IOException expected) {
+            // expected
+        }
+    }
+}
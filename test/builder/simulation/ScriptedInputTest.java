@@ -0,0 +1,47 @@
+package builder.simulation;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link ScriptedInput}.
+ */
+public class ScriptedInputTest {
+
+    @Test
+    public void emptyScript_isIdle() {
+        ScriptedInput input = new ScriptedInput();
+        assertTrue(input.keysAt(0).getDown().isEmpty());
+        assertFalse(input.mouseAt(500).isLeftPressed());
+    }
+
+    @Test
+    public void keys_holdUntilNextChange() {
+        ScriptedInput input = new ScriptedInput().keys(10, 'd').keys(20);
+        assertFalse(input.keysAt(9).isDown('d'));
+        assertTrue(input.keysAt(10).isDown('d'));
+        assertTrue(input.keysAt(19).isDown('d'));
+        assertFalse(input.keysAt(20).isDown('d'));
+    }
+
+    @Test
+    public void leftClick_lastsOneTick() {
+        ScriptedInput input = new ScriptedInput().leftClick(5, 40, 60);
+        assertFalse(input.mouseAt(4).isLeftPressed());
+        assertTrue(input.mouseAt(5).isLeftPressed());
+        assertEquals(40, input.mouseAt(5).getMouseX());
+        assertEquals(60, input.mouseAt(5).getMouseY());
+        assertFalse(input.mouseAt(6).isLeftPressed());
+    }
+
+    @Test
+    public void nextChange_findsTheNextKeyOrMouseChange() {
+        ScriptedInput input = new ScriptedInput().keys(10, 'd').keys(20).leftClick(15, 0, 0);
+        assertEquals(10, input.nextChange(0));
+        assertEquals(15, input.nextChange(10));
+        assertEquals(16, input.nextChange(15));
+        assertEquals(20, input.nextChange(16));
+        assertEquals(Integer.MAX_VALUE, input.nextChange(20));
+    }
+}
@@ -0,0 +1,114 @@
+package builder.simulation;
+
+import engine.input.KeyState;
+import engine.input.MouseState;
+import engine.renderer.Dimensions;
+import engine.renderer.TileGrid;
+import org.junit.Test;
+import scenarios.details.ScenarioDetails;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for admission and tick accounting in {@link SessionHost}.
+ */
+public class SessionHostTest {
+
+    private static final Dimensions dimensions = new TileGrid(25, 800);
+    private static final String MAP = "resources/testmaps/base.map";
+
+    /** Writes a plain details file and returns its name. */
+    private static String details() throws IOException {
+        StringWriter text = new StringWriter();
+        new ScenarioDetails(100, 200, 20, 10).toReader().transferTo(text);
+        Path file = Files.createTempFile("session", ".details");
+        Files.writeString(file, text.toString());
+        file.toFile().deleteOnExit();
+        return file.toString();
+    }
+
+    /** Idle input that holds every tick until the gate opens. */
+    private static InputSource gated(CountDownLatch gate) {
+        return new InputSource() {
+            @Override
+            public KeyState keysAt(int tick) {
+                try {
+                    gate.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return NO_KEYS;
+            }
+
+            @Override
+            public MouseState mouseAt(int tick) {
+                return NO_MOUSE;
+            }
+        };
+    }
+
+    @Test
+    public void constructor_rejectsNoSessions() {
+        try {
+            new SessionHost(0);
+            fail("a host admitting no sessions should be rejected");
+        } catch (IllegalArgumentException expected) {
+            // expected
+        }
+    }
+
+    @Test
+    public void submit_rejectsSessionsOverTheLimit()
+            throws IOException, ExecutionException, InterruptedException {
+        String details = details();
+        CountDownLatch gate = new CountDownLatch(1);
+        try (SessionHost host = new SessionHost(2)) {
+            Session first = host.submit("first", dimensions, MAP, details, gated(gate), 10);
+            Session second = host.submit("second", dimensions, MAP, details, gated(gate), 10);
+            try {
+                host.submit("third", dimensions, MAP, details, gated(gate), 10);
+                fail("a session over the limit should be rejected");
+            } catch (RejectedExecutionException expected) {
+                // expected
+            }
+            assertEquals(2, host.getRunningSessions());
+            assertEquals(2, host.getSessions().size());
+
+            gate.countDown();
+            first.awaitReport();
+            second.awaitReport();
+            Session fourth =
+                    host.submit("fourth", dimensions, MAP, details, InputSource.idle(), 10);
+            fourth.awaitReport();
+            assertEquals(3, host.getSessions().size());
+        }
+    }
+
+    @Test
+    public void sessions_accountTheirOwnTicks()
+            throws IOException, ExecutionException, InterruptedException {
+        String details = details();
+        try (SessionHost host = new SessionHost(4)) {
+            InputSource idle = InputSource.idle();
+            Session shorter = host.submit("short", dimensions, MAP, details, idle, 300);
+            Session longer = host.submit("long", dimensions, MAP, details, idle, 600);
+            shorter.awaitReport();
+            longer.awaitReport();
+
+            assertEquals(300, shorter.getTicksRun());
+            assertEquals(600, longer.getTicksRun());
+            assertTrue(shorter.getTicksPerSecond() > 0);
+            assertTrue(longer.getTicksPerSecond() > 0);
+            assertEquals(900, host.getTotalTicks());
+            assertEquals(0, host.getRunningSessions());
+        }
+    }
+}
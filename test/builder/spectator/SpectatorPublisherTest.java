@@ -0,0 +1,192 @@
+package builder.spectator;
+
+import engine.art.sprites.Colour;
+import engine.art.sprites.Sprite;
+import engine.renderer.Renderable;
+
+import org.junit.Test;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the spectator stream: {@link DeltaEncoder}, {@link SpectatorView} and {@link
+ * SpectatorPublisher}.
+ */
+public class SpectatorPublisherTest {
+
+    private static Sprite sprite(String label) {
+        return new Sprite() {
+            @Override
+            public int getWidth() {
+                return 1;
+            }
+
+            @Override
+            public int getHeight() {
+                return 1;
+            }
+
+            @Override
+            public Colour colourAt(int x, int y) {
+                return null;
+            }
+
+            @Override
+            public String toUtfBlockString() {
+                return "";
+            }
+
+            @Override
+            public String getLabel() {
+                return label;
+            }
+
+            @Override
+            public String getGroup() {
+                return "test";
+            }
+        };
+    }
+
+    /** A renderable whose position and sprite can be changed between ticks. */
+    private static class Thing implements Renderable {
+        private final String id;
+        private int x;
+        private int y;
+        private Sprite sprite;
+
+        Thing(String id, int x, int y, Sprite sprite) {
+            this.id = id;
+            this.x = x;
+            this.y = y;
+            this.sprite = sprite;
+        }
+
+        @Override
+        public String getID() {
+            return id;
+        }
+
+        @Override
+        public int getX() {
+            return x;
+        }
+
+        @Override
+        public int getY() {
+            return y;
+        }
+
+        @Override
+        public Sprite getSprite() {
+            return sprite;
+        }
+    }
+
+    private static byte[] body(byte[] frame) {
+        return Arrays.copyOfRange(frame, 4, frame.length);
+    }
+
+    @Test
+    public void deltas_keepViewInSyncWithKeyframes() throws IOException {
+        DeltaEncoder encoder = new DeltaEncoder();
+        SpectatorView view = new SpectatorView();
+        Thing a = new Thing("a", 0, 0, sprite("one"));
+        Thing b = new Thing("b", 10, 10, sprite("one"));
+        List<Renderable> drawn = new ArrayList<>(List.of(a, b));
+
+        view.apply(body(encoder.delta(0, drawn)));
+        assertFalse("deltas before a keyframe are ignored", view.isSynced());
+        view.apply(body(encoder.keyframe(0)));
+        assertArrayEquals(new String[] {"test/one@0,0", "test/one@10,10"}, view.describe());
+
+        a.x = -5;
+        b.sprite = sprite("two");
+        view.apply(body(encoder.delta(1, drawn)));
+        assertArrayEquals(new String[] {"test/one@-5,0", "test/two@10,10"}, view.describe());
+
+        drawn.remove(a);
+        drawn.add(new Thing("c", 3, 4, sprite("three")));
+        view.apply(body(encoder.delta(2, drawn)));
+        assertArrayEquals(new String[] {"test/two@10,10", "test/three@3,4"}, view.describe());
+        assertEquals(2, view.getTick());
+
+        SpectatorView late = new SpectatorView();
+        late.apply(body(encoder.keyframe(2)));
+        assertArrayEquals(view.describe(), late.describe());
+    }
+
+    @Test
+    public void unchangedTick_encodesAlmostNothing() {
+        DeltaEncoder encoder = new DeltaEncoder();
+        List<Renderable> drawn = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            drawn.add(new Thing("t" + i, i, i, sprite("grass")));
+        }
+        encoder.delta(0, drawn);
+        assertTrue(encoder.delta(1, drawn).length < 10);
+    }
+
+    @Test
+    public void publisher_streamsToSpectator() throws IOException {
+        Thing thing = new Thing("a", 0, 0, sprite("one"));
+        try (SpectatorPublisher publisher = new SpectatorPublisher(null, 0);
+                Socket socket = new Socket(InetAddress.getLoopbackAddress(), publisher.getPort())) {
+            DataInputStream in =
+                    new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            SpectatorView view = new SpectatorView();
+            for (int tick = 0; tick < 10; tick++) {
+                thing.x = tick;
+                publisher.publish(tick, List.of(thing));
+            }
+            assertEquals(1, publisher.getSubscriberCount());
+            while (view.getTick() < 9) {
+                assertTrue(view.readFrame(in));
+            }
+            assertArrayEquals(new String[] {"test/one@9,0"}, view.describe());
+        }
+    }
+
+    @Test
+    public void slowSpectator_isDroppedToKeyframeWithoutBlocking() throws IOException {
+        List<Renderable> drawn = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            drawn.add(new Thing("t" + i, i, 0, sprite("bird")));
+        }
+        try (SpectatorPublisher publisher = new SpectatorPublisher(null, 0, 50, 64 * 1024);
+                Socket socket = new Socket()) {
+            socket.setReceiveBufferSize(4096);
+            socket.connect(new InetSocketAddress(InetAddress.getLoopbackAddress(), publisher.getPort()));
+            for (int tick = 0; tick < 2000; tick++) {
+                for (Renderable each : drawn) {
+                    ((Thing) each).y = tick;
+                }
+                publisher.publish(tick, drawn);
+            }
+            assertTrue(publisher.getDroppedFrames() > 0);
+
+            // the spectator can still catch up from a later keyframe
+            DataInputStream in =
+                    new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            SpectatorView view = new SpectatorView();
+            for (int tick = 2000; view.getTick() < 2099; tick++) {
+                if (tick < 2100) {
+                    publisher.publish(tick, drawn);
+                }
+                assertTrue(view.readFrame(in));
+            }
+            assertEquals(500, view.getShownCount());
+            assertTrue(view.getKeyframes() >= 2);
+        }
+    }
+}
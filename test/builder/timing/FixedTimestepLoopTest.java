@@ -0,0 +1,51 @@
+package builder.timing;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link FixedTimestepLoop}.
+ */
+public class FixedTimestepLoopTest {
+
+    private static final long PERIOD = 2_000_000L;
+
+    @Test
+    public void run_stopsWhenNotRunning() {
+        FixedTimestepLoop loop = new FixedTimestepLoop(PERIOD, 2);
+        int[] count = {0};
+        loop.run(() -> count[0] < 10, () -> count[0]++);
+        assertEquals(10, count[0]);
+        assertEquals(10, loop.getTicks());
+    }
+
+    @Test
+    public void run_dropsTicksBeyondCatchUpLimit() {
+        FixedTimestepLoop loop = new FixedTimestepLoop(PERIOD, 3);
+        int[] count = {0};
+        loop.run(
+                () -> count[0] < 20,
+                () -> {
+                    if (count[0]++ == 0) {
+                        try {
+                            Thread.sleep(40);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }
+                });
+        assertTrue(loop.getLateTicks() >= 2);
+        assertTrue(loop.getDroppedTicks() > 0);
+    }
+
+    @Test
+    public void constructor_rejectsNonPositivePeriod() {
+        try {
+            new FixedTimestepLoop(0, 1);
+            fail("a zero period should be rejected");
+        } catch (IllegalArgumentException expected) {
+            // expected
+        }
+    }
+}
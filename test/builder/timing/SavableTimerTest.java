@@ -0,0 +1,79 @@
+package builder.timing;
+
+import engine.timing.FixedTimer;
+import engine.timing.RepeatingTimer;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests that the savable timers count exactly like the engine timers they replace.
+ */
+public class SavableTimerTest {
+
+    @Test
+    public void repeatingTimer_matchesEngineTimer() {
+        RepeatingTimer engine = new RepeatingTimer(7);
+        SavableRepeatingTimer savable = new SavableRepeatingTimer(7);
+        for (int i = 0; i < 50; i++) {
+            assertEquals("tick " + i, engine.isFinished(), savable.isFinished());
+            engine.tick();
+            savable.tick();
+        }
+    }
+
+    @Test
+    public void fixedTimer_matchesEngineTimer() {
+        for (int duration : new int[] {1, 2, 9}) {
+            FixedTimer engine = new FixedTimer(duration);
+            SavableFixedTimer savable = new SavableFixedTimer(duration);
+            for (int i = 0; i < 30; i++) {
+                assertEquals(
+                        "duration " + duration + " tick " + i,
+                        engine.isFinished(),
+                        savable.isFinished());
+                engine.tick();
+                savable.tick();
+            }
+        }
+    }
+
+    @Test
+    public void advance_matchesRepeatedTicks() {
+        for (int steps = 0; steps < 40; steps++) {
+            SavableRepeatingTimer ticked = new SavableRepeatingTimer(6);
+            SavableRepeatingTimer advanced = new SavableRepeatingTimer(6);
+            SavableFixedTimer fixedTicked = new SavableFixedTimer(6);
+            SavableFixedTimer fixedAdvanced = new SavableFixedTimer(6);
+            for (int i = 0; i < steps; i++) {
+                ticked.tick();
+                fixedTicked.tick();
+            }
+            advanced.advance(steps);
+            fixedAdvanced.advance(steps);
+            assertEquals(ticked.getRemaining(), advanced.getRemaining());
+            assertEquals(fixedTicked.getRemaining(), fixedAdvanced.getRemaining());
+            fixedTicked.tick();
+            fixedAdvanced.tick();
+            assertEquals(fixedTicked.isFinished(), fixedAdvanced.isFinished());
+        }
+    }
+
+    @Test
+    public void saveAndLoad_restoresProgress() throws IOException {
+        SavableFixedTimer original = new SavableFixedTimer(10);
+        original.advance(4);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        original.save(new DataOutputStream(bytes));
+
+        SavableFixedTimer restored = new SavableFixedTimer(10);
+        restored.load(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+        assertEquals(original.getRemaining(), restored.getRemaining());
+    }
+}
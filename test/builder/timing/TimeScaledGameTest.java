@@ -0,0 +1,130 @@
+package builder.timing;
+
+import engine.EngineState;
+import engine.art.sprites.Sprite;
+import engine.game.Game;
+import engine.renderer.Renderable;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import scenarios.mocks.MockEngineState;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link TimeScaledGame}.
+ */
+public class TimeScaledGameTest {
+
+    /** A game with one renderable that moves 10 pixels right every tick. */
+    private static class Mover implements Game, Renderable {
+        private final List<Integer> ticks = new ArrayList<>();
+        private final List<Boolean> input = new ArrayList<>();
+        private int x = 0;
+
+        @Override
+        public void tick(EngineState state) {
+            ticks.add(state.currentTick());
+            input.add(state.getKeys().isDown('e') || state.getMouse().isLeftPressed());
+            x += 10;
+        }
+
+        @Override
+        public List<Renderable> render() {
+            return List.of(this);
+        }
+
+        @Override
+        public String getID() {
+            return "mover";
+        }
+
+        @Override
+        public int getX() {
+            return x;
+        }
+
+        @Override
+        public int getY() {
+            return 0;
+        }
+
+        @Override
+        public Sprite getSprite() {
+            return null;
+        }
+    }
+
+    private Mover mover;
+    private TimeScaledGame scaled;
+
+    @Before
+    public void setUp() {
+        mover = new Mover();
+        scaled = new TimeScaledGame(mover);
+    }
+
+    private int frame(int frame) {
+        scaled.tick(new MockEngineState(frame));
+        return scaled.render().getFirst().getX();
+    }
+
+    @Test
+    public void fastForward_runsManyNumberedTicksPerFrame() {
+        scaled.setSpeed(8);
+        frame(0);
+        frame(1);
+        assertEquals(16, mover.ticks.size());
+        for (int i = 0; i < 16; i++) {
+            assertEquals(i, (int) mover.ticks.get(i));
+        }
+        assertEquals(16, scaled.getGameTicks());
+    }
+
+    @Test
+    public void fastForward_givesInputToFirstTickOfFrameOnly() {
+        scaled.setSpeed(8);
+        scaled.tick(new MockEngineState(0).press('e'));
+        scaled.tick(new MockEngineState(1).leftClick());
+        assertEquals(16, mover.input.size());
+        for (int i = 0; i < 16; i++) {
+            assertEquals("tick " + i, i % 8 == 0, mover.input.get(i));
+        }
+    }
+
+    @Test
+    public void normalSpeed_rendersEveryTick() {
+        assertEquals(1, scaled.getSpeed());
+        assertEquals(10, frame(0));
+        assertEquals(20, frame(1));
+        assertEquals(2, scaled.getGameTicks());
+    }
+
+    @Test
+    public void speedKeys_stepOncePerPress() {
+        MockEngineState faster = new MockEngineState().press(TimeScaledGame.FASTER);
+        scaled.tick(faster);
+        scaled.tick(faster);
+        assertEquals(2, scaled.getSpeed());
+        scaled.tick(new MockEngineState());
+        scaled.tick(faster);
+        assertEquals(8, scaled.getSpeed());
+        scaled.tick(new MockEngineState().press(TimeScaledGame.SLOWER));
+        assertEquals(2, scaled.getSpeed());
+        scaled.tick(new MockEngineState());
+        scaled.tick(new MockEngineState().press(TimeScaledGame.SLOWER));
+        scaled.tick(new MockEngineState());
+        scaled.tick(new MockEngineState().press(TimeScaledGame.SLOWER));
+        assertEquals(1, scaled.getSpeed());
+        try {
+            scaled.setSpeed(3);
+            fail("x3 is not a supported speed");
+        } catch (IllegalArgumentException expected) {
+            // expected
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package builder.ui;
+
+import engine.art.sprites.Colour;
+import engine.art.sprites.Sprite;
+import engine.timing.AnimationDuration;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for frame selection in {@link SharedAnimation}.
+ */
+public class SharedAnimationTest {
+
+    /** A placeholder sprite identified only by its label. */
+    private static Sprite frame(String label) {
+        return new Sprite() {
+            @Override
+            public int getWidth() {
+                return 1;
+            }
+
+            @Override
+            public int getHeight() {
+                return 1;
+            }
+
+            @Override
+            public Colour colourAt(int x, int y) {
+                return null;
+            }
+
+            @Override
+            public String toUtfBlockString() {
+                return label;
+            }
+
+            @Override
+            public String getLabel() {
+                return label;
+            }
+
+            @Override
+            public String getGroup() {
+                return "test";
+            }
+        };
+    }
+
+    private final Sprite first = frame("first");
+    private final Sprite second = frame("second");
+    private final SharedAnimation animation =
+            new SharedAnimation(AnimationDuration.FAST, first, second);
+
+    @Test
+    public void frameAt_holdsEachFrameForItsDuration() {
+        int duration = AnimationDuration.FAST.getDuration();
+        assertSame(first, animation.frameAt(0));
+        assertSame(first, animation.frameAt(duration - 1));
+        assertSame(second, animation.frameAt(duration));
+        assertSame(first, animation.frameAt(duration * 2));
+    }
+
+    @Test
+    public void startingAt_offsetsFirstFrame() {
+        int duration = AnimationDuration.FAST.getDuration();
+        SharedAnimation started = animation.startingAt(duration);
+        assertSame(first, started.frameAt(duration));
+        assertSame(second, started.frameAt(duration * 2));
+        assertSame(second, animation.frameAt(duration));
+    }
+
+    @Test
+    public void frameAt_dependsOnlyOnTheTickGiven() {
+        int duration = AnimationDuration.FAST.getDuration();
+        assertEquals("second", animation.frameAt(duration).getLabel());
+        assertEquals("first", animation.frameAt(0).getLabel());
+        assertEquals("second", animation.frameAt(duration).getLabel());
+    }
+
+    @Test
+    public void constructor_rejectsNoFrames() {
+        try {
+            new SharedAnimation(AnimationDuration.FAST);
+            fail("an animation with no frames should be rejected");
+        } catch (IllegalArgumentException expected) {
+            // expected
+        }
+    }
+}
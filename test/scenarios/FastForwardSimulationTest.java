@@ -0,0 +1,70 @@
+package scenarios;
+
+import builder.GameRandom;
+import builder.JavaBeanFarm;
+import builder.simulation.HeadlessRunner;
+import builder.simulation.ScriptedInput;
+import builder.snapshot.GameSnapshot;
+import builder.world.WorldLoadException;
+
+import engine.renderer.Dimensions;
+import engine.renderer.TileGrid;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import scenarios.details.ScenarioDetails;
+
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * A farm with growing cabbages and a slow magpie spawner is run for 10000 ticks while the player
+ * walks briefly, once tick by tick and once fast-forwarding over quiet stretches. Both games share
+ * a seed and must end in exactly the same state, and the fast-forwarded run must actually have
+ * skipped ticks.
+ */
+public class FastForwardSimulationTest {
+
+    private static final int SIZE = 800;
+    private static final int TILES_PER_ROW = 25;
+    private static final int TICKS = 10_000;
+    private static final long SEED = 42;
+
+    private static final Dimensions dimensions = new TileGrid(TILES_PER_ROW, SIZE);
+
+    private static ScriptedInput script() {
+        return new ScriptedInput().keys(5, 'd').keys(60).keys(4000, 's').keys(4030);
+    }
+
+    private static JavaBeanFarm newGame() throws IOException, WorldLoadException {
+        ScenarioDetails details = new ScenarioDetails(100, 200, 20, 10);
+        details.addMagpieSpawner(2, 1, 3000);
+        details.addCabbage(200, 200);
+        details.addCabbage(400, 300);
+        return new JavaBeanFarm(
+                dimensions,
+                new FileReader("resources/testmaps/base.map"),
+                details.toReader(),
+                new GameRandom(SEED));
+    }
+
+    @Test
+    public void fastForwardMatchesPlainTicking() throws IOException, WorldLoadException {
+        HeadlessRunner plain = new HeadlessRunner(newGame(), dimensions, script());
+        plain.run(TICKS);
+
+        HeadlessRunner fast = new HeadlessRunner(newGame(), dimensions, script());
+        fast.setFastForward(true);
+        fast.run(TICKS);
+
+        Assert.assertEquals(plain.getTick(), fast.getTick());
+        Assert.assertTrue("quiet ticks should have been skipped", fast.getSkippedTicks() > 0);
+        Assert.assertTrue(
+                "fast-forwarding should end in the same state as ticking",
+                Arrays.equals(
+                        GameSnapshot.capture(plain.getGame(), plain.getTick()),
+                        GameSnapshot.capture(fast.getGame(), fast.getTick())));
+    }
+}
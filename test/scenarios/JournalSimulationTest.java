@@ -0,0 +1,93 @@
+package scenarios;
+
+import builder.JavaBeanFarm;
+import builder.entities.tiles.Dirt;
+import builder.journal.Journal;
+import builder.journal.Recovery;
+import builder.simulation.HeadlessRunner;
+import builder.simulation.ScriptedInput;
+import builder.world.WorldLoadException;
+
+import engine.renderer.Dimensions;
+import engine.renderer.TileGrid;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import scenarios.details.ScenarioDetails;
+
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A farm is journalled while the player tills, plants and is robbed by magpies. Halfway through a
+ * checkpoint is taken, then the game "crashes" leaving a torn batch at the end of the journal.
+ * Recovering from the checkpoint and journal must restore everything the player owns.
+ */
+public class JournalSimulationTest {
+
+    private static final int SIZE = 800;
+    private static final int TILES_PER_ROW = 25;
+
+    private static final Dimensions dimensions = new TileGrid(TILES_PER_ROW, SIZE);
+
+    private static long tilledCount(JavaBeanFarm game) {
+        return game.getWorld().allTiles().stream()
+                .filter(tile -> !tile.isMarkedForRemoval())
+                .filter(tile -> tile instanceof Dirt dirt && dirt.isTilled())
+                .count();
+    }
+
+    @Test
+    public void recoveryRestoresPlayerProgress() throws IOException, WorldLoadException {
+        ScenarioDetails details = new ScenarioDetails(100, 200, 20, 10);
+        details.addMagpieSpawner(2, 1, 90);
+        details.addCabbage(200, 200);
+        JavaBeanFarm game =
+                new JavaBeanFarm(
+                        dimensions,
+                        new FileReader("resources/testmaps/base.map"),
+                        details.toReader());
+        ScriptedInput input =
+                new ScriptedInput()
+                        .keys(5, 'd')
+                        .keys(120)
+                        .keys(121, '2')
+                        .keys(122)
+                        .leftClick(130, 0, 0)
+                        .keys(600, 's')
+                        .keys(640, '2')
+                        .keys(641)
+                        .leftClick(650, 0, 0)
+                        .keys(660, '1')
+                        .keys(661)
+                        .leftClick(670, 0, 0);
+        HeadlessRunner runner = new HeadlessRunner(game, dimensions, input);
+
+        Path directory = Files.createTempDirectory("journal");
+        Journal journal = Journal.open(directory, game, runner.getTick());
+        runner.run(400);
+        journal.checkpoint(game, runner.getTick());
+        runner.run(400);
+        journal.close();
+        Assert.assertFalse(Files.exists(directory.resolve("journal-000000.log")));
+        Files.write(
+                journal.getSegmentFile(),
+                new byte[] {0, 0, 0, 40, 1, 2, 3},
+                StandardOpenOption.APPEND);
+
+        Recovery recovery = Recovery.recover(dimensions, directory);
+        JavaBeanFarm recovered = recovery.getGame();
+        Assert.assertTrue(recovery.getTick() > 400 && recovery.getTick() <= runner.getTick());
+        Assert.assertTrue(recovery.getReplayedRecords() > 0);
+        Assert.assertEquals(game.getInventory().getCoins(), recovered.getInventory().getCoins());
+        Assert.assertEquals(game.getInventory().getFood(), recovered.getInventory().getFood());
+        Assert.assertEquals(tilledCount(game), tilledCount(recovered));
+        Assert.assertEquals(
+                game.getEnemies().getAllEnemies().size(),
+                recovered.getEnemies().getAllEnemies().size());
+    }
+}
@@ -0,0 +1,90 @@
+package scenarios;
+
+import builder.GameRandom;
+import builder.JavaBeanFarm;
+import builder.simulation.HeadlessRunner;
+import builder.simulation.InputRecorder;
+import builder.simulation.InputRecording;
+import builder.world.WorldLoadException;
+
+import engine.renderer.Dimensions;
+import engine.renderer.TileGrid;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import scenarios.details.ScenarioDetails;
+import scenarios.mocks.MockEngineState;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Collectors;
+
+/**
+ * A farm with spawners is played for 2000 ticks through an {@link InputRecorder} while the player
+ * walks around, switches items and clicks. The recording is then replayed headlessly and must end
+ * in exactly the recorded state.
+ */
+public class ReplaySimulationTest {
+
+    private static final int SIZE = 800;
+    private static final int TILES_PER_ROW = 25;
+    private static final int TICKS = 2000;
+
+    private static final Dimensions dimensions = new TileGrid(TILES_PER_ROW, SIZE);
+
+    @Test
+    public void replayEndsInRecordedState() throws IOException, WorldLoadException {
+        ScenarioDetails details = new ScenarioDetails(100, 200, 20, 10);
+        details.addMagpieSpawner(2, 1, 90);
+        details.addEagleSpawner(1, 2, 200);
+        details.addCabbage(200, 200);
+        String detailsText =
+                new BufferedReader(details.toReader()).lines().collect(Collectors.joining("\n"));
+        String map = Files.readString(Path.of("resources/testmaps/base.map"));
+
+        JavaBeanFarm game =
+                new JavaBeanFarm(
+                        dimensions,
+                        new StringReader(map),
+                        new StringReader(detailsText),
+                        new GameRandom(1234));
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        InputRecorder recorder = new InputRecorder(game, dimensions, map, detailsText, bytes);
+        MockEngineState state = new MockEngineState(dimensions);
+        for (int i = 0; i < TICKS; i++) {
+            state = state.withFrame(i);
+            if (i % 400 < 100) {
+                recorder.tick(state.press('d'));
+            } else if (i % 400 < 200) {
+                recorder.tick(state.press('s'));
+            } else if (i % 400 == 250) {
+                recorder.tick(state.press('2'));
+            } else if (i % 400 == 260) {
+                recorder.tick(state.leftClick());
+            } else {
+                recorder.tick(state);
+            }
+        }
+        recorder.close();
+
+        InputRecording recording =
+                InputRecording.read(new ByteArrayInputStream(bytes.toByteArray()));
+        Assert.assertEquals(1234, recording.getSeed());
+        Assert.assertEquals(TICKS, recording.getTicks());
+        Assert.assertTrue(
+                "input that rarely changes should record compactly",
+                bytes.size() < map.length() + detailsText.length() + 500);
+
+        HeadlessRunner runner = recording.newRunner();
+        runner.run(recording.getTicks());
+        Assert.assertTrue(
+                "the replay should end in the recorded state",
+                recording.matches(runner.getGame(), runner.getTick()));
+    }
+}
@@ -0,0 +1,84 @@
+package scenarios;
+
+import builder.JavaBeanFarm;
+import builder.simulation.HeadlessRunner;
+import builder.simulation.ScriptedInput;
+import builder.snapshot.GameSnapshot;
+import builder.world.WorldLoadException;
+
+import engine.renderer.Dimensions;
+import engine.renderer.TileGrid;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import scenarios.details.ScenarioDetails;
+
+import java.io.ByteArrayInputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * A farm with every spawner type is run for 600 ticks while the player walks, tills and plants. A
+ * snapshot is taken and restored, then both the original and the restored game are run for another
+ * 600 ticks with the same input. Both games must end in exactly the same state.
+ */
+public class SnapshotSimulationTest {
+
+    private static final int SIZE = 800;
+    private static final int TILES_PER_ROW = 25;
+    private static final int TICKS = 600;
+
+    private static final Dimensions dimensions = new TileGrid(TILES_PER_ROW, SIZE);
+
+    private static ScriptedInput script() {
+        return new ScriptedInput()
+                .keys(5, 'd')
+                .keys(120)
+                .keys(121, '2')
+                .keys(122)
+                .leftClick(130, 0, 0)
+                .keys(131, '1')
+                .keys(132)
+                .leftClick(140, 0, 0)
+                .keys(700, 's')
+                .keys(760);
+    }
+
+    private static JavaBeanFarm newGame() throws IOException, WorldLoadException {
+        ScenarioDetails details = new ScenarioDetails(100, 200, 20, 10);
+        details.addMagpieSpawner(2, 1, 90);
+        details.addEagleSpawner(1, 2, 200);
+        details.addPigeonSpawner(4, 1, 150);
+        details.addCabbage(200, 200);
+        return new JavaBeanFarm(
+                dimensions, new FileReader("resources/testmaps/base.map"), details.toReader());
+    }
+
+    @Test
+    public void restoredGameMatchesOriginal() throws IOException, WorldLoadException {
+        HeadlessRunner original = new HeadlessRunner(newGame(), dimensions, script());
+        original.run(TICKS);
+
+        byte[] saved = GameSnapshot.capture(original.getGame(), original.getTick());
+        GameSnapshot restored =
+                GameSnapshot.read(dimensions, new ByteArrayInputStream(saved));
+        Assert.assertEquals(TICKS, restored.getTick());
+        Assert.assertTrue(
+                "restoring then saving again should give the same snapshot",
+                Arrays.equals(
+                        saved, GameSnapshot.capture(restored.getGame(), restored.getTick())));
+
+        HeadlessRunner resumed =
+                new HeadlessRunner(restored.getGame(), dimensions, script(), restored.getTick());
+        original.run(TICKS);
+        resumed.run(TICKS);
+
+        Assert.assertTrue(
+                "the original and restored games should end in the same state",
+                Arrays.equals(
+                        GameSnapshot.capture(original.getGame(), original.getTick()),
+                        GameSnapshot.capture(resumed.getGame(), resumed.getTick())));
+    }
+}
@@ -0,0 +1,124 @@
+package scenarios.analysers;
+
+import engine.EngineState;
+import engine.game.Game;
+import engine.renderer.Renderable;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+/**
+ * Wraps a game to measure the bytes its thread allocates while ticking and rendering, so that
+ * scenario tests can assert an allocation budget.
+ *
+ * <p>Pass the wrapper to the {@link engine.Engine} in place of the game. The first {@code warmUp}
+ * ticks and their renders are not counted, leaving time for one-off allocations such as loading
+ * art and filling caches. Allocations made by the engine or the mock core between the two phases
+ * are not counted either.
+ */
+public class AllocationBudget implements Game {
+    private final Game game;
+    private final int warmUp;
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private int ticks = 0;
+    private int measuredTicks = 0;
+    private long tickBytes = 0;
+    private long renderBytes = 0;
+
+    /**
+     * Constructs a measuring wrapper.
+     *
+     * @param game the game to measure.
+     * @param warmUp how many ticks to run before measuring.
+     */
+    public AllocationBudget(Game game, int warmUp) {
+        this.game = game;
+        this.warmUp = warmUp;
+    }
+
+    @Override
+    public void tick(EngineState state) {
+        final long before = this.threads.getCurrentThreadAllocatedBytes();
+        this.game.tick(state);
+        final long allocated = this.threads.getCurrentThreadAllocatedBytes() - before;
+        this.ticks++;
+        if (this.isMeasuring()) {
+            this.tickBytes += allocated;
+            this.measuredTicks++;
+        }
+    }
+
+    @Override
+    public List<Renderable> render() {
+        final long before = this.threads.getCurrentThreadAllocatedBytes();
+        final List<Renderable> renderables = this.game.render();
+        if (this.isMeasuring()) {
+            this.renderBytes += this.threads.getCurrentThreadAllocatedBytes() - before;
+        }
+        return renderables;
+    }
+
+    private boolean isMeasuring() {
+        return this.ticks > this.warmUp;
+    }
+
+    /**
+     * Returns the average bytes allocated by a measured tick.
+     *
+     * @return bytes per tick during {@link Game#tick(EngineState)}.
+     */
+    public double getTickBytesPerTick() {
+        return this.measuredTicks == 0 ? 0 : (double) this.tickBytes / this.measuredTicks;
+    }
+
+    /**
+     * Returns the average bytes allocated by rendering a measured tick.
+     *
+     * @return bytes per tick during {@link Game#render()}.
+     */
+    public double getRenderBytesPerTick() {
+        return this.measuredTicks == 0 ? 0 : (double) this.renderBytes / this.measuredTicks;
+    }
+
+    /**
+     * Returns the average bytes allocated per measured tick, ticking and rendering together.
+     *
+     * @return total bytes per tick.
+     */
+    public double getBytesPerTick() {
+        return this.getTickBytesPerTick() + this.getRenderBytesPerTick();
+    }
+
+    /**
+     * Asserts that, after warm-up, ticking and rendering allocated no more than the given number
+     * of bytes per tick on average. The failure message breaks the total down by phase.
+     *
+     * @param bytesPerTick the budget.
+     * @throws AssertionError if the budget was exceeded, nothing was measured or the JVM cannot
+     *     measure thread allocation.
+     */
+    public void assertWithin(long bytesPerTick) {
+        if (!this.threads.isThreadAllocatedMemorySupported()
+                || !this.threads.isThreadAllocatedMemoryEnabled()) {
+            throw new AssertionError("this JVM cannot measure thread allocation");
+        }
+        if (this.measuredTicks == 0) {
+            throw new AssertionError(
+                    "no ticks were measured; only " + this.ticks + " of " + this.warmUp
+                            + " warm-up ticks ran");
+        }
+        if (this.getBytesPerTick() > bytesPerTick) {
+            throw new AssertionError(
+                    String.format(
+                            "allocated %.0f bytes/tick over %d ticks, budget %d"
+                                    + " (tick %.0f bytes/tick, render %.0f bytes/tick)",
+                            this.getBytesPerTick(),
+                            this.measuredTicks,
+                            bytesPerTick,
+                            this.getTickBytesPerTick(),
+                            this.getRenderBytesPerTick()));
+        }
+    }
+}
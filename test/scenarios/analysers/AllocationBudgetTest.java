@@ -0,0 +1,100 @@
+package scenarios.analysers;
+
+import engine.EngineState;
+import engine.game.Game;
+import engine.renderer.Renderable;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link AllocationBudget}, driven by a game that allocates a known number of bytes in
+ * each phase.
+ */
+public class AllocationBudgetTest {
+
+    private static final int WARM_UP = 10;
+    private static final int TICKS = 50;
+    private static final int WARM_UP_BYTES = 1 << 20;
+    private static final int TICK_BYTES = 64_000;
+    private static final int RENDER_BYTES = 16_000;
+
+    /** Array headers and the measuring itself; far below any of the sizes allocated. */
+    private static final double SLACK = 512;
+
+    /** Allocates {@link #WARM_UP_BYTES} a tick while warming up, then the steady amounts. */
+    private static class AllocatingGame implements Game {
+        private int ticks = 0;
+        private byte[] retained;
+
+        @Override
+        public void tick(EngineState state) {
+            this.retained = new byte[this.ticks < WARM_UP ? WARM_UP_BYTES : TICK_BYTES];
+            this.ticks++;
+        }
+
+        @Override
+        public List<Renderable> render() {
+            this.retained = new byte[this.ticks <= WARM_UP ? WARM_UP_BYTES : RENDER_BYTES];
+            return List.of();
+        }
+    }
+
+    private static AllocationBudget run(int ticks) {
+        final AllocationBudget budget = new AllocationBudget(new AllocatingGame(), WARM_UP);
+        for (int i = 0; i < ticks; i++) {
+            budget.tick(null);
+            budget.render();
+        }
+        return budget;
+    }
+
+    /** Returns the message of the assertion the budget fails, or null if it holds. */
+    private static String failureOf(AllocationBudget budget, long bytesPerTick) {
+        try {
+            budget.assertWithin(bytesPerTick);
+            return null;
+        } catch (AssertionError e) {
+            return e.getMessage();
+        }
+    }
+
+    @Test
+    public void splitsTickAndRenderAllocations() {
+        AllocationBudget budget = run(TICKS);
+        assertEquals(TICK_BYTES, budget.getTickBytesPerTick(), SLACK);
+        assertEquals(RENDER_BYTES, budget.getRenderBytesPerTick(), SLACK);
+        assertEquals(TICK_BYTES + RENDER_BYTES, budget.getBytesPerTick(), 2 * SLACK);
+    }
+
+    @Test
+    public void ignoresWarmUp() {
+        AllocationBudget budget = run(WARM_UP + 1);
+        assertEquals(TICK_BYTES, budget.getTickBytesPerTick(), SLACK);
+        assertEquals(RENDER_BYTES, budget.getRenderBytesPerTick(), SLACK);
+    }
+
+    @Test
+    public void assertWithin_passesUnderBudget() {
+        assertNull(failureOf(run(TICKS), TICK_BYTES + RENDER_BYTES + 4_096));
+    }
+
+    @Test
+    public void assertWithin_reportsEachPhaseOverBudget() {
+        String message = failureOf(run(TICKS), TICK_BYTES);
+        assertNotNull("a budget below the allocation rate should fail", message);
+        assertTrue(message, message.contains("over 40 ticks, budget " + TICK_BYTES));
+        assertTrue(message, message.contains("(tick 640"));
+        assertTrue(message, message.contains("render 160"));
+    }
+
+    @Test
+    public void assertWithin_failsWhenOnlyWarmUpRan() {
+        String message = failureOf(run(WARM_UP), Long.MAX_VALUE);
+        assertNotNull("nothing measured should fail", message);
+        assertTrue(message, message.contains("no ticks were measured"));
+    }
+}
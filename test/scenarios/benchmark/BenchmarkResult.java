@@ -0,0 +1,164 @@
+package scenarios.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The measurements of one {@link BenchmarkScenario}, stored as a line of a results file.
+ */
+public class BenchmarkResult {
+    /** The header line of a results file. */
+    public static final String HEADER =
+            "scenario,ticks_per_sec,p50_us,p99_us,max_us,alloc_bytes_per_tick,alloc_mb_per_sec,"
+                    + "first_tick_ms";
+
+    /** Allocation differences below this many bytes per tick are never regressions. */
+    public static final double ALLOCATION_SLACK = 64;
+
+    private final String scenario;
+    private final double ticksPerSecond;
+    private final double p50Micros;
+    private final double p99Micros;
+    private final double maxMicros;
+    private final double allocatedBytesPerTick;
+    private final double allocatedMbPerSecond;
+    private final double firstTickMillis;
+
+    /**
+     * Constructs a result.
+     *
+     * @param scenario the scenario's name.
+     * @param ticksPerSecond measured ticks, including rendering, per wall-clock second.
+     * @param p50Micros the median tick latency in microseconds.
+     * @param p99Micros the 99th percentile tick latency in microseconds.
+     * @param maxMicros the longest tick in microseconds.
+     * @param allocatedBytesPerTick bytes allocated by the simulation thread per tick.
+     * @param allocatedMbPerSecond megabytes allocated per wall-clock second.
+     * @param firstTickMillis milliseconds from loading the game to the end of its first tick.
+     */
+    public BenchmarkResult(
+            String scenario,
+            double ticksPerSecond,
+            double p50Micros,
+            double p99Micros,
+            double maxMicros,
+            double allocatedBytesPerTick,
+            double allocatedMbPerSecond,
+            double firstTickMillis) {
+        this.scenario = scenario;
+        this.ticksPerSecond = ticksPerSecond;
+        this.p50Micros = p50Micros;
+        this.p99Micros = p99Micros;
+        this.maxMicros = maxMicros;
+        this.allocatedBytesPerTick = allocatedBytesPerTick;
+        this.allocatedMbPerSecond = allocatedMbPerSecond;
+        this.firstTickMillis = firstTickMillis;
+    }
+
+    /**
+     * Reads a result from a line of a results file.
+     *
+     * @param line a line written by {@link #toCsv()}.
+     * @return the result.
+     * @throws IllegalArgumentException if the line is malformed.
+     */
+    public static BenchmarkResult parse(String line) {
+        final String[] fields = line.split(",");
+        if (fields.length != 8) {
+            throw new IllegalArgumentException("expected 8 fields but got " + fields.length);
+        }
+        final double[] values = new double[7];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = Double.parseDouble(fields[i + 1]);
+        }
+        return new BenchmarkResult(
+                fields[0], values[0], values[1], values[2], values[3], values[4], values[5],
+                values[6]);
+    }
+
+    /**
+     * Returns the name of the measured scenario.
+     *
+     * @return the scenario's name.
+     */
+    public String getScenario() {
+        return this.scenario;
+    }
+
+    /**
+     * Returns the measured throughput.
+     *
+     * @return ticks per second.
+     */
+    public double getTicksPerSecond() {
+        return this.ticksPerSecond;
+    }
+
+    /**
+     * Returns the 99th percentile tick latency.
+     *
+     * @return the latency in microseconds.
+     */
+    public double getP99Micros() {
+        return this.p99Micros;
+    }
+
+    /**
+     * Returns the bytes allocated per tick.
+     *
+     * @return the allocation per tick.
+     */
+    public double getAllocatedBytesPerTick() {
+        return this.allocatedBytesPerTick;
+    }
+
+    /**
+     * Compares this result with a baseline for the same scenario. Throughput that dropped, or p99
+     * latency or allocation that grew, by more than the threshold is a regression.
+     *
+     * @param baseline the earlier result.
+     * @param threshold the tolerated relative change, for example 0.1 for 10%.
+     * @return a description of each regression, empty if there are none.
+     */
+    public List<String> regressionsFrom(BenchmarkResult baseline, double threshold) {
+        final List<String> regressions = new ArrayList<>();
+        if (this.ticksPerSecond < baseline.ticksPerSecond * (1 - threshold)) {
+            regressions.add(this.describe(
+                    "ticks/s", baseline.ticksPerSecond, this.ticksPerSecond));
+        }
+        if (this.p99Micros > baseline.p99Micros * (1 + threshold)) {
+            regressions.add(this.describe("p99 us", baseline.p99Micros, this.p99Micros));
+        }
+        if (this.allocatedBytesPerTick
+                > baseline.allocatedBytesPerTick * (1 + threshold) + ALLOCATION_SLACK) {
+            regressions.add(this.describe(
+                    "bytes/tick", baseline.allocatedBytesPerTick, this.allocatedBytesPerTick));
+        }
+        return regressions;
+    }
+
+    private String describe(String metric, double before, double after) {
+        return String.format(
+                Locale.ROOT, "%s: %s %.1f -> %.1f (%+.1f%%)",
+                this.scenario, metric, before, after, (after - before) * 100 / before);
+    }
+
+    /**
+     * Returns this result as a line of a results file.
+     *
+     * @return the comma-separated fields, in the order of {@link #HEADER}.
+     */
+    public String toCsv() {
+        return String.format(
+                Locale.ROOT, "%s,%.1f,%.2f,%.2f,%.2f,%.1f,%.2f,%.2f",
+                this.scenario,
+                this.ticksPerSecond,
+                this.p50Micros,
+                this.p99Micros,
+                this.maxMicros,
+                this.allocatedBytesPerTick,
+                this.allocatedMbPerSecond,
+                this.firstTickMillis);
+    }
+}
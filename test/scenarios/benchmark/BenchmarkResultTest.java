@@ -0,0 +1,36 @@
+package scenarios.benchmark;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the baseline comparison in {@link BenchmarkResult}.
+ */
+public class BenchmarkResultTest {
+
+    private static final BenchmarkResult BASELINE =
+            new BenchmarkResult("16x16-s0-c0-idle", 10_000, 80, 200, 900, 1_000, 10, 5);
+
+    @Test
+    public void parse_readsWhatToCsvWrites() {
+        BenchmarkResult read = BenchmarkResult.parse(BASELINE.toCsv());
+        assertEquals(BASELINE.getScenario(), read.getScenario());
+        assertEquals(BASELINE.getTicksPerSecond(), read.getTicksPerSecond(), 0.1);
+        assertEquals(BASELINE.getP99Micros(), read.getP99Micros(), 0.01);
+    }
+
+    @Test
+    public void regressionsFrom_toleratesChangesWithinTheThreshold() {
+        BenchmarkResult result =
+                new BenchmarkResult("16x16-s0-c0-idle", 9_500, 90, 215, 5_000, 1_050, 11, 9);
+        assertTrue(result.regressionsFrom(BASELINE, 0.1).isEmpty());
+    }
+
+    @Test
+    public void regressionsFrom_flagsEachRegressedMetric() {
+        BenchmarkResult result =
+                new BenchmarkResult("16x16-s0-c0-idle", 8_000, 80, 260, 900, 2_000, 10, 5);
+        assertEquals(3, result.regressionsFrom(BASELINE, 0.1).size());
+    }
+}
@@ -0,0 +1,158 @@
+package scenarios.benchmark;
+
+import builder.GameRandom;
+import builder.JavaBeanFarm;
+import builder.simulation.FarmBot;
+import builder.simulation.HeadlessRunner;
+import builder.simulation.InputSource;
+import builder.world.WorldLoadException;
+
+import engine.renderer.Dimensions;
+import engine.renderer.TileGrid;
+
+import scenarios.details.ScenarioDetails;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * One cell of the {@link MacroBenchmark} matrix: a generated map of a given size, a number of
+ * spawners of each kind, a number of cabbages and either an idle or a scripted player.
+ */
+public class BenchmarkScenario {
+    /** The width of a tile, in pixels, in every generated map. */
+    public static final int TILE_SIZE = 32;
+
+    private final int tilesPerRow;
+    private final int spawners;
+    private final int cabbages;
+    private final boolean scripted;
+
+    /**
+     * Constructs a scenario.
+     *
+     * @param tilesPerRow the width of the map in tiles, at least 4.
+     * @param spawners how many spawners of each kind to place.
+     * @param cabbages how many cabbages to plant, at most a quarter of the tiles.
+     * @param scripted true for a player driven by a {@link FarmBot}, false for an idle one.
+     */
+    public BenchmarkScenario(int tilesPerRow, int spawners, int cabbages, boolean scripted) {
+        this.tilesPerRow = tilesPerRow;
+        this.spawners = spawners;
+        this.cabbages = cabbages;
+        this.scripted = scripted;
+    }
+
+    /**
+     * Returns every combination of the given map sizes, spawner densities and cabbage counts, each
+     * with an idle and a scripted player.
+     *
+     * @param sizes map widths in tiles.
+     * @param spawnerCounts spawners of each kind.
+     * @param cabbageCounts cabbages planted.
+     * @return the scenario matrix.
+     */
+    public static List<BenchmarkScenario> matrix(
+            int[] sizes, int[] spawnerCounts, int[] cabbageCounts) {
+        final List<BenchmarkScenario> scenarios = new ArrayList<>();
+        for (int size : sizes) {
+            for (int spawnerCount : spawnerCounts) {
+                for (int cabbageCount : cabbageCounts) {
+                    scenarios.add(new BenchmarkScenario(size, spawnerCount, cabbageCount, false));
+                    scenarios.add(new BenchmarkScenario(size, spawnerCount, cabbageCount, true));
+                }
+            }
+        }
+        return scenarios;
+    }
+
+    /**
+     * Returns a name identifying this scenario in results and baselines.
+     *
+     * @return a name such as {@code 32x32-s4-c16-scripted}.
+     */
+    public String getName() {
+        return this.tilesPerRow + "x" + this.tilesPerRow
+                + "-s" + this.spawners
+                + "-c" + this.cabbages
+                + (this.scripted ? "-scripted" : "-idle");
+    }
+
+    /**
+     * Returns the dimensions of this scenario's map.
+     *
+     * @return the map's dimensions.
+     */
+    public Dimensions getDimensions() {
+        return new TileGrid(this.tilesPerRow, this.tilesPerRow * TILE_SIZE);
+    }
+
+    /**
+     * Loads a fresh game of this scenario, ready to run for the given number of ticks.
+     *
+     * @param ticks how many ticks the runner will be asked for, used to script the player.
+     * @return a runner for the new game.
+     * @throws IOException if the generated details cannot be read.
+     * @throws WorldLoadException if the generated map is invalid.
+     */
+    public HeadlessRunner newRunner(int ticks) throws IOException, WorldLoadException {
+        final InputSource input =
+                this.scripted ? FarmBot.script(new GameRandom(0), ticks) : InputSource.idle();
+        return new HeadlessRunner(this.newGame(), this.getDimensions(), input);
+    }
+
+    /**
+     * Loads a fresh game of this scenario, for a runner with input of its own.
+     *
+     * @return the new game.
+     * @throws IOException if the generated details cannot be read.
+     * @throws WorldLoadException if the generated map is invalid.
+     */
+    public JavaBeanFarm newGame() throws IOException, WorldLoadException {
+        final int window = this.tilesPerRow * TILE_SIZE;
+        final ScenarioDetails details =
+                new ScenarioDetails(window / 2, 0, 20, 10);
+        for (int i = 0; i < this.cabbages; i++) {
+            details.addCabbage(
+                    (i % this.tilesPerRow) * TILE_SIZE, (4 * (i / this.tilesPerRow) + 1) * TILE_SIZE);
+        }
+        for (int i = 0; i < this.spawners; i++) {
+            final int x = (i * 7 % this.tilesPerRow) * TILE_SIZE;
+            details.addMagpieSpawner(x, 0, 300);
+            details.addEagleSpawner(x, window - TILE_SIZE, 600);
+            details.addPigeonSpawner(window - TILE_SIZE, x, 450);
+        }
+        return new JavaBeanFarm(
+                this.getDimensions(),
+                new StringReader(map(this.tilesPerRow)),
+                details.toReader(),
+                new GameRandom(0));
+    }
+
+    /**
+     * Returns a map with the given number of tiles per row. Every fourth row is dirt, ready for
+     * cabbages; the other rows are grass scattered with ore and water.
+     */
+    private static String map(int tilesPerRow) {
+        final StringJoiner rows = new StringJoiner(System.lineSeparator());
+        for (int row = 0; row < tilesPerRow; row++) {
+            final StringBuilder line = new StringBuilder();
+            for (int col = 0; col < tilesPerRow; col++) {
+                if (row % 4 == 1) {
+                    line.append('d');
+                } else if (row > 0 && (row + col) % 13 == 0) {
+                    line.append('o');
+                } else if (row > 0 && (row * 7 + col) % 29 == 0) {
+                    line.append('w');
+                } else {
+                    line.append('g');
+                }
+            }
+            rows.add(line);
+        }
+        return rows.toString();
+    }
+}
@@ -0,0 +1,189 @@
+package scenarios.benchmark;
+
+import builder.simulation.HeadlessRunner;
+import builder.world.WorldLoadException;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An end-to-end throughput benchmark over a matrix of generated scenarios.
+ *
+ * <p>Each {@link BenchmarkScenario} is first run on a throwaway game to warm up the JIT, then a
+ * fresh game is loaded and run for the measured number of ticks. Every tick is timed together with
+ * {@link builder.JavaBeanFarm#render()}, as the engine would draw it. The results are written to a
+ * results file and compared with a stored baseline; the process exits with status 1 if any
+ * scenario regressed by more than the threshold. Run it from the repository root:
+ *
+ * <pre>
+ * java scenarios.benchmark.MacroBenchmark [--ticks N] [--warmup N] [--threshold 0.1]
+ *         [--results file] [--baseline file] [--update-baseline]
+ * </pre>
+ */
+public class MacroBenchmark {
+    /** Measured ticks per scenario when none is given. */
+    public static final int DEFAULT_TICKS = 5_000;
+
+    /** Warm-up ticks per scenario when none is given. */
+    public static final int DEFAULT_WARMUP = 2_000;
+
+    /** The tolerated relative change before a result counts as a regression. */
+    public static final double DEFAULT_THRESHOLD = 0.10;
+
+    private static final int[] SIZES = {16, 32, 64};
+    private static final int[] SPAWNERS = {0, 1, 4};
+    private static final int[] CABBAGES = {0, 16, 64};
+
+    private final int ticks;
+    private final int warmup;
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    /**
+     * Constructs a benchmark.
+     *
+     * @param ticks measured ticks per scenario, at least 1.
+     * @param warmup warm-up ticks per scenario.
+     */
+    public MacroBenchmark(int ticks, int warmup) {
+        this.ticks = ticks;
+        this.warmup = warmup;
+    }
+
+    /**
+     * Warms up and measures a scenario.
+     *
+     * @param scenario the scenario to run.
+     * @return its measurements.
+     * @throws IOException if the scenario's details cannot be read.
+     * @throws WorldLoadException if the scenario's map is invalid.
+     */
+    public BenchmarkResult measure(BenchmarkScenario scenario)
+            throws IOException, WorldLoadException {
+        final HeadlessRunner warm = scenario.newRunner(this.warmup);
+        for (int i = 0; i < this.warmup; i++) {
+            warm.tick();
+            warm.getGame().render();
+        }
+
+        final long loadStart = System.nanoTime();
+        final HeadlessRunner runner = scenario.newRunner(this.ticks + 1);
+        runner.tick();
+        runner.getGame().render();
+        final long firstTick = System.nanoTime() - loadStart;
+
+        final long[] latencies = new long[this.ticks];
+        final long thread = Thread.currentThread().threadId();
+        final long allocatedBefore = this.threads.getThreadAllocatedBytes(thread);
+        final long start = System.nanoTime();
+        for (int i = 0; i < this.ticks; i++) {
+            final long tickStart = System.nanoTime();
+            runner.tick();
+            runner.getGame().render();
+            latencies[i] = System.nanoTime() - tickStart;
+        }
+        final long elapsed = System.nanoTime() - start;
+        final long allocated = this.threads.getThreadAllocatedBytes(thread) - allocatedBefore;
+
+        Arrays.sort(latencies);
+        return new BenchmarkResult(
+                scenario.getName(),
+                this.ticks * 1e9 / elapsed,
+                latencies[(latencies.length - 1) / 2] / 1e3,
+                latencies[(int) ((latencies.length - 1) * 0.99)] / 1e3,
+                latencies[latencies.length - 1] / 1e3,
+                (double) allocated / this.ticks,
+                allocated / 1e6 / (elapsed / 1e9),
+                firstTick / 1e6);
+    }
+
+    /**
+     * Reads a results file into a map from scenario name to result.
+     *
+     * @param file the results file.
+     * @return the results it holds.
+     * @throws IOException if the file cannot be read.
+     */
+    public static Map<String, BenchmarkResult> read(Path file) throws IOException {
+        final Map<String, BenchmarkResult> results = new HashMap<>();
+        for (String line : Files.readAllLines(file)) {
+            if (!line.isBlank() && !line.equals(BenchmarkResult.HEADER)) {
+                final BenchmarkResult result = BenchmarkResult.parse(line);
+                results.put(result.getScenario(), result);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Runs the benchmark matrix.
+     *
+     * @param args the options described in the class comment.
+     * @throws IOException if the results or baseline cannot be read or written.
+     * @throws WorldLoadException if a generated map is invalid.
+     */
+    public static void main(String[] args) throws IOException, WorldLoadException {
+        int ticks = DEFAULT_TICKS;
+        int warmup = DEFAULT_WARMUP;
+        double threshold = DEFAULT_THRESHOLD;
+        Path results = Path.of("benchmark-results.csv");
+        Path baseline = Path.of("benchmark-baseline.csv");
+        boolean updateBaseline = false;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--ticks" -> ticks = Integer.parseInt(args[++i]);
+                case "--warmup" -> warmup = Integer.parseInt(args[++i]);
+                case "--threshold" -> threshold = Double.parseDouble(args[++i]);
+                case "--results" -> results = Path.of(args[++i]);
+                case "--baseline" -> baseline = Path.of(args[++i]);
+                case "--update-baseline" -> updateBaseline = true;
+                default -> throw new IllegalArgumentException("unknown option " + args[i]);
+            }
+        }
+
+        final MacroBenchmark benchmark = new MacroBenchmark(ticks, warmup);
+        final List<String> lines = new ArrayList<>(List.of(BenchmarkResult.HEADER));
+        final List<BenchmarkResult> measured = new ArrayList<>();
+        for (BenchmarkScenario scenario : BenchmarkScenario.matrix(SIZES, SPAWNERS, CABBAGES)) {
+            final BenchmarkResult result = benchmark.measure(scenario);
+            System.out.println(result.toCsv());
+            measured.add(result);
+            lines.add(result.toCsv());
+        }
+        Files.write(results, lines);
+
+        if (updateBaseline) {
+            Files.write(baseline, lines);
+            System.out.println("baseline updated: " + baseline);
+            return;
+        }
+        if (!Files.exists(baseline)) {
+            System.out.println("no baseline at " + baseline + "; run with --update-baseline");
+            return;
+        }
+        final Map<String, BenchmarkResult> before = read(baseline);
+        final List<String> regressions = new ArrayList<>();
+        for (BenchmarkResult result : measured) {
+            final BenchmarkResult previous = before.get(result.getScenario());
+            if (previous != null) {
+                regressions.addAll(result.regressionsFrom(previous, threshold));
+            }
+        }
+        if (regressions.isEmpty()) {
+            System.out.printf("no regressions beyond %.0f%%%n", threshold * 100);
+            return;
+        }
+        System.out.println("regressions beyond " + Math.round(threshold * 100) + "%:");
+        for (String regression : regressions) {
+            System.out.println("  " + regression);
+        }
+        System.exit(1);
+    }
+}
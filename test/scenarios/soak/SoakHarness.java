@@ -0,0 +1,272 @@
+package scenarios.soak;
+
+import builder.GameState;
+import builder.JavaBeanFarm;
+import builder.JavaBeanGameState;
+import builder.metrics.FootprintReporter;
+import builder.metrics.GameMetrics;
+import builder.metrics.Histogram;
+import builder.metrics.MetricsRegistry;
+import builder.simulation.HeadlessRunner;
+import builder.world.WorldLoadException;
+
+import scenarios.benchmark.BenchmarkScenario;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Plays one generated scenario headless for millions of ticks and checks that neither memory nor
+ * tick latency creeps upward, to catch leaks and slowdowns that only show after hours of play.
+ *
+ * <p>The player is driven by {@link SoakInput}, and every tick is rendered as the engine would.
+ * After every sampling window the harness takes a {@link SoakSample}: the heap left after a full
+ * collection, the farm's estimated footprint, the live enemies and NPCs, and the window's tick
+ * latency percentiles from the game's {@link GameMetrics}.
+ *
+ * <p>The first quarter of the samples is a warm-up, while the JIT settles and the farm fills up.
+ * The rest are split into thirds, and the run fails if the median of the last third exceeds the
+ * median of the first by more than the tolerance plus a small absolute slack for noise. Run it from
+ * the repository root:
+ *
+ * <pre>
+ * java scenarios.soak.SoakHarness [--ticks N] [--sample N] [--tolerance 0.2] [--seed N]
+ *         [--size 32] [--spawners 4] [--cabbages 64] [--csv file]
+ * </pre>
+ *
+ * <p>The samples are printed as CSV, and the process exits with status 1 if any trend fails.
+ */
+public class SoakHarness {
+    /** Ticks played when none is given, about nine hours of play at 60 ticks a second. */
+    public static final int DEFAULT_TICKS = 2_000_000;
+
+    /** Ticks between samples when none is given. */
+    public static final int DEFAULT_SAMPLE_TICKS = 20_000;
+
+    /** The tolerated relative growth from the first third of the run to the last. */
+    public static final double DEFAULT_TOLERANCE = 0.20;
+
+    /** The fraction of samples ignored at the start of a run. */
+    public static final double WARM_UP_FRACTION = 0.25;
+
+    /** Heap growth below this many bytes is never a failure. */
+    public static final double HEAP_SLACK = 2 << 20;
+
+    /** Footprint growth below this many bytes is never a failure. */
+    public static final double FOOTPRINT_SLACK = 64 << 10;
+
+    /** Growth in entity counts below this is never a failure. */
+    public static final double COUNT_SLACK = 4;
+
+    /** Latency growth below this many microseconds is never a failure. */
+    public static final double LATENCY_SLACK = 20;
+
+    private final BenchmarkScenario scenario;
+    private final int ticks;
+    private final int sampleTicks;
+    private final long seed;
+
+    /**
+     * Constructs a soak of the given scenario.
+     *
+     * @param scenario the farm to play.
+     * @param ticks how many ticks to play.
+     * @param sampleTicks the ticks between samples.
+     * @param seed where the player's input is drawn from.
+     */
+    public SoakHarness(BenchmarkScenario scenario, int ticks, int sampleTicks, long seed) {
+        this.scenario = scenario;
+        this.ticks = ticks;
+        this.sampleTicks = sampleTicks;
+        this.seed = seed;
+    }
+
+    /**
+     * Plays the soak.
+     *
+     * @param progress told about each sample as it is taken.
+     * @return every sample, in order.
+     * @throws IOException if the scenario's details cannot be read.
+     * @throws WorldLoadException if the scenario's map is invalid.
+     */
+    public List<SoakSample> run(Consumer<SoakSample> progress)
+            throws IOException, WorldLoadException {
+        final JavaBeanFarm game = this.scenario.newGame();
+        final MetricsRegistry registry = new MetricsRegistry();
+        final GameMetrics metrics = new GameMetrics(registry);
+        game.setMetrics(metrics);
+        final FootprintReporter footprint = new FootprintReporter(registry);
+        final GameState state =
+                new JavaBeanGameState(
+                        game.getWorld(),
+                        game.getPlayer(),
+                        game.getInventory(),
+                        game.getNpcs(),
+                        game.getEnemies());
+        final HeadlessRunner runner =
+                new HeadlessRunner(
+                        game,
+                        this.scenario.getDimensions(),
+                        new SoakInput(this.seed, this.scenario.getDimensions().windowSize()));
+
+        final Histogram latency = metrics.getTickHistogram();
+        final List<SoakSample> samples = new ArrayList<>();
+        while (runner.getTick() < this.ticks) {
+            final int window = Math.min(this.sampleTicks, this.ticks - runner.getTick());
+            for (int i = 0; i < window; i++) {
+                runner.tick();
+                game.render();
+            }
+            final long heap = heapAfterGc();
+            final SoakSample sample =
+                    new SoakSample(
+                            runner.getTick(),
+                            heap,
+                            footprint.report(state).get("total"),
+                            metrics.getLiveEnemies() + game.getEnemies().getPendingSpawns(),
+                            metrics.getLiveNpcs(),
+                            latency.getPercentile(50) / 1e3,
+                            latency.getPercentile(99) / 1e3,
+                            latency.getMax() / 1e3);
+            latency.reset();
+            samples.add(sample);
+            progress.accept(sample);
+        }
+        return samples;
+    }
+
+    /**
+     * Returns the heap in use after a full collection: the usage each heap pool reported after
+     * its last collection, or the heap's usage if no pool reports one.
+     */
+    private static long heapAfterGc() {
+        System.gc();
+        long used = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            final MemoryUsage usage = pool.getCollectionUsage();
+            if (pool.getType() == MemoryType.HEAP && usage != null) {
+                used += usage.getUsed();
+            }
+        }
+        return used > 0 ? used : ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    /**
+     * Checks a soak's samples for upward trends, see the class comment.
+     *
+     * @param samples the samples of a run, in order.
+     * @param tolerance the tolerated relative growth, for example 0.2 for 20%.
+     * @return a description of each failed trend, empty if there are none.
+     */
+    public static List<String> trendFailures(List<SoakSample> samples, double tolerance) {
+        final List<String> failures = new ArrayList<>();
+        final List<SoakSample> steady =
+                samples.subList((int) (samples.size() * WARM_UP_FRACTION), samples.size());
+        final int third = steady.size() / 3;
+        if (third < 2) {
+            failures.add("too few samples to see a trend: " + samples.size());
+            return failures;
+        }
+        final List<SoakSample> early = steady.subList(0, third);
+        final List<SoakSample> late = steady.subList(steady.size() - third, steady.size());
+        check(failures, early, late, "heap bytes", SoakSample::getHeapBytes, tolerance, HEAP_SLACK);
+        check(failures, early, late, "footprint bytes", SoakSample::getFootprintBytes, tolerance,
+                FOOTPRINT_SLACK);
+        check(failures, early, late, "enemies", SoakSample::getEnemies, tolerance, COUNT_SLACK);
+        check(failures, early, late, "npcs", SoakSample::getNpcs, tolerance, COUNT_SLACK);
+        check(failures, early, late, "p99 us", SoakSample::getP99Micros, tolerance, LATENCY_SLACK);
+        return failures;
+    }
+
+    private static void check(
+            List<String> failures,
+            List<SoakSample> early,
+            List<SoakSample> late,
+            String metric,
+            ToDoubleFunction<SoakSample> value,
+            double tolerance,
+            double slack) {
+        final double before = median(early, value);
+        final double after = median(late, value);
+        if (after > before * (1 + tolerance) + slack) {
+            failures.add(String.format(
+                    Locale.ROOT,
+                    "%s grew from a median of %.1f (ticks %d-%d) to %.1f (ticks %d-%d)",
+                    metric, before, early.getFirst().getTick(), early.getLast().getTick(),
+                    after, late.getFirst().getTick(), late.getLast().getTick()));
+        }
+    }
+
+    private static double median(List<SoakSample> samples, ToDoubleFunction<SoakSample> value) {
+        final double[] values = samples.stream().mapToDouble(value).toArray();
+        Arrays.sort(values);
+        return values[values.length / 2];
+    }
+
+    /**
+     * Runs a soak.
+     *
+     * @param args the options described in the class comment.
+     * @throws IOException if the samples file cannot be written.
+     * @throws WorldLoadException if the generated map is invalid.
+     */
+    public static void main(String[] args) throws IOException, WorldLoadException {
+        int ticks = DEFAULT_TICKS;
+        int sampleTicks = DEFAULT_SAMPLE_TICKS;
+        double tolerance = DEFAULT_TOLERANCE;
+        long seed = 0;
+        int size = 32;
+        int spawners = 4;
+        int cabbages = 64;
+        Path csv = null;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--ticks" -> ticks = Integer.parseInt(args[++i]);
+                case "--sample" -> sampleTicks = Integer.parseInt(args[++i]);
+                case "--tolerance" -> tolerance = Double.parseDouble(args[++i]);
+                case "--seed" -> seed = Long.parseLong(args[++i]);
+                case "--size" -> size = Integer.parseInt(args[++i]);
+                case "--spawners" -> spawners = Integer.parseInt(args[++i]);
+                case "--cabbages" -> cabbages = Integer.parseInt(args[++i]);
+                case "--csv" -> csv = Path.of(args[++i]);
+                default -> throw new IllegalArgumentException("unknown option " + args[i]);
+            }
+        }
+
+        final BenchmarkScenario scenario = new BenchmarkScenario(size, spawners, cabbages, true);
+        System.out.println(scenario.getName() + " for " + ticks + " ticks");
+        System.out.println(SoakSample.HEADER);
+        final List<SoakSample> samples =
+                new SoakHarness(scenario, ticks, sampleTicks, seed)
+                        .run(sample -> System.out.println(sample.toCsv()));
+        if (csv != null) {
+            final List<String> lines = new ArrayList<>(List.of(SoakSample.HEADER));
+            for (SoakSample sample : samples) {
+                lines.add(sample.toCsv());
+            }
+            Files.write(csv, lines);
+        }
+
+        final List<String> failures = trendFailures(samples, tolerance);
+        if (failures.isEmpty()) {
+            System.out.printf("no upward trends beyond %.0f%%%n", tolerance * 100);
+            return;
+        }
+        System.out.println("upward trends beyond " + Math.round(tolerance * 100) + "%:");
+        for (String failure : failures) {
+            System.out.println("  " + failure);
+        }
+        System.exit(1);
+    }
+}
@@ -0,0 +1,43 @@
+package scenarios.soak;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the trend checks in {@link SoakHarness}.
+ */
+public class SoakHarnessTest {
+
+    private static List<SoakSample> samples(long heapGrowth, double latencyGrowth) {
+        List<SoakSample> samples = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            long heap = 50_000_000 + i * heapGrowth + (i % 3) * 100_000;
+            samples.add(new SoakSample(
+                    (i + 1) * 1000, heap, 400_000, 12 + i % 4, 3, 40, 100 + i * latencyGrowth,
+                    900));
+        }
+        return samples;
+    }
+
+    @Test
+    public void trendFailures_toleratesNoiseAroundAFlatLine() {
+        assertTrue(SoakHarness.trendFailures(samples(0, 0), 0.2).isEmpty());
+    }
+
+    @Test
+    public void trendFailures_flagsGrowingHeapAndLatency() {
+        List<String> failures = SoakHarness.trendFailures(samples(2_000_000, 10), 0.2);
+        assertEquals(failures.toString(), 2, failures.size());
+        assertTrue(failures.get(0), failures.get(0).startsWith("heap bytes"));
+        assertTrue(failures.get(1), failures.get(1).startsWith("p99 us"));
+    }
+
+    @Test
+    public void trendFailures_needsEnoughSamples() {
+        assertEquals(1, SoakHarness.trendFailures(samples(0, 0).subList(0, 5), 0.2).size());
+    }
+}
@@ -0,0 +1,75 @@
+package scenarios.soak;
+
+import builder.GameRandom;
+import builder.simulation.FarmBot;
+import builder.simulation.InputSource;
+import builder.simulation.ScriptedInput;
+
+import engine.input.KeyState;
+import engine.input.MouseState;
+
+/**
+ * Randomised input for a game of any length, written a segment at a time so that the script of a
+ * long soak does not itself fill the heap being watched.
+ *
+ * <p>Each segment is a {@link FarmBot} patrol with clicks at random points of the window scattered
+ * through it. Segment {@code n} is drawn from the seed plus {@code n}, so the same seed always
+ * plays the same game. Only the current segment is kept.
+ */
+public class SoakInput implements InputSource {
+    /** The number of ticks scripted at a time. */
+    public static final int SEGMENT_TICKS = 50_000;
+
+    /** The average number of ticks between random clicks. */
+    public static final int CLICK_INTERVAL = 500;
+
+    private final long seed;
+    private final int windowSize;
+    private int segment = -1;
+    private ScriptedInput script;
+
+    /**
+     * Constructs randomised input.
+     *
+     * @param seed where every segment's script is drawn from.
+     * @param windowSize the width and height of the window clicks land in, in pixels.
+     */
+    public SoakInput(long seed, int windowSize) {
+        this.seed = seed;
+        this.windowSize = windowSize;
+    }
+
+    private ScriptedInput segmentOf(int tick) {
+        final int segment = tick / SEGMENT_TICKS;
+        if (segment != this.segment) {
+            final GameRandom random = new GameRandom(this.seed + segment);
+            final ScriptedInput script = FarmBot.script(random, SEGMENT_TICKS);
+            for (int i = 0; i < SEGMENT_TICKS / CLICK_INTERVAL; i++) {
+                script.leftClick(
+                        random.nextInt(SEGMENT_TICKS - 1),
+                        random.nextInt(this.windowSize),
+                        random.nextInt(this.windowSize));
+            }
+            this.segment = segment;
+            this.script = script;
+        }
+        return this.script;
+    }
+
+    @Override
+    public KeyState keysAt(int tick) {
+        return this.segmentOf(tick).keysAt(tick % SEGMENT_TICKS);
+    }
+
+    @Override
+    public MouseState mouseAt(int tick) {
+        return this.segmentOf(tick).mouseAt(tick % SEGMENT_TICKS);
+    }
+
+    @Override
+    public int nextChange(int tick) {
+        final int start = tick - tick % SEGMENT_TICKS;
+        final int next = this.segmentOf(tick).nextChange(tick - start);
+        return next >= SEGMENT_TICKS ? start + SEGMENT_TICKS : start + next;
+    }
+}
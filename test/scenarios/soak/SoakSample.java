@@ -0,0 +1,125 @@
+package scenarios.soak;
+
+import java.util.Locale;
+
+/**
+ * What a {@link SoakHarness} saw at the end of one sampling window of a long game.
+ */
+public class SoakSample {
+    /** The header line of a samples file. */
+    public static final String HEADER =
+            "tick,heap_after_gc_bytes,footprint_bytes,enemies,npcs,p50_us,p99_us,max_us";
+
+    private final int tick;
+    private final long heapBytes;
+    private final long footprintBytes;
+    private final long enemies;
+    private final long npcs;
+    private final double p50Micros;
+    private final double p99Micros;
+    private final double maxMicros;
+
+    /**
+     * Constructs a sample.
+     *
+     * @param tick the ticks run when the sample was taken.
+     * @param heapBytes the heap in use straight after a full collection.
+     * @param footprintBytes the heap the farm retains, as estimated by a {@link
+     *     builder.metrics.FootprintReporter}.
+     * @param enemies the live enemies and the spawns being held back.
+     * @param npcs the live NPCs.
+     * @param p50Micros the median tick latency over the window, in microseconds.
+     * @param p99Micros the 99th percentile tick latency over the window, in microseconds.
+     * @param maxMicros the longest tick of the window, in microseconds.
+     */
+    public SoakSample(
+            int tick,
+            long heapBytes,
+            long footprintBytes,
+            long enemies,
+            long npcs,
+            double p50Micros,
+            double p99Micros,
+            double maxMicros) {
+        this.tick = tick;
+        this.heapBytes = heapBytes;
+        this.footprintBytes = footprintBytes;
+        this.enemies = enemies;
+        this.npcs = npcs;
+        this.p50Micros = p50Micros;
+        this.p99Micros = p99Micros;
+        this.maxMicros = maxMicros;
+    }
+
+    /**
+     * Returns the ticks run when the sample was taken.
+     *
+     * @return the tick.
+     */
+    public int getTick() {
+        return this.tick;
+    }
+
+    /**
+     * Returns the heap in use straight after a full collection.
+     *
+     * @return the live heap in bytes.
+     */
+    public long getHeapBytes() {
+        return this.heapBytes;
+    }
+
+    /**
+     * Returns the estimated heap the farm retains.
+     *
+     * @return the footprint in bytes.
+     */
+    public long getFootprintBytes() {
+        return this.footprintBytes;
+    }
+
+    /**
+     * Returns the live enemies and the spawns being held back.
+     *
+     * @return the enemy count.
+     */
+    public long getEnemies() {
+        return this.enemies;
+    }
+
+    /**
+     * Returns the live NPCs.
+     *
+     * @return the NPC count.
+     */
+    public long getNpcs() {
+        return this.npcs;
+    }
+
+    /**
+     * Returns the 99th percentile tick latency over the window.
+     *
+     * @return the latency in microseconds.
+     */
+    public double getP99Micros() {
+        return this.p99Micros;
+    }
+
+    /**
+     * Returns this sample as a line of a samples file.
+     *
+     * @return the comma-separated fields, in the order of {@link #HEADER}.
+     */
+    public String toCsv() {
+        return String.format(
+                Locale.ROOT, "%d,%d,%d,%d,%d,%.2f,%.2f,%.2f",
+                this.tick,
+                this.heapBytes,
+                this.footprintBytes,
+                this.enemies,
+                this.npcs,
+                this.p50Micros,
+                this.p99Micros,
+                this.maxMicros);
+    }
+}